@@ -3,10 +3,18 @@ package com.escapegame;
 import java.io.IOException;
 import java.io.InputStream;
 
+import com.model.CatalogWatcher;
+import com.model.GameDataFacade;
+
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
+import javafx.geometry.Pos;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.stage.Stage;
 
@@ -26,6 +34,7 @@ public class App extends Application {
 
     private static Scene scene;
     private static Stage primaryStage;
+    private static CatalogWatcher catalogWatcher;
 
     @Override
     public void start(Stage stage) throws IOException {
@@ -34,8 +43,8 @@ public class App extends Application {
         // Load custom fonts first (before any UI)
         loadFonts();
         
-        // Load GameContainerView as the starting view
-        scene = new Scene(loadFXML("GameContainerView"), 1000, 700);
+        // Start loading game data in the background; show a splash meanwhile
+        scene = new Scene(createSplash(), 1000, 700);
         
         // Load all CSS files
         loadStylesheets();
@@ -48,7 +57,59 @@ public class App extends Application {
         
         primaryStage.show();
         
-        System.out.println("Application started with GameContainerView");
+        // Swap in GameContainerView once data is ready
+        GameDataFacade.loadAsync().whenComplete((facade, ex) -> Platform.runLater(() -> {
+            if (ex != null) {
+                System.err.println("Error loading game data: " + ex.getMessage());
+                ex.printStackTrace();
+            } else {
+                startCatalogWatcher(facade);
+            }
+            try {
+                setRoot("GameContainerView");
+                System.out.println("Application started with GameContainerView");
+            } catch (IOException e) {
+                e.printStackTrace();
+                Platform.exit();
+            }
+        }));
+    }
+    
+    /**
+     * Hot-reload puzzles and hints when gamedata.json changes on disk
+     */
+    private void startCatalogWatcher(GameDataFacade facade) {
+        try {
+            catalogWatcher = facade.watchCatalog();
+        } catch (IOException e) {
+            System.err.println("Warning: Could not watch puzzle catalog: " + e.getMessage());
+        }
+    }
+    
+    @Override
+    public void stop() throws IOException {
+        if (catalogWatcher != null) {
+            catalogWatcher.close();
+        }
+    }
+    
+    /**
+     * Build the splash screen shown while game data loads
+     * @return Splash root node
+     */
+    private Parent createSplash() {
+        Label title = new Label("Whispers of Hollow Manor");
+        title.setFont(getJerseyFont(48));
+        title.setStyle("-fx-text-fill: #FFD700;");
+        
+        Label status = new Label("Loading...");
+        status.setFont(getJerseyFont(20));
+        status.setStyle("-fx-text-fill: #CCCCCC;");
+        
+        VBox splash = new VBox(20, title, new ProgressIndicator(), status);
+        splash.setAlignment(Pos.CENTER);
+        splash.setStyle("-fx-background-color: #1a1a1a;");
+        return splash;
     }
     
     // Store loaded font for use by controllers
@@ -5,8 +5,14 @@ import com.escapegame.util.BackgroundManager;
 import com.escapegame.util.DialogHelper;
 import com.escapegame.util.SessionTimer;
 import com.escapegame.util.ViewNavigator;
+import com.model.GameCommand;
+import com.model.GameResult;
 import com.model.GameServiceManager;
+import com.model.MoveRecorder;
 import com.model.Puzzle;
+import com.model.PuzzleGame;
+import com.model.SavedState;
+import com.model.ScoreVerifier;
 
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -26,12 +32,13 @@ import java.util.function.Consumer;
  * - Background and frame padding
  * - Save/back navigation
  * - Game completion handling
+ * - Move recording (every command goes through applyCommand())
  * - Alert dialogs
  * 
  * Subclasses implement:
  * - initializeGame() - Set up the specific game
  * - renderGame() - Render the game state
- * - getGameResult() - Get the game result for scoring
+ * - getGameResult() - Get the game result as the client sees it
  * - saveGameState() - Save current game state
  * - getPuzzleTypeName() - Display name for the puzzle type
  * 
@@ -51,6 +58,9 @@ public abstract class BasePuzzleController {
     protected GameServiceManager serviceManager;
     protected Puzzle puzzle;
     private Consumer<Integer> timerListener;
+    private MoveRecorder recorder;
+    private Map<String, Object> restoredState;  // Paused state the game was resumed from
+    private Map<String, Object> attemptData;    // Puzzle data handed out for this attempt
 
     /**
      * Initialize the controller - called by JavaFX after FXML injection
@@ -112,10 +122,11 @@ public abstract class BasePuzzleController {
     protected abstract void renderGame();
     
     /**
-     * Get the game result for scoring
-     * @return Map containing "won", "time", "moves", etc.
+     * Get the game result as the client sees it
+     * The recorded score comes from replaying the move log, not from this
+     * @return GameResult with won, time, moves, etc.
      */
-    protected abstract Map<String, Object> getGameResult();
+    protected abstract GameResult getGameResult();
     
     /**
      * Save the current game state
@@ -228,16 +239,21 @@ public abstract class BasePuzzleController {
         if (won) {
             String userId = serviceManager.getCurrentUser().getUserId();
             
-            // Calculate score using service
-            Map<String, Object> result = getGameResult();
-            int score = GameServiceManager.calculateScore(result);
+            // The service replays the recorded attempt and scores the replay
+            ScoreVerifier.Verdict verdict = serviceManager.completeAttempt(userId, puzzle, recorder.toLog());
+            int score = verdict.score();
             
             System.out.println("=== " + getClass().getSimpleName() + ": Puzzle Completed ===");
             System.out.println("Puzzle ID: " + puzzle.getPuzzleId());
-            System.out.println("Score: " + score);
+            System.out.println("Score: " + score + " (shown locally: "
+                + serviceManager.calculateScore(puzzle, getGameResult()) + ")");
             
-            // Complete puzzle via service manager
-            serviceManager.completePuzzle(userId, puzzle.getPuzzleId(), score);
+            if (!verdict.accepted()) {
+                serviceManager.clearPausedPuzzle();
+                DialogHelper.showError("Your result could not be verified: " + verdict.reason());
+                handleBack();
+                return;
+            }
             
             // Mark the door as completed in session
             int doorNum = SessionData.getCurrentDoorNumber();
@@ -273,6 +289,7 @@ public abstract class BasePuzzleController {
     @FXML
     protected void handleSave() {
         Map<String, Object> gameState = saveGameState();
+        SavedState.putMoveLog(gameState, recorder.toLog());
         serviceManager.savePausedPuzzle(puzzle.getPuzzleId(), gameState);
         
         // Sync elapsed time from timer to model, then save
@@ -315,20 +332,52 @@ public abstract class BasePuzzleController {
     // ==================== HELPER METHODS ====================
     
     /**
-     * Restore saved game state if resuming
-     * @param game The game object to restore state to
-     * @param initializeAction Action to initialize fresh game if no saved state
+     * Initialize the game from the catalog puzzle, then apply saved state if resuming
+     * Saved state only holds the delta (positions, matches, guesses), so the
+     * puzzle is always built from its catalog data first. The attempt is
+     * started with the service first; initializeAction must use getAttemptData()
+     * @param restoreAction Action to apply the saved state
+     * @param initializeAction Action to initialize the game from the puzzle
      */
     protected void restoreOrInitialize(Runnable restoreAction, Runnable initializeAction) {
-        if (SessionData.isResuming()) {
-            Map<String, Object> savedState = serviceManager.getPausedPuzzleState();
-            if (savedState != null) {
-                restoreAction.run();
-                SessionData.setResuming(false);
-                return;
-            }
-        }
+        Map<String, Object> savedState = SessionData.isResuming() ? serviceManager.getPausedPuzzleState() : null;
+        String userId = serviceManager.getCurrentUser().getUserId();
+        attemptData = serviceManager.startAttempt(userId, puzzle, savedState);
+        
         initializeAction.run();
+        restoredState = null;
+        if (savedState != null) {
+            restoreAction.run();
+            restoredState = savedState;
+            SessionData.setResuming(false);
+        }
+    }
+    
+    /**
+     * Get the puzzle data handed out for this attempt
+     * Matching boards carry the seed the service issued
+     * @return Puzzle data to initialize the game with
+     */
+    protected Map<String, Object> getAttemptData() {
+        return attemptData;
+    }
+    
+    /**
+     * Start recording the attempt; call once the game is initialized or restored
+     * A resumed attempt continues the log saved with its paused state
+     * @param game Game the player is about to play
+     */
+    protected void startRecording(PuzzleGame game) {
+        recorder = MoveRecorder.resume(game, SavedState.readMoveLog(restoredState));
+    }
+    
+    /**
+     * Apply a player command to the game and record it
+     * @param command Command
+     * @return true if the game applied it
+     */
+    protected boolean applyCommand(GameCommand command) {
+        return recorder.apply(command);
     }
     
     /**
@@ -2,13 +2,14 @@ package com.escapegame.controller;
 
 import com.model.*;
 
-import javafx.application.Platform;
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.GridPane;
 import javafx.scene.text.TextAlignment;
+import javafx.util.Duration;
 
 import java.util.Map;
 
@@ -22,7 +23,7 @@ import java.util.Map;
  * - Game completion handling
  * 
  * This controller handles:
- * - Card grid rendering
+ * - Card grid rendering (card buttons are created once and updated in place)
  * - Card click/flip logic
  * - Match detection animation
  */
@@ -42,6 +43,12 @@ public class MatchingGameController extends BasePuzzleController {
     private Position secondCard;
     private int rows;
     private int cols;
+    
+    // One button per card, created once per board
+    private Button[][] cards;
+    
+    // Shows a flipped pair before it is turned back or cleared
+    private final PauseTransition pairDelay = new PauseTransition(Duration.seconds(1));
 
     // ==================== ABSTRACT METHOD IMPLEMENTATIONS ====================
 
@@ -52,47 +59,59 @@ public class MatchingGameController extends BasePuzzleController {
         // Restore or initialize
         restoreOrInitialize(
             () -> game.restoreState(getSavedGameState()),
-            () -> game.initialize(puzzle.getData())
+            () -> game.initialize(getAttemptData())
         );
+        startRecording(game);
+        
+        pairDelay.setOnFinished(e -> {
+            game.clearSelection();
+            renderGame();
+            
+            if (game.isGameOver()) {
+                handleMatchingComplete();
+            }
+        });
+        
+        // Resize cards in place when the window changes
+        rootPane.widthProperty().addListener((obs, oldValue, newValue) -> resizeCards());
+        rootPane.heightProperty().addListener((obs, oldValue, newValue) -> resizeCards());
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     protected void renderGame() {
-        Map<String, Object> state = game.getGameState();
-        board = (String[][]) state.get("board");
-        matched = (boolean[][]) state.get("matched");
-        firstCard = (Position) state.get("firstCard");
-        secondCard = (Position) state.get("secondCard");
-        int moveCount = (int) state.get("moveCount");
-        
-        rows = board.length;
-        cols = board[0].length;
-        
-        // Count matched pairs
-        int matchedCount = countMatchedCards();
-        int totalPairs = (rows * cols) / 2;
+        MatchingGame.State state = game.state();
+        String[][] newBoard = state.board();
+        matched = state.matched();
+        Position oldFirst = firstCard;
+        Position oldSecond = secondCard;
+        firstCard = state.firstCard();
+        secondCard = state.secondCard();
+        rows = newBoard.length;
+        cols = newBoard[0].length;
         
         // Update stats
         if (statsLabel != null) {
-            statsLabel.setText("Moves: " + moveCount + " | Matched: " + (matchedCount/2) + "/" + totalPairs);
+            statsLabel.setText("Moves: " + state.moveCount() + " | Matched: " + state.matchedPairs()
+                + "/" + state.totalPairs());
         }
         
-        // Render card grid
-        cardGrid.getChildren().clear();
-        int cardSize = calculateCardSize();
-        
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                Button cardBtn = createCardButton(r, c, cardSize);
-                cardGrid.add(cardBtn, c, r);
-            }
+        if (newBoard != board || cards == null) {
+            // New board - create the card nodes once
+            board = newBoard;
+            buildCardGrid();
+            return;
         }
+        
+        // Only the cards flipped before or now can have changed
+        updateCard(oldFirst);
+        updateCard(oldSecond);
+        updateCard(firstCard);
+        updateCard(secondCard);
     }
 
     @Override
-    protected Map<String, Object> getGameResult() {
-        return game.getResult();
+    protected GameResult getGameResult() {
+        return game.result();
     }
 
     @Override
@@ -105,21 +124,15 @@ public class MatchingGameController extends BasePuzzleController {
         return "Matching Game";
     }
 
-    // ==================== MATCHING-SPECIFIC METHODS ====================
-
-    /**
-     * Count how many cards have been matched
-     */
-    private int countMatchedCards() {
-        int count = 0;
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (matched[r][c]) count++;
-            }
-        }
-        return count;
+    @Override
+    protected void handleBack() {
+        // Don't let a pending pair delay fire after leaving the view
+        pairDelay.stop();
+        super.handleBack();
     }
 
+    // ==================== MATCHING-SPECIFIC METHODS ====================
+
     /**
      * Calculate optimal card size based on available content area
      */
@@ -149,14 +162,46 @@ public class MatchingGameController extends BasePuzzleController {
         return Math.max(50, Math.min(90, cardSize));
     }
 
+    /**
+     * Create all card buttons for the current board
+     */
+    private void buildCardGrid() {
+        cardGrid.getChildren().clear();
+        cards = new Button[rows][cols];
+        int cardSize = calculateCardSize();
+        
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                Button cardBtn = createCardButton(r, c);
+                sizeCard(cardBtn, cardSize);
+                cards[r][c] = cardBtn;
+                updateCard(r, c);
+                cardGrid.add(cardBtn, c, r);
+            }
+        }
+    }
+
     /**
      * Create a card button with proper styling
      */
-    private Button createCardButton(int row, int col, int cardSize) {
+    private Button createCardButton(int row, int col) {
         Button btn = new Button();
         btn.getStyleClass().add("card-button");
         
-        // Set dynamic size
+        // Center text/emoji
+        btn.setAlignment(Pos.CENTER);
+        btn.setTextAlignment(TextAlignment.CENTER);
+        btn.setWrapText(false);
+        
+        // The game rejects clicks on face-up cards
+        btn.setOnAction(e -> handleCardClick(row, col));
+        return btn;
+    }
+    
+    /**
+     * Apply card size and matching font size to a button
+     */
+    private void sizeCard(Button btn, int cardSize) {
         btn.setPrefSize(cardSize, cardSize);
         btn.setMinSize(cardSize, cardSize);
         btn.setMaxSize(cardSize, cardSize);
@@ -164,31 +209,52 @@ public class MatchingGameController extends BasePuzzleController {
         // Adjust font size based on card size
         int fontSize = Math.max(20, cardSize * 40 / 90);
         btn.setStyle("-fx-font-size: " + fontSize + "px;");
+    }
+    
+    /**
+     * Resize every card to fit the window
+     */
+    private void resizeCards() {
+        if (cards == null) {
+            return;
+        }
+        int cardSize = calculateCardSize();
+        for (Button[] row : cards) {
+            for (Button btn : row) {
+                sizeCard(btn, cardSize);
+            }
+        }
+    }
+    
+    /**
+     * Refresh the card at a position, if any
+     */
+    private void updateCard(Position position) {
+        if (position != null) {
+            updateCard(position.getRow(), position.getCol());
+        }
+    }
+    
+    /**
+     * Refresh one card's face and style from the game state
+     */
+    private void updateCard(int row, int col) {
+        Button btn = cards[row][col];
+        btn.getStyleClass().removeAll("card-matched", "card-face-up", "card-face-down");
         
-        // Center text/emoji
-        btn.setAlignment(Pos.CENTER);
-        btn.setTextAlignment(TextAlignment.CENTER);
-        btn.setWrapText(false);
-        
-        boolean isMatched = matched[row][col];
-        boolean isFaceUp = isCardFaceUp(row, col);
-        
-        if (isMatched) {
+        if (matched[row][col]) {
             btn.setText(board[row][col]);
             btn.getStyleClass().add("card-matched");
             btn.setDisable(true);
-        } else if (isFaceUp) {
+        } else if (isCardFaceUp(row, col)) {
             btn.setText(board[row][col]);
             btn.getStyleClass().add("card-face-up");
+            btn.setDisable(false);
         } else {
             btn.setText("?");
             btn.getStyleClass().add("card-face-down");
-            final int r = row;
-            final int c = col;
-            btn.setOnAction(e -> handleCardClick(r, c));
+            btn.setDisable(false);
         }
-        
-        return btn;
     }
     
     /**
@@ -208,27 +274,15 @@ public class MatchingGameController extends BasePuzzleController {
      * Handle card click - flip card and check for match
      */
     private void handleCardClick(int row, int col) {
-        String input = row + " " + col;
-        boolean valid = game.processInput(input);
+        if (game.isShowingPair()) {
+            return; // Cards turn back over when the pair delay ends
+        }
+        boolean valid = applyCommand(GameCommand.flip(row, col));
         renderGame();
         
         if (valid && game.isShowingPair()) {
             // Pause to show both cards, then clear selection
-            new Thread(() -> {
-                try {
-                    Thread.sleep(1000);
-                    Platform.runLater(() -> {
-                        game.clearSelection();
-                        renderGame();
-                        
-                        if (game.isGameOver()) {
-                            handleMatchingComplete();
-                        }
-                    });
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            }).start();
+            pairDelay.playFromStart();
         }
     }
 
@@ -236,8 +290,6 @@ public class MatchingGameController extends BasePuzzleController {
      * Handle matching game completion
      */
     private void handleMatchingComplete() {
-        Map<String, Object> result = game.getResult();
-        boolean won = (boolean) result.get("won");
-        handleGameComplete(won);
+        handleGameComplete(game.result().won());
     }
 }
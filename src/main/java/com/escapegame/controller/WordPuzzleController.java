@@ -54,11 +54,12 @@ public class WordPuzzleController extends BasePuzzleController {
         // Restore or initialize
         restoreOrInitialize(
             () -> game.restoreState(getSavedGameState()),
-            () -> game.initialize(puzzle.getData())
+            () -> game.initialize(getAttemptData())
         );
         
         // Load hints AFTER initialize (initialize() resets hints list)
         loadHints();
+        startRecording(game);
         
         // Focus on answer field
         if (answerField != null) {
@@ -67,43 +68,35 @@ public class WordPuzzleController extends BasePuzzleController {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     protected void renderGame() {
-        Map<String, Object> state = game.getGameState();
-        
-        // Get state values
-        String prompt = (String) state.get("prompt");
-        String category = (String) state.get("category");
-        int attemptsUsed = (int) state.get("attemptsUsed");
-        int maxAttempts = (int) state.get("maxAttempts");
-        List<String> guesses = (List<String>) state.get("guesses");
-        List<String> revealedHints = (List<String>) state.get("revealedHints");
-        int availableHints = (int) state.get("availableHintsCount");
+        WordPuzzleGame.State state = game.state();
+        String category = state.category();
         
         // Update labels
         if (promptLabel != null) {
-            promptLabel.setText(prompt);
+            promptLabel.setText(state.prompt());
         }
         if (categoryLabel != null) {
             categoryLabel.setText("Category: " + (category != null ? category : puzzle.getPuzzleType()));
         }
         if (attemptsLabel != null) {
-            attemptsLabel.setText("Attempts: " + attemptsUsed + "/" + maxAttempts);
+            attemptsLabel.setText("Attempts: " + state.attemptsUsed() + "/" + state.maxAttempts());
         }
         
         // Update guesses section
-        updateGuessesDisplay(guesses);
+        updateGuessesDisplay(state.guesses());
+        updateCloseGuess(state);
         
         // Update hints section
-        updateHintsDisplay(revealedHints);
+        updateHintsDisplay(state.revealedHints());
         
         // Update hint availability
-        updateHintAvailability(availableHints);
+        updateHintAvailability(state.availableHintsCount());
     }
 
     @Override
-    protected Map<String, Object> getGameResult() {
-        return game.getResult();
+    protected GameResult getGameResult() {
+        return game.result();
     }
 
     @Override
@@ -157,6 +150,19 @@ public class WordPuzzleController extends BasePuzzleController {
         }
     }
 
+    /**
+     * Tell the player when the last wrong guess was only a few letters off
+     */
+    private void updateCloseGuess(WordPuzzleGame.State state) {
+        if (guessesList == null || !state.closeGuess()) return;
+        
+        int distance = state.lastGuessDistance();
+        Label closeLabel = new Label("So close! Your last guess was " + distance
+            + " letter" + (distance == 1 ? "" : "s") + " off.");
+        closeLabel.setStyle("-fx-text-fill: #ffd700;");
+        guessesList.getChildren().add(closeLabel);
+    }
+
     /**
      * Update the hints display
      */
@@ -209,7 +215,7 @@ public class WordPuzzleController extends BasePuzzleController {
             return;
         }
         
-        game.processInput(answer);
+        applyCommand(WordPuzzleGame.parseCommand(answer));
         answerField.clear();
         renderGame();
         
@@ -223,7 +229,7 @@ public class WordPuzzleController extends BasePuzzleController {
      */
     @FXML
     private void handleHint() {
-        game.processInput("HINT");
+        applyCommand(GameCommand.hint());
         renderGame();
         
         if (answerField != null) {
@@ -235,8 +241,6 @@ public class WordPuzzleController extends BasePuzzleController {
      * Handle word puzzle completion
      */
     private void handleWordPuzzleComplete() {
-        Map<String, Object> result = game.getResult();
-        boolean won = (boolean) result.get("won");
-        handleGameComplete(won);
+        handleGameComplete(game.result().won());
     }
 }
@@ -0,0 +1,302 @@
+package com.escapegame.util;
+
+import com.model.Direction;
+import com.model.Maze;
+import com.model.MazeGame;
+import com.model.MazeTile;
+import com.model.MazeVisibility;
+import com.model.Position;
+
+import javafx.animation.PauseTransition;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import javafx.util.Duration;
+
+/**
+ * MazeRenderer - Draws a maze on a Canvas
+ *
+ * The whole view is painted once; after that a move repaints only the cells
+ * that changed (old and new player cell, hint cell, and the sight area in fog
+ * mode). The canvas covers at most the space available, so mazes larger than
+ * the screen are culled to a viewport that follows the player and can be
+ * scrolled with the mouse wheel. A full repaint happens only on resize
+ * (debounced) or when the viewport scrolls.
+ */
+public class MazeRenderer {
+
+    private static final int MIN_CELL_SIZE = 15;
+    private static final int MAX_CELL_SIZE = 30;
+    private static final int SCROLL_MARGIN = 3;     // cells kept between the player and the edge
+    private static final int SCROLL_STEP = 3;       // cells per mouse wheel notch
+    private static final Duration RESIZE_DELAY = Duration.millis(150);
+
+    // Same colors as the .maze-* styles
+    private static final Color BORDER = Color.web("#333333");
+    private static final Color WALL = Color.web("#181A3C");
+    private static final Color PATH = Color.web("#3a3a4e");
+    private static final Color PLAYER = Color.web("#4CAF50");
+    private static final Color EXIT = Color.web("#FFD700");
+    private static final Color HINT = Color.web("#4FC3F7");
+    private static final Color KEY = Color.web("#FFD54F");
+    private static final Color DOOR = Color.web("#8D6E63");
+    private static final Color ONE_WAY = Color.web("#AED581");
+    private static final Color TELEPORTER = Color.web("#BA68C8");
+    private static final Color SYMBOL = Color.web("#1A1A2E");
+    private static final Color FOG = Color.web("#0D0D1A");
+    private static final Color REMEMBERED = Color.web("#0D0D1A", 0.45);
+
+    private final StackPane host;
+    private final Canvas canvas = new Canvas();
+    private final PauseTransition resizeDelay = new PauseTransition(RESIZE_DELAY);
+
+    private Maze maze;
+    private MazeVisibility fog;
+    private int playerRow = -1;
+    private int playerCol = -1;
+    private int hintRow = -1;
+    private int hintCol = -1;
+
+    // Viewport over the inner cells (outer walls are never drawn)
+    private int cellSize = MAX_CELL_SIZE;
+    private int firstRow = 1;
+    private int firstCol = 1;
+    private int viewRows;
+    private int viewCols;
+
+    /**
+     * Create a renderer that draws into a container
+     * @param host Container that sizes the maze area
+     */
+    public MazeRenderer(StackPane host) {
+        this.host = host;
+        host.setMinSize(0, 0);
+        host.getChildren().setAll(canvas);
+
+        resizeDelay.setOnFinished(e -> layout());
+        host.widthProperty().addListener((obs, oldValue, newValue) -> resizeDelay.playFromStart());
+        host.heightProperty().addListener((obs, oldValue, newValue) -> resizeDelay.playFromStart());
+        host.setOnScroll(e -> {
+            if (maze == null) {
+                return;
+            }
+            int rows = (int) -Math.signum(e.getDeltaY()) * SCROLL_STEP;
+            int cols = (int) -Math.signum(e.getDeltaX()) * SCROLL_STEP;
+            scrollTo(firstRow + rows, firstCol + cols);
+            e.consume();
+        });
+    }
+
+    /**
+     * Draw the current game state, repainting only what changed since the last call
+     * @param state Maze game state (the maze is only the revealed part in fog mode)
+     */
+    public void render(MazeGame.State state) {
+        Maze maze = state.maze();
+        MazeVisibility fog = state.fog();
+        Direction hint = state.hint();
+        boolean resized = this.maze == null
+            || this.maze.getWidth() != maze.getWidth()
+            || this.maze.getHeight() != maze.getHeight();
+        int oldPlayerRow = playerRow;
+        int oldPlayerCol = playerCol;
+        int oldHintRow = hintRow;
+        int oldHintCol = hintCol;
+
+        this.maze = maze;
+        this.fog = fog;
+        playerRow = state.row();
+        playerCol = state.col();
+        hintRow = hint != null ? playerRow + hint.getRowDelta() : -1;
+        hintCol = hint != null ? playerCol + hint.getColDelta() : -1;
+
+        if (resized) {
+            layout();
+            return;
+        }
+        if (followPlayer()) {
+            drawAll();
+            return;
+        }
+
+        if (fog != null) {
+            // Sight area moved with the player
+            drawArea(oldPlayerRow, oldPlayerCol, fog.getRadius());
+            drawArea(playerRow, playerCol, fog.getRadius());
+        } else {
+            drawCell(oldPlayerRow, oldPlayerCol);
+            drawCell(playerRow, playerCol);
+        }
+        drawCell(oldHintRow, oldHintCol);
+        drawCell(hintRow, hintCol);
+    }
+
+    /**
+     * Stop pending resize work, e.g. when leaving the view
+     */
+    public void dispose() {
+        resizeDelay.stop();
+    }
+
+    /**
+     * Fit the cell size and viewport to the container, then repaint everything
+     */
+    private void layout() {
+        if (maze == null) {
+            return;
+        }
+        int innerRows = Math.max(1, maze.getHeight() - 2);
+        int innerCols = Math.max(1, maze.getWidth() - 2);
+        double availableWidth = host.getWidth();
+        double availableHeight = host.getHeight();
+
+        if (availableWidth <= 0 || availableHeight <= 0) {
+            // Not laid out yet - use a small viewport until the first resize
+            cellSize = MAX_CELL_SIZE;
+            viewRows = Math.min(innerRows, 20);
+            viewCols = Math.min(innerCols, 20);
+        } else {
+            int fit = (int) Math.min(availableWidth / innerCols, availableHeight / innerRows);
+            cellSize = Math.max(MIN_CELL_SIZE, Math.min(MAX_CELL_SIZE, fit));
+            viewRows = Math.max(1, Math.min(innerRows, (int) (availableHeight / cellSize)));
+            viewCols = Math.max(1, Math.min(innerCols, (int) (availableWidth / cellSize)));
+        }
+        canvas.setWidth(viewCols * cellSize);
+        canvas.setHeight(viewRows * cellSize);
+
+        setViewport(firstRow, firstCol);
+        followPlayer();
+        drawAll();
+    }
+
+    /**
+     * Move the viewport so the player stays SCROLL_MARGIN cells from its edges
+     * @return true if the viewport moved
+     */
+    private boolean followPlayer() {
+        int margin = Math.min(SCROLL_MARGIN, (Math.min(viewRows, viewCols) - 1) / 2);
+        int row = firstRow;
+        int col = firstCol;
+        if (playerRow < row + margin) {
+            row = playerRow - margin;
+        } else if (playerRow > row + viewRows - 1 - margin) {
+            row = playerRow - viewRows + 1 + margin;
+        }
+        if (playerCol < col + margin) {
+            col = playerCol - margin;
+        } else if (playerCol > col + viewCols - 1 - margin) {
+            col = playerCol - viewCols + 1 + margin;
+        }
+        return setViewport(row, col);
+    }
+
+    private void scrollTo(int row, int col) {
+        if (setViewport(row, col)) {
+            drawAll();
+        }
+    }
+
+    /**
+     * Clamp and apply the top-left cell of the viewport
+     * @return true if it changed
+     */
+    private boolean setViewport(int row, int col) {
+        int maxRow = Math.max(1, maze.getHeight() - 1 - viewRows);
+        int maxCol = Math.max(1, maze.getWidth() - 1 - viewCols);
+        row = Math.max(1, Math.min(maxRow, row));
+        col = Math.max(1, Math.min(maxCol, col));
+        boolean changed = row != firstRow || col != firstCol;
+        firstRow = row;
+        firstCol = col;
+        return changed;
+    }
+
+    private void drawAll() {
+        for (int r = firstRow; r < firstRow + viewRows; r++) {
+            for (int c = firstCol; c < firstCol + viewCols; c++) {
+                drawCell(r, c);
+            }
+        }
+    }
+
+    private void drawArea(int centerRow, int centerCol, int radius) {
+        for (int r = centerRow - radius; r <= centerRow + radius; r++) {
+            for (int c = centerCol - radius; c <= centerCol + radius; c++) {
+                drawCell(r, c);
+            }
+        }
+    }
+
+    /**
+     * Paint one cell; cells outside the viewport are skipped
+     */
+    private void drawCell(int r, int c) {
+        if (r < firstRow || c < firstCol || r >= firstRow + viewRows || c >= firstCol + viewCols) {
+            return;
+        }
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        double x = (c - firstCol) * cellSize;
+        double y = (r - firstRow) * cellSize;
+        Position end = maze.getEnd();
+        int tile = MazeTile.PATH;
+
+        Color fill;
+        if (playerRow == r && playerCol == c) {
+            fill = PLAYER;
+        } else if (fog != null && !fog.isExplored(r, c)) {
+            fill = FOG;
+        } else if (end.getRow() == r && end.getCol() == c) {
+            fill = EXIT;
+        } else if (hintRow == r && hintCol == c) {
+            fill = HINT;
+        } else {
+            tile = maze.getTile(r, c);
+            fill = tileColor(tile);
+        }
+
+        g.setFill(fill);
+        g.fillRect(x, y, cellSize, cellSize);
+        g.setStroke(BORDER);
+        g.setLineWidth(1);
+        g.strokeRect(x + 0.5, y + 0.5, cellSize - 1, cellSize - 1);
+
+        String symbol = MazeTile.symbol(tile);
+        if (!symbol.isEmpty()) {
+            g.setFill(SYMBOL);
+            g.setFont(Font.font(null, FontWeight.BOLD, cellSize * 0.5));
+            g.setTextAlign(TextAlignment.CENTER);
+            g.setTextBaseline(VPos.CENTER);
+            g.fillText(symbol, x + cellSize / 2.0, y + cellSize / 2.0);
+        }
+
+        // Explored cells out of sight are drawn dimmed
+        if (fog != null && fill != FOG && fill != PLAYER && !fog.isVisible(r, c)) {
+            g.setFill(REMEMBERED);
+            g.fillRect(x, y, cellSize, cellSize);
+        }
+    }
+
+    private static Color tileColor(int tile) {
+        if (tile == MazeTile.WALL) {
+            return WALL;
+        }
+        if (MazeTile.isKey(tile)) {
+            return KEY;
+        }
+        if (MazeTile.isDoor(tile)) {
+            return DOOR;
+        }
+        if (MazeTile.isOneWay(tile)) {
+            return ONE_WAY;
+        }
+        if (MazeTile.isTeleporter(tile)) {
+            return TELEPORTER;
+        }
+        return PATH;
+    }
+}
@@ -0,0 +1,514 @@
+package com.model;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Word list indexed by letter signature, for anagram puzzles
+ *
+ * Words are packed into one byte array and grouped by signature (the multiset
+ * of their letters). Two open-addressing tables map a word and a signature to
+ * their index; the signature hash is a sum of per-letter constants, so it
+ * needs no sorting and every lookup is O(word length). The default index is
+ * read from the FreeTTS CMU dictionary already on the classpath.
+ */
+public final class AnagramIndex {
+    /** Compiled CMU dictionary shipped in the cmudict04 jar */
+    public static final String CMU_DICTIONARY = "com/sun/speech/freetts/en/us/cmudict04_compiled.bin";
+
+    private static final int LEXICON_MAGIC = 0xBABB1E;
+    private static final int LEXICON_VERSION = 1;
+    private static final int ALPHABET = 26;
+    private static final long[] LETTER_HASH = new long[ALPHABET];
+
+    static {
+        // Fixed random constants per letter (splitmix64)
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < ALPHABET; i++) {
+            long z = seed += 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            LETTER_HASH[i] = z ^ (z >>> 31);
+        }
+    }
+
+    private final byte[] letters;      // every word's letters, 'a' to 'z'
+    private final int[] wordStart;     // word i is letters[wordStart[i] .. wordStart[i + 1])
+    private final int[] wordTable;     // word hash -> word index + 1, 0 if empty
+    private final int[] groupTable;    // signature hash -> group index + 1, 0 if empty
+    private final int[] groupStart;    // group g is groupWords[groupStart[g] .. groupStart[g + 1])
+    private final int[] groupWords;    // word indices sorted by group
+
+    private AnagramIndex(byte[] letters, int[] wordStart, int wordCount) {
+        this.letters = letters;
+        this.wordStart = wordStart;
+        this.wordTable = new int[tableSize(wordCount)];
+
+        int[] groupTable = new int[tableSize(wordCount)];
+        int[] groupOf = new int[wordCount];
+        int[] groupFirst = new int[Math.max(1, wordCount)];  // a word of each group
+        int groupCount = 0;
+        int unique = 0;
+        int[] counts = new int[ALPHABET];
+        for (int word = 0; word < wordCount; word++) {
+            if (insertWord(word)) {
+                // Duplicate word (e.g. one per part of speech) - keep the first
+                groupOf[word] = -1;
+                continue;
+            }
+            unique++;
+            int slot = findGroup(groupTable, groupFirst, word, counts);
+            if (groupTable[slot] == 0) {
+                groupFirst[groupCount] = word;
+                groupTable[slot] = ++groupCount;
+            }
+            groupOf[word] = groupTable[slot] - 1;
+        }
+        this.groupTable = groupTable;
+
+        // Counting sort of words by group
+        this.groupStart = new int[groupCount + 1];
+        for (int word = 0; word < wordCount; word++) {
+            if (groupOf[word] >= 0) {
+                groupStart[groupOf[word] + 1]++;
+            }
+        }
+        for (int g = 0; g < groupCount; g++) {
+            groupStart[g + 1] += groupStart[g];
+        }
+        this.groupWords = new int[unique];
+        int[] next = Arrays.copyOf(groupStart, groupCount);
+        for (int word = 0; word < wordCount; word++) {
+            if (groupOf[word] >= 0) {
+                groupWords[next[groupOf[word]]++] = word;
+            }
+        }
+    }
+
+    /**
+     * Build an index from a list of words
+     * Words with characters other than A to Z are skipped
+     * @param words Words in any case
+     * @return AnagramIndex
+     */
+    public static AnagramIndex fromWords(Iterable<String> words) {
+        Builder builder = new Builder();
+        for (String word : words) {
+            builder.add(word.toCharArray(), word.length());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Build an index from a compiled FreeTTS lexicon (e.g. CMU_DICTIONARY)
+     * @param in Lexicon stream; closed by the caller
+     * @return AnagramIndex
+     * @throws IOException if the stream is not a compiled lexicon
+     */
+    public static AnagramIndex load(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, 1 << 16));
+        if (data.readInt() != LEXICON_MAGIC || data.readInt() != LEXICON_VERSION) {
+            throw new IOException("Not a compiled lexicon");
+        }
+        char[] chars = new char[256];
+        int phonemes = data.readInt();
+        for (int i = 0; i < phonemes; i++) {
+            readChars(data, chars);
+        }
+        int entries = data.readInt();
+        Builder builder = new Builder();
+        for (int i = 0; i < entries; i++) {
+            // Entry key is the word followed by a part-of-speech character
+            int length = readChars(data, chars);
+            builder.add(chars, length - 1);
+            data.skipBytes(data.readUnsignedByte());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Get the shared index of the CMU dictionary, loading it on first use
+     * An empty index is used if the dictionary cannot be read
+     * @return AnagramIndex
+     */
+    public static AnagramIndex getDefault() {
+        return DefaultHolder.INDEX;
+    }
+
+    private static final class DefaultHolder {
+        static final AnagramIndex INDEX = loadDefault();
+
+        private static AnagramIndex loadDefault() {
+            ClassLoader loader = AnagramIndex.class.getClassLoader();
+            try (InputStream in = loader.getResourceAsStream(CMU_DICTIONARY)) {
+                if (in != null) {
+                    return load(in);
+                }
+                System.out.println("Anagram dictionary not found: " + CMU_DICTIONARY);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return new Builder().build();
+        }
+    }
+
+    private static int readChars(DataInputStream data, char[] chars) throws IOException {
+        int length = data.readUnsignedByte();
+        for (int i = 0; i < length; i++) {
+            chars[i] = data.readChar();
+        }
+        return length;
+    }
+
+    // ===== QUERIES =====
+
+    /**
+     * Get number of distinct words
+     * @return Word count
+     */
+    public int size() {
+        return groupWords.length;
+    }
+
+    /**
+     * Get number of distinct letter signatures
+     * @return Signature count
+     */
+    public int getSignatureCount() {
+        return groupStart.length - 1;
+    }
+
+    /**
+     * Check if a word is in the list, ignoring case
+     * @param word Word to look up
+     * @return true if listed
+     */
+    public boolean contains(String word) {
+        if (!isLetters(word)) {
+            return false;
+        }
+        int mask = wordTable.length - 1;
+        for (int slot = (int) wordHash(word) & mask; wordTable[slot] != 0; slot = (slot + 1) & mask) {
+            if (equalsWord(wordTable[slot] - 1, word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if a guess is a listed word using exactly the given letters
+     * @param letters Letters of the puzzle, any order and case
+     * @param guess Player's guess
+     * @return true if the guess is a valid anagram
+     */
+    public boolean isAnagram(String letters, String guess) {
+        return sameLetters(letters, guess) && contains(guess);
+    }
+
+    /**
+     * Get every listed word made of exactly the given letters
+     * @param letters Letters in any order and case
+     * @return Words in upper case, empty if none
+     */
+    public List<String> anagramsOf(String letters) {
+        int group = groupOf(letters);
+        List<String> words = new ArrayList<>();
+        if (group >= 0) {
+            for (int i = groupStart[group]; i < groupStart[group + 1]; i++) {
+                words.add(word(groupWords[i]));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Generate anagram puzzle data from a random signature bucket
+     * The prompt is a shuffle of the letters that is not itself a listed word
+     * @param minLength Shortest answer
+     * @param maxLength Longest answer
+     * @param seed Seed for the bucket and the shuffle
+     * @return Puzzle data (prompt, answer, category, maxAttempts), or null if no word fits
+     */
+    public Map<String, Object> generatePuzzle(int minLength, int maxLength, long seed) {
+        int groups = getSignatureCount();
+        if (groups == 0) {
+            return null;
+        }
+        Random random = new Random(seed);
+        int first = random.nextInt(groups);
+        for (int i = 0; i < groups; i++) {
+            int group = (first + i) % groups;
+            int start = groupStart[group];
+            int length = wordLength(groupWords[start]);
+            if (length < minLength || length > maxLength) {
+                continue;
+            }
+            String answer = word(groupWords[start + random.nextInt(groupStart[group + 1] - start)]);
+            String prompt = scramble(answer, random);
+            if (prompt == null) {
+                continue;
+            }
+            Map<String, Object> data = new HashMap<>();
+            data.put("prompt", prompt);
+            data.put("answer", answer);
+            data.put("category", "Generated");
+            data.put("maxAttempts", length <= 5 ? 5 : length <= 8 ? 4 : 3);
+            return data;
+        }
+        return null;
+    }
+
+    /**
+     * Shuffle letters until they spell no listed word
+     * @return Shuffled letters, or null if every order tried is a word
+     */
+    private String scramble(String word, Random random) {
+        char[] chars = word.toCharArray();
+        for (int attempt = 0; attempt < 10; attempt++) {
+            for (int i = chars.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                char c = chars[i];
+                chars[i] = chars[j];
+                chars[j] = c;
+            }
+            String prompt = new String(chars);
+            if (!contains(prompt)) {
+                return prompt;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check if two strings use the same letters, ignoring case and order
+     * @param a First string
+     * @param b Second string
+     * @return true if one is an anagram of the other
+     */
+    public static boolean sameLetters(String a, String b) {
+        if (a == null || b == null || a.length() != b.length() || !isLetters(a) || !isLetters(b)) {
+            return false;
+        }
+        int[] counts = new int[ALPHABET];
+        for (int i = 0; i < a.length(); i++) {
+            counts[letter(a.charAt(i))]++;
+            counts[letter(b.charAt(i))]--;
+        }
+        for (int count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ===== TABLES =====
+
+    private int groupOf(String letters) {
+        if (!isLetters(letters)) {
+            return -1;
+        }
+        int mask = groupTable.length - 1;
+        int[] counts = new int[ALPHABET];
+        for (int slot = (int) signatureHash(letters) & mask; groupTable[slot] != 0; slot = (slot + 1) & mask) {
+            int group = groupTable[slot] - 1;
+            if (sameSignature(groupWords[groupStart[group]], letters, counts)) {
+                return group;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Add a word to the word table
+     * @return true if it was already there
+     */
+    private boolean insertWord(int word) {
+        int mask = wordTable.length - 1;
+        long hash = 0;
+        for (int i = wordStart[word]; i < wordStart[word + 1]; i++) {
+            hash = hash * 31 + letters[i];
+        }
+        int slot = (int) mix(hash) & mask;
+        for (; wordTable[slot] != 0; slot = (slot + 1) & mask) {
+            int other = wordTable[slot] - 1;
+            if (Arrays.equals(letters, wordStart[other], wordStart[other + 1],
+                    letters, wordStart[word], wordStart[word + 1])) {
+                return true;
+            }
+        }
+        wordTable[slot] = word + 1;
+        return false;
+    }
+
+    /**
+     * Find the group table slot for a word's signature: its group, or the empty slot to use
+     */
+    private int findGroup(int[] table, int[] groupFirst, int word, int[] counts) {
+        int mask = table.length - 1;
+        long hash = 0;
+        for (int i = wordStart[word]; i < wordStart[word + 1]; i++) {
+            hash += LETTER_HASH[letters[i] - 'a'];
+        }
+        int slot = (int) mix(hash) & mask;
+        for (; table[slot] != 0; slot = (slot + 1) & mask) {
+            if (sameSignature(groupFirst[table[slot] - 1], word, counts)) {
+                break;
+            }
+        }
+        return slot;
+    }
+
+    private boolean sameSignature(int word, String letters, int[] counts) {
+        if (wordLength(word) != letters.length()) {
+            return false;
+        }
+        for (int i = 0; i < letters.length(); i++) {
+            counts[letter(letters.charAt(i))]++;
+            counts[this.letters[wordStart[word] + i] - 'a']--;
+        }
+        return allZero(counts);
+    }
+
+    private boolean sameSignature(int word, int other, int[] counts) {
+        int length = wordLength(word);
+        if (length != wordLength(other)) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            counts[letters[wordStart[word] + i] - 'a']++;
+            counts[letters[wordStart[other] + i] - 'a']--;
+        }
+        return allZero(counts);
+    }
+
+    /**
+     * Check counts are all zero, clearing them for the next comparison
+     */
+    private static boolean allZero(int[] counts) {
+        boolean zero = true;
+        for (int i = 0; i < ALPHABET; i++) {
+            zero &= counts[i] == 0;
+            counts[i] = 0;
+        }
+        return zero;
+    }
+
+    private boolean equalsWord(int word, String text) {
+        if (wordLength(word) != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (letters[wordStart[word] + i] != 'a' + letter(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int wordLength(int word) {
+        return wordStart[word + 1] - wordStart[word];
+    }
+
+    private String word(int word) {
+        char[] chars = new char[wordLength(word)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (letters[wordStart[word] + i] - 'a' + 'A');
+        }
+        return new String(chars);
+    }
+
+    private static long wordHash(String word) {
+        long hash = 0;
+        for (int i = 0; i < word.length(); i++) {
+            hash = hash * 31 + 'a' + letter(word.charAt(i));
+        }
+        return mix(hash);
+    }
+
+    private static long signatureHash(String letters) {
+        long hash = 0;
+        for (int i = 0; i < letters.length(); i++) {
+            hash += LETTER_HASH[letter(letters.charAt(i))];
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        return hash ^ hash >>> 33;
+    }
+
+    private static boolean isLetters(String text) {
+        if (text == null || text.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (letter(text.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get a letter's index, 0 for A to 25 for Z, either case
+     * @return Index, or -1 if not a letter
+     */
+    private static int letter(char c) {
+        int index = (c | 0x20) - 'a';
+        return index >= 0 && index < ALPHABET ? index : -1;
+    }
+
+    /**
+     * Table size: a power of two at most half full
+     */
+    private static int tableSize(int entries) {
+        return Integer.highestOneBit(Math.max(1, entries) * 2) << 1;
+    }
+
+    /**
+     * Collects words into the packed letter array
+     */
+    private static final class Builder {
+        private byte[] letters = new byte[1 << 16];
+        private int[] wordStart = new int[1 << 12];
+        private int length;
+        private int count;
+
+        void add(char[] chars, int wordLength) {
+            if (wordLength <= 0) {
+                return;
+            }
+            for (int i = 0; i < wordLength; i++) {
+                if (letter(chars[i]) < 0) {
+                    return;
+                }
+            }
+            if (length + wordLength > letters.length) {
+                letters = Arrays.copyOf(letters, Math.max(letters.length * 2, length + wordLength));
+            }
+            if (count + 2 > wordStart.length) {
+                wordStart = Arrays.copyOf(wordStart, wordStart.length * 2);
+            }
+            for (int i = 0; i < wordLength; i++) {
+                letters[length++] = (byte) ('a' + letter(chars[i]));
+            }
+            wordStart[++count] = length;
+        }
+
+        AnagramIndex build() {
+            return new AnagramIndex(Arrays.copyOf(letters, length), Arrays.copyOf(wordStart, count + 1), count);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the puzzle catalog file and triggers a reload when it changes
+ * Runs on its own daemon thread; bursts of modify events (editors often
+ * write a file in several steps) are collapsed into a single reload
+ */
+public class CatalogWatcher implements Closeable {
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    private final Path file;
+    private final Runnable onChange;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    /**
+     * Create and start a watcher
+     * @param file Catalog file to watch
+     * @param onChange Called on the watcher thread after the file changed
+     * @throws IOException if the directory cannot be watched
+     */
+    public CatalogWatcher(Path file, Runnable onChange) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.onChange = onChange;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::run, "catalog-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Watch loop - waits for events on the file, debounces, then calls onChange
+     */
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = touchesFile(key);
+                key.reset();
+                if (!changed) {
+                    continue;
+                }
+
+                // Drain follow-up events until the file has been quiet for a moment
+                WatchKey next;
+                while ((next = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    touchesFile(next);
+                    next.reset();
+                }
+
+                try {
+                    onChange.run();
+                } catch (RuntimeException ex) {
+                    System.out.println("Catalog reload failed: " + ex.getMessage());
+                    ex.printStackTrace();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ex) {
+            // Watcher closed
+        }
+    }
+
+    private boolean touchesFile(WatchKey key) {
+        boolean touches = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (context instanceof Path && file.getFileName().equals(context)) {
+                touches = true;
+            }
+        }
+        return touches;
+    }
+
+    /**
+     * Stop watching
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+}
@@ -3,6 +3,7 @@ package com.model;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service for managing puzzle/session completion certificates
@@ -15,10 +16,21 @@ import java.util.Map;
 public class CertificateService {
     private final GameDataFacade dataFacade;
     
+    // Last timestamp used in a certificate ID, so IDs stay unique within one millisecond
+    private static final AtomicLong lastIdStamp = new AtomicLong();
+    
     public CertificateService() {
         this.dataFacade = GameDataFacade.getInstance();
     }
     
+    /**
+     * Current time in millis, bumped forward if already used by a previous ID
+     */
+    private static long nextIdStamp() {
+        long now = System.currentTimeMillis();
+        return lastIdStamp.accumulateAndGet(now, (last, time) -> Math.max(last + 1, time));
+    }
+    
     // ==================== SESSION CERTIFICATE METHODS ====================
     
     /**
@@ -32,7 +44,7 @@ public class CertificateService {
      */
     public Certificate awardSessionCertificate(String userId, String difficulty, 
                                                 int totalScore, int completionTimeSeconds) {
-        String certId = "CERT_" + userId + "_SESSION_" + difficulty + "_" + System.currentTimeMillis();
+        String certId = "CERT_" + userId + "_SESSION_" + difficulty + "_" + nextIdStamp();
         String puzzleId = "SESSION_" + difficulty;
         String description = String.format("Escaped Haunted Manor on %s difficulty in %s", 
                                           difficulty, formatTime(completionTimeSeconds));
@@ -89,9 +101,7 @@ public class CertificateService {
      * @return Sum of all certificate scores
      */
     public int getTotalCertificateScore(String userId) {
-        return getUserCertificates(userId).stream()
-            .mapToInt(Certificate::getScoreAchieved)
-            .sum();
+        return dataFacade.getCertificateSummary(userId).totalScore();
     }
     
     /**
@@ -149,7 +159,7 @@ public class CertificateService {
      * @return The created Certificate
      */
     public Certificate awardCertificate(String userId, Puzzle puzzle, int score) {
-        String certId = "CERT_" + userId + "_" + puzzle.getPuzzleId() + "_" + System.currentTimeMillis();
+        String certId = "CERT_" + userId + "_" + puzzle.getPuzzleId() + "_" + nextIdStamp();
         String description = String.format("Completed '%s' puzzle", puzzle.getTitle());
         
         Certificate cert = new Certificate(
@@ -199,7 +209,7 @@ public class CertificateService {
      * @return Total number of certificates
      */
     public int getCertificateCount(String userId) {
-        return getUserCertificates(userId).size();
+        return dataFacade.getCertificateSummary(userId).count();
     }
     
     // ==================== HELPER METHODS ====================
@@ -0,0 +1,56 @@
+package com.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user certificate totals, so stats screens do not scan every certificate
+ *
+ * @param easy EASY certificates
+ * @param medium MEDIUM certificates
+ * @param hard HARD certificates
+ * @param count All certificates, including ones without a known difficulty
+ * @param totalScore Sum of scores achieved
+ */
+public record CertificateSummary(int easy, int medium, int hard, int count, int totalScore) {
+
+    /** Summary of a user without certificates */
+    public static final CertificateSummary EMPTY = new CertificateSummary(0, 0, 0, 0, 0);
+
+    /**
+     * Get summary of one certificate
+     * @param certificate Certificate
+     * @return Summary counting it once
+     */
+    public static CertificateSummary of(Certificate certificate) {
+        String difficulty = certificate.getDifficulty() != null ? certificate.getDifficulty().toUpperCase() : "";
+        return new CertificateSummary(
+            "EASY".equals(difficulty) ? 1 : 0,
+            "MEDIUM".equals(difficulty) ? 1 : 0,
+            "HARD".equals(difficulty) ? 1 : 0,
+            1,
+            certificate.getScoreAchieved());
+    }
+
+    /**
+     * Add two summaries
+     * @param other Other summary
+     * @return Combined summary
+     */
+    public CertificateSummary plus(CertificateSummary other) {
+        return new CertificateSummary(easy + other.easy, medium + other.medium, hard + other.hard,
+            count + other.count, totalScore + other.totalScore);
+    }
+
+    /**
+     * Get counts in the form GameDataFacade.getCertificateStats() returns
+     * @return Map with counts: EASY, MEDIUM, HARD
+     */
+    public Map<String, Integer> toStats() {
+        Map<String, Integer> stats = new HashMap<>();
+        stats.put("EASY", easy);
+        stats.put("MEDIUM", medium);
+        stats.put("HARD", hard);
+        return stats;
+    }
+}
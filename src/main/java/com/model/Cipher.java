@@ -0,0 +1,219 @@
+package com.model;
+
+import java.util.Random;
+
+/**
+ * Classical letter cipher backed by translation tables
+ *
+ * Caesar, Atbash and substitution ciphers use one table; Vigenere uses one
+ * table per keyword letter. Shift tables for all 26 shifts are built once and
+ * shared, so making a cipher allocates nothing per letter. Only A to Z are
+ * translated (result in upper case); other characters are kept as they are
+ * and do not advance the Vigenere keyword.
+ */
+public final class Cipher {
+
+    /**
+     * Supported cipher families
+     */
+    public enum Type {
+        CAESAR,
+        ATBASH,
+        VIGENERE,
+        SUBSTITUTION
+    }
+
+    private static final int ALPHABET = 26;
+
+    // SHIFT_TABLES[s][p] is plain letter p shifted forward by s
+    private static final byte[][] SHIFT_TABLES = new byte[ALPHABET][ALPHABET];
+    private static final byte[] ATBASH_TABLE = new byte[ALPHABET];
+
+    static {
+        for (int s = 0; s < ALPHABET; s++) {
+            for (int p = 0; p < ALPHABET; p++) {
+                SHIFT_TABLES[s][p] = (byte) ((p + s) % ALPHABET);
+            }
+        }
+        for (int p = 0; p < ALPHABET; p++) {
+            ATBASH_TABLE[p] = (byte) (ALPHABET - 1 - p);
+        }
+    }
+
+    private final Type type;
+    private final String key;
+    private final byte[][] encryptTables;
+    private final byte[][] decryptTables;
+
+    private Cipher(Type type, String key, byte[][] encryptTables, byte[][] decryptTables) {
+        this.type = type;
+        this.key = key;
+        this.encryptTables = encryptTables;
+        this.decryptTables = decryptTables;
+    }
+
+    /**
+     * Create a Caesar cipher
+     * @param shift Letters to shift forward, any integer
+     * @return Cipher
+     */
+    public static Cipher caesar(int shift) {
+        int s = Math.floorMod(shift, ALPHABET);
+        return new Cipher(Type.CAESAR, String.valueOf(s),
+            new byte[][] {SHIFT_TABLES[s]}, new byte[][] {SHIFT_TABLES[(ALPHABET - s) % ALPHABET]});
+    }
+
+    /**
+     * Create the Atbash cipher (A and Z swap, B and Y, and so on)
+     * @return Cipher
+     */
+    public static Cipher atbash() {
+        return new Cipher(Type.ATBASH, "", new byte[][] {ATBASH_TABLE}, new byte[][] {ATBASH_TABLE});
+    }
+
+    /**
+     * Create a Vigenere cipher; keyword letter A shifts by 0, B by 1 and so on
+     * @param keyword Keyword of letters
+     * @return Cipher
+     * @throws IllegalArgumentException if the keyword is empty or has other characters
+     */
+    public static Cipher vigenere(String keyword) {
+        if (keyword == null || keyword.isEmpty()) {
+            throw new IllegalArgumentException("Vigenere keyword must not be empty");
+        }
+        byte[][] encrypt = new byte[keyword.length()][];
+        byte[][] decrypt = new byte[keyword.length()][];
+        for (int i = 0; i < keyword.length(); i++) {
+            int s = letter(keyword.charAt(i));
+            if (s < 0) {
+                throw new IllegalArgumentException("Vigenere keyword must be letters: " + keyword);
+            }
+            encrypt[i] = SHIFT_TABLES[s];
+            decrypt[i] = SHIFT_TABLES[(ALPHABET - s) % ALPHABET];
+        }
+        return new Cipher(Type.VIGENERE, keyword.toUpperCase(), encrypt, decrypt);
+    }
+
+    /**
+     * Create a substitution cipher
+     * @param alphabet Cipher letter for each plain letter A to Z
+     * @return Cipher
+     * @throws IllegalArgumentException if alphabet is not a permutation of A to Z
+     */
+    public static Cipher substitution(String alphabet) {
+        if (alphabet == null || alphabet.length() != ALPHABET) {
+            throw new IllegalArgumentException("Substitution alphabet must have 26 letters");
+        }
+        byte[] encrypt = new byte[ALPHABET];
+        byte[] decrypt = new byte[ALPHABET];
+        boolean[] used = new boolean[ALPHABET];
+        for (int p = 0; p < ALPHABET; p++) {
+            int c = letter(alphabet.charAt(p));
+            if (c < 0 || used[c]) {
+                throw new IllegalArgumentException("Substitution alphabet must use each letter once: " + alphabet);
+            }
+            used[c] = true;
+            encrypt[p] = (byte) c;
+            decrypt[c] = (byte) p;
+        }
+        return new Cipher(Type.SUBSTITUTION, alphabet.toUpperCase(), new byte[][] {encrypt}, new byte[][] {decrypt});
+    }
+
+    /**
+     * Create a cipher of a type with a random key
+     * Caesar shifts are never 0 and Vigenere keywords never all A
+     * @param type Cipher type
+     * @param keyLength Vigenere keyword length; ignored for other types
+     * @param random Source of the key
+     * @return Cipher
+     */
+    public static Cipher random(Type type, int keyLength, Random random) {
+        switch (type) {
+            case CAESAR:
+                return caesar(1 + random.nextInt(ALPHABET - 1));
+            case ATBASH:
+                return atbash();
+            case VIGENERE: {
+                char[] keyword = new char[Math.max(1, keyLength)];
+                for (int i = 0; i < keyword.length; i++) {
+                    keyword[i] = (char) ('A' + random.nextInt(ALPHABET));
+                }
+                keyword[random.nextInt(keyword.length)] = (char) ('B' + random.nextInt(ALPHABET - 1));
+                return vigenere(new String(keyword));
+            }
+            case SUBSTITUTION: {
+                char[] alphabet = new char[ALPHABET];
+                for (int i = 0; i < ALPHABET; i++) {
+                    alphabet[i] = (char) ('A' + i);
+                }
+                for (int i = ALPHABET - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    char c = alphabet[i];
+                    alphabet[i] = alphabet[j];
+                    alphabet[j] = c;
+                }
+                return substitution(new String(alphabet));
+            }
+            default:
+                throw new IllegalArgumentException("Unknown cipher type: " + type);
+        }
+    }
+
+    /**
+     * Encrypt text
+     * @param plain Plain text
+     * @return Cipher text in upper case
+     */
+    public String encrypt(String plain) {
+        return translate(plain, encryptTables);
+    }
+
+    /**
+     * Decrypt text
+     * @param cipherText Cipher text
+     * @return Plain text in upper case
+     */
+    public String decrypt(String cipherText) {
+        return translate(cipherText, decryptTables);
+    }
+
+    /**
+     * Get cipher type
+     * @return Type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Get key as text: the shift, the keyword or the cipher alphabet; empty for Atbash
+     * @return Key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    private static String translate(String text, byte[][] tables) {
+        char[] out = new char[text.length()];
+        int position = 0;
+        for (int i = 0; i < out.length; i++) {
+            char ch = text.charAt(i);
+            int p = letter(ch);
+            if (p < 0) {
+                out[i] = ch;
+            } else {
+                out[i] = (char) ('A' + tables[position++ % tables.length][p]);
+            }
+        }
+        return new String(out);
+    }
+
+    /**
+     * Get a letter's index, 0 for A to 25 for Z, either case
+     * @return Index, or -1 if not a letter
+     */
+    static int letter(char c) {
+        int index = (c | 0x20) - 'a';
+        return index >= 0 && index < ALPHABET ? index : -1;
+    }
+}
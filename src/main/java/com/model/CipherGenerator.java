@@ -0,0 +1,121 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Builds CIPHER puzzles from a phrase list
+ *
+ * Each puzzle is made from its own seed, so any puzzle of a batch can be
+ * rebuilt alone. Difficulty picks the cipher family: EASY puzzles use Caesar
+ * or Atbash, MEDIUM a short Vigenere keyword and HARD a full substitution.
+ * Hints are not stored; WordPuzzleGame derives them from the "cipher" field
+ * with CipherSolver.
+ */
+public final class CipherGenerator {
+
+    /** Phrases used when no list is given */
+    public static final List<String> DEFAULT_PHRASES = Collections.unmodifiableList(Arrays.asList(
+        "THE GHOST IS IN THE ATTIC",
+        "BEWARE THE OLD MANSION",
+        "THE KEY IS UNDER THE STAIRS",
+        "SPIDERS GUARD THE CELLAR DOOR",
+        "THE CANDLE NEVER GOES OUT",
+        "A PHANTOM WALKS AT MIDNIGHT",
+        "THE SORCERER HID HIS BOOK",
+        "FOLLOW THE COLD WIND",
+        "THE PORTRAIT IS WATCHING YOU",
+        "LISTEN FOR THE CLOCK TO STRIKE",
+        "THE GRAVEYARD GATE IS OPEN",
+        "NEVER READ THE SPELL ALOUD",
+        "THE MIRROR SHOWS THE TRUTH",
+        "THE LIBRARY HOLDS A SECRET",
+        "RAVENS CIRCLE THE TOWER",
+        "THE EXIT IS BEHIND THE FIREPLACE"
+    ));
+
+    private static final int MEDIUM_KEYWORD_LENGTH = 3;
+
+    private CipherGenerator() {}
+
+    /**
+     * Build puzzle data for one phrase
+     * @param phrase Plain text answer
+     * @param type Cipher type
+     * @param keyLength Vigenere keyword length; ignored for other types
+     * @param seed Seed for the key
+     * @return Puzzle data (prompt, answer, category, maxAttempts, cipher, key)
+     */
+    public static Map<String, Object> generate(String phrase, Cipher.Type type, int keyLength, long seed) {
+        Cipher cipher = Cipher.random(type, keyLength, new Random(seed));
+        String answer = phrase.trim().toUpperCase();
+        Map<String, Object> data = new HashMap<>();
+        data.put("prompt", cipher.encrypt(answer));
+        data.put("answer", answer);
+        data.put("category", categoryFor(type));
+        data.put("maxAttempts", type == Cipher.Type.SUBSTITUTION ? 3 : type == Cipher.Type.VIGENERE ? 4 : 5);
+        data.put("cipher", type.name());
+        data.put("key", cipher.getKey());
+        return data;
+    }
+
+    /**
+     * Build a batch of puzzles for one difficulty
+     * Puzzle i picks its phrase, cipher and key from seed + i alone
+     * @param phrases Phrases to encrypt
+     * @param difficulty EASY, MEDIUM or HARD
+     * @param count Number of puzzles
+     * @param seed Seed of the first puzzle
+     * @return Puzzles with ids cipher_gen_[difficulty]_[seed + i]
+     * @throws IllegalArgumentException if the phrase list is empty or the difficulty unknown
+     */
+    public static List<Puzzle> generateBatch(List<String> phrases, String difficulty, int count, long seed) {
+        if (phrases.isEmpty()) {
+            throw new IllegalArgumentException("Phrase list is empty");
+        }
+        String level = difficulty.toUpperCase();
+        List<Puzzle> puzzles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long puzzleSeed = seed + i;
+            Random random = new Random(puzzleSeed);
+            String phrase = phrases.get(random.nextInt(phrases.size()));
+            Cipher.Type type = typeFor(level, random);
+            Map<String, Object> data = generate(phrase, type, MEDIUM_KEYWORD_LENGTH, random.nextLong());
+            String id = "cipher_gen_" + level.toLowerCase() + "_" + puzzleSeed;
+            puzzles.add(new Puzzle(id, "CIPHER", level, categoryFor(type),
+                "Decode the hidden message", data));
+        }
+        return puzzles;
+    }
+
+    private static Cipher.Type typeFor(String difficulty, Random random) {
+        switch (difficulty) {
+            case "EASY":
+                return random.nextBoolean() ? Cipher.Type.CAESAR : Cipher.Type.ATBASH;
+            case "MEDIUM":
+                return Cipher.Type.VIGENERE;
+            case "HARD":
+                return Cipher.Type.SUBSTITUTION;
+            default:
+                throw new IllegalArgumentException("Unknown difficulty: " + difficulty);
+        }
+    }
+
+    private static String categoryFor(Cipher.Type type) {
+        switch (type) {
+            case CAESAR:
+                return "Caesar Cipher";
+            case ATBASH:
+                return "Atbash Cipher";
+            case VIGENERE:
+                return "Vigenere Cipher";
+            default:
+                return "Substitution Cipher";
+        }
+    }
+}
@@ -0,0 +1,575 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Frequency-analysis solver for Cipher puzzles
+ *
+ * Candidate decryptions are scored with English letter and bigram
+ * log-frequencies (bigrams are only counted inside words). Caesar and Atbash
+ * are tried exhaustively; Vigenere keyword length is chosen by index of
+ * coincidence and each keyword letter is then tuned against the score;
+ * substitution starts from frequency order and is improved by swapping letters.
+ * The result drives graded hints for WordPuzzleGame, from the cipher family
+ * down to the most likely key.
+ */
+public final class CipherSolver {
+    /** Longest Vigenere keyword tried */
+    public static final int MAX_KEYWORD_LENGTH = 8;
+
+    private static final int ALPHABET = 26;
+
+    // Letter frequencies of English text, percent, A to Z
+    private static final double[] LETTER_FREQUENCY = {
+        8.04, 1.48, 3.34, 3.82, 12.49, 2.40, 1.87, 5.05, 7.57, 0.16, 0.54, 4.07, 2.51,
+        7.23, 7.64, 2.14, 0.12, 6.28, 6.51, 9.28, 2.73, 1.05, 1.68, 0.23, 1.66, 0.09
+    };
+
+    // Most common English bigrams with their frequency in percent
+    private static final String[] COMMON_BIGRAMS = {
+        "TH", "HE", "IN", "ER", "AN", "RE", "ON", "AT", "EN", "ND", "TI", "ES", "OR", "TE", "OF",
+        "ED", "IS", "IT", "AL", "AR", "ST", "TO", "NT", "NG", "SE", "HA", "AS", "OU", "IO", "LE",
+        "VE", "CO", "ME", "DE", "HI", "RI", "RO", "IC", "NE", "EA", "RA", "CE", "LI", "CH", "LL",
+        "BE", "MA", "SI", "OM", "UR"
+    };
+    private static final double[] COMMON_BIGRAM_FREQUENCY = {
+        3.56, 3.07, 2.43, 2.05, 1.99, 1.85, 1.76, 1.49, 1.45, 1.35, 1.34, 1.34, 1.28, 1.20, 1.17,
+        1.17, 1.13, 1.12, 1.09, 1.07, 1.05, 1.04, 1.04, 0.95, 0.93, 0.93, 0.87, 0.87, 0.83, 0.83,
+        0.83, 0.79, 0.79, 0.76, 0.76, 0.73, 0.73, 0.70, 0.69, 0.69, 0.69, 0.65, 0.62, 0.60, 0.58,
+        0.58, 0.57, 0.55, 0.55, 0.54
+    };
+    // Bigrams not listed above are taken as half as likely as independent letters
+    private static final double OTHER_BIGRAM_FACTOR = 0.5;
+
+    // English letters from most to least common
+    private static final byte[] FREQUENCY_ORDER = new byte[ALPHABET];
+    private static final double[] LOG_LETTER = new double[ALPHABET];
+    // LOG_NEXT[a * 26 + b] is the log chance that b follows a inside a word
+    private static final double[] LOG_NEXT = new double[ALPHABET * ALPHABET];
+
+    static {
+        for (int i = 0; i < ALPHABET; i++) {
+            LOG_LETTER[i] = Math.log(LETTER_FREQUENCY[i] / 100);
+        }
+        for (int a = 0; a < ALPHABET; a++) {
+            for (int b = 0; b < ALPHABET; b++) {
+                LOG_NEXT[a * ALPHABET + b] = LOG_LETTER[b] + Math.log(OTHER_BIGRAM_FACTOR);
+            }
+        }
+        for (int i = 0; i < COMMON_BIGRAMS.length; i++) {
+            int a = COMMON_BIGRAMS[i].charAt(0) - 'A';
+            int b = COMMON_BIGRAMS[i].charAt(1) - 'A';
+            LOG_NEXT[a * ALPHABET + b] = Math.log(COMMON_BIGRAM_FREQUENCY[i] / LETTER_FREQUENCY[a]);
+        }
+        Integer[] order = new Integer[ALPHABET];
+        for (int i = 0; i < ALPHABET; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(LETTER_FREQUENCY[b], LETTER_FREQUENCY[a]));
+        for (int i = 0; i < ALPHABET; i++) {
+            FREQUENCY_ORDER[i] = (byte) (int) order[i];
+        }
+    }
+
+    private final String cipherText;
+    private final byte[] codes;        // cipher letters, 0 to 25
+    private final boolean[] joined;    // true if the letter follows another in the same word
+    private final int[] counts = new int[ALPHABET];
+    private final byte[] plain;        // scratch decryption
+
+    /**
+     * Result of solving: best cipher, its decryption and its score
+     */
+    public static final class Analysis {
+        private final Cipher cipher;
+        private final String plainText;
+        private final double score;
+
+        private Analysis(Cipher cipher, String plainText, double score) {
+            this.cipher = cipher;
+            this.plainText = plainText;
+            this.score = score;
+        }
+
+        /**
+         * Get the most likely cipher, with its key
+         * @return Cipher
+         */
+        public Cipher getCipher() {
+            return cipher;
+        }
+
+        /**
+         * Get the decryption with that cipher
+         * @return Plain text in upper case
+         */
+        public String getPlainText() {
+            return plainText;
+        }
+
+        /**
+         * Get average log-likelihood per letter of the plain text; higher is more English
+         * @return Score
+         */
+        public double getScore() {
+            return score;
+        }
+    }
+
+    private CipherSolver(String cipherText) {
+        this.cipherText = cipherText;
+        int letters = 0;
+        for (int i = 0; i < cipherText.length(); i++) {
+            if (Cipher.letter(cipherText.charAt(i)) >= 0) {
+                letters++;
+            }
+        }
+        this.codes = new byte[letters];
+        this.joined = new boolean[letters];
+        this.plain = new byte[letters];
+        boolean previousLetter = false;
+        int n = 0;
+        for (int i = 0; i < cipherText.length(); i++) {
+            int c = Cipher.letter(cipherText.charAt(i));
+            if (c >= 0) {
+                joined[n] = previousLetter;
+                codes[n++] = (byte) c;
+                counts[c]++;
+            }
+            previousLetter = c >= 0;
+        }
+    }
+
+    /**
+     * Find the most likely cipher of a known type
+     * @param cipherText Cipher text
+     * @param type Cipher type
+     * @return Analysis
+     */
+    public static Analysis solve(String cipherText, Cipher.Type type) {
+        CipherSolver solver = new CipherSolver(cipherText);
+        switch (type) {
+            case CAESAR:
+                return solver.solveCaesar();
+            case ATBASH:
+                return solver.analysis(Cipher.atbash());
+            case VIGENERE:
+                return solver.solveVigenere();
+            default:
+                return solver.solveSubstitution();
+        }
+    }
+
+    /**
+     * Find the most likely cipher of any type
+     * Caesar and Atbash are preferred when they read as well as the others,
+     * since Vigenere and substitution can fit any short text
+     * @param cipherText Cipher text
+     * @return Analysis
+     */
+    public static Analysis solve(String cipherText) {
+        CipherSolver solver = new CipherSolver(cipherText);
+        Analysis best = solver.solveCaesar();
+        Analysis atbash = solver.analysis(Cipher.atbash());
+        if (atbash.getScore() > best.getScore()) {
+            best = atbash;
+        }
+        // Simple ciphers keep their letter counts; a good fit needs no more
+        if (best.getScore() > -3.0) {
+            return best;
+        }
+        Analysis polyalphabetic = solver.indexOfCoincidence(1) < 0.055 && solver.codes.length >= 2 * 3
+            ? solver.solveVigenere() : solver.solveSubstitution();
+        return polyalphabetic.getScore() > best.getScore() ? polyalphabetic : best;
+    }
+
+    /**
+     * Build graded hints for a cipher puzzle, vaguest first
+     * With the answer the key is read off the letter pairs, so hints are exact;
+     * without it they come from frequency analysis and say "most likely"
+     * @param puzzleId Puzzle the hints belong to
+     * @param cipherText Cipher text shown to the player
+     * @param type Cipher type, or null to detect it
+     * @param answer Plain text, or null if unknown
+     * @return Three hints with priorities 1 to 3
+     */
+    public static List<Hint> hints(String puzzleId, String cipherText, Cipher.Type type, String answer) {
+        Cipher cipher = type != null && answer != null ? fromCrib(type, cipherText, answer) : null;
+        boolean exact = cipher != null;
+        if (!exact) {
+            cipher = (type != null ? solve(cipherText, type) : solve(cipherText)).getCipher();
+        }
+        String key = cipher.getKey();
+        char first = mostCommon(cipherText, 0);
+        String[] text;
+        switch (cipher.getType()) {
+            case CAESAR:
+                text = new String[] {
+                    "Every letter is shifted the same number of places along the alphabet",
+                    label("shift: ", exact) + key + " - each letter stands for the one " + key + " places before it",
+                    label("decoding of the most common letter: ", exact) + first + " stands for " + plainFor(cipher, first)
+                };
+                break;
+            case ATBASH:
+                text = new String[] {
+                    "The alphabet has been turned back to front",
+                    "A stands for Z, B for Y, C for X and so on",
+                    label("first word: ", exact) + firstWord(cipher.decrypt(cipherText))
+                };
+                break;
+            case VIGENERE:
+                text = new String[] {
+                    "Letters are shifted by a repeating keyword, so the shift changes letter by letter",
+                    label("keyword length: ", exact) + key.length(),
+                    label("keyword: ", exact) + key + " - A shifts by 0, B by 1 and so on"
+                };
+                break;
+            default: {
+                char second = mostCommon(cipherText, 1);
+                char third = mostCommon(cipherText, 2);
+                text = new String[] {
+                    "Each letter always stands for the same other letter",
+                    label("decoding of the most common letter: ", exact) + first + " stands for " + plainFor(cipher, first),
+                    label("decoding of the next most common letters: ", exact) + second + " = " + plainFor(cipher, second)
+                        + ", " + third + " = " + plainFor(cipher, third)
+                };
+                break;
+            }
+        }
+        List<Hint> hints = new ArrayList<>();
+        for (int i = 0; i < text.length; i++) {
+            hints.add(new Hint(text[i], puzzleId, i + 1));
+        }
+        return hints;
+    }
+
+    private static String label(String text, boolean exact) {
+        return exact ? Character.toUpperCase(text.charAt(0)) + text.substring(1) : "Most likely " + text;
+    }
+
+    /**
+     * Recover the key of a known cipher type from a plain/cipher text pair
+     * @return Cipher that turns the answer into the cipher text, or null if none fits
+     */
+    private static Cipher fromCrib(Cipher.Type type, String cipherText, String answer) {
+        if (answer.length() != cipherText.length()) {
+            return null;
+        }
+        StringBuilder shifts = new StringBuilder();
+        int[] substitution = new int[ALPHABET];
+        Arrays.fill(substitution, -1);
+        for (int i = 0; i < answer.length(); i++) {
+            int p = Cipher.letter(answer.charAt(i));
+            int c = Cipher.letter(cipherText.charAt(i));
+            if (p >= 0 && c >= 0) {
+                shifts.append((char) ('A' + (c - p + ALPHABET) % ALPHABET));
+                substitution[p] = c;
+            }
+        }
+        if (shifts.length() == 0) {
+            return null;
+        }
+        Cipher cipher;
+        switch (type) {
+            case CAESAR:
+                cipher = Cipher.caesar(shifts.charAt(0) - 'A');
+                break;
+            case ATBASH:
+                cipher = Cipher.atbash();
+                break;
+            case VIGENERE:
+                cipher = Cipher.vigenere(shifts.substring(0, period(shifts)));
+                break;
+            default:
+                cipher = substitutionFrom(substitution);
+                break;
+        }
+        return cipher != null && cipher.encrypt(answer).equals(cipherText.toUpperCase()) ? cipher : null;
+    }
+
+    /**
+     * Shortest prefix length that repeats to make the whole sequence
+     */
+    private static int period(CharSequence sequence) {
+        for (int k = 1; k < sequence.length(); k++) {
+            boolean repeats = true;
+            for (int i = k; i < sequence.length() && repeats; i++) {
+                repeats = sequence.charAt(i) == sequence.charAt(i - k);
+            }
+            if (repeats) {
+                return k;
+            }
+        }
+        return sequence.length();
+    }
+
+    /**
+     * Complete a partial plain-to-cipher mapping; unseen letters take the unused cipher letters in order
+     */
+    private static Cipher substitutionFrom(int[] substitution) {
+        boolean[] used = new boolean[ALPHABET];
+        for (int c : substitution) {
+            if (c >= 0) {
+                if (used[c]) {
+                    return null;
+                }
+                used[c] = true;
+            }
+        }
+        char[] alphabet = new char[ALPHABET];
+        int next = 0;
+        for (int p = 0; p < ALPHABET; p++) {
+            if (substitution[p] < 0) {
+                while (used[next]) {
+                    next++;
+                }
+                used[next] = true;
+                substitution[p] = next;
+            }
+            alphabet[p] = (char) ('A' + substitution[p]);
+        }
+        return Cipher.substitution(new String(alphabet));
+    }
+
+    // ===== SOLVERS =====
+
+    private Analysis solveCaesar() {
+        int bestShift = 0;
+        double best = Double.NEGATIVE_INFINITY;
+        for (int s = 0; s < ALPHABET; s++) {
+            for (int i = 0; i < codes.length; i++) {
+                plain[i] = (byte) ((codes[i] - s + ALPHABET) % ALPHABET);
+            }
+            double score = score(plain);
+            if (score > best) {
+                best = score;
+                bestShift = s;
+            }
+        }
+        return analysis(Cipher.caesar(bestShift));
+    }
+
+    private Analysis solveVigenere() {
+        int length = 1;
+        double bestIoc = -1;
+        int maxLength = Math.min(MAX_KEYWORD_LENGTH, Math.max(1, codes.length / 3));
+        for (int k = 1; k <= maxLength; k++) {
+            // Longer keywords are slightly penalized so multiples of the period lose
+            double ioc = indexOfCoincidence(k) - 0.002 * k;
+            if (ioc > bestIoc) {
+                bestIoc = ioc;
+                length = k;
+            }
+        }
+
+        // Start each keyword letter from the column's best letter fit, then tune on the whole text
+        int[] shifts = new int[length];
+        for (int k = 0; k < length; k++) {
+            shifts[k] = bestColumnShift(k, length);
+        }
+        double best = scoreShifts(shifts);
+        for (int pass = 0; pass < 3; pass++) {
+            boolean improved = false;
+            for (int k = 0; k < length; k++) {
+                int original = shifts[k];
+                for (int s = 0; s < ALPHABET; s++) {
+                    shifts[k] = s;
+                    double score = scoreShifts(shifts);
+                    if (score > best + 1e-9) {
+                        best = score;
+                        original = s;
+                        improved = true;
+                    }
+                }
+                shifts[k] = original;
+            }
+            if (!improved) {
+                break;
+            }
+        }
+        char[] keyword = new char[length];
+        for (int k = 0; k < length; k++) {
+            keyword[k] = (char) ('A' + shifts[k]);
+        }
+        return analysis(Cipher.vigenere(new String(keyword)));
+    }
+
+    private Analysis solveSubstitution() {
+        // Map cipher letters to English letters by frequency rank
+        Integer[] order = new Integer[ALPHABET];
+        for (int i = 0; i < ALPHABET; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> counts[b] - counts[a]);
+        byte[] decrypt = new byte[ALPHABET];
+        for (int i = 0; i < ALPHABET; i++) {
+            decrypt[order[i]] = FREQUENCY_ORDER[i];
+        }
+
+        // Swap plain letters of two cipher letters while the score improves
+        double best = scoreMapping(decrypt);
+        for (int pass = 0; pass < 5; pass++) {
+            boolean improved = false;
+            for (int a = 0; a < ALPHABET; a++) {
+                if (counts[a] == 0) {
+                    continue;
+                }
+                for (int b = 0; b < ALPHABET; b++) {
+                    if (a == b) {
+                        continue;
+                    }
+                    swap(decrypt, a, b);
+                    double score = scoreMapping(decrypt);
+                    if (score > best + 1e-9) {
+                        best = score;
+                        improved = true;
+                    } else {
+                        swap(decrypt, a, b);
+                    }
+                }
+            }
+            if (!improved) {
+                break;
+            }
+        }
+        char[] alphabet = new char[ALPHABET];
+        for (int c = 0; c < ALPHABET; c++) {
+            alphabet[decrypt[c]] = (char) ('A' + c);
+        }
+        return analysis(Cipher.substitution(new String(alphabet)));
+    }
+
+    private int bestColumnShift(int column, int period) {
+        int bestShift = 0;
+        double best = Double.NEGATIVE_INFINITY;
+        for (int s = 0; s < ALPHABET; s++) {
+            double score = 0;
+            for (int i = column; i < codes.length; i += period) {
+                score += LOG_LETTER[(codes[i] - s + ALPHABET) % ALPHABET];
+            }
+            if (score > best) {
+                best = score;
+                bestShift = s;
+            }
+        }
+        return bestShift;
+    }
+
+    /**
+     * Average index of coincidence of the columns for a keyword length
+     */
+    private double indexOfCoincidence(int period) {
+        double total = 0;
+        int columns = 0;
+        int[] columnCounts = new int[ALPHABET];
+        for (int k = 0; k < period; k++) {
+            Arrays.fill(columnCounts, 0);
+            int n = 0;
+            for (int i = k; i < codes.length; i += period) {
+                columnCounts[codes[i]]++;
+                n++;
+            }
+            if (n < 2) {
+                continue;
+            }
+            long pairs = 0;
+            for (int count : columnCounts) {
+                pairs += (long) count * (count - 1);
+            }
+            total += (double) pairs / ((long) n * (n - 1));
+            columns++;
+        }
+        return columns == 0 ? 0 : total / columns;
+    }
+
+    // ===== SCORING =====
+
+    private double scoreShifts(int[] shifts) {
+        for (int i = 0; i < codes.length; i++) {
+            plain[i] = (byte) ((codes[i] - shifts[i % shifts.length] + ALPHABET) % ALPHABET);
+        }
+        return score(plain);
+    }
+
+    private double scoreMapping(byte[] decrypt) {
+        for (int i = 0; i < codes.length; i++) {
+            plain[i] = decrypt[codes[i]];
+        }
+        return score(plain);
+    }
+
+    /**
+     * Average log-likelihood per letter; a letter inside a word is scored on the one before it
+     */
+    private double score(byte[] letters) {
+        if (codes.length == 0) {
+            return 0;
+        }
+        double score = 0;
+        for (int i = 0; i < codes.length; i++) {
+            score += joined[i] ? LOG_NEXT[letters[i - 1] * ALPHABET + letters[i]] : LOG_LETTER[letters[i]];
+        }
+        return score / codes.length;
+    }
+
+    private Analysis analysis(Cipher cipher) {
+        String plainText = cipher.decrypt(cipherText);
+        int n = 0;
+        for (int i = 0; i < plainText.length(); i++) {
+            int p = Cipher.letter(plainText.charAt(i));
+            if (p >= 0) {
+                plain[n++] = (byte) p;
+            }
+        }
+        return new Analysis(cipher, plainText, score(plain));
+    }
+
+    // ===== HINT HELPERS =====
+
+    private static int firstLetter(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (Cipher.letter(text.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static String firstWord(String text) {
+        String trimmed = text.trim();
+        int space = trimmed.indexOf(' ');
+        return space < 0 ? trimmed : trimmed.substring(0, space);
+    }
+
+    /**
+     * Get the cipher letter with a given frequency rank in the text
+     * @param rank 0 for the most common
+     */
+    private static char mostCommon(String text, int rank) {
+        int[] counts = new int[ALPHABET];
+        for (int i = 0; i < text.length(); i++) {
+            int c = Cipher.letter(text.charAt(i));
+            if (c >= 0) {
+                counts[c]++;
+            }
+        }
+        Integer[] order = new Integer[ALPHABET];
+        for (int i = 0; i < ALPHABET; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> counts[b] - counts[a]);
+        return (char) ('A' + order[rank]);
+    }
+
+    private static char plainFor(Cipher cipher, char cipherLetter) {
+        return cipher.decrypt(String.valueOf(cipherLetter)).charAt(0);
+    }
+
+    private static void swap(byte[] values, int a, int b) {
+        byte value = values[a];
+        values[a] = values[b];
+        values[b] = value;
+    }
+}
@@ -101,6 +101,7 @@ public class ConsoleView implements GameView {
         Maze maze = (Maze) state.get("maze");
         Player player = (Player) state.get("player");
         int moves = (int) state.get("moveCount");
+        MazeVisibility fog = (MazeVisibility) state.get("fog");
 
         System.out.println("\n" + "=".repeat(40));
         System.out.println("         MAZE GAME");
@@ -112,10 +113,14 @@ public class ConsoleView implements GameView {
             for (int c = 0; c < maze.getWidth(); c++) {
                 if (player.row == r && player.col == c) {
                     System.out.print("P "); // Player
+                } else if (fog != null && !fog.isExplored(r, c)) {
+                    System.out.print("░ "); // Not seen yet
                 } else if (maze.getEnd().getRow() == r && maze.getEnd().getCol() == c) {
                     System.out.print("E "); // Exit
-                } else if (maze.getMazeData()[r][c] == 1) {
+                } else if (maze.isWall(r, c)) {
                     System.out.print("█ "); // Wall
+                } else if (maze.getTile(r, c) != MazeTile.PATH) {
+                    System.out.print(MazeTile.symbol(maze.getTile(r, c)) + " "); // Key, door, one-way, teleporter
                 } else {
                     System.out.print("  "); // Path
                 }
@@ -123,7 +128,16 @@ public class ConsoleView implements GameView {
             System.out.println();
         }
 
-        System.out.println("\nControls: W=Up, S=Down, A=Left, D=Right");
+        Object movesRemaining = state.get("movesRemaining");
+        if (movesRemaining instanceof Integer && (Integer) movesRemaining > 0) {
+            System.out.println("\nExit is " + movesRemaining + " moves away");
+        }
+        Direction hint = (Direction) state.get("hint");
+        if (hint != null) {
+            System.out.println("Hint: press " + hint.getKey());
+        }
+
+        System.out.println("\nControls: W=Up, S=Down, A=Left, D=Right, HINT=Show best move");
         System.out.println("Type 'save' to save and quit, 'quit' to quit without saving");
     }
 
@@ -206,6 +220,11 @@ public class ConsoleView implements GameView {
             }
         }
 
+        if (Boolean.TRUE.equals(state.get("closeGuess"))) {
+            int distance = (int) state.get("lastGuessDistance");
+            System.out.println("So close! Your last guess was " + distance + " letter" + (distance == 1 ? "" : "s") + " off.");
+        }
+
         if (revealedHints != null && !revealedHints.isEmpty()) {
             System.out.println("\nHints:");
             for (String hint : revealedHints) {
@@ -0,0 +1,77 @@
+package com.model;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk format for users.json and gamedata.json
+ * - PRETTY: indented JSON, for hand editing
+ * - COMPACT: JSON without whitespace (default)
+ * - GZIP: compact JSON wrapped in a gzip frame
+ *
+ * The writer picks one format; the loader detects gzip from the
+ * file header so any format can be read back.
+ */
+public enum DataFormat {
+    PRETTY,
+    COMPACT,
+    GZIP;
+
+    /** System property used to choose the output format */
+    public static final String PROPERTY = "escapegame.dataFormat";
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+
+    /**
+     * Get the configured output format
+     * @return format named by the escapegame.dataFormat property, or COMPACT
+     */
+    public static DataFormat configured() {
+        String value = System.getProperty(PROPERTY);
+        if (value == null) {
+            return COMPACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            System.out.println("Unknown data format '" + value + "', using COMPACT");
+            return COMPACT;
+        }
+    }
+
+    /**
+     * Wrap a file output stream for this format
+     * @param out Raw file stream
+     * @return Stream that JSON text should be written to
+     * @throws IOException if the gzip header cannot be written
+     */
+    public OutputStream wrap(OutputStream out) throws IOException {
+        if (this == GZIP) {
+            return new GZIPOutputStream(out, 8192);
+        }
+        return out;
+    }
+
+    /**
+     * Open a data file for reading, unwrapping gzip if the file starts with the gzip magic
+     * @param path File to open
+     * @return Stream of JSON text
+     * @throws IOException if the file cannot be opened
+     */
+    public static InputStream openDetected(String path) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(new FileInputStream(path), 8192);
+        in.mark(2);
+        int b0 = in.read();
+        int b1 = in.read();
+        in.reset();
+        if (b0 != -1 && b1 != -1 && ((b1 << 8) | b0) == GZIP_MAGIC) {
+            return new GZIPInputStream(in, 8192);
+        }
+        return in;
+    }
+}
@@ -0,0 +1,81 @@
+package com.model;
+
+/**
+ * Maze movement direction with its row/column offset and WASD key
+ */
+public enum Direction {
+    UP(-1, 0, 'W'),
+    DOWN(1, 0, 'S'),
+    LEFT(0, -1, 'A'),
+    RIGHT(0, 1, 'D');
+
+    private final int rowDelta;
+    private final int colDelta;
+    private final char key;
+
+    Direction(int rowDelta, int colDelta, char key) {
+        this.rowDelta = rowDelta;
+        this.colDelta = colDelta;
+        this.key = key;
+    }
+
+    /**
+     * Get row offset of one step
+     * @return -1, 0 or 1
+     */
+    public int getRowDelta() {
+        return rowDelta;
+    }
+
+    /**
+     * Get column offset of one step
+     * @return -1, 0 or 1
+     */
+    public int getColDelta() {
+        return colDelta;
+    }
+
+    /**
+     * Get WASD key for this direction
+     * @return Upper-case key
+     */
+    public char getKey() {
+        return key;
+    }
+
+    /**
+     * Get direction for a WASD key (case-insensitive)
+     * @param key Key character
+     * @return Direction or null if not a movement key
+     */
+    public static Direction fromKey(char key) {
+        switch (key) {
+            case 'W': case 'w': return UP;
+            case 'S': case 's': return DOWN;
+            case 'A': case 'a': return LEFT;
+            case 'D': case 'd': return RIGHT;
+            default: return null;
+        }
+    }
+
+    /**
+     * Parse a text command such as "w" or " D " without allocating
+     * Surrounding whitespace is ignored, as with String.trim()
+     * @param input Text command
+     * @return Direction or null if the input is not a single WASD key
+     */
+    public static Direction fromInput(String input) {
+        if (input == null) {
+            return null;
+        }
+        int first = 0;
+        int last = input.length() - 1;
+        while (first <= last && input.charAt(first) <= ' ') {
+            first++;
+        }
+        while (last >= first && input.charAt(last) <= ' ') {
+            last--;
+        }
+        return first == last ? fromKey(input.charAt(first)) : null;
+    }
+}
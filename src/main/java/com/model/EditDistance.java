@@ -0,0 +1,187 @@
+package com.model;
+
+import java.util.Arrays;
+
+/**
+ * Bounded Damerau-Levenshtein distance to a fixed pattern
+ *
+ * Counts insertions, deletions, substitutions and swaps of two neighbouring
+ * characters (optimal string alignment). Patterns of up to 64 characters use
+ * Hyyro's bit-parallel extension of Myers' algorithm: one pass over the text
+ * with a few long operations per character. Longer patterns fall back to a
+ * three-row dynamic program. Character masks and rows are built once per
+ * pattern, so distance() allocates nothing; an instance is not thread-safe.
+ */
+public final class EditDistance {
+    private static final int WORD_BITS = 64;
+
+    private final String pattern;
+    private final int length;
+
+    // Bit-parallel tables: bit i of a mask is set where pattern[i] is that character
+    private final long[] asciiMasks;
+    private final char[] otherChars;
+    private final long[] otherMasks;
+
+    // Dynamic-programming rows for long patterns
+    private final int[] before;
+    private final int[] previous;
+    private final int[] current;
+
+    /**
+     * Compile a pattern
+     * @param pattern String to measure guesses against
+     */
+    public EditDistance(String pattern) {
+        this.pattern = pattern;
+        this.length = pattern.length();
+        if (length <= WORD_BITS) {
+            asciiMasks = new long[128];
+            char[] chars = new char[length];
+            long[] masks = new long[length];
+            int others = 0;
+            for (int i = 0; i < length; i++) {
+                char c = pattern.charAt(i);
+                if (c < 128) {
+                    asciiMasks[c] |= 1L << i;
+                    continue;
+                }
+                int k = 0;
+                while (k < others && chars[k] != c) {
+                    k++;
+                }
+                if (k == others) {
+                    chars[others++] = c;
+                }
+                masks[k] |= 1L << i;
+            }
+            otherChars = Arrays.copyOf(chars, others);
+            otherMasks = Arrays.copyOf(masks, others);
+            before = previous = current = null;
+        } else {
+            asciiMasks = null;
+            otherChars = null;
+            otherMasks = null;
+            before = new int[length + 1];
+            previous = new int[length + 1];
+            current = new int[length + 1];
+        }
+    }
+
+    /**
+     * Get the pattern
+     * @return Pattern text
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Get the distance from a text to the pattern, giving up past a bound
+     * @param text Text to compare
+     * @param max Largest distance of interest
+     * @return Distance, or max + 1 if it is larger than max
+     */
+    public int distance(CharSequence text, int max) {
+        int n = text.length();
+        if (Math.abs(n - length) > max) {
+            return max + 1;
+        }
+        if (length == 0) {
+            return n;
+        }
+        int d = length <= WORD_BITS ? bitParallel(text, max) : rows(text, max);
+        return Math.min(d, max + 1);
+    }
+
+    /**
+     * Get the unbounded distance between two strings
+     * @param a First string
+     * @param b Second string
+     * @return Distance
+     */
+    public static int distance(String a, String b) {
+        return new EditDistance(a).distance(b, Math.max(a.length(), b.length()));
+    }
+
+    /**
+     * Hyyro 2003: Myers' vertical deltas plus a transposition vector
+     */
+    private int bitParallel(CharSequence text, int max) {
+        long last = 1L << (length - 1);
+        long vp = length == WORD_BITS ? -1L : (1L << length) - 1;
+        long vn = 0;
+        long d0 = 0;
+        long previousMask = 0;
+        int score = length;
+        int n = text.length();
+        for (int j = 0; j < n; j++) {
+            long pm = mask(text.charAt(j));
+            long tc = ((~d0 & pm) << 1) & previousMask;
+            d0 = (((pm & vp) + vp) ^ vp) | pm | vn | tc;
+            long hp = vn | ~(d0 | vp);
+            long hn = d0 & vp;
+            if ((hp & last) != 0) {
+                score++;
+            } else if ((hn & last) != 0) {
+                score--;
+            }
+            // The distance can drop by at most one per remaining character
+            if (score - (n - 1 - j) > max) {
+                return max + 1;
+            }
+            long x = (hp << 1) | 1;
+            vn = x & d0;
+            vp = (hn << 1) | ~(x | d0);
+            previousMask = pm;
+        }
+        return score;
+    }
+
+    private long mask(char c) {
+        if (c < 128) {
+            return asciiMasks[c];
+        }
+        for (int k = 0; k < otherChars.length; k++) {
+            if (otherChars[k] == c) {
+                return otherMasks[k];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Optimal string alignment over three reused rows, stopping once every cell passes max
+     */
+    private int rows(CharSequence text, int max) {
+        int[] twoBack = before;
+        int[] oneBack = previous;
+        int[] row = current;
+        for (int i = 0; i <= length; i++) {
+            oneBack[i] = i;
+        }
+        int n = text.length();
+        for (int j = 1; j <= n; j++) {
+            char c = text.charAt(j - 1);
+            row[0] = j;
+            int best = j;
+            for (int i = 1; i <= length; i++) {
+                char p = pattern.charAt(i - 1);
+                int d = Math.min(Math.min(oneBack[i] + 1, row[i - 1] + 1), oneBack[i - 1] + (p == c ? 0 : 1));
+                if (i > 1 && j > 1 && p == text.charAt(j - 2) && pattern.charAt(i - 2) == c) {
+                    d = Math.min(d, twoBack[i - 2] + 1);
+                }
+                row[i] = d;
+                best = Math.min(best, d);
+            }
+            if (best > max) {
+                return max + 1;
+            }
+            int[] spare = twoBack;
+            twoBack = oneBack;
+            oneBack = row;
+            row = spare;
+        }
+        return oneBack[length];
+    }
+}
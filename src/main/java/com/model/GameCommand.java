@@ -0,0 +1,128 @@
+package com.model;
+
+/**
+ * Typed player command for PuzzleGame.apply and processBatch
+ *
+ * Bots, replays and remote clients build commands directly instead of
+ * formatting text for processInput. Moves and the hint command are shared
+ * constants, and flips on boards up to FLIP_CACHE_SIZE square are cached, so
+ * driving a game through commands allocates nothing.
+ */
+public sealed interface GameCommand
+        permits GameCommand.Move, GameCommand.Flip, GameCommand.Guess, GameCommand.Hint {
+
+    /** Outcome: the game rejected the command (blocked move, bad cell, wrong type) */
+    byte REJECTED = 0;
+    /** Outcome: the command was applied */
+    byte APPLIED = 1;
+    /** Outcome: not applied because the game was already over */
+    byte SKIPPED = 2;
+
+    /** Flips on rows and columns below this are shared instances */
+    int FLIP_CACHE_SIZE = 16;
+
+    /**
+     * Move the maze player one cell
+     * @param direction Direction to move
+     */
+    record Move(Direction direction) implements GameCommand {}
+
+    /**
+     * Flip the matching card at a cell
+     * @param row Card row
+     * @param col Card column
+     */
+    record Flip(int row, int col) implements GameCommand {}
+
+    /**
+     * Answer a word puzzle; text is trimmed, upper-cased and has runs of spaces collapsed
+     * @param text Guess
+     */
+    record Guess(String text) implements GameCommand {
+        public Guess {
+            text = normalize(text);
+        }
+
+        private static String normalize(String text) {
+            StringBuilder out = new StringBuilder(text.length());
+            boolean space = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    space = out.length() > 0;
+                    continue;
+                }
+                if (space) {
+                    out.append(' ');
+                    space = false;
+                }
+                out.append(Character.toUpperCase(c));
+            }
+            return out.toString();
+        }
+    }
+
+    /**
+     * Ask for a hint: the next maze move or the next word puzzle hint
+     */
+    record Hint() implements GameCommand {}
+
+    /**
+     * Get the shared move command for a direction
+     * @param direction Direction to move
+     * @return Move command
+     */
+    static GameCommand move(Direction direction) {
+        return Cache.MOVES[direction.ordinal()];
+    }
+
+    /**
+     * Get a flip command, shared for small boards
+     * @param row Card row
+     * @param col Card column
+     * @return Flip command
+     */
+    static GameCommand flip(int row, int col) {
+        if (row >= 0 && col >= 0 && row < FLIP_CACHE_SIZE && col < FLIP_CACHE_SIZE) {
+            return Cache.FLIPS[row * FLIP_CACHE_SIZE + col];
+        }
+        return new Flip(row, col);
+    }
+
+    /**
+     * Get a guess command
+     * @param text Guess text
+     * @return Guess command
+     */
+    static GameCommand guess(String text) {
+        return new Guess(text);
+    }
+
+    /**
+     * Get the shared hint command
+     * @return Hint command
+     */
+    static GameCommand hint() {
+        return Cache.HINT;
+    }
+
+    /**
+     * Shared command instances
+     */
+    final class Cache {
+        private static final GameCommand HINT = new Hint();
+        private static final GameCommand[] MOVES = new GameCommand[Direction.values().length];
+        private static final GameCommand[] FLIPS = new GameCommand[FLIP_CACHE_SIZE * FLIP_CACHE_SIZE];
+
+        static {
+            for (Direction direction : Direction.values()) {
+                MOVES[direction.ordinal()] = new Move(direction);
+            }
+            for (int i = 0; i < FLIPS.length; i++) {
+                FLIPS[i] = new Flip(i / FLIP_CACHE_SIZE, i % FLIP_CACHE_SIZE);
+            }
+        }
+
+        private Cache() {}
+    }
+}
@@ -293,17 +293,20 @@ public class GameController {
     private void playGame(Puzzle puzzle, Map<String, Object> savedState) {
         String userId = authService.getCurrentUser().getUserId();
         PuzzleGame game = GameFactory.createGame(puzzle.getPuzzleType());
+        GameServiceManager serviceManager = GameServiceManager.getInstance();
 
+        // Saved state is a delta on top of the catalog puzzle handed out for this attempt
+        game.initialize(serviceManager.startAttempt(userId, puzzle, savedState));
         if (savedState != null) {
             game.restoreState(savedState);
-        } else {
-            game.initialize(puzzle.getData());
         }
         if (game instanceof WordPuzzleGame) {
             List<Hint> hints = dataFacade.getHintsForPuzzle(puzzle.getPuzzleId());
             ((WordPuzzleGame) game).setHints(hints);
             ((WordPuzzleGame) game).setPuzzleId(puzzle.getPuzzleId());
         }
+        // Every command goes through the recorder; a resumed attempt continues its saved log
+        MoveRecorder recorder = MoveRecorder.resume(game, SavedState.readMoveLog(savedState));
 
         while (!game.isGameOver()) {
             view.clear();
@@ -311,7 +314,7 @@ public class GameController {
             String input = view.getUserInput("\nYour move: ");
 
             if (input.equalsIgnoreCase("save")) {
-                saveGame(puzzle, game);
+                saveGame(puzzle, game, recorder);
                 return;
             }
             if (input.equalsIgnoreCase("quit")) {
@@ -324,13 +327,13 @@ public class GameController {
                 return;
             }
 
-            boolean validInput = game.processInput(input);
+            boolean validInput = recorder.processInput(input);
             if (!validInput) {
                 view.showMessage("Invalid input. Try again.");
                 waitForUser();
             }
 
-            if (game instanceof MatchingGame && game.getGameState().get("secondCard") != null) {
+            if (game instanceof MatchingGame && ((MatchingGame) game).state().secondCard() != null) {
                 view.clear();
                 view.displayGame(game.getGameState(), game.getGameType());
                 
@@ -348,15 +351,18 @@ public class GameController {
         }
 
         view.clear();
-        Map<String, Object> result = game.getResult();
-        view.showResult(result);
-        boolean won = (boolean) result.get("won");
-        if (won) {
-            int score = calculateScore(result);
+        GameResult result = game.result();
+        view.showResult(result.toMap());
+        if (result.won()) {
             pauseTimer();
-            progressService.completePuzzle(userId, puzzle.getPuzzleId(), score);
-            certificateService.awardCertificate(userId, puzzle, score);
-            view.showMessage("* Certificate earned!");
+            // The recorded attempt is replayed and scored by the service
+            ScoreVerifier.Verdict verdict = serviceManager.completeAttempt(userId, puzzle, recorder.toLog());
+            if (verdict.accepted()) {
+                certificateService.awardCertificate(userId, puzzle, verdict.score());
+                view.showMessage("* Certificate earned!");
+            } else {
+                view.showMessage("Result could not be verified: " + verdict.reason());
+            }
         }
         UserProgress progress = progressService.getUserProgress(userId);
         progress.clearGameState();
@@ -368,11 +374,13 @@ public class GameController {
      * Save current game state
      * @param puzzle
      * @param game
+     * @param recorder Recorder of the attempt, saved with the state
      */
-    private void saveGame(Puzzle puzzle, PuzzleGame game) {
+    private void saveGame(Puzzle puzzle, PuzzleGame game, MoveRecorder recorder) {
         String userId = authService.getCurrentUser().getUserId();
         UserProgress progress = progressService.getUserProgress(userId);
         Map<String, Object> gameState = game.saveState();
+        SavedState.putMoveLog(gameState, recorder.toLog());
         progress.saveGameState(puzzle.getPuzzleId(), gameState);
         dataFacade.saveUserProgress(progress);
 
@@ -380,20 +388,6 @@ public class GameController {
         waitForUser();
     }
 
-    /**
-     * Calculate score based on time and moves
-     * @param result
-     * @return score
-     */
-    private int calculateScore(Map<String, Object> result) {
-        long timeMs = (long) result.get("time");
-        int moves = (int) result.get("moves");
-        int baseScore = 100;
-        int timeBonus = Math.max(0, 100 - (int)(timeMs / 1000));
-        int moveBonus = Math.max(0, 50 - moves);
-        return baseScore + timeBonus + moveBonus;
-    }
-
     /**
      * View user's progress
      */
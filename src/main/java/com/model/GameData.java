@@ -1,6 +1,7 @@
 package com.model;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Container class for all game data stored in gamedata.json
@@ -10,16 +11,20 @@ import java.util.List;
  * - User progress (including saved game states)
  * - Certificates
  * - Leaderboard
+ * - Scoring rules the stored scores were computed with
  */
 public class GameData {
+    private int schemaVersion;  // Declared first so it is written as the file header
     private List<Puzzle> puzzles;
     private List<Hint> hints;
     private List<UserProgress> userProgress;
     private List<Certificate> certificates;
     private List<LeaderboardEntry> leaderboard;
+    private Map<String, ScoringRule> scoringRules;  // null until the rules are changed
     
     // Default constructor - initializes empty lists
     public GameData() {
+        this.schemaVersion = SchemaMigrator.CURRENT_VERSION;
         this.puzzles = new ArrayList<>();
         this.hints = new ArrayList<>();
         this.userProgress = new ArrayList<>();
@@ -31,6 +36,7 @@ public class GameData {
     public GameData(List<Puzzle> puzzles, List<Hint> hints, 
                     List<UserProgress> userProgress, List<Certificate> certificates,
                     List<LeaderboardEntry> leaderboard) {
+        this.schemaVersion = SchemaMigrator.CURRENT_VERSION;
         this.puzzles = puzzles != null ? puzzles : new ArrayList<>();
         this.hints = hints != null ? hints : new ArrayList<>();
         this.userProgress = userProgress != null ? userProgress : new ArrayList<>();
@@ -39,6 +45,22 @@ public class GameData {
     }
     
     // Getters and Setters
+    /**
+     * Get schema version of the file this data was read from
+     * @return int schemaVersion
+     */
+    public int getSchemaVersion() {
+        return schemaVersion;
+    }
+    
+    /**
+     * Set schema version
+     * @param schemaVersion
+     */
+    public void setSchemaVersion(int schemaVersion) {
+        this.schemaVersion = schemaVersion;
+    }
+    
     public List<Puzzle> getPuzzles() { 
         return puzzles; 
     }
@@ -114,4 +136,20 @@ public class GameData {
     public void setLeaderboard(List<LeaderboardEntry> leaderboard) { 
         this.leaderboard = leaderboard; 
     }
+    
+    /**
+     * Get the active scoring rules (see ScoringEngine.toRules())
+     * @return Rules, or null if the standard rules are in use
+     */
+    public Map<String, ScoringRule> getScoringRules() {
+        return scoringRules;
+    }
+    
+    /**
+     * Set the active scoring rules
+     * @param scoringRules
+     */
+    public void setScoringRules(Map<String, ScoringRule> scoringRules) {
+        this.scoringRules = scoringRules;
+    }
 }
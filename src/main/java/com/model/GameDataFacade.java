@@ -1,19 +1,42 @@
 package com.model;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
  * Singleton Facade for all game data operations
  * Delegates to GameDataLoader and GameDataWriter
  * Provides unified access to all game data
+ * 
+ * Startup loading runs as a small task graph on a background executor:
+ * users.json, the catalog half and the progress half of gamedata.json are
+ * parsed in parallel, then each gets its lookup index built in parallel.
+ * Call loadAsync() early (e.g. behind a splash screen); getInstance()
+ * waits for that load instead of starting a second one.
+ * 
+ * The puzzle catalog can be hot-reloaded (see watchCatalog()): a new
+ * PuzzleCatalog is built off the FX thread and published with a single
+ * volatile write. Sessions keep the Puzzle objects they already hold.
  */
 public class GameDataFacade {
-    private static GameDataFacade instance;
+    private static volatile GameDataFacade instance;
+    private static CompletableFuture<GameDataFacade> loading;
+    
+    private static final int LOADER_THREADS = 3;
     
     private final GameDataLoader loader;
     private final GameDataWriter writer;
@@ -26,19 +49,92 @@ public class GameDataFacade {
 
     private GameData gameData;
     
+    // Derived lookup structures, kept in sync with the lists above
+    private final Map<String, User> usersById;
+    private final Map<String, UserProgress> progressByUser;
+    private volatile PuzzleCatalog catalog;
+    private Map<String, CertificateSummary> certificateSummaries;  // Built on first use
+    private volatile ScoringEngine scoringEngine;  // Saved in gamedata.json with the scores
+    
+    // Modification time of gamedata.json that the in-memory catalog matches
+    // (set on load, reload and our own saves), so the watcher can tell our
+    // writes apart from external catalog edits and a save never overwrites one
+    private volatile long lastSavedModified = -1;
+    private final Object catalogLock = new Object();
+    
     // Private constructor for singleton
     private GameDataFacade() {
-        this.loader = new GameDataLoader();
-        this.writer = new GameDataWriter();
-        loadAllData();
+        this(new GameDataLoader(), new GameDataWriter());
+    }
+    
+    /**
+     * Constructor with custom loader and writer (file paths, output format)
+     * Loads synchronously, still parsing files in parallel
+     * @param loader Loader to read data with
+     * @param writer Writer to save data with
+     */
+    protected GameDataFacade(GameDataLoader loader, GameDataWriter writer) {
+        this(loader, writer, loadInParallel(loader, ForkJoinPool.commonPool()).join());
+    }
+    
+    private GameDataFacade(GameDataLoader loader, GameDataWriter writer, LoadedData data) {
+        this.loader = loader;
+        this.writer = writer;
+        this.users = data.users;
+        this.usersById = data.usersById;
+        this.gameData = data.gameData;
+        this.progressByUser = data.progressByUser;
+        this.catalog = data.catalog;
+        this.lastSavedModified = data.catalogModified;
+        this.scoringEngine = ScoringEngine.fromRules(data.gameData.getScoringRules());
+    }
+    
+    /**
+     * Start loading the singleton in the background (idempotent)
+     * @return Future completed with the ready facade
+     */
+    public static synchronized CompletableFuture<GameDataFacade> loadAsync() {
+        if (instance != null) {
+            return CompletableFuture.completedFuture(instance);
+        }
+        if (loading == null) {
+            GameDataLoader defaultLoader = new GameDataLoader();
+            GameDataWriter defaultWriter = new GameDataWriter();
+            ExecutorService executor = Executors.newFixedThreadPool(LOADER_THREADS, r -> {
+                Thread t = new Thread(r, "game-data-loader");
+                t.setDaemon(true);
+                return t;
+            });
+            loading = loadInParallel(defaultLoader, executor)
+                .thenApply(data -> install(new GameDataFacade(defaultLoader, defaultWriter, data)))
+                .whenComplete((facade, ex) -> executor.shutdown());
+        }
+        return loading;
     }
     
     /**
      * Get singleton instance
+     * Blocks until the background load has finished if it is still running
      */
     public static GameDataFacade getInstance() {
+        GameDataFacade current = instance;
+        if (current != null) {
+            return current;
+        }
+        return loadAsync().join();
+    }
+    
+    /**
+     * Check if the singleton has finished loading
+     * @return true if getInstance() will not block
+     */
+    public static boolean isReady() {
+        return instance != null;
+    }
+    
+    private static synchronized GameDataFacade install(GameDataFacade facade) {
         if (instance == null) {
-            instance = new GameDataFacade();
+            instance = facade;
         }
         return instance;
     }
@@ -46,34 +142,182 @@ public class GameDataFacade {
         /**
      * Reset singleton instance for testing purpose only
      */
-    protected static void resetInstance() {
+    protected static synchronized void resetInstance() {
         
         instance = null;
+        loading = null;
        
     }
     
     /**
-     * Load all data from JSON files
+     * Install a facade built with custom loader/writer, for testing purpose only
+     * @param testInstance Facade to return from getInstance()
      */
-    private void loadAllData() {
-        this.users = loader.readUsers();
-        this.gameData = loader.readGameData();
+    protected static synchronized void setTestInstance(GameDataFacade testInstance) {
+        instance = testInstance;
+    }
+    
+    // ===== STARTUP LOADING =====
+    
+    /**
+     * Result of the startup task graph
+     */
+    private static final class LoadedData {
+        private final List<User> users;
+        private final Map<String, User> usersById;
+        private final GameData gameData;
+        private final Map<String, UserProgress> progressByUser;
+        private final PuzzleCatalog catalog;
+        private final long catalogModified;
+        
+        private LoadedData(List<User> users, Map<String, User> usersById, GameData gameData,
+                           Map<String, UserProgress> progressByUser, PuzzleCatalog catalog,
+                           long catalogModified) {
+            this.users = users;
+            this.usersById = usersById;
+            this.gameData = gameData;
+            this.progressByUser = progressByUser;
+            this.catalog = catalog;
+            this.catalogModified = catalogModified;
+        }
+    }
+    
+    /**
+     * Parse users, catalog and progress in parallel, then index each in parallel
+     * @param loader Loader to read with
+     * @param executor Executor to run the tasks on
+     * @return Future of the loaded data
+     */
+    private static CompletableFuture<LoadedData> loadInParallel(GameDataLoader loader, Executor executor) {
+        // Taken before reading, so an edit made during the load is seen as newer
+        long catalogModified = modifiedTime(Paths.get(loader.getGameDataFilePath()));
+        CompletableFuture<List<User>> users =
+            CompletableFuture.supplyAsync(loader::readUsers, executor);
+        CompletableFuture<GameData> catalogPart = CompletableFuture.supplyAsync(
+            () -> loader.readGameDataSections(GameDataLoader.CATALOG_SECTIONS), executor);
+        CompletableFuture<GameData> progressPart = CompletableFuture.supplyAsync(
+            () -> loader.readGameDataSections(GameDataLoader.PROGRESS_SECTIONS), executor);
+        
+        CompletableFuture<Map<String, User>> usersById =
+            users.thenApplyAsync(GameDataFacade::indexUsers, executor);
+        CompletableFuture<PuzzleCatalog> catalog =
+            catalogPart.thenApplyAsync(PuzzleCatalog::from, executor);
+        CompletableFuture<Map<String, UserProgress>> progressByUser =
+            progressPart.thenApplyAsync(GameDataFacade::indexProgress, executor);
+        
+        return CompletableFuture.allOf(usersById, catalog, progressByUser).thenApply(done -> {
+            GameData gameData = progressPart.join();
+            gameData.setPuzzles(catalogPart.join().getPuzzles());
+            gameData.setHints(catalogPart.join().getHints());
+            return new LoadedData(users.join(), usersById.join(), gameData,
+                progressByUser.join(), catalog.join(), catalogModified);
+        });
+    }
+    
+    private static Map<String, User> indexUsers(List<User> users) {
+        Map<String, User> index = new HashMap<>();
+        for (User u : users) {
+            index.putIfAbsent(u.getUserId(), u);
+        }
+        return index;
+    }
+    
+    private static Map<String, UserProgress> indexProgress(GameData gameData) {
+        Map<String, UserProgress> index = new HashMap<>();
+        for (UserProgress up : gameData.getUserProgress()) {
+            index.putIfAbsent(up.getUserId(), up);
+        }
+        return index;
     }
     
     /**
      * Save all data to JSON files
+     * If gamedata.json was edited since the catalog was read (and the watcher
+     * has not caught up yet), the edit is loaded first so the save keeps it
      */
     private void saveAllData() {
-        writer.writeUsers(users);
-        writer.writeGameData(gameData);
+        synchronized (catalogLock) {
+            long modified = catalogModifiedTime();
+            if (modified != -1 && modified != lastSavedModified) {
+                System.out.println("gamedata.json changed since it was read, reloading catalog before saving");
+                reloadCatalog();
+            }
+            
+            // Always write the current catalog snapshot so a save never reverts a reload
+            PuzzleCatalog current = catalog;
+            gameData.setPuzzles(current.getPuzzles());
+            gameData.setHints(current.getHints());
+            
+            writer.writeUsers(users);
+            writer.writeGameData(gameData);
+            lastSavedModified = catalogModifiedTime();
+        }
+    }
+    
+    // ===== CATALOG HOT-RELOAD =====
+    
+    /**
+     * Get current catalog snapshot
+     * @return Immutable PuzzleCatalog
+     */
+    public PuzzleCatalog getCatalog() {
+        return catalog;
+    }
+    
+    /**
+     * Re-read puzzles and hints from gamedata.json and swap in a new catalog
+     * User data in memory is left untouched. Safe to call off the FX thread.
+     * @return true if a new catalog was published
+     */
+    public boolean reloadCatalog() {
+        synchronized (catalogLock) {
+            long modified = catalogModifiedTime();
+            if (modified != -1 && modified == lastSavedModified) {
+                return false; // Our own save, catalog unchanged
+            }
+            
+            GameData catalogPart = loader.readGameDataSections(GameDataLoader.CATALOG_SECTIONS);
+            if (catalogPart.getPuzzles().isEmpty()) {
+                System.out.println("Catalog reload skipped: no puzzles read");
+                return false;
+            }
+            
+            catalog = PuzzleCatalog.from(catalogPart);
+            lastSavedModified = modified;
+            System.out.println("Puzzle catalog reloaded: " + catalogPart.getPuzzles().size() + " puzzles");
+            return true;
+        }
+    }
+    
+    /**
+     * Start watching gamedata.json and reload the catalog when it changes
+     * @return Watcher to close on shutdown
+     * @throws IOException if the file's directory cannot be watched
+     */
+    public CatalogWatcher watchCatalog() throws IOException {
+        return new CatalogWatcher(catalogPath(), this::reloadCatalog);
+    }
+    
+    private Path catalogPath() {
+        return Paths.get(loader.getGameDataFilePath());
+    }
+    
+    private long catalogModifiedTime() {
+        return modifiedTime(catalogPath());
+    }
+    
+    private static long modifiedTime(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException ex) {
+            return -1;
+        }
     }
     
     // ===== USER OPERATIONS =====
     
     public Optional<User> getUser(String userId) {
-        return users.stream()
-            .filter(u -> u.getUserId().equals(userId))
-            .findFirst();
+        return Optional.ofNullable(usersById.get(userId));
     }
     
     /**
@@ -86,10 +330,12 @@ public class GameDataFacade {
             return false;
         }
         users.add(user);
+        usersById.put(user.getUserId(), user);
         
         // Create UserProgress for new user
         UserProgress progress = new UserProgress(user.getUserId());
         gameData.getUserProgress().add(progress);
+        progressByUser.put(user.getUserId(), progress);
         
         saveAllData();
         return true;
@@ -108,6 +354,7 @@ public class GameDataFacade {
         
         users.removeIf(u -> u.getUserId().equals(user.getUserId()));
         users.add(user);
+        usersById.put(user.getUserId(), user);
         saveAllData();
         return true;
     }
@@ -118,7 +365,7 @@ public class GameDataFacade {
      * @return true if userId exists
      */
     public boolean userIdExists(String userId) {
-        return users.stream().anyMatch(u -> u.getUserId().equals(userId));
+        return usersById.containsKey(userId);
     }
     
     /**
@@ -137,7 +384,7 @@ public class GameDataFacade {
      * @return List of all puzzles
      */
     public List<Puzzle> getAllPuzzles() {
-        return new ArrayList<>(gameData.getPuzzles());
+        return new ArrayList<>(catalog.getPuzzles());
     }
     
     /**
@@ -146,9 +393,7 @@ public class GameDataFacade {
      * @return Optional Puzzle
      */
     public Optional<Puzzle> getPuzzle(String puzzleId) {
-        return gameData.getPuzzles().stream()
-            .filter(p -> p.getPuzzleId().equals(puzzleId))
-            .findFirst();
+        return Optional.ofNullable(catalog.getPuzzle(puzzleId));
     }
     
     /**
@@ -157,9 +402,7 @@ public class GameDataFacade {
      * @return List of puzzles of given type
      */
     public List<Puzzle> getPuzzlesByType(String puzzleType) {
-        return gameData.getPuzzles().stream()
-            .filter(p -> p.getPuzzleType().equalsIgnoreCase(puzzleType))
-            .collect(Collectors.toList());
+        return new ArrayList<>(catalog.getPuzzlesByType(puzzleType));
     }
     
     /**
@@ -169,10 +412,7 @@ public class GameDataFacade {
      * @return List of puzzles matching criteria
      */
     public List<Puzzle> getPuzzlesByDifficulty(String puzzleType, String difficulty) {
-        return gameData.getPuzzles().stream()
-            .filter(p -> p.getPuzzleType().equalsIgnoreCase(puzzleType))
-            .filter(p -> p.getDifficulty().equalsIgnoreCase(difficulty))
-            .collect(Collectors.toList());
+        return new ArrayList<>(catalog.getPuzzlesByDifficulty(puzzleType, difficulty));
     }
     
     /**
@@ -180,9 +420,7 @@ public class GameDataFacade {
      * @return Set of unique puzzle types
      */
     public Set<String> getAvailablePuzzleTypes() {
-        return gameData.getPuzzles().stream()
-            .map(Puzzle::getPuzzleType)
-            .collect(Collectors.toSet());
+        return new HashSet<>(catalog.getPuzzleTypes());
     }
     
     // ===== HINT OPERATIONS =====
@@ -193,10 +431,7 @@ public class GameDataFacade {
      * @return List of hints for the puzzle
      */
     public List<Hint> getHintsForPuzzle(String puzzleId) {
-        return gameData.getHints().stream()
-            .filter(h -> h.getPuzzleId().equals(puzzleId))
-            .sorted()
-            .collect(Collectors.toList());
+        return new ArrayList<>(catalog.getHintsForPuzzle(puzzleId));
     }
     
     // ===== USER PROGRESS OPERATIONS =====
@@ -207,16 +442,15 @@ public class GameDataFacade {
      * @return UserProgress object (never null)
      */
     public UserProgress getUserProgress(String userId) {
-        Optional<UserProgress> progress = gameData.getUserProgress().stream()
-            .filter(up -> up.getUserId().equals(userId))
-            .findFirst();
+        UserProgress progress = progressByUser.get(userId);
         
-        if (progress.isPresent()) {
-            return progress.get();
+        if (progress != null) {
+            return progress;
         } else {
             // Create new progress for user
             UserProgress newProgress = new UserProgress(userId);
             gameData.getUserProgress().add(newProgress);
+            progressByUser.put(userId, newProgress);
             saveAllData();
             return newProgress;
         }
@@ -229,6 +463,7 @@ public class GameDataFacade {
     public void saveUserProgress(UserProgress progress) {
         gameData.getUserProgress().removeIf(up -> up.getUserId().equals(progress.getUserId()));
         gameData.getUserProgress().add(progress);
+        progressByUser.put(progress.getUserId(), progress);
         
         // Update leaderboard
         updateLeaderboard(progress);
@@ -259,6 +494,62 @@ public class GameDataFacade {
         progress.clearGameState(); // Clear any saved game
         saveUserProgress(progress);
     }
+    
+    /**
+     * Mark puzzle as completed for user and keep the result for rescoring
+     * @param userId User ID
+     * @param puzzleId Puzzle ID
+     * @param score Score achieved
+     * @param result Result the score was computed from
+     */
+    public void completePuzzle(String userId, String puzzleId, int score, GameResult result) {
+        UserProgress progress = getUserProgress(userId);
+        progress.addCompletedPuzzle(puzzleId, score, result);
+        progress.clearGameState(); // Clear any saved game
+        saveUserProgress(progress);
+    }
+    
+    /**
+     * Rebuild leaderboard and certificate totals from users, progress and certificates
+     * Also repairs progress totals and completed lists; saves once
+     * @return Report of what was found and fixed
+     */
+    public IntegrityRebuildJob.Report rebuildIntegrity() {
+        IntegrityRebuildJob.Result result = IntegrityRebuildJob.run(usersById, gameData.getUserProgress(),
+            progressByUser, gameData.getLeaderboard(), gameData.getCertificates());
+        gameData.setLeaderboard(result.leaderboard());
+        certificateSummaries = result.certificates();
+        saveAllData();
+        System.out.println("✓ Integrity rebuild found " + result.report().discrepancies() + " discrepancies");
+        return result.report();
+    }
+    
+    /**
+     * Recompute all users' scores under new rules, rebuild the leaderboard and save once
+     * Users are scored in parallel; call when no game is being completed.
+     * The rules are saved with the scores, so they still apply after a restart
+     * @param engine New scoring rules
+     * @return Job totals
+     */
+    public ScoreRecomputeJob.Summary recomputeScores(ScoringEngine engine) {
+        // Switch first, so completions during the job already use the new rules
+        scoringEngine = engine;
+        gameData.setScoringRules(engine.toRules());
+        ScoreRecomputeJob.Summary summary =
+            ScoreRecomputeJob.run(gameData.getUserProgress(), catalog, engine);
+        rebuildLeaderboard();
+        saveAllData();
+        System.out.println("✓ Rescored " + summary.rescored() + " puzzles for " + summary.users() + " users");
+        return summary;
+    }
+    
+    /**
+     * Get the scoring rules stored scores were computed with
+     * @return Active ScoringEngine
+     */
+    public ScoringEngine getScoringEngine() {
+        return scoringEngine;
+    }
 
     // ===== CERTIFICATE OPERATIONS =====
     
@@ -268,6 +559,10 @@ public class GameDataFacade {
      */
     public void addCertificate(Certificate certificate) {
         gameData.getCertificates().add(certificate);
+        if (certificateSummaries != null) {
+            certificateSummaries.merge(certificate.getUserId(), CertificateSummary.of(certificate),
+                CertificateSummary::plus);
+        }
         saveAllData();
     }
     
@@ -289,19 +584,23 @@ public class GameDataFacade {
      * @return Map of difficulty to count
      */
     public Map<String, Integer> getCertificateStats(String userId) {
-        Map<String, Integer> stats = new HashMap<>();
-        stats.put("EASY", 0);
-        stats.put("MEDIUM", 0);
-        stats.put("HARD", 0);
-        
-        gameData.getCertificates().stream()
-            .filter(c -> c.getUserId().equals(userId))
-            .forEach(c -> {
-                String difficulty = c.getDifficulty().toUpperCase();
-                stats.put(difficulty, stats.get(difficulty) + 1);
-            });
-        
-        return stats;
+        return getCertificateSummary(userId).toStats();
+    }
+    
+    /**
+     * Get certificate totals for user
+     * @param userId User ID
+     * @return Summary, CertificateSummary.EMPTY if the user has none
+     */
+    public CertificateSummary getCertificateSummary(String userId) {
+        if (certificateSummaries == null) {
+            Map<String, CertificateSummary> index = new HashMap<>();
+            for (Certificate c : gameData.getCertificates()) {
+                index.merge(c.getUserId(), CertificateSummary.of(c), CertificateSummary::plus);
+            }
+            certificateSummaries = index;
+        }
+        return certificateSummaries.getOrDefault(userId, CertificateSummary.EMPTY);
     }
     
     /**
@@ -343,29 +642,36 @@ public class GameDataFacade {
         );
         gameData.getLeaderboard().add(entry);
         
-        // Sort leaderboard with tiebreakers for stable ordering:
-        // 1. Score (descending) - higher score is better
-        // 2. Puzzles completed (descending) - more puzzles is better
-        // 3. Last updated (ascending) - earlier achievement is better
-        // 4. User name (ascending) - alphabetical for consistency
-        gameData.getLeaderboard().sort((e1, e2) -> {
-            // Primary: Score descending
-            int scoreCompare = Integer.compare(e2.getTotalScore(), e1.getTotalScore());
-            if (scoreCompare != 0) return scoreCompare;
-            
-            // Secondary: Puzzles completed descending
-            int puzzleCompare = Integer.compare(e2.getPuzzlesCompleted(), e1.getPuzzlesCompleted());
-            if (puzzleCompare != 0) return puzzleCompare;
-            
-            // Tertiary: Earlier date is better (ascending)
-            if (e1.getLastUpdated() != null && e2.getLastUpdated() != null) {
-                int dateCompare = e1.getLastUpdated().compareTo(e2.getLastUpdated());
-                if (dateCompare != 0) return dateCompare;
+        gameData.getLeaderboard().sort(LeaderboardEntry.RANKING);
+    }
+    
+    /**
+     * Rebuild every leaderboard entry from user progress and sort once
+     * Existing entries are updated in place so their dates still break ties
+     */
+    private void rebuildLeaderboard() {
+        Map<String, LeaderboardEntry> entries = new HashMap<>();
+        for (LeaderboardEntry entry : gameData.getLeaderboard()) {
+            entries.put(entry.getUserId(), entry);
+        }
+        List<LeaderboardEntry> rebuilt = new ArrayList<>();
+        for (UserProgress progress : gameData.getUserProgress()) {
+            User user = usersById.get(progress.getUserId());
+            if (user == null) {
+                continue;
             }
-            
-            // Final: Alphabetical by name for consistency
-            return e1.getUserName().compareToIgnoreCase(e2.getUserName());
-        });
+            LeaderboardEntry entry = entries.get(progress.getUserId());
+            if (entry == null) {
+                entry = new LeaderboardEntry(progress.getUserId(), user.getFullName(),
+                    progress.getTotalScore(), progress.getCompletedCount());
+            } else {
+                entry.setTotalScore(progress.getTotalScore());
+                entry.setPuzzlesCompleted(progress.getCompletedCount());
+            }
+            rebuilt.add(entry);
+        }
+        rebuilt.sort(LeaderboardEntry.RANKING);
+        gameData.setLeaderboard(rebuilt);
     }
     
     /**
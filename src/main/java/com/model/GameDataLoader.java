@@ -1,17 +1,26 @@
 package com.model;
 
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.ToNumberStrategy;
 import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 
 
@@ -20,11 +29,28 @@ import com.google.gson.stream.JsonWriter;
  * Reads from TWO JSON files:
  * 1. users.json - User accounts
  * 2. gamedata.json - Everything else
+ * Files may be pretty, compact or gzip-compressed (see DataFormat)
+ * Files with an older schemaVersion are upgraded in place before reading (see SchemaMigrator)
  */
 public class GameDataLoader {
+    // Whole numbers inside untyped maps (puzzle data, saved state) load as Long
+    // instead of Double, so they are written back as 5 rather than 5.0
+    private static final ToNumberStrategy WHOLE_NUMBERS_AS_LONG = in -> {
+        String text = in.nextString();
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException ex) {
+            double value = Double.parseDouble(text);
+            if (value == Math.rint(value) && Math.abs(value) < (1L << 53)) {
+                return (long) value;
+            }
+            return value;
+        }
+    };
+    
     private static final Gson gson = new GsonBuilder()
         .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-        .setPrettyPrinting()
+        .setObjectToNumberStrategy(WHOLE_NUMBERS_AS_LONG)
         .create();
     
     private final String userFilePath;
@@ -33,6 +59,10 @@ public class GameDataLoader {
     protected static final String USER_FILE_NAME = "src/main/resources/users.json";
     protected static final String GAMEDATA_FILE_NAME = "src/main/resources/gamedata.json";
     
+    // Top-level sections of gamedata.json, grouped so they can be parsed in parallel
+    public static final String[] CATALOG_SECTIONS = {"puzzles", "hints"};
+    public static final String[] PROGRESS_SECTIONS = {"userProgress", "certificates", "leaderboard", "scoringRules"};
+    
     //Production constructor -- use default path
     public GameDataLoader(){
         this(USER_FILE_NAME, GAMEDATA_FILE_NAME);
@@ -44,17 +74,36 @@ public class GameDataLoader {
         this.gameDataFilePath = gameDataFilePath;
     } 
     
+    /**
+     * Get path of gamedata.json (also the puzzle catalog source)
+     * @return String path
+     */
+    public String getGameDataFilePath() {
+        return gameDataFilePath;
+    }
+    
     /**
      * Loads the list of user data from users.json
      * @return List of User objects (never null)
      */
     public List<User> readUsers() {
+        ensureCurrentSchema(userFilePath, SchemaMigrator.USERS_STEPS);
         List<User> users = null;
-        try {
-            users = gson.fromJson(
-                new FileReader(userFilePath),
-                new TypeToken<List<User>>() {}.getType()
-            );
+        try (JsonReader in = new JsonReader(openReader(userFilePath))) {
+            Type listType = new TypeToken<List<User>>() {}.getType();
+            if (in.peek() == JsonToken.BEGIN_ARRAY) {
+                // Unversioned file that could not be migrated
+                users = gson.fromJson(in, listType);
+            } else if (in.peek() == JsonToken.BEGIN_OBJECT) {
+                in.beginObject();
+                while (in.hasNext()) {
+                    if (SchemaMigrator.USERS_FIELD.equals(in.nextName())) {
+                        users = gson.fromJson(in, listType);
+                    } else {
+                        in.skipValue();
+                    }
+                }
+            }
             
             if (users == null) {
                 System.out.println("Warning: users.json is empty or returned null");
@@ -73,10 +122,11 @@ public class GameDataLoader {
      * @return GameData object containing all game data (never null)
      */
     public GameData readGameData() {
+        ensureCurrentSchema(gameDataFilePath, SchemaMigrator.GAMEDATA_STEPS);
         GameData gameData = null;
-        try {
+        try (Reader reader = openReader(gameDataFilePath)) {
             gameData = gson.fromJson(
-                new FileReader(gameDataFilePath),
+                reader,
                 GameData.class
             );
             
@@ -92,6 +142,90 @@ public class GameDataLoader {
         return gameData;
     }
     
+    /**
+     * Loads only the named top-level sections of gamedata.json
+     * Other sections are skipped token by token without building objects,
+     * so the catalog and progress halves can be parsed on separate threads
+     * @param sections Section names (see CATALOG_SECTIONS, PROGRESS_SECTIONS)
+     * @return GameData with the requested sections filled, others empty (never null)
+     */
+    public GameData readGameDataSections(String... sections) {
+        ensureCurrentSchema(gameDataFilePath, SchemaMigrator.GAMEDATA_STEPS);
+        Set<String> wanted = new HashSet<>(Arrays.asList(sections));
+        GameData gameData = new GameData();
+        try (JsonReader in = new JsonReader(openReader(gameDataFilePath))) {
+            if (in.peek() == JsonToken.NULL) {
+                System.out.println("Warning: gamedata.json is empty or returned null");
+                return gameData;
+            }
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (!wanted.contains(name) || in.peek() == JsonToken.NULL) {
+                    in.skipValue();
+                    continue;
+                }
+                switch (name) {
+                    case "puzzles":
+                        gameData.setPuzzles(gson.fromJson(in, listOf(Puzzle.class)));
+                        break;
+                    case "hints":
+                        gameData.setHints(gson.fromJson(in, listOf(Hint.class)));
+                        break;
+                    case "userProgress":
+                        gameData.setUserProgress(gson.fromJson(in, listOf(UserProgress.class)));
+                        break;
+                    case "certificates":
+                        gameData.setCertificates(gson.fromJson(in, listOf(Certificate.class)));
+                        break;
+                    case "leaderboard":
+                        gameData.setLeaderboard(gson.fromJson(in, listOf(LeaderboardEntry.class)));
+                        break;
+                    case "scoringRules":
+                        gameData.setScoringRules(gson.fromJson(in,
+                            TypeToken.getParameterized(Map.class, String.class, ScoringRule.class).getType()));
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+        } catch (Exception ex) {
+            System.out.println("Could not find or read: " + gameDataFilePath);
+            ex.printStackTrace();
+            return new GameData();
+        }
+        return gameData;
+    }
+    
+    /**
+     * Upgrade a data file to the current schema version if it is older
+     * Synchronized so parallel section readers migrate the file only once
+     * @param path File path
+     * @param steps Migration chain for the file
+     */
+    private synchronized void ensureCurrentSchema(String path, List<SchemaMigrator.Step> steps) {
+        try {
+            SchemaMigrator.upgrade(path, steps);
+        } catch (Exception ex) {
+            System.out.println("Could not migrate: " + path + " (reading as-is)");
+            ex.printStackTrace();
+        }
+    }
+    
+    private static Type listOf(Class<?> type) {
+        return TypeToken.getParameterized(List.class, type).getType();
+    }
+    
+    /**
+     * Open a data file as UTF-8 text, detecting gzip compression
+     * @param path File path
+     * @return Reader over the JSON text
+     * @throws IOException if the file cannot be opened
+     */
+    private static Reader openReader(String path) throws IOException {
+        return new InputStreamReader(DataFormat.openDetected(path), StandardCharsets.UTF_8);
+    }
+    
     /**
      * Custom adapter for LocalDateTime serialization/deserialization
      * Handles conversion between JSON string and LocalDateTime objects
@@ -1,7 +1,12 @@
 package com.model;
 
-import java.io.FileWriter;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.lang.reflect.Type;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -9,6 +14,7 @@ import java.util.List;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 
@@ -17,27 +23,69 @@ import com.google.gson.stream.JsonWriter;
  * Writes to TWO JSON files:
  * 1. users.json - User accounts
  * 2. gamedata.json - Everything else
+ * Output is pretty, compact or gzip-compressed depending on the DataFormat
+ * Both files start with a schemaVersion header (see SchemaMigrator)
  */
 public class GameDataWriter {
-    private static final Gson gson = new GsonBuilder()
+    private static final Gson compactGson = new GsonBuilder()
+        .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+        .create();
+    
+    private static final Gson prettyGson = new GsonBuilder()
         .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
         .setPrettyPrinting()
         .create();
     
+    private static final Type USER_LIST_TYPE = new TypeToken<List<User>>() {}.getType();
+    
+    private final String userFilePath;
+    private final String gameDataFilePath;
+    private final DataFormat format;
+    
     protected static final String USER_FILE_NAME = "src/main/resources/users.json";
     protected static final String GAMEDATA_FILE_NAME = "src/main/resources/gamedata.json";
     
+    //Production constructor -- use default path and configured format
+    public GameDataWriter(){
+        this(USER_FILE_NAME, GAMEDATA_FILE_NAME);
+    }
+    
+    //constructor -- allow custom path
+    public GameDataWriter(String userFilePath, String gameDataFilePath){
+        this(userFilePath, gameDataFilePath, DataFormat.configured());
+    }
+    
+    //constructor -- allow custom path and format
+    public GameDataWriter(String userFilePath, String gameDataFilePath, DataFormat format){
+        this.userFilePath = userFilePath;
+        this.gameDataFilePath = gameDataFilePath;
+        this.format = format;
+    }
+    
+    /**
+     * Get output format used by this writer
+     * @return DataFormat
+     */
+    public DataFormat getFormat() {
+        return format;
+    }
+    
     /**
      * Writes the list of users to users.json
      * @param users The list of users to write
      * @return true if write was successful, false otherwise
      */
     public boolean writeUsers(List<User> users) {
-        try (FileWriter writer = new FileWriter(USER_FILE_NAME)) {
-            gson.toJson(users, writer);
+        try (Writer writer = openWriter(userFilePath);
+             JsonWriter out = gson().newJsonWriter(writer)) {
+            out.beginObject();
+            out.name(SchemaMigrator.VERSION_FIELD).value(SchemaMigrator.CURRENT_VERSION);
+            out.name(SchemaMigrator.USERS_FIELD);
+            gson().toJson(users, USER_LIST_TYPE, out);
+            out.endObject();
             return true;
         } catch (IOException ex) {
-            System.out.println("Could not write to: " + USER_FILE_NAME);
+            System.out.println("Could not write to: " + userFilePath);
             ex.printStackTrace();
             return false;
         }
@@ -49,16 +97,35 @@ public class GameDataWriter {
      * @return true if write was successful, false otherwise
      */
     public boolean writeGameData(GameData gameData) {
-        try (FileWriter writer = new FileWriter(GAMEDATA_FILE_NAME)) {
-            gson.toJson(gameData, writer);
+        try (Writer writer = openWriter(gameDataFilePath)) {
+            gameData.setSchemaVersion(SchemaMigrator.CURRENT_VERSION);
+            gson().toJson(gameData, writer);
             return true;
         } catch (IOException ex) {
-            System.out.println("Could not write to: " + GAMEDATA_FILE_NAME);
+            System.out.println("Could not write to: " + gameDataFilePath);
             ex.printStackTrace();
             return false;
         }
     }
     
+    /**
+     * Pick the Gson instance for the configured format
+     */
+    private Gson gson() {
+        return format == DataFormat.PRETTY ? prettyGson : compactGson;
+    }
+    
+    /**
+     * Open a buffered UTF-8 writer, gzip-framed when the format asks for it
+     * @param path File path
+     * @return Writer for JSON text
+     * @throws IOException if the file cannot be opened
+     */
+    private Writer openWriter(String path) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(
+            format.wrap(new FileOutputStream(path)), StandardCharsets.UTF_8), 8192);
+    }
+    
     /**
      * Custom adapter for LocalDateTime serialization/deserialization
      * Handles conversion between JSON string and LocalDateTime objects
@@ -0,0 +1,127 @@
+package com.model;
+
+/**
+ * One change to a puzzle game, published through GameEventBus
+ *
+ * Events live in the bus's ring buffer and are refilled once the ring wraps,
+ * so a listener must copy any field it wants to keep after onEvent returns.
+ * Cells use row and col for the first cell and otherRow and otherCol for the
+ * second; unused cells are -1.
+ */
+public final class GameEvent {
+
+    /**
+     * Kinds of change
+     */
+    public enum Type {
+        /** Maze player moved from (row, col) to (otherRow, otherCol); value is the key mask */
+        PLAYER_MOVED,
+        /** Matching cards turned face up: (row, col) and, for the second flip, (otherRow, otherCol) */
+        CARDS_REVEALED,
+        /** Unmatched cards turned face down again */
+        CARDS_HIDDEN,
+        /** Cards at (row, col) and (otherRow, otherCol) matched; value is pairs matched so far */
+        PAIR_MATCHED,
+        /** Wrong word guess in text; value is its edit distance if close, else -1 */
+        GUESS_REJECTED,
+        /** Hint shown: hint text or maze direction in text; value is hints used so far */
+        HINT_REVEALED,
+        /** Whole state replaced by initialize, reset or restore; redraw everything */
+        GAME_RESET
+    }
+
+    private Type type;
+    private long sequence;
+    private int row;
+    private int col;
+    private int otherRow;
+    private int otherCol;
+    private int value;
+    private String text;
+
+    GameEvent() {}
+
+    /**
+     * Refill this event for a new change
+     */
+    void set(Type type, long sequence, int row, int col, int otherRow, int otherCol, int value, String text) {
+        this.type = type;
+        this.sequence = sequence;
+        this.row = row;
+        this.col = col;
+        this.otherRow = otherRow;
+        this.otherCol = otherCol;
+        this.value = value;
+        this.text = text;
+    }
+
+    /**
+     * Get event type
+     * @return Type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Get position of this event in the game's stream, starting at 0
+     * @return Sequence number
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Get first cell row
+     * @return Row, or -1
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Get first cell column
+     * @return Column, or -1
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * Get second cell row
+     * @return Row, or -1
+     */
+    public int getOtherRow() {
+        return otherRow;
+    }
+
+    /**
+     * Get second cell column
+     * @return Column, or -1
+     */
+    public int getOtherCol() {
+        return otherCol;
+    }
+
+    /**
+     * Get the type-specific number (see Type)
+     * @return Value
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Get the guess or hint text
+     * @return Text, or null
+     */
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequence + " " + type + " (" + row + "," + col + ") (" + otherRow + "," + otherCol + ") "
+            + value + (text != null ? " " + text : "");
+    }
+}
@@ -0,0 +1,183 @@
+package com.model;
+
+import java.util.Arrays;
+
+/**
+ * Change-event stream of one puzzle game
+ *
+ * Events are taken from a ring of preallocated GameEvent objects, so
+ * publishing allocates nothing. The ring also keeps the last few events, so a
+ * late listener such as a spectator or recorder can catch up with
+ * replaySince(). Listeners are kept in an array that is copied on change, so
+ * a listener may remove itself while events are delivered. Not thread-safe;
+ * a game and its bus are used from one thread.
+ */
+public final class GameEventBus {
+
+    /** Ring size used by the games */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static final GameEventListener[] NO_LISTENERS = new GameEventListener[0];
+
+    private final GameEvent[] ring;
+    private final int mask;
+    private long sequence;  // Number of events published
+    private GameEventListener[] listeners = NO_LISTENERS;
+
+    /**
+     * Create a bus with the default ring size
+     */
+    public GameEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a bus
+     * @param capacity Events kept for replay; rounded up to a power of two
+     * @throws IllegalArgumentException if capacity is below 1
+     */
+    public GameEventBus(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        ring = new GameEvent[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new GameEvent();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Add a listener
+     * @param listener Listener to call for each new event
+     */
+    public void addListener(GameEventListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    /**
+     * Remove a listener
+     * @param listener Listener added before
+     * @return true if it was registered
+     */
+    public boolean removeListener(GameEventListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                GameEventListener[] next = new GameEventListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, next, 0, i);
+                System.arraycopy(listeners, i + 1, next, i, next.length - i);
+                listeners = next.length == 0 ? NO_LISTENERS : next;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get number of events kept for replay
+     * @return Ring size
+     */
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Get sequence number the next event will have
+     * @return Events published so far
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Get a past event if it is still in the ring
+     * @param eventSequence Sequence number
+     * @return Event, or null if not published yet or already overwritten
+     */
+    public GameEvent get(long eventSequence) {
+        if (eventSequence < 0 || eventSequence >= sequence || sequence - eventSequence > ring.length) {
+            return null;
+        }
+        return ring[(int) (eventSequence & mask)];
+    }
+
+    /**
+     * Deliver the kept events from a sequence number on to one listener
+     * Events older than the ring are lost; the first delivered event's
+     * sequence shows how many were skipped
+     * @param from First sequence number wanted
+     * @param listener Listener to call
+     * @return Sequence number to pass next time
+     */
+    public long replaySince(long from, GameEventListener listener) {
+        long start = Math.max(from, Math.max(0, sequence - ring.length));
+        for (long s = start; s < sequence; s++) {
+            listener.onEvent(ring[(int) (s & mask)]);
+        }
+        return sequence;
+    }
+
+    /**
+     * Publish a player move
+     */
+    void playerMoved(int fromRow, int fromCol, int toRow, int toCol, int keys) {
+        publish(GameEvent.Type.PLAYER_MOVED, fromRow, fromCol, toRow, toCol, keys, null);
+    }
+
+    /**
+     * Publish cards turned face up; pass -1 for the second card on a first flip
+     */
+    void cardsRevealed(int row, int col, int otherRow, int otherCol) {
+        publish(GameEvent.Type.CARDS_REVEALED, row, col, otherRow, otherCol, 0, null);
+    }
+
+    /**
+     * Publish cards turned face down; pass -1 for a missing second card
+     */
+    void cardsHidden(int row, int col, int otherRow, int otherCol) {
+        publish(GameEvent.Type.CARDS_HIDDEN, row, col, otherRow, otherCol, 0, null);
+    }
+
+    /**
+     * Publish a matched pair
+     */
+    void pairMatched(int row, int col, int otherRow, int otherCol, int matchedPairs) {
+        publish(GameEvent.Type.PAIR_MATCHED, row, col, otherRow, otherCol, matchedPairs, null);
+    }
+
+    /**
+     * Publish a wrong guess
+     */
+    void guessRejected(String guess, int distance) {
+        publish(GameEvent.Type.GUESS_REJECTED, -1, -1, -1, -1, distance, guess);
+    }
+
+    /**
+     * Publish a hint
+     */
+    void hintRevealed(String hint, int hintsUsed) {
+        publish(GameEvent.Type.HINT_REVEALED, -1, -1, -1, -1, hintsUsed, hint);
+    }
+
+    /**
+     * Publish a full state change
+     */
+    void gameReset() {
+        publish(GameEvent.Type.GAME_RESET, -1, -1, -1, -1, 0, null);
+    }
+
+    private void publish(GameEvent.Type type, int row, int col, int otherRow, int otherCol, int value, String text) {
+        GameEvent event = ring[(int) (sequence & mask)];
+        event.set(type, sequence, row, col, otherRow, otherCol, value, text);
+        sequence++;
+        GameEventListener[] current = listeners;
+        for (GameEventListener listener : current) {
+            listener.onEvent(event);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.model;
+
+/**
+ * Receives change events from a puzzle game
+ */
+@FunctionalInterface
+public interface GameEventListener {
+    /**
+     * Called after each change, on the thread that changed the game
+     * The event is reused later; copy fields that must outlive this call
+     * @param event Change event
+     */
+    void onEvent(GameEvent event);
+}
@@ -72,6 +72,25 @@ public class GameProgressService {
         }
     }
     
+    /**
+     * Mark puzzle as completed and keep the result so it can be rescored
+     * NOTE: Only clears PAUSED puzzle state, NOT session state
+     * @param userId User ID
+     * @param puzzleId Puzzle ID
+     * @param score Score achieved
+     * @param result Result the score was computed from
+     */
+    public void completePuzzle(String userId, String puzzleId, int score, GameResult result) {
+        UserProgress progress = getUserProgress(userId);
+        if (progress != null) {
+            progress.addCompletedPuzzle(puzzleId, score, result);
+            progress.clearPausedPuzzle();
+            saveUserProgress(progress);
+            
+            System.out.println("✓ Puzzle " + puzzleId + " completed with score " + score);
+        }
+    }
+    
     /**
      * Check if puzzle is completed
      * @param userId User ID
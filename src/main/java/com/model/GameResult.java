@@ -0,0 +1,80 @@
+package com.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Final result of a puzzle game
+ *
+ * Scoring and result screens read these fields directly. toMap() and
+ * fromMap() convert to and from the older "won"/"time"/"moves" map, which is
+ * kept for PuzzleGame.getResult() and data saved before this record existed.
+ *
+ * @param won Whether the player won
+ * @param time Play time in milliseconds
+ * @param moves Moves, flips or attempts used
+ * @param optimalMoves Shortest solution length, or MazeSolver.UNREACHABLE if not known
+ * @param hintsUsed Hints shown
+ * @param answer Answer revealed after a lost word puzzle, otherwise null
+ */
+public record GameResult(boolean won, long time, int moves, int optimalMoves, int hintsUsed, String answer) {
+
+    /**
+     * Create a result without an optimal move count or answer
+     * @param won Whether the player won
+     * @param time Play time in milliseconds
+     * @param moves Moves used
+     * @param hintsUsed Hints shown
+     */
+    public GameResult(boolean won, long time, int moves, int hintsUsed) {
+        this(won, time, moves, MazeSolver.UNREACHABLE, hintsUsed, null);
+    }
+
+    /**
+     * Check if the optimal move count is known
+     * @return true for solved mazes
+     */
+    public boolean hasOptimalMoves() {
+        return optimalMoves >= 0;
+    }
+
+    /**
+     * Get the result as a map with the keys PuzzleGame.getResult() has always used
+     * optimalMoves is left out when unknown and answer when null
+     * @return New map
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("won", won);
+        result.put("time", time);
+        result.put("moves", moves);
+        if (hasOptimalMoves()) {
+            result.put("optimalMoves", optimalMoves);
+        }
+        result.put("hintsUsed", hintsUsed);
+        if (answer != null) {
+            result.put("answer", answer);
+        }
+        return result;
+    }
+
+    /**
+     * Read a result map; numbers may be any Number type (Gson loads them as Double)
+     * @param result Map with "won", "time", "moves" and optional "optimalMoves", "hintsUsed", "answer"
+     * @return GameResult, with missing fields false, 0 or unknown
+     */
+    public static GameResult fromMap(Map<String, Object> result) {
+        Object answer = result.get("answer");
+        return new GameResult(
+            Boolean.TRUE.equals(result.get("won")),
+            number(result.get("time"), 0).longValue(),
+            number(result.get("moves"), 0).intValue(),
+            number(result.get("optimalMoves"), MazeSolver.UNREACHABLE).intValue(),
+            number(result.get("hintsUsed"), 0).intValue(),
+            answer != null ? answer.toString() : null);
+    }
+
+    private static Number number(Object value, int fallback) {
+        return value instanceof Number ? (Number) value : fallback;
+    }
+}
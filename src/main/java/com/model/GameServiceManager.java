@@ -1,7 +1,6 @@
 package com.model;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * GameServiceManager - Unified Singleton Service Manager
@@ -45,6 +44,17 @@ public class GameServiceManager {
     private String sessionDifficulty;
     private int sessionElapsedSeconds;
     private int sessionTimeLimit;  // Time limit for current session based on difficulty
+    private SessionPlanner sessionPlanner;  // Rebuilt when the catalog is reloaded
+    private final SplittableRandom sessionSeeds = new SplittableRandom();
+    
+    // Puzzle attempts in play, by user; completions are checked against them
+    private final Map<String, Attempt> attempts = new HashMap<>();
+    private final ScoreVerifier verifier;
+    
+    /**
+     * Puzzle handed out to a user, with the board seed issued for it
+     */
+    private record Attempt(String puzzleId, long seed) {}
     
     /**
      * Private constructor - prevents external instantiation
@@ -55,6 +65,7 @@ public class GameServiceManager {
         this.progressService = new GameProgressService();
         this.leaderboardService = new LeaderboardService();
         this.certificateService = new CertificateService();
+        this.verifier = new ScoreVerifier(dataFacade::getCatalog, dataFacade::getScoringEngine, 1, 64);
         this.sessionDoorToPuzzleMap = new HashMap<>();
         this.sessionCompletedDoors = new HashSet<>();
     }
@@ -216,13 +227,60 @@ public class GameServiceManager {
     }
     
     /**
-     * Mark puzzle as completed
+     * Hand out a puzzle and get the data to initialize its game with
+     * A new attempt gets a board seed issued here; a resumed one keeps the
+     * seed its saved state was dealt from. Complete it with completeAttempt()
      * @param userId User ID
-     * @param puzzleId Puzzle ID
-     * @param score Score achieved
-     */
-    public void completePuzzle(String userId, String puzzleId, int score) {
-        progressService.completePuzzle(userId, puzzleId, score);
+     * @param puzzle Puzzle to play
+     * @param resumedState Paused state the game will be restored from, or null
+     * @return Puzzle data, with the board seed for matching puzzles
+     */
+    public Map<String, Object> startAttempt(String userId, Puzzle puzzle, Map<String, Object> resumedState) {
+        Object savedSeed = resumedState != null ? resumedState.get("seed") : null;
+        long seed = savedSeed != null ? Long.parseLong(savedSeed.toString()) : ScoreVerifier.issueSeed();
+        attempts.put(userId, new Attempt(puzzle.getPuzzleId(), seed));
+        
+        Map<String, Object> data = new HashMap<>(puzzle.getData());
+        if ("MATCHING".equalsIgnoreCase(puzzle.getPuzzleType())) {
+            data.put("seed", seed);
+        }
+        return data;
+    }
+    
+    /**
+     * Complete an attempt from its move log
+     * The log is replayed on the catalog puzzle and the replayed result is
+     * scored; only an accepted verdict is recorded as a completion, so the
+     * score a client computed for itself never reaches the leaderboard
+     * @param userId User ID
+     * @param puzzle Puzzle played
+     * @param log Commands of the attempt, from the start of the puzzle
+     * @return Verdict; its score is what was recorded
+     */
+    public ScoreVerifier.Verdict completeAttempt(String userId, Puzzle puzzle, MoveLog log) {
+        String puzzleId = puzzle.getPuzzleId();
+        Attempt attempt = attempts.get(userId);
+        if (attempt == null || !attempt.puzzleId().equals(puzzleId)) {
+            System.out.println("Completion refused for " + puzzleId + ": no attempt was started");
+            return ScoreVerifier.Verdict.refused(userId, puzzleId, "No attempt was started for this puzzle", null);
+        }
+        
+        ScoreVerifier.Verdict verdict = verifier.verify(userId, puzzleId, attempt.seed(), log);
+        if (!verdict.accepted()) {
+            System.out.println("Completion refused for " + puzzleId + ": " + verdict.reason());
+            return verdict;
+        }
+        attempts.remove(userId);
+        progressService.completePuzzle(userId, puzzleId, verdict.score(), verdict.result());
+        markPlannerCompleted(userId, puzzleId);
+        return verdict;
+    }
+    
+    private void markPlannerCompleted(String userId, String puzzleId) {
+        UserProgress progress = progressService.getUserProgress(userId);
+        if (sessionPlanner != null && progress != null) {
+            sessionPlanner.markCompleted(progress, puzzleId);
+        }
     }
     
     /**
@@ -651,6 +709,16 @@ public class GameServiceManager {
      * @param difficulty Session difficulty (EASY, MEDIUM, HARD)
      */
     public void startNewSession(String difficulty) {
+        startNewSession(difficulty, sessionSeeds.nextLong());
+    }
+    
+    /**
+     * Start a new session with a given seed
+     * The same seed and progress give the same door assignment
+     * @param difficulty EASY, MEDIUM or HARD
+     * @param seed Seed for door order and puzzle draws
+     */
+    public void startNewSession(String difficulty, long seed) {
         if (getCurrentUser() == null) return;
         
         String userId = getCurrentUser().getUserId();
@@ -668,38 +736,17 @@ public class GameServiceManager {
         System.out.println("User: " + userId);
         System.out.println("Difficulty: " + difficulty);
         System.out.println("Already completed puzzles: " + completedPuzzles);
+        System.out.println("Seed: " + seed);
         
-        // Shuffle puzzle types for random door assignment
-        List<String> shuffledTypes = new ArrayList<>(Arrays.asList(PUZZLE_TYPES));
-        Collections.shuffle(shuffledTypes);
-        
-        // Assign one puzzle per door
-        for (int doorNum = 1; doorNum <= 5; doorNum++) {
-            String puzzleType = shuffledTypes.get(doorNum - 1);
-            List<Puzzle> puzzles = dataFacade.getPuzzlesByDifficulty(puzzleType, difficulty);
-            
-            if (!puzzles.isEmpty()) {
-                // First, try to find an UNCOMPLETED puzzle
-                List<Puzzle> uncompletedPuzzles = puzzles.stream()
-                    .filter(p -> !completedPuzzles.contains(p.getPuzzleId()))
-                    .collect(Collectors.toList());
-                
-                String puzzleId;
-                if (!uncompletedPuzzles.isEmpty()) {
-                    // Pick random uncompleted puzzle
-                    Collections.shuffle(uncompletedPuzzles);
-                    puzzleId = uncompletedPuzzles.get(0).getPuzzleId();
-                    System.out.println("Door " + doorNum + " -> " + puzzleType + " -> " + puzzleId + " (NEW)");
-                } else {
-                    // All puzzles completed, pick random for replay
-                    Collections.shuffle(puzzles);
-                    puzzleId = puzzles.get(0).getPuzzleId();
-                    System.out.println("Door " + doorNum + " -> " + puzzleType + " -> " + puzzleId + " (REPLAY - all completed)");
-                }
-                
-                sessionDoorToPuzzleMap.put(doorNum, puzzleId);
+        // Assign one puzzle per door, preferring uncompleted and not recently played ones
+        getSessionPlanner().plan(progress, difficulty, seed, sessionDoorToPuzzleMap);
+        for (int doorNum = 1; doorNum <= PUZZLE_TYPES.length; doorNum++) {
+            String puzzleId = sessionDoorToPuzzleMap.get(doorNum);
+            if (puzzleId == null) {
+                System.err.println("Door " + doorNum + " -> NO PUZZLES FOUND!");
             } else {
-                System.err.println("Door " + doorNum + " -> " + puzzleType + " -> NO PUZZLES FOUND!");
+                System.out.println("Door " + doorNum + " -> " + puzzleId
+                    + (progress.isPuzzleCompleted(puzzleId) ? " (REPLAY - all completed)" : " (NEW)"));
             }
         }
         
@@ -709,6 +756,18 @@ public class GameServiceManager {
         System.out.println("=== Session Started ===");
     }
     
+    /**
+     * Get the session planner for the current catalog snapshot
+     * @return SessionPlanner
+     */
+    private SessionPlanner getSessionPlanner() {
+        PuzzleCatalog current = dataFacade.getCatalog();
+        if (sessionPlanner == null || sessionPlanner.getCatalog() != current) {
+            sessionPlanner = new SessionPlanner(current, PUZZLE_TYPES);
+        }
+        return sessionPlanner;
+    }
+    
     /**
      * Restore existing session from database
      * @return true if session was restored, false if no saved session
@@ -978,18 +1037,63 @@ public class GameServiceManager {
     /**
      * Calculate score based on game result
      * Centralized scoring logic
+     * When the result has "optimalMoves" (mazes), the move bonus is based on
+     * moves beyond the shortest path, so larger mazes are not penalized
      * @param result Game result map containing "time" and "moves"
      * @return Calculated score
      */
     public static int calculateScore(Map<String, Object> result) {
-        long timeMs = (long) result.getOrDefault("time", 0L);
-        int moves = (int) result.getOrDefault("moves", 0);
-        
-        int baseScore = 100;
-        int timeBonus = Math.max(0, 100 - (int)(timeMs / 1000));
-        int moveBonus = Math.max(0, 50 - moves);
-        
-        return baseScore + timeBonus + moveBonus;
+        return calculateScore(GameResult.fromMap(result));
+    }
+
+    /**
+     * Calculate score from a typed game result
+     * @param result Game result
+     * @return Calculated score
+     */
+    public static int calculateScore(GameResult result) {
+        return ScoringRule.DEFAULT.score(result);
+    }
+    
+    /**
+     * Calculate score with the current rules for the puzzle's type and difficulty
+     * @param puzzle Puzzle played
+     * @param result Game result
+     * @return Calculated score
+     */
+    public int calculateScore(Puzzle puzzle, GameResult result) {
+        return getScoringEngine().score(puzzle, result);
+    }
+    
+    /**
+     * Get current scoring rules
+     * @return ScoringEngine
+     */
+    public ScoringEngine getScoringEngine() {
+        return dataFacade.getScoringEngine();
+    }
+    
+    /**
+     * Rebuild leaderboard and certificate totals from the stored records (admins only)
+     * @return Report, or null if the current user is not an admin
+     */
+    public IntegrityRebuildJob.Report rebuildIntegrity() {
+        User user = getCurrentUser();
+        if (user == null || !user.isAdmin()) {
+            System.out.println("Only admins can rebuild game data");
+            return null;
+        }
+        return dataFacade.rebuildIntegrity();
+    }
+    
+    /**
+     * Switch to new scoring rules and recompute every stored score
+     * The rules are saved with the game data
+     * @param engine New rules
+     * @return Job totals
+     */
+    public ScoreRecomputeJob.Summary changeScoringRules(ScoringEngine engine) {
+        return dataFacade.recomputeScores(engine);
     }
     
     // ================================================================
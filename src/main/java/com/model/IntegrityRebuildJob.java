@@ -0,0 +1,312 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Admin job that rebuilds derived data from users, progress and certificates
+ *
+ * Leaderboard rows and certificate totals are derived state that drifts when
+ * data is edited by hand, a save fails halfway or a user is renamed. This job
+ * walks every record in index ranges on a fork-join pool and repairs progress
+ * in place: completedPuzzles loses duplicates and gains puzzles that have a
+ * score, puzzles without a score get 0, and totalScore is summed from
+ * puzzleScores. The leaderboard is then built from scratch with current user
+ * names (keeping each row's date for tie-breaks) and sorted in parallel, and
+ * certificate totals are summed per user. Memory beyond the output is one
+ * index of old leaderboard rows; discrepancies are counted and only the first
+ * MAX_SAMPLES are described. Nothing else may change the data while it runs.
+ */
+public final class IntegrityRebuildJob {
+
+    /** Records checked by one task without splitting further */
+    public static final int PARTITION_SIZE = 4096;
+
+    /** Discrepancies described in the report; the rest are only counted */
+    public static final int MAX_SAMPLES = 50;
+
+    /**
+     * What the rebuild found and fixed
+     * @param users User records
+     * @param progressRecords Progress records checked
+     * @param totalsFixed Progress whose totalScore did not match its puzzle scores
+     * @param completedFixed Progress whose completed list did not match its puzzle scores
+     * @param orphanProgress Progress of users that no longer exist; kept, but not ranked
+     * @param duplicateProgress Extra progress records for a user; ignored
+     * @param leaderboardChanged Rows added, removed, renamed or rescored
+     * @param orphanCertificates Certificates of users that no longer exist; not counted
+     * @param unbackedCertificates Puzzle certificates for puzzles the user has not completed
+     * @param samples First MAX_SAMPLES discrepancies, described
+     */
+    public record Report(int users, int progressRecords, int totalsFixed, int completedFixed,
+                         int orphanProgress, int duplicateProgress, int leaderboardChanged,
+                         int orphanCertificates, int unbackedCertificates, List<String> samples) {
+
+        /**
+         * Get number of discrepancies found
+         * @return Sum of all problem counts
+         */
+        public int discrepancies() {
+            return totalsFixed + completedFixed + orphanProgress + duplicateProgress
+                + leaderboardChanged + orphanCertificates + unbackedCertificates;
+        }
+
+        /**
+         * Check if the derived data was already correct
+         * @return true if nothing was found
+         */
+        public boolean isClean() {
+            return discrepancies() == 0;
+        }
+    }
+
+    /**
+     * Rebuilt data and report
+     * @param report What was found
+     * @param leaderboard New leaderboard, sorted by LeaderboardEntry.RANKING
+     * @param certificates Certificate totals by user ID
+     */
+    public record Result(Report report, List<LeaderboardEntry> leaderboard,
+                         Map<String, CertificateSummary> certificates) {}
+
+    private final Map<String, User> users;
+    private final List<UserProgress> progress;
+    private final Map<String, UserProgress> progressByUser;
+    private final Map<String, LeaderboardEntry> oldEntries;
+    private final int oldEntryCount;
+    private final List<Certificate> certificates;
+    private final LeaderboardEntry[] entries;
+    private final Map<String, CertificateSummary> summaries;
+    private final List<String> samples = new ArrayList<>();
+
+    private IntegrityRebuildJob(Map<String, User> users, List<UserProgress> progress,
+                                Map<String, UserProgress> progressByUser, List<LeaderboardEntry> leaderboard,
+                                List<Certificate> certificates) {
+        this.users = users;
+        this.progress = progress;
+        this.progressByUser = progressByUser;
+        this.oldEntries = new HashMap<>();
+        for (LeaderboardEntry entry : leaderboard) {
+            oldEntries.putIfAbsent(entry.getUserId(), entry);
+        }
+        this.oldEntryCount = leaderboard.size();
+        this.certificates = certificates;
+        this.entries = new LeaderboardEntry[progress.size()];
+        this.summaries = new ConcurrentHashMap<>(Math.max(16, users.size()));
+    }
+
+    /**
+     * Rebuild on the common pool
+     * @param users Users by ID
+     * @param progress All progress records
+     * @param progressByUser Progress index; records not in it are duplicates
+     * @param leaderboard Current leaderboard, read only
+     * @param certificates All certificates
+     * @return Rebuilt data and report
+     */
+    public static Result run(Map<String, User> users, List<UserProgress> progress,
+                             Map<String, UserProgress> progressByUser, List<LeaderboardEntry> leaderboard,
+                             List<Certificate> certificates) {
+        return run(users, progress, progressByUser, leaderboard, certificates, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Rebuild on a given pool
+     * @param users Users by ID
+     * @param progress All progress records
+     * @param progressByUser Progress index; records not in it are duplicates
+     * @param leaderboard Current leaderboard, read only
+     * @param certificates All certificates
+     * @param pool Pool to run on
+     * @return Rebuilt data and report
+     */
+    public static Result run(Map<String, User> users, List<UserProgress> progress,
+                             Map<String, UserProgress> progressByUser, List<LeaderboardEntry> leaderboard,
+                             List<Certificate> certificates, ForkJoinPool pool) {
+        IntegrityRebuildJob job = new IntegrityRebuildJob(users, progress, progressByUser, leaderboard, certificates);
+        return job.run(pool);
+    }
+
+    private Result run(ForkJoinPool pool) {
+        // Certificates are checked against the repaired completed lists
+        Counts counts = pool.invoke(new Partition(0, progress.size(), this::checkProgress));
+        counts.add(pool.invoke(new Partition(0, certificates.size(), this::checkCertificate)));
+
+        LeaderboardEntry[] ranked = Arrays.stream(entries).filter(e -> e != null).toArray(LeaderboardEntry[]::new);
+        Arrays.parallelSort(ranked, LeaderboardEntry.RANKING);
+        counts.leaderboardChanged += oldEntryCount - counts.matchedEntries;
+
+        Report report = new Report(users.size(), progress.size(), counts.totalsFixed, counts.completedFixed,
+            counts.orphanProgress, counts.duplicateProgress, counts.leaderboardChanged,
+            counts.orphanCertificates, counts.unbackedCertificates, Collections.unmodifiableList(samples));
+        return new Result(report, new ArrayList<>(Arrays.asList(ranked)), summaries);
+    }
+
+    private void checkProgress(int index, Counts counts) {
+        UserProgress up = progress.get(index);
+        String userId = up.getUserId();
+        if (progressByUser.get(userId) != up) {
+            counts.duplicateProgress++;
+            sample("Duplicate progress for " + userId);
+            return;
+        }
+        if (repairCompleted(up)) {
+            counts.completedFixed++;
+            sample("Completed puzzles of " + userId + " did not match scores");
+        }
+        int total = 0;
+        for (String puzzleId : up.getCompletedPuzzles()) {
+            total += up.getPuzzleScores().get(puzzleId);
+        }
+        if (total != up.getTotalScore()) {
+            counts.totalsFixed++;
+            sample("Total of " + userId + " was " + up.getTotalScore() + ", scores add up to " + total);
+            up.setTotalScore(total);
+        }
+
+        User user = users.get(userId);
+        if (user == null) {
+            counts.orphanProgress++;
+            sample("Progress for unknown user " + userId);
+            return;
+        }
+        LeaderboardEntry entry = new LeaderboardEntry(userId, user.getFullName(), total, up.getCompletedCount());
+        LeaderboardEntry old = oldEntries.get(userId);
+        if (old == null) {
+            counts.leaderboardChanged++;
+        } else {
+            counts.matchedEntries++;
+            entry.setLastUpdated(old.getLastUpdated());
+            if (old.getTotalScore() != total || old.getPuzzlesCompleted() != entry.getPuzzlesCompleted()
+                    || !entry.getUserName().equals(old.getUserName())) {
+                counts.leaderboardChanged++;
+            }
+        }
+        entries[index] = entry;
+    }
+
+    /**
+     * Make completedPuzzles and puzzleScores cover the same puzzles
+     * @return true if either had to change
+     */
+    private static boolean repairCompleted(UserProgress up) {
+        List<String> completed = up.getCompletedPuzzles() != null ? up.getCompletedPuzzles() : new ArrayList<>();
+        Map<String, Integer> scores = up.getPuzzleScores() != null ? up.getPuzzleScores() : new HashMap<>();
+        boolean changed = up.getCompletedPuzzles() == null || up.getPuzzleScores() == null;
+
+        Set<String> distinct = new LinkedHashSet<>(completed);
+        changed |= distinct.size() != completed.size();
+        changed |= distinct.addAll(scores.keySet());
+        for (String puzzleId : distinct) {
+            if (scores.get(puzzleId) == null) {
+                scores.put(puzzleId, 0);
+                changed = true;
+            }
+        }
+        if (changed) {
+            up.setCompletedPuzzles(new ArrayList<>(distinct));
+            up.setPuzzleScores(scores);
+        }
+        return changed;
+    }
+
+    private void checkCertificate(int index, Counts counts) {
+        Certificate cert = certificates.get(index);
+        String userId = cert.getUserId();
+        if (!users.containsKey(userId)) {
+            counts.orphanCertificates++;
+            sample("Certificate " + cert.getCertificateId() + " of unknown user " + userId);
+            return;
+        }
+        if (!cert.isSessionCertificate()) {
+            UserProgress up = progressByUser.get(userId);
+            if (up == null || !up.isPuzzleCompleted(cert.getPuzzleId())) {
+                counts.unbackedCertificates++;
+                sample("Certificate " + cert.getCertificateId() + " for puzzle " + cert.getPuzzleId()
+                    + " that " + userId + " has not completed");
+            }
+        }
+        summaries.merge(userId, CertificateSummary.of(cert), CertificateSummary::plus);
+    }
+
+    private void sample(String discrepancy) {
+        synchronized (samples) {
+            if (samples.size() < MAX_SAMPLES) {
+                samples.add(discrepancy);
+            }
+        }
+    }
+
+    /**
+     * Problem counts of one range, added up as tasks join
+     */
+    private static final class Counts {
+        int totalsFixed;
+        int completedFixed;
+        int orphanProgress;
+        int duplicateProgress;
+        int leaderboardChanged;
+        int matchedEntries;
+        int orphanCertificates;
+        int unbackedCertificates;
+
+        Counts add(Counts other) {
+            totalsFixed += other.totalsFixed;
+            completedFixed += other.completedFixed;
+            orphanProgress += other.orphanProgress;
+            duplicateProgress += other.duplicateProgress;
+            leaderboardChanged += other.leaderboardChanged;
+            matchedEntries += other.matchedEntries;
+            orphanCertificates += other.orphanCertificates;
+            unbackedCertificates += other.unbackedCertificates;
+            return this;
+        }
+    }
+
+    /**
+     * Check applied to one record index
+     */
+    @FunctionalInterface
+    private interface Check {
+        void apply(int index, Counts counts);
+    }
+
+    private static final class Partition extends RecursiveTask<Counts> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final Check check;
+
+        Partition(int from, int to, Check check) {
+            this.from = from;
+            this.to = to;
+            this.check = check;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (to - from <= PARTITION_SIZE) {
+                Counts counts = new Counts();
+                for (int i = from; i < to; i++) {
+                    check.apply(i, counts);
+                }
+                return counts;
+            }
+            int mid = (from + to) >>> 1;
+            Partition left = new Partition(from, mid, check);
+            left.fork();
+            Counts right = new Partition(mid, to, check).compute();
+            return left.join().add(right);
+        }
+    }
+}
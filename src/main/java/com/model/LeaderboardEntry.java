@@ -1,12 +1,39 @@
 package com.model;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 
 /**
  * Leaderboard entry for ranking players
  * Automatically updated by GameDataFacade when user progress changes
  */
 public class LeaderboardEntry {
+    /**
+     * Leaderboard order with tiebreakers for stable ordering:
+     * 1. Score (descending) - higher score is better
+     * 2. Puzzles completed (descending) - more puzzles is better
+     * 3. Last updated (ascending) - earlier achievement is better
+     * 4. User name (ascending) - alphabetical for consistency
+     */
+    public static final Comparator<LeaderboardEntry> RANKING = (e1, e2) -> {
+        // Primary: Score descending
+        int scoreCompare = Integer.compare(e2.getTotalScore(), e1.getTotalScore());
+        if (scoreCompare != 0) return scoreCompare;
+        
+        // Secondary: Puzzles completed descending
+        int puzzleCompare = Integer.compare(e2.getPuzzlesCompleted(), e1.getPuzzlesCompleted());
+        if (puzzleCompare != 0) return puzzleCompare;
+        
+        // Tertiary: Earlier date is better (ascending)
+        if (e1.getLastUpdated() != null && e2.getLastUpdated() != null) {
+            int dateCompare = e1.getLastUpdated().compareTo(e2.getLastUpdated());
+            if (dateCompare != 0) return dateCompare;
+        }
+        
+        // Final: Alphabetical by name for consistency
+        return e1.getUserName().compareToIgnoreCase(e2.getUserName());
+    };
+    
     private String userId;
     private String userName;
     private int totalScore;
@@ -0,0 +1,311 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Computer player for the matching game with a human-like memory
+ *
+ * The bot remembers at most a fixed number of face-down cards (oldest are
+ * dropped first) and may forget each one between turns. It only learns card
+ * codes it sees, through its own flips or observe() for an opponent's flips.
+ * Used as a head-to-head opponent, to calibrate board sizes per skill and to
+ * generate realistic input sequences for load tests.
+ */
+public class MatchingBot {
+
+    /**
+     * Preset memories: cards remembered and chance to forget each card per turn
+     */
+    public enum Skill {
+        EASY(4, 0.25),
+        MEDIUM(10, 0.08),
+        HARD(Integer.MAX_VALUE, 0.0);
+
+        private final int capacity;
+        private final double forgetChance;
+
+        Skill(int capacity, double forgetChance) {
+            this.capacity = capacity;
+            this.forgetChance = forgetChance;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public double getForgetChance() {
+            return forgetChance;
+        }
+    }
+
+    private final int capacity;
+    private final double forgetChance;
+    private final Random random;
+
+    // Remembered face-down cards, oldest first
+    private int[] memoryCells = new int[16];
+    private int[] memoryCodes = new int[16];
+    private int memorySize;
+
+    /**
+     * Create a bot with a preset memory
+     * @param skill Skill preset
+     * @param seed Seed for card choice and forgetting
+     */
+    public MatchingBot(Skill skill, long seed) {
+        this(skill.getCapacity(), skill.getForgetChance(), seed);
+    }
+
+    /**
+     * Create a bot with a custom memory
+     * @param capacity Most face-down cards remembered at once
+     * @param forgetChance Chance of forgetting each card between turns, 0 to 1
+     * @param seed Seed for card choice and forgetting
+     * @throws IllegalArgumentException if capacity or forgetChance is out of range
+     */
+    public MatchingBot(int capacity, double forgetChance, long seed) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Memory capacity must not be negative: " + capacity);
+        }
+        if (forgetChance < 0 || forgetChance > 1) {
+            throw new IllegalArgumentException("Forget chance must be between 0 and 1: " + forgetChance);
+        }
+        this.capacity = capacity;
+        this.forgetChance = forgetChance;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Remember a card flipped by someone else
+     * @param game Game being played
+     * @param row Card row
+     * @param col Card column
+     */
+    public void observe(MatchingGame game, int row, int col) {
+        int code = game.getVisibleCode(row, col);
+        if (code >= 0 && !game.isMatched(row, col)) {
+            remember(row * game.getCols() + col, code);
+        }
+    }
+
+    /**
+     * Play one turn: two flips, or fewer if the game ends
+     * A pair left showing from the previous turn is cleared first
+     * @param game Game to play
+     * @param moves Receives each flip as "row col" input, or null
+     * @return true if the turn found a pair
+     */
+    public boolean takeTurn(MatchingGame game, List<String> moves) {
+        if (game.isShowingPair()) {
+            game.clearSelection();
+        }
+        if (game.isGameOver()) {
+            return false;
+        }
+        forget(game);
+
+        // A remembered pair is played straight away
+        int[] pair = findRememberedPair();
+        if (pair != null) {
+            flip(game, pair[0], moves);
+            flip(game, pair[1], moves);
+            return true;
+        }
+
+        int first = pickUnknownCell(game, -1);
+        int firstCode = flip(game, first, moves);
+        int partner = recall(firstCode, first);
+        int second = partner >= 0 ? partner : pickUnknownCell(game, first);
+        int secondCode = flip(game, second, moves);
+        if (firstCode == secondCode) {
+            return true;
+        }
+        remember(first, firstCode);
+        remember(second, secondCode);
+        return false;
+    }
+
+    /**
+     * Play a whole game alone
+     * @param game Initialized game
+     * @return Every flip as "row col" input, in order
+     */
+    public List<String> playToEnd(MatchingGame game) {
+        List<String> moves = new ArrayList<>();
+        while (!game.isGameOver()) {
+            takeTurn(game, moves);
+        }
+        game.clearSelection();
+        return moves;
+    }
+
+    /**
+     * Play two bots against each other; a found pair earns another turn
+     * @param game Initialized game
+     * @param first Bot that starts
+     * @param second Other bot
+     * @return Pairs found by each bot, {first, second}
+     */
+    public static int[] playHeadToHead(MatchingGame game, MatchingBot first, MatchingBot second) {
+        int[] pairs = new int[2];
+        MatchingBot[] bots = {first, second};
+        List<String> turnMoves = new ArrayList<>();
+        int turn = 0;
+        while (!game.isGameOver()) {
+            turnMoves.clear();
+            boolean found = bots[turn].takeTurn(game, turnMoves);
+            MatchingBot other = bots[1 - turn];
+            for (String move : turnMoves) {
+                int space = move.indexOf(' ');
+                other.observe(game, Integer.parseInt(move.substring(0, space)),
+                    Integer.parseInt(move.substring(space + 1)));
+            }
+            if (found) {
+                pairs[turn]++;
+            } else {
+                turn = 1 - turn;
+            }
+        }
+        game.clearSelection();
+        return pairs;
+    }
+
+    /**
+     * Average moves a bot with this memory needs on boards of a given size
+     * @param skill Skill preset
+     * @param pairs Pairs per board
+     * @param games Number of games to play
+     * @param seed Seed for boards and bots
+     * @return Average moves per game
+     */
+    public static double averageMoves(Skill skill, int pairs, int games, long seed) {
+        long total = 0;
+        for (int i = 0; i < games; i++) {
+            MatchingGame game = MatchingGame.fromDeck(1, pairs * 2, MatchingGame.shuffledDeck(pairs, seed + i));
+            new MatchingBot(skill, seed + i).playToEnd(game);
+            total += game.result().moves();
+        }
+        return (double) total / games;
+    }
+
+    // ===== MEMORY =====
+
+    private void remember(int cell, int code) {
+        if (capacity == 0) {
+            return;
+        }
+        removeFromMemory(cell);
+        if (memorySize == capacity) {
+            removeAt(0);
+        }
+        if (memorySize == memoryCells.length) {
+            memoryCells = Arrays.copyOf(memoryCells, memorySize * 2);
+            memoryCodes = Arrays.copyOf(memoryCodes, memorySize * 2);
+        }
+        memoryCells[memorySize] = cell;
+        memoryCodes[memorySize++] = code;
+    }
+
+    /**
+     * Drop matched cards, then forget each card by chance
+     */
+    private void forget(MatchingGame game) {
+        int cols = game.getCols();
+        for (int i = memorySize - 1; i >= 0; i--) {
+            int cell = memoryCells[i];
+            if (game.isMatched(cell / cols, cell % cols)
+                    || (forgetChance > 0 && random.nextDouble() < forgetChance)) {
+                removeAt(i);
+            }
+        }
+    }
+
+    private int recall(int code, int exceptCell) {
+        for (int i = memorySize - 1; i >= 0; i--) {
+            if (memoryCodes[i] == code && memoryCells[i] != exceptCell) {
+                return memoryCells[i];
+            }
+        }
+        return -1;
+    }
+
+    private int[] findRememberedPair() {
+        for (int i = 0; i < memorySize; i++) {
+            for (int j = i + 1; j < memorySize; j++) {
+                if (memoryCodes[i] == memoryCodes[j]) {
+                    return new int[] {memoryCells[i], memoryCells[j]};
+                }
+            }
+        }
+        return null;
+    }
+
+    private void removeFromMemory(int cell) {
+        for (int i = 0; i < memorySize; i++) {
+            if (memoryCells[i] == cell) {
+                removeAt(i);
+                return;
+            }
+        }
+    }
+
+    private void removeAt(int index) {
+        System.arraycopy(memoryCells, index + 1, memoryCells, index, memorySize - index - 1);
+        System.arraycopy(memoryCodes, index + 1, memoryCodes, index, memorySize - index - 1);
+        memorySize--;
+    }
+
+    // ===== FLIPS =====
+
+    /**
+     * Pick a random unmatched card that is not remembered
+     * Falls back to any unmatched card when every card is remembered
+     */
+    private int pickUnknownCell(MatchingGame game, int exceptCell) {
+        int cols = game.getCols();
+        int cells = game.getRows() * cols;
+        int[] candidates = new int[cells];
+        int count = 0;
+        int fallback = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (cell == exceptCell || game.isMatched(cell / cols, cell % cols)) {
+                continue;
+            }
+            if (recallCell(cell)) {
+                candidates[cells - 1 - fallback++] = cell;
+            } else {
+                candidates[count++] = cell;
+            }
+        }
+        if (count > 0) {
+            return candidates[random.nextInt(count)];
+        }
+        return candidates[cells - 1 - random.nextInt(fallback)];
+    }
+
+    private boolean recallCell(int cell) {
+        for (int i = 0; i < memorySize; i++) {
+            if (memoryCells[i] == cell) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Flip a card and read its code
+     */
+    private int flip(MatchingGame game, int cell, List<String> moves) {
+        int cols = game.getCols();
+        int row = cell / cols;
+        int col = cell % cols;
+        game.flip(row, col);
+        if (moves != null) {
+            moves.add(row + " " + col);
+        }
+        return game.getVisibleCode(row, col);
+    }
+}
@@ -1,30 +1,62 @@
 package com.model;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Matching card game implementation
  * Players flip cards to find matching pairs
  * Includes save/restore state for resume functionality
+ *
+ * Card values are interned to int codes when the board is dealt, so a flip
+ * compares ints and allocates nothing. Cells are row-major indexes
+ * (row * cols + col); a matched-pairs counter makes isGameOver() O(1).
  */
 public class MatchingGame implements PuzzleGame {
-    private String[][] board;
+    private static final int NONE = -1;
+
+    private String[][] board;       // Card faces, for display
+    private int[] codes;            // Interned card code per cell
     private boolean[][] matched;
-    private Position firstCard;
-    private Position secondCard;
+    private int firstCard = NONE;   // Cell of the first flipped card
+    private int secondCard = NONE;
+    private int matchedPairs;
     private int moveCount;
     private long startTime;
     private int rows;
     private int cols;
     private boolean showingPair;
+    private List<String> cardValues;  // One value per pair, from the catalog puzzle
+    private String[] faces;           // Card value for each code
+    private long seed;                // Shuffle seed - the board is rebuilt from it on restore
+    private boolean snapshotBoard;    // Board came from an old full snapshot, not from seed
+    private String puzzleVersion;
+    private State view;               // Cached by state(), dropped on every change
+    private final GameEventBus events = new GameEventBus();
+
+    /**
+     * Immutable view of the matching game for rendering
+     * The board arrays are the game's own; readers must not modify them
+     * @param board Card face per cell
+     * @param matched Whether each cell is matched
+     * @param firstCard First flipped card, or null
+     * @param secondCard Second flipped card, or null
+     * @param moveCount Pairs flipped
+     * @param matchedPairs Pairs found
+     * @param totalPairs Pairs on the board
+     */
+    public record State(String[][] board, boolean[][] matched, Position firstCard, Position secondCard,
+                        int moveCount, int matchedPairs, int totalPairs) {}
 
     /**
      * Initialize matching game with puzzle data
+     * An optional "seed" deals the same board every time
      * @param puzzleData Map of puzzle data
+     * @throws IllegalArgumentException if the cards do not fill the board in pairs
      * @Override
      *@SuppressWarnings("unchecked")
      */
@@ -33,89 +65,250 @@ public class MatchingGame implements PuzzleGame {
         this.rows = ((Number) puzzleData.get("height")).intValue();
         this.cols = ((Number) puzzleData.get("width")).intValue();
         
-        this.board = new String[rows][cols];
         this.matched = new boolean[rows][cols];
-        this.firstCard = null;
-        this.secondCard = null;
+        this.firstCard = NONE;
+        this.secondCard = NONE;
+        this.matchedPairs = 0;
         this.moveCount = 0;
         this.startTime = System.currentTimeMillis();
         this.showingPair = false;
+        this.view = null;
 
         // Get cards from puzzle data
         List<Map<String, Object>> cardsList = (List<Map<String, Object>>) puzzleData.get("cards");
-        List<String> cards = new ArrayList<>();
+        this.cardValues = new ArrayList<>();
         for (Map<String, Object> card : cardsList) {
-            String value = (String) card.get("value");
-            cards.add(value);
-            cards.add(value); // Add duplicate for matching
+            cardValues.add((String) card.get("value"));
+        }
+        if (cardValues.size() * 2 != rows * cols) {
+            throw new IllegalArgumentException(cardValues.size() + " pairs cannot fill a "
+                + rows + "x" + cols + " board");
+        }
+        this.puzzleVersion = SavedState.puzzleVersion(puzzleData);
+
+        Object seedData = puzzleData.get("seed");
+        dealBoard(seedData instanceof Number ? ((Number) seedData).longValue()
+            : ThreadLocalRandom.current().nextLong());
+        events.gameReset();
+    }
+
+    /**
+     * Shuffle the pairs with the given seed and place them on the board
+     * The same seed always produces the same board (the same order as
+     * Collections.shuffle with new Random(seed), so old saved seeds still match)
+     * @param seed Shuffle seed
+     */
+    private void dealBoard(long seed) {
+        this.seed = seed;
+        this.snapshotBoard = false;
+        int[] pairCodes = internFaces(cardValues);
+        int[] deck = shuffledDeck(pairCodes.length, seed);
+        for (int i = 0; i < deck.length; i++) {
+            deck[i] = pairCodes[deck[i]];
+        }
+        this.codes = deck;
+        buildBoardView();
+    }
+
+    /**
+     * Create a game from an int-coded deck, e.g. for bots and load tests
+     * Card faces are the codes as text; the game has no catalog puzzle to save against
+     * @param rows Board rows
+     * @param cols Board columns
+     * @param deck Card code per cell, row-major (see shuffledDeck)
+     * @return Game ready to play
+     * @throws IllegalArgumentException if the deck does not fill the board
+     */
+    public static MatchingGame fromDeck(int rows, int cols, int[] deck) {
+        if (deck.length != rows * cols) {
+            throw new IllegalArgumentException(deck.length + " cards cannot fill a " + rows + "x" + cols + " board");
+        }
+        MatchingGame game = new MatchingGame();
+        game.rows = rows;
+        game.cols = cols;
+        game.codes = deck.clone();
+        int codeCount = 0;
+        for (int code : deck) {
+            codeCount = Math.max(codeCount, code + 1);
+        }
+        game.faces = new String[codeCount];
+        for (int code = 0; code < codeCount; code++) {
+            game.faces[code] = Integer.toString(code);
+        }
+        game.buildBoardView();
+        game.matched = new boolean[rows][cols];
+        game.startTime = System.currentTimeMillis();
+        return game;
+    }
+
+    /**
+     * Deal a shuffled deck of int-coded pairs without building a game
+     * Pair i starts as cards 2i and 2i + 1, then a Fisher-Yates shuffle draws
+     * in the same order as Collections.shuffle with new Random(seed)
+     * @param pairs Number of pairs
+     * @param seed Shuffle seed
+     * @return Card code per cell, row-major; codes are 0 to pairs - 1
+     */
+    public static int[] shuffledDeck(int pairs, long seed) {
+        int[] deck = new int[pairs * 2];
+        for (int i = 0; i < deck.length; i++) {
+            deck[i] = i / 2;
+        }
+        Random random = new Random(seed);
+        for (int i = deck.length; i > 1; i--) {
+            int j = random.nextInt(i);
+            int swap = deck[i - 1];
+            deck[i - 1] = deck[j];
+            deck[j] = swap;
         }
+        return deck;
+    }
+
+    /**
+     * Give each distinct card value an int code; equal values share a code
+     * @param values Card values
+     * @return Code for each value, in the same order
+     */
+    private int[] internFaces(List<String> values) {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> distinct = new ArrayList<>();
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            Integer code = index.get(values.get(i));
+            if (code == null) {
+                code = distinct.size();
+                index.put(values.get(i), code);
+                distinct.add(values.get(i));
+            }
+            result[i] = code;
+        }
+        this.faces = distinct.toArray(new String[0]);
+        return result;
+    }
 
-        // Shuffle and place on board
-        Collections.shuffle(cards);
-        int index = 0;
+    /**
+     * Rebuild the String view of the board from the card codes
+     */
+    private void buildBoardView() {
+        this.board = new String[rows][cols];
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                board[r][c] = cards.get(index++);
-                matched[r][c] = false;
+                board[r][c] = faces[codes[r * cols + c]];
             }
         }
     }
 
     /**
      * Process user input to flip cards
+     * Thin adapter over apply()
      * @param input User input string (e.g., "0 1" for row 0, col 1)
      * @return true if input was valid and processed
      * @Override
      */
     public boolean processInput(String input) {
+        GameCommand command = parseCommand(input);
+        return command != null && apply(command);
+    }
 
-        if(input == null) return false;
-        
-        String[] parts = input.trim().split("\\s+");
-        if (parts.length != 2) {
-            return false;
-        }
-
-        try {
-            int row = Integer.parseInt(parts[0]);
-            int col = Integer.parseInt(parts[1]);
+    /**
+     * Parse "row col" text into a flip command, by hand - no regex or substrings
+     * @param input User input string
+     * @return Flip command, or null if not two numbers
+     */
+    public static GameCommand parseCommand(String input) {
+        if (input == null) return null;
 
-            if (row < 0 || row >= rows || col < 0 || col >= cols) {
-                return false;
-            }
+        int length = input.length();
+        int i = skipSpaces(input, 0);
+        int row = 0;
+        int start = i;
+        while (i < length && i - start < 9 && Character.isDigit(input.charAt(i))) {
+            row = row * 10 + (input.charAt(i++) - '0');
+        }
+        if (i == start || i == length || !Character.isWhitespace(input.charAt(i))) {
+            return null;
+        }
+        i = skipSpaces(input, i);
+        int col = 0;
+        start = i;
+        while (i < length && i - start < 9 && Character.isDigit(input.charAt(i))) {
+            col = col * 10 + (input.charAt(i++) - '0');
+        }
+        if (i == start || skipSpaces(input, i) != length) {
+            return null;
+        }
+        return GameCommand.flip(row, col);
+    }
 
-            if (matched[row][col]) {
-                return false; // Already matched
+    /**
+     * Apply a flip command
+     * A command stream has no separate step for turning cards back over, so a
+     * pair still showing is turned down first (as the UI does after its delay)
+     * @param command Command to apply
+     * @return true if the card was flipped
+     * @Override
+     */
+    public boolean apply(GameCommand command) {
+        if (command instanceof GameCommand.Flip) {
+            GameCommand.Flip flip = (GameCommand.Flip) command;
+            if (showingPair) {
+                clearSelection();
             }
+            return flip(flip.row(), flip.col());
+        }
+        return false;
+    }
 
-            if (firstCard == null) {
-                firstCard = new Position(row, col);
-                return true;
-            } else if (secondCard == null) {
-                // Don't allow selecting same card twice
-                if (firstCard.getRow() == row && firstCard.getCol() == col) {
-                    return false;
-                }
-
-                secondCard = new Position(row, col);
-                moveCount++;
-                showingPair = true;
-
-                // Check for match
-                String card1 = board[firstCard.getRow()][firstCard.getCol()];
-                String card2 = board[secondCard.getRow()][secondCard.getCol()];
-                if (card1.equals(card2)) {
-                    matched[firstCard.getRow()][firstCard.getCol()] = true;
-                    matched[secondCard.getRow()][secondCard.getCol()] = true;
-                }
-
-                return true;
-            }
+    private static int skipSpaces(String input, int i) {
+        while (i < input.length() && Character.isWhitespace(input.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
 
+    /**
+     * Flip the card at a cell; allocates nothing
+     * @param row Card row
+     * @param col Card column
+     * @return true if the card was flipped, false if off the board, already
+     *         matched, already face up or two cards are showing
+     */
+    public boolean flip(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
             return false;
-        } catch (NumberFormatException e) {
+        }
+        if (matched[row][col]) {
+            return false; // Already matched
+        }
+
+        int cell = row * cols + col;
+        if (firstCard == NONE) {
+            firstCard = cell;
+            view = null;
+            events.cardsRevealed(row, col, NONE, NONE);
+            return true;
+        }
+        // Don't allow selecting same card twice
+        if (secondCard != NONE || firstCard == cell) {
             return false;
         }
+
+        secondCard = cell;
+        moveCount++;
+        showingPair = true;
+        view = null;
+        int firstRow = firstCard / cols;
+        int firstCol = firstCard % cols;
+        events.cardsRevealed(firstRow, firstCol, row, col);
+
+        // Check for match
+        if (codes[firstCard] == codes[secondCard]) {
+            matched[firstRow][firstCol] = true;
+            matched[row][col] = true;
+            matchedPairs++;
+            events.pairMatched(firstRow, firstCol, row, col, matchedPairs);
+        }
+        return true;
     }
 
     /**
@@ -127,36 +320,129 @@ public class MatchingGame implements PuzzleGame {
 
     /**
      * Clear current selection (called after showing matched/mismatched cards)
+     * Unmatched cards turning face down are published as CARDS_HIDDEN
      */
     public void clearSelection() {
-        firstCard = null;
-        secondCard = null;
+        if (firstCard != NONE && !matched[firstCard / cols][firstCard % cols]) {
+            events.cardsHidden(firstCard / cols, firstCard % cols,
+                secondCard == NONE ? NONE : secondCard / cols, secondCard == NONE ? NONE : secondCard % cols);
+        }
+        firstCard = NONE;
+        secondCard = NONE;
         showingPair = false;
+        view = null;
+    }
+
+    /**
+     * Check if a card has been matched
+     * @param row Card row
+     * @param col Card column
+     * @return true if matched
+     */
+    public boolean isMatched(int row, int col) {
+        return matched[row][col];
+    }
+
+    /**
+     * Get the code of a card the player can see (face up or matched)
+     * Cards with equal codes match; face-down cards stay hidden
+     * @param row Card row
+     * @param col Card column
+     * @return Card code, or -1 if the card is face down
+     */
+    public int getVisibleCode(int row, int col) {
+        int cell = row * cols + col;
+        if (matched[row][col] || cell == firstCard || cell == secondCard) {
+            return codes[cell];
+        }
+        return NONE;
+    }
+
+    /**
+     * Get number of distinct card codes
+     * @return Codes are 0 to this - 1
+     */
+    public int getCodeCount() {
+        return faces.length;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Get number of pairs found so far
+     * @return Matched pairs
+     */
+    public int getMatchedPairs() {
+        return matchedPairs;
+    }
+
+    /**
+     * Get number of pairs on the board
+     * @return Total pairs
+     */
+    public int getTotalPairs() {
+        return rows * cols / 2;
+    }
+
+    /**
+     * Get the shuffle seed the board was dealt from
+     * @return Seed, or 0 for games made with fromDeck
+     */
+    public long getSeed() {
+        return seed;
     }
 
     @Override
     public boolean isGameOver() {
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (!matched[r][c]) {
-                    return false;
-                }
-            }
-        }
-        return true;
+        return matchedPairs == getTotalPairs();
     }
 
+    /**
+     * Get current game state as a map
+     * Kept for the console view and older callers; rendering uses state()
+     */
     @Override
     public Map<String, Object> getGameState() {
+        State current = state();
         Map<String, Object> state = new HashMap<>();
-        state.put("board", board);
-        state.put("matched", matched);
-        state.put("firstCard", firstCard);
-        state.put("secondCard", secondCard);
-        state.put("moveCount", moveCount);
+        state.put("board", current.board());
+        state.put("matched", current.matched());
+        state.put("firstCard", current.firstCard());
+        state.put("secondCard", current.secondCard());
+        state.put("moveCount", current.moveCount());
+        state.put("matchedPairs", current.matchedPairs());
+        state.put("totalPairs", current.totalPairs());
         return state;
     }
 
+    /**
+     * Get current game state as a typed view
+     * The same instance is returned until the game changes
+     * @return State
+     */
+    public State state() {
+        if (view == null) {
+            view = new State(board, matched, toPosition(firstCard), toPosition(secondCard),
+                moveCount, matchedPairs, getTotalPairs());
+        }
+        return view;
+    }
+
+    private Position toPosition(int cell) {
+        return cell == NONE ? null : new Position(cell / cols, cell % cols);
+    }
+
+    @Override
+    public GameEventBus getEvents() {
+        return events;
+    }
+
     @Override
     public String getGameType() {
         return "MATCHING";
@@ -164,21 +450,25 @@ public class MatchingGame implements PuzzleGame {
 
     @Override
     public Map<String, Object> getResult() {
-        Map<String, Object> result = new HashMap<>();
-        result.put("won", isGameOver());
-        result.put("time", System.currentTimeMillis() - startTime);
-        result.put("moves", moveCount);
-        return result;
+        return result().toMap();
+    }
+
+    @Override
+    public GameResult result() {
+        return new GameResult(isGameOver(), System.currentTimeMillis() - startTime, moveCount, 0);
     }
 
     @Override
     public void reset() {
         matched = new boolean[rows][cols];
-        firstCard = null;
-        secondCard = null;
+        firstCard = NONE;
+        secondCard = NONE;
+        matchedPairs = 0;
         moveCount = 0;
         showingPair = false;
+        view = null;
         startTime = System.currentTimeMillis();
+        events.gameReset();
     }
 
     /*
@@ -196,66 +486,101 @@ public class MatchingGame implements PuzzleGame {
         return state;
     }
 */
+    /**
+     * Save game state for resume functionality
+     * Only the delta is saved: the shuffle seed, matched cells as a bitmask
+     * and the flipped cards as cell indexes; card values come from the catalog puzzle.
+     * A board restored from an old full snapshot cannot be re-dealt from a seed,
+     * so it keeps being saved as a full snapshot until the next deal
+     * @return Map of saved state data
+     */
     @Override
     public Map<String, Object> saveState() {
+        if (snapshotBoard) {
+            return saveSnapshot();
+        }
         Map<String, Object> state = new HashMap<>();
+        state.put(SavedState.STATE_VERSION_FIELD, SavedState.STATE_VERSION);
+        state.put(SavedState.PUZZLE_VERSION_FIELD, puzzleVersion);
         state.put("rows", rows);
         state.put("cols", cols);
+        state.put("seed", Long.toString(seed));  // String keeps all 64 bits through JSON
+        state.put("matched", SavedState.encodeBits(matched));
         state.put("moveCount", moveCount);
         state.put("startTime", startTime);
-        state.put("firstCard", firstCard);
-        state.put("secondCard", secondCard);
-        
-        // Convert board array to List for JSON compatibility
-        List<List<String>> boardList = new ArrayList<>();
-        for (int r = 0; r < rows; r++) {
-            List<String> rowList = new ArrayList<>();
-            for (int c = 0; c < cols; c++) {
-                rowList.add(board[r][c]);
-            }
-            boardList.add(rowList);
+        if (firstCard != NONE) {
+            state.put("firstCard", firstCard);
         }
-        state.put("board", boardList);
-        
-        // Convert matched array to List for JSON compatibility
+        if (secondCard != NONE) {
+            state.put("secondCard", secondCard);
+        }
+        return state;
+    }
+
+    /**
+     * Save the whole board in the old full snapshot layout
+     * Board and matched are nested lists, the same shape they have after JSON
+     * @return Map of saved state data
+     */
+    private Map<String, Object> saveSnapshot() {
+        List<List<String>> boardList = new ArrayList<>();
         List<List<Boolean>> matchedList = new ArrayList<>();
         for (int r = 0; r < rows; r++) {
-            List<Boolean> rowList = new ArrayList<>();
+            List<String> boardRow = new ArrayList<>();
+            List<Boolean> matchedRow = new ArrayList<>();
             for (int c = 0; c < cols; c++) {
-                rowList.add(matched[r][c]);
+                boardRow.add(board[r][c]);
+                matchedRow.add(matched[r][c]);
             }
-            matchedList.add(rowList);
+            boardList.add(boardRow);
+            matchedList.add(matchedRow);
         }
+        Map<String, Object> state = new HashMap<>();
+        state.put("rows", rows);
+        state.put("cols", cols);
+        state.put("board", boardList);
         state.put("matched", matchedList);
-        
+        state.put("moveCount", moveCount);
+        state.put("startTime", startTime);
+        state.put("firstCard", toPosition(firstCard));
+        state.put("secondCard", toPosition(secondCard));
         return state;
     }
 
-    
-    
     /**
      * Restore game state from saved data
+     * Compact states re-deal the board from the saved seed on top of initialize();
+     * old full snapshots still carry the board and are restored as before
      * @param savedState Map of saved state data
+     * @throws IllegalStateException if a compact state is restored before initialize()
      * @Override
      * @SuppressWarnings("unchecked")
      */
     public void restoreState(Map<String, Object> savedState) {
+        if (SavedState.isDelta(savedState)) {
+            restoreDelta(savedState);
+            return;
+        }
+
         this.rows = ((Number) savedState.get("rows")).intValue();
         this.cols = ((Number) savedState.get("cols")).intValue();
         this.moveCount = ((Number) savedState.get("moveCount")).intValue();
         this.startTime = ((Number) savedState.get("startTime")).longValue();
-        this.firstCard = restorePosition(savedState.get("firstCard"));
-        this.secondCard = restorePosition(savedState.get("secondCard"));
+        this.firstCard = toCell(restorePosition(savedState.get("firstCard")));
+        this.secondCard = toCell(restorePosition(savedState.get("secondCard")));
         this.showingPair = false;
 
         // Handle board restoration from JSON (ArrayList of ArrayLists)
         List<List<String>> boardList = (List<List<String>>) savedState.get("board");
-        this.board = new String[rows][cols];
+        List<String> values = new ArrayList<>();
         for (int r = 0; r < rows; r++) {
             for (int c = 0; c < cols; c++) {
-                this.board[r][c] = boardList.get(r).get(c);
+                values.add(boardList.get(r).get(c));
             }
         }
+        this.codes = internFaces(values);
+        this.snapshotBoard = true;
+        buildBoardView();
 
         // Handle matched restoration from JSON (ArrayList of ArrayLists of Booleans)
         List<List<Boolean>> matchedList = (List<List<Boolean>>) savedState.get("matched");
@@ -265,8 +590,53 @@ public class MatchingGame implements PuzzleGame {
                 this.matched[r][c] = matchedList.get(r).get(c);
             }
         }
+        countMatchedPairs();
+        events.gameReset();
     }
-    
+
+    /**
+     * Apply a compact saved state to a game initialized from the catalog puzzle
+     */
+    private void restoreDelta(Map<String, Object> savedState) {
+        if (cardValues == null) {
+            throw new IllegalStateException("Initialize the board from its puzzle before restoring");
+        }
+        if (!SavedState.matchesTemplate(savedState, puzzleVersion)) {
+            return;
+        }
+        dealBoard(Long.parseLong(savedState.get("seed").toString()));
+        this.matched = SavedState.decodeBits((String) savedState.get("matched"), rows, cols);
+        this.moveCount = ((Number) savedState.get("moveCount")).intValue();
+        this.startTime = ((Number) savedState.get("startTime")).longValue();
+        this.firstCard = restoreCell(savedState.get("firstCard"));
+        this.secondCard = restoreCell(savedState.get("secondCard"));
+        this.showingPair = false;
+        countMatchedPairs();
+        events.gameReset();
+    }
+
+    private int restoreCell(Object cellData) {
+        return cellData instanceof Number ? ((Number) cellData).intValue() : NONE;
+    }
+
+    private int toCell(Position position) {
+        return position == null ? NONE : position.getRow() * cols + position.getCol();
+    }
+
+    /**
+     * Recount matched pairs after the matched grid is replaced
+     */
+    private void countMatchedPairs() {
+        int cells = 0;
+        for (boolean[] row : matched) {
+            for (boolean cell : row) {
+                if (cell) cells++;
+            }
+        }
+        this.matchedPairs = cells / 2;
+        this.view = null;
+    }
+
     /**
      * Helper method to restore Position from saved state
      * Handles both in-memory Position objects and JSON-deserialized Maps
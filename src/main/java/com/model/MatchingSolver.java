@@ -0,0 +1,122 @@
+package com.model;
+
+/**
+ * Perfect-memory solver for the matching game
+ *
+ * A perfect-memory player never forgets a card: each move it matches a known
+ * pair if it has one, otherwise it flips an unseen card and then either its
+ * remembered partner or another unseen card. Works on int-coded decks
+ * (see MatchingGame.shuffledDeck), so thousands of boards can be scored per
+ * second for difficulty calibration.
+ */
+public final class MatchingSolver {
+
+    private MatchingSolver() {}
+
+    /**
+     * Count moves a perfect-memory player needs on one board
+     * Unseen cards are flipped in cell order
+     * @param codes Card code per cell; each code appears exactly twice
+     * @return Moves (pairs of flips) to clear the board
+     */
+    public static int perfectMemoryMoves(int[] codes) {
+        int pairs = codes.length / 2;
+        boolean[] seenOnce = new boolean[maxCode(codes) + 1];
+        int next = 0;          // next unseen cell
+        int knownPairs = 0;    // pairs with both cards seen but not yet matched
+        int matchedPairs = 0;
+        int moves = 0;
+
+        while (matchedPairs < pairs) {
+            moves++;
+            if (knownPairs > 0) {
+                knownPairs--;
+                matchedPairs++;
+                continue;
+            }
+            int first = codes[next++];
+            if (seenOnce[first]) {
+                // Flip the remembered partner
+                seenOnce[first] = false;
+                matchedPairs++;
+                continue;
+            }
+            int second = codes[next++];
+            if (second == first) {
+                matchedPairs++;
+            } else if (seenOnce[second]) {
+                // Partner of the second card is known - match it next move
+                seenOnce[second] = false;
+                seenOnce[first] = true;
+                knownPairs++;
+            } else {
+                seenOnce[first] = true;
+                seenOnce[second] = true;
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Get the exact expected moves for a perfect-memory player on a random board
+     * Dynamic programming over (unseen cards, seen cards whose partner is unseen)
+     * @param pairs Number of pairs
+     * @return Expected moves
+     */
+    public static double expectedPerfectMemoryMoves(int pairs) {
+        int cards = pairs * 2;
+        // expected[u][k]: u unseen cards, k of them have their partner already seen
+        double[][] expected = new double[cards + 1][];
+        for (int u = 0; u <= cards; u++) {
+            // k singles plus (u - k) / 2 unseen pairs cannot exceed the pairs dealt
+            int maxSingles = Math.min(u, cards - u);
+            expected[u] = new double[maxSingles + 1];
+            for (int k = u % 2; k <= maxSingles; k += 2) {
+                if (u == 0) {
+                    continue;
+                }
+                double value = 0;
+                if (k > 0) {
+                    // First card's partner is remembered
+                    value += (double) k / u * (1 + expected[u - 1][k - 1]);
+                }
+                if (u > k) {
+                    double fresh = (double) (u - k) / u;
+                    double rest = u - 1;
+                    value += fresh / rest * (1 + expected[u - 2][k]);
+                    if (k > 0) {
+                        value += fresh * k / rest * (2 + expected[u - 2][k]);
+                    }
+                    if (u - 2 - k > 0) {
+                        value += fresh * (u - 2 - k) / rest * (1 + expected[u - 2][k + 2]);
+                    }
+                }
+                expected[u][k] = value;
+            }
+        }
+        return expected[cards][0];
+    }
+
+    /**
+     * Average perfect-memory moves over many shuffled boards
+     * @param pairs Number of pairs per board
+     * @param boards Number of boards to deal
+     * @param seed Seed of the first board; board i uses seed + i
+     * @return Average moves
+     */
+    public static double averagePerfectMemoryMoves(int pairs, int boards, long seed) {
+        long total = 0;
+        for (int i = 0; i < boards; i++) {
+            total += perfectMemoryMoves(MatchingGame.shuffledDeck(pairs, seed + i));
+        }
+        return (double) total / boards;
+    }
+
+    private static int maxCode(int[] codes) {
+        int max = 0;
+        for (int code : codes) {
+            max = Math.max(max, code);
+        }
+        return max;
+    }
+}
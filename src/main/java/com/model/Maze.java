@@ -1,13 +1,26 @@
 package com.model;
 
+import java.util.Arrays;
+
 /**
  * Maze entity representing a maze puzzle
  * Contains grid data and start/end positions
+ * Walls are bit-packed, one bit per cell, in row-major long words
+ * (each row starts on a word boundary), so large generated mazes stay small
+ * Special tiles (keys, doors, one-way tiles, teleporters - see MazeTile) are
+ * rare, so they are kept in sorted arrays and looked up by binary search
  */
 public class Maze {
     private int width;
     private int height;
-    private int[][] mazeData;  // 0 = path, 1 = wall
+    private long[] walls;       // bit set = wall, bit clear = path
+    private int rowWords;       // long words per row
+    private int gridRows;       // packed dimensions (width/height may be changed independently)
+    private int gridCols;
+    private int[] tileCells = new int[0];  // sorted cell indexes (row * cols + col) of special tiles
+    private int[] tileCodes = new int[0];  // MazeTile code for each entry of tileCells
+    private transient int[] tilePartners;  // teleporter partner cell for each entry, -1 if none
+    private transient int[][] mazeData;  // MazeTile codes; unpacked view for old callers
     private Position start;
     private Position end;
     
@@ -24,9 +37,247 @@ public class Maze {
     public Maze(int width, int height, int[][] mazeData, Position start, Position end) {
         this.width = width;
         this.height = height;
-        this.mazeData = mazeData;
         this.start = start;
         this.end = end;
+        setMazeData(mazeData);
+    }
+    
+    /**
+     * Constructor for a maze with no walls yet (fill it with setWall)
+     * @param width
+     * @param height
+     * @param start
+     * @param end
+     */
+    public Maze(int width, int height, Position start, Position end) {
+        this.width = width;
+        this.height = height;
+        this.start = start;
+        this.end = end;
+        this.gridRows = height;
+        this.gridCols = width;
+        this.rowWords = (width + 63) >>> 6;
+        this.walls = new long[height * rowWords];
+    }
+    
+    /**
+     * Set every cell to wall or path, removing special tiles
+     * @param wall true to fill with walls, false to clear
+     */
+    public void fill(boolean wall) {
+        if (walls != null) {
+            Arrays.fill(walls, wall ? -1L : 0L);
+            tileCells = new int[0];
+            tileCodes = new int[0];
+            tilePartners = null;
+            mazeData = null;
+        }
+    }
+    
+    /**
+     * Check if a cell is a wall
+     * Cells outside the grid count as walls
+     * @param row
+     * @param col
+     * @return true if the cell cannot be entered
+     */
+    public boolean isWall(int row, int col) {
+        if (row < 0 || col < 0 || row >= gridRows || col >= gridCols) {
+            return true;
+        }
+        return (walls[row * rowWords + (col >>> 6)] & (1L << col)) != 0;
+    }
+    
+    /**
+     * Set or clear a wall
+     * @param row
+     * @param col
+     * @param wall true for wall, false for path
+     * @throws IndexOutOfBoundsException if the cell is outside the grid
+     */
+    public void setWall(int row, int col, boolean wall) {
+        if (row < 0 || col < 0 || row >= gridRows || col >= gridCols) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + col + ") is outside the maze");
+        }
+        int index = row * rowWords + (col >>> 6);
+        if (wall) {
+            walls[index] |= 1L << col;
+        } else {
+            walls[index] &= ~(1L << col);
+        }
+        mazeData = null;
+    }
+    
+    /**
+     * Get an empty cell bitmask with the same row layout as the wall bits
+     * @return Bitmask words, one bit per cell
+     */
+    long[] newCellMask() {
+        return new long[gridRows * rowWords];
+    }
+    
+    /**
+     * Get index of the word holding a cell's bit in a cell bitmask
+     * The bit within the word is (col & 63)
+     * @param row
+     * @param col
+     * @return Word index
+     */
+    int cellWord(int row, int col) {
+        return row * rowWords + (col >>> 6);
+    }
+    
+    /**
+     * Copy the maze keeping only the cells set in a mask; hidden cells become walls
+     * @param shown Bitmask from newCellMask()
+     * @return Masked copy with the same start and end
+     */
+    Maze revealedCopy(long[] shown) {
+        Maze copy = new Maze(width, height, start, end);
+        copy.gridRows = gridRows;
+        copy.gridCols = gridCols;
+        copy.rowWords = rowWords;
+        copy.walls = new long[walls.length];
+        for (int i = 0; i < walls.length; i++) {
+            copy.walls[i] = walls[i] | ~shown[i];
+        }
+        int kept = 0;
+        int[] cells = new int[tileCells.length];
+        int[] codes = new int[tileCells.length];
+        for (int i = 0; i < tileCells.length; i++) {
+            int row = tileCells[i] / gridCols;
+            int col = tileCells[i] % gridCols;
+            if ((shown[cellWord(row, col)] & 1L << col) != 0) {
+                cells[kept] = tileCells[i];
+                codes[kept++] = tileCodes[i];
+            }
+        }
+        copy.tileCells = Arrays.copyOf(cells, kept);
+        copy.tileCodes = Arrays.copyOf(codes, kept);
+        return copy;
+    }
+    
+    /**
+     * Get the tile code of a cell (see MazeTile)
+     * @param row
+     * @param col
+     * @return MazeTile.WALL, MazeTile.PATH or a special tile code
+     */
+    public int getTile(int row, int col) {
+        if (isWall(row, col)) {
+            return MazeTile.WALL;
+        }
+        if (tileCells.length == 0) {
+            return MazeTile.PATH;
+        }
+        int i = Arrays.binarySearch(tileCells, row * gridCols + col);
+        return i >= 0 ? tileCodes[i] : MazeTile.PATH;
+    }
+    
+    /**
+     * Set the tile code of a cell
+     * @param row
+     * @param col
+     * @param code MazeTile code
+     * @throws IllegalArgumentException if the code is not a MazeTile code
+     * @throws IndexOutOfBoundsException if the cell is outside the grid
+     */
+    public void setTile(int row, int col, int code) {
+        if (!MazeTile.isValid(code)) {
+            throw new IllegalArgumentException("Unknown maze tile code " + code);
+        }
+        setWall(row, col, code == MazeTile.WALL);
+        int cell = row * gridCols + col;
+        int i = Arrays.binarySearch(tileCells, cell);
+        boolean special = code != MazeTile.WALL && code != MazeTile.PATH;
+        if (i >= 0 && special) {
+            tileCodes[i] = code;
+        } else if (i >= 0) {
+            tileCells = remove(tileCells, i);
+            tileCodes = remove(tileCodes, i);
+        } else if (special) {
+            int at = -i - 1;
+            tileCells = insert(tileCells, at, cell);
+            tileCodes = insert(tileCodes, at, code);
+        }
+        tilePartners = null;
+    }
+    
+    /**
+     * Check if the maze has any keys, doors, one-way tiles or teleporters
+     * @return true if there are special tiles
+     */
+    public boolean hasSpecialTiles() {
+        return tileCells.length > 0;
+    }
+    
+    /**
+     * Get the cells of all special tiles
+     * @return Copy of the sorted cell indexes (row * width + col)
+     */
+    public int[] getSpecialTileCells() {
+        return tileCells.clone();
+    }
+    
+    /**
+     * Get where a teleporter sends the player
+     * @param row
+     * @param col
+     * @return Cell index (row * width + col) of the paired teleporter, or -1
+     */
+    public int getTeleportTarget(int row, int col) {
+        if (tileCells.length == 0 || isWall(row, col)) {
+            return -1;
+        }
+        int i = Arrays.binarySearch(tileCells, row * gridCols + col);
+        if (i < 0 || !MazeTile.isTeleporter(tileCodes[i])) {
+            return -1;
+        }
+        if (tilePartners == null) {
+            tilePartners = pairTeleporters();
+        }
+        return tilePartners[i];
+    }
+    
+    /**
+     * Link each teleporter to the other cell with the same code
+     * Codes used by one cell or by more than two cells do not teleport
+     */
+    private int[] pairTeleporters() {
+        int[] partners = new int[tileCells.length];
+        Arrays.fill(partners, -1);
+        for (int i = 0; i < tileCells.length; i++) {
+            if (!MazeTile.isTeleporter(tileCodes[i])) {
+                continue;
+            }
+            int match = -1;
+            int count = 0;
+            for (int j = 0; j < tileCells.length; j++) {
+                if (j != i && tileCodes[j] == tileCodes[i]) {
+                    match = j;
+                    count++;
+                }
+            }
+            if (count == 1) {
+                partners[i] = tileCells[match];
+            }
+        }
+        return partners;
+    }
+    
+    private static int[] insert(int[] array, int at, int value) {
+        int[] copy = new int[array.length + 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        copy[at] = value;
+        System.arraycopy(array, at, copy, at + 1, array.length - at);
+        return copy;
+    }
+    
+    private static int[] remove(int[] array, int at) {
+        int[] copy = new int[array.length - 1];
+        System.arraycopy(array, 0, copy, 0, at);
+        System.arraycopy(array, at + 1, copy, at, array.length - at - 1);
+        return copy;
     }
     
     // Getters and Setters
@@ -63,19 +314,53 @@ public class Maze {
     }
     
     /**
-     * Get maze data grid
+     * Get maze data grid (0 = path, 1 = wall, other MazeTile codes for special tiles)
+     * Unpacked on first call; prefer isWall, which needs no extra memory.
+     * Changes to the returned array are not written back - use setMazeData or setWall
      * @return int[][] mazeData
      */
     public int[][] getMazeData() { 
+        if (mazeData == null && walls != null) {
+            int[][] grid = new int[gridRows][gridCols];
+            for (int r = 0; r < gridRows; r++) {
+                for (int c = 0; c < gridCols; c++) {
+                    grid[r][c] = getTile(r, c);
+                }
+            }
+            mazeData = grid;
+        }
         return mazeData; 
     }
     
     /**
-     * Set maze data grid
+     * Set maze data grid (0 = path, 1 = wall, other MazeTile codes for special tiles)
      * @param mazeData
      */
     public void setMazeData(int[][] mazeData) { 
-        this.mazeData = mazeData; 
+        this.tileCells = new int[0];
+        this.tileCodes = new int[0];
+        this.tilePartners = null;
+        if (mazeData == null) {
+            this.mazeData = null;
+            this.walls = null;
+            this.gridRows = 0;
+            this.gridCols = 0;
+            return;
+        }
+        this.gridRows = mazeData.length;
+        this.gridCols = mazeData.length > 0 ? mazeData[0].length : 0;
+        this.rowWords = (gridCols + 63) >>> 6;
+        this.walls = new long[mazeData.length * rowWords];
+        for (int r = 0; r < mazeData.length; r++) {
+            for (int c = 0; c < gridCols; c++) {
+                if (mazeData[r][c] == MazeTile.WALL) {
+                    walls[r * rowWords + (c >>> 6)] |= 1L << c;
+                } else if (mazeData[r][c] != MazeTile.PATH) {
+                    setTile(r, c, mazeData[r][c]);
+                }
+            }
+        }
+        this.mazeData = mazeData;
     }
     
     /**
@@ -6,13 +6,40 @@ import java.util.Map;
 
 /**
  * Maze game implementation with save/resume functionality
- * Player navigates through maze from start to end position
+ * Player navigates through maze from start to end position, picking up keys
+ * to open doors; one-way tiles and teleporters follow MazeTile
  */
 public class MazeGame implements PuzzleGame {
     private Maze maze;
     private Player player;
     private int moveCount;
     private long startTime;
+    private String puzzleVersion;
+    private int hintsUsed;
+    private Direction lastHint;  // Shown until the player moves
+    private int hintMovesRemaining = MazeSolver.UNREACHABLE;  // Special-tile mazes: found with the last hint
+    private MazeSolver solver;  // Built on first hint/score lookup, shared per puzzle
+    private MazeStateSolver stateSolver;  // Used instead of solver when the maze has special tiles
+    private int keyMask;  // Bit k set once key k is picked up
+    private MazeVisibility fog;  // Null unless the puzzle enables fog of war
+    private Maze fogView;  // Revealed part of the maze, rebuilt when more is explored
+    private State view;  // Cached by state(), dropped on every change
+    private final GameEventBus events = new GameEventBus();
+    
+    /**
+     * Immutable view of the maze game for rendering
+     * @param row Player row
+     * @param col Player column
+     * @param moveCount Moves made
+     * @param keys Bit k set once key k is picked up
+     * @param maze Maze to draw; only the revealed part in fog mode
+     * @param fog Fog of war, or null when the whole maze is visible
+     * @param movesRemaining Moves to the exit, or MazeSolver.UNREACHABLE if not known yet
+     * @param optimalMoves Shortest solution from the start
+     * @param hint Direction shown by the last hint, or null
+     */
+    public record State(int row, int col, int moveCount, int keys, Maze maze, MazeVisibility fog,
+                        int movesRemaining, int optimalMoves, Direction hint) {}
     
     /**
      * Initialize maze game with puzzle data
@@ -21,79 +48,284 @@ public class MazeGame implements PuzzleGame {
      * @SuppressWarnings("unchecked")
      */
     public void initialize(Map<String, Object> puzzleData) {
+        this.maze = parseMaze(puzzleData);
+        Position start = maze.getStart();
+        this.player = new Player(start.getRow(), start.getCol());
+        this.moveCount = 0;
+        this.hintsUsed = 0;
+        this.keyMask = 0;
+        this.startTime = System.currentTimeMillis();
+        this.puzzleVersion = SavedState.puzzleVersion(puzzleData);
+        this.solver = null;
+        this.stateSolver = null;
+        this.fog = createFog(maze, puzzleData);
+        this.fogView = null;
+        this.view = null;
+        updateFog();
+        events.gameReset();
+    }
+    
+    /**
+     * Create fog of war if the puzzle asks for it ("fog": true and/or "fogRadius")
+     * @return MazeVisibility, or null for a fully visible maze
+     */
+    private static MazeVisibility createFog(Maze maze, Map<String, Object> puzzleData) {
+        Object radius = puzzleData.get("fogRadius");
+        if (radius instanceof Number) {
+            return new MazeVisibility(maze, ((Number) radius).intValue());
+        }
+        if (Boolean.TRUE.equals(puzzleData.get("fog"))) {
+            return new MazeVisibility(maze, MazeVisibility.DEFAULT_RADIUS);
+        }
+        return null;
+    }
+    
+    /**
+     * Recompute the player's view in fog mode; cost depends on the sight radius only
+     */
+    private void updateFog() {
+        if (fog != null && fog.update(player.row, player.col)) {
+            fogView = null;
+        }
+    }
+    
+    /**
+     * Build a maze from puzzle data
+     * @param puzzleData Map of puzzle data (width, height, start, end, grid)
+     * @return Maze
+     * @throws IllegalArgumentException if the grid has an unknown tile code
+     */
+    @SuppressWarnings("unchecked")
+    public static Maze parseMaze(Map<String, Object> puzzleData) {
         // Extract maze data
         int width = ((Number) puzzleData.get("width")).intValue();
         int height = ((Number) puzzleData.get("height")).intValue();
-        
-        // Convert grid data
-        List<List<Number>> gridList = (List<List<Number>>) puzzleData.get("grid");
-        int[][] grid = new int[height][width];
-        for (int r = 0; r < height; r++) {
-            for (int c = 0; c < width; c++) {
-                grid[r][c] = gridList.get(r).get(c).intValue();
-            }
-        }
-        
+
         // Extract positions
         Map<String, Object> startData = (Map<String, Object>) puzzleData.get("start");
         Position start = new Position(
             ((Number) startData.get("row")).intValue(),
             ((Number) startData.get("col")).intValue()
         );
-        
+
         Map<String, Object> endData = (Map<String, Object>) puzzleData.get("end");
         Position end = new Position(
             ((Number) endData.get("row")).intValue(),
             ((Number) endData.get("col")).intValue()
         );
-        
-        this.maze = new Maze(width, height, grid, start, end);
-        this.player = new Player(start.getRow(), start.getCol());
-        this.moveCount = 0;
-        this.startTime = System.currentTimeMillis();
+
+        // Pack grid data straight into the maze's wall bits
+        Maze maze = new Maze(width, height, start, end);
+        List<List<Number>> gridList = (List<List<Number>>) puzzleData.get("grid");
+        for (int r = 0; r < height; r++) {
+            List<Number> row = gridList.get(r);
+            for (int c = 0; c < width; c++) {
+                int code = row.get(c).intValue();
+                if (code == MazeTile.WALL) {
+                    maze.setWall(r, c, true);
+                } else if (code != MazeTile.PATH) {
+                    maze.setTile(r, c, code);
+                }
+            }
+        }
+        return maze;
     }
     
     /**
      * Process player input for movement
-     * @param input Player input command (WASD)
+     * Thin adapter over apply(); "HINT" reveals the best next move
+     * @param input Player input command (WASD or HINT)
      * @return boolean indicating if move was successful
      * @Override
      */
     public boolean processInput(String input) {
-        
-        if(input == null) return false;
-
-        input = input.toUpperCase().trim();
-        
-        int newRow = player.row;
-        int newCol = player.col;
-        
-        switch (input) {
-            case "W": newRow--; break;  // Up
-            case "S": newRow++; break;  // Down
-            case "A": newCol--; break;  // Left
-            case "D": newCol++; break;  // Right
-            default: return false;
+        GameCommand command = parseCommand(input);
+        return command != null && apply(command);
+    }
+    
+    /**
+     * Parse text input into a command
+     * @param input WASD key or HINT
+     * @return Move or hint command, or null if not recognized
+     */
+    public static GameCommand parseCommand(String input) {
+        Direction direction = Direction.fromInput(input);
+        if (direction != null) {
+            return GameCommand.move(direction);
         }
+        if (input != null && input.trim().equalsIgnoreCase("HINT")) {
+            return GameCommand.hint();
+        }
+        return null;
+    }
+    
+    /**
+     * Apply a move or hint command
+     * @param command Command to apply
+     * @return true if the player moved or a hint was given
+     * @Override
+     */
+    public boolean apply(GameCommand command) {
+        if (command instanceof GameCommand.Move) {
+            return move(((GameCommand.Move) command).direction());
+        }
+        if (command instanceof GameCommand.Hint) {
+            return useHint() != null;
+        }
+        return false;
+    }
+    
+    /**
+     * Move the player one cell; allocates nothing
+     * @param direction Direction to move
+     * @return true if the player moved, false if blocked by a wall, the edge,
+     *         a locked door or a one-way tile
+     */
+    public boolean move(Direction direction) {
+        int newRow = player.row + direction.getRowDelta();
+        int newCol = player.col + direction.getColDelta();
         
-        // Check bounds
-        if (newRow < 0 || newRow >= maze.getHeight() || 
-            newCol < 0 || newCol >= maze.getWidth()) {
+        // Cells outside the grid count as walls
+        int tile = maze.getTile(newRow, newCol);
+        if (tile == MazeTile.WALL) {
             return false;
         }
-        
-        // Check walls
-        if (maze.getMazeData()[newRow][newCol] == 1) {
+        if (MazeTile.isDoor(tile) && (keyMask & 1 << MazeTile.keyId(tile)) == 0) {
+            return false;
+        }
+        if (MazeTile.isOneWay(tile) && MazeTile.oneWayDirection(tile) != direction) {
             return false;
         }
         
+        if (MazeTile.isKey(tile)) {
+            keyMask |= 1 << MazeTile.keyId(tile);
+        } else if (MazeTile.isTeleporter(tile)) {
+            int target = maze.getTeleportTarget(newRow, newCol);
+            if (target >= 0) {
+                newRow = target / maze.getWidth();
+                newCol = target % maze.getWidth();
+            }
+        }
+        
         // Valid move
+        int fromRow = player.row;
+        int fromCol = player.col;
         player.row = newRow;
         player.col = newCol;
         moveCount++;
+        lastHint = null;
+        hintMovesRemaining = MazeSolver.UNREACHABLE;
+        view = null;
+        updateFog();
+        events.playerMoved(fromRow, fromCol, newRow, newCol, keyMask);
         return true;
     }
     
+    /**
+     * Get the shortest-path solver for this maze
+     * @return MazeSolver, cached per puzzle
+     */
+    public MazeSolver getSolver() {
+        if (solver == null) {
+            solver = MazeSolver.forPuzzle(puzzleVersion, maze);
+        }
+        return solver;
+    }
+    
+    /**
+     * Get the key-aware solver for this maze
+     * @return MazeStateSolver, cached per puzzle
+     */
+    public MazeStateSolver getStateSolver() {
+        if (stateSolver == null) {
+            stateSolver = MazeStateSolver.forPuzzle(puzzleVersion, maze);
+        }
+        return stateSolver;
+    }
+    
+    /**
+     * Get number of moves on the shortest path from the player to the exit
+     * @return Moves remaining, or MazeSolver.UNREACHABLE
+     */
+    public int getMovesRemaining() {
+        if (maze.hasSpecialTiles()) {
+            return getStateSolver().solve(player.row, player.col, keyMask).getMoves();
+        }
+        return getSolver().movesRemaining(player.row, player.col);
+    }
+    
+    /**
+     * Get moves remaining for the state view without searching on every move
+     * Plain mazes read the cached distance field. Mazes with special tiles need
+     * a key-state search per (cell, keys), so the distance is only known right
+     * after a hint, until the player moves
+     * @return Moves remaining, or MazeSolver.UNREACHABLE if not known
+     */
+    private int knownMovesRemaining() {
+        return maze.hasSpecialTiles() ? hintMovesRemaining : getMovesRemaining();
+    }
+    
+    /**
+     * Get the best next move from the player's position without counting a hint
+     * @return Direction, or null at the exit
+     */
+    public Direction getNextBestMove() {
+        if (maze.hasSpecialTiles()) {
+            return getStateSolver().solve(player.row, player.col, keyMask).getFirstMove();
+        }
+        return getSolver().nextMove(player.row, player.col);
+    }
+    
+    /**
+     * Get fewest moves from the start to the exit
+     * @return Par moves, or MazeSolver.UNREACHABLE
+     */
+    public int getOptimalMoves() {
+        if (maze.hasSpecialTiles()) {
+            return getStateSolver().getPar().getMoves();
+        }
+        return getSolver().getOptimalMoves();
+    }
+    
+    /**
+     * Get fog-of-war visibility
+     * @return MazeVisibility, or null when the whole maze is shown
+     */
+    public MazeVisibility getVisibility() {
+        return fog;
+    }
+    
+    /**
+     * Get keys picked up so far
+     * @return Bit k set for key id k
+     */
+    public int getKeyMask() {
+        return keyMask;
+    }
+    
+    /**
+     * Reveal the best next move and count it as a hint used
+     * @return Direction, or null at the exit
+     */
+    public Direction useHint() {
+        Direction hint;
+        if (maze.hasSpecialTiles()) {
+            // One key-state search answers both the hint and the distance shown with it
+            MazeStateSolver.Solution solution = getStateSolver().solve(player.row, player.col, keyMask);
+            hint = solution.getFirstMove();
+            hintMovesRemaining = solution.getMoves();
+        } else {
+            hint = getNextBestMove();
+        }
+        lastHint = hint;
+        view = null;
+        if (hint != null) {
+            hintsUsed++;
+            events.hintRevealed(hint.name(), hintsUsed);
+        }
+        return hint;
+    }
+    
     /**
      * Check if game is over (player reached end)
      * @return boolean indicating if game is over
@@ -105,16 +337,61 @@ public class MazeGame implements PuzzleGame {
     
     /**
      * Get current game state for display
+     * Kept for the console view and older callers; rendering uses state()
      * @return Map<String, Object> representing game state
      */
     public Map<String, Object> getGameState() {
+        State current = state();
         Map<String, Object> state = new HashMap<>();
-        state.put("maze", maze);
         state.put("player", player);
-        state.put("moveCount", moveCount);
+        state.put("moveCount", current.moveCount());
+        state.put("keys", current.keys());
+        state.put("maze", current.maze());
+        if (current.fog() != null) {
+            state.put("fog", current.fog());
+        }
+        state.put("movesRemaining", current.movesRemaining());
+        state.put("optimalMoves", current.optimalMoves());
+        state.put("hint", current.hint());
         return state;
     }
     
+    /**
+     * Get current game state as a typed view
+     * The same instance is returned until the game changes
+     * @return State
+     */
+    public State state() {
+        if (view == null) {
+            Maze shown = maze;
+            int movesRemaining;
+            if (fog == null) {
+                movesRemaining = knownMovesRemaining();
+            } else {
+                // Only what the player has seen; distance is hidden until the exit is found
+                if (fogView == null) {
+                    fogView = fog.revealedMaze();
+                }
+                shown = fogView;
+                Position end = maze.getEnd();
+                movesRemaining = fog.isExplored(end.getRow(), end.getCol())
+                    ? knownMovesRemaining() : MazeSolver.UNREACHABLE;
+            }
+            view = new State(player.row, player.col, moveCount, keyMask, shown, fog,
+                movesRemaining, getOptimalMoves(), lastHint);
+        }
+        return view;
+    }
+    
+    /**
+     * Get change-event stream
+     * @return GameEventBus
+     * @Override
+     */
+    public GameEventBus getEvents() {
+        return events;
+    }
+    
     /**
      * Get game type
      * @return String game type
@@ -130,11 +407,17 @@ public class MazeGame implements PuzzleGame {
      * @Override
      */
     public Map<String, Object> getResult() {
-        Map<String, Object> result = new HashMap<>();
-        result.put("won", isGameOver());
-        result.put("time", System.currentTimeMillis() - startTime);
-        result.put("moves", moveCount);
-        return result;
+        return result().toMap();
+    }
+    
+    /**
+     * Get result summary as a record
+     * @return GameResult
+     * @Override
+     */
+    public GameResult result() {
+        return new GameResult(isGameOver(), System.currentTimeMillis() - startTime,
+            moveCount, getOptimalMoves(), hintsUsed, null);
     }
     
     /**
@@ -145,25 +428,30 @@ public class MazeGame implements PuzzleGame {
         player.row = maze.getStart().getRow();
         player.col = maze.getStart().getCol();
         moveCount = 0;
+        hintsUsed = 0;
+        keyMask = 0;
+        lastHint = null;
+        hintMovesRemaining = MazeSolver.UNREACHABLE;
+        view = null;
         startTime = System.currentTimeMillis();
+        if (fog != null) {
+            fog.clear();
+            fogView = null;
+            updateFog();
+        }
+        events.gameReset();
     }
     
     /**
      * Save game state for resume functionality
+     * Only the delta is saved - the maze itself comes from the catalog puzzle
      * @return Map<String, Object> saved state
      * @Override
      */
     public Map<String, Object> saveState() {
         Map<String, Object> state = new HashMap<>();
-        
-        // Save maze structure
-        Map<String, Object> mazeData = new HashMap<>();
-        mazeData.put("width", maze.getWidth());
-        mazeData.put("height", maze.getHeight());
-        mazeData.put("grid", maze.getMazeData());
-        mazeData.put("start", maze.getStart());
-        mazeData.put("end", maze.getEnd());
-        state.put("maze", mazeData);
+        state.put(SavedState.STATE_VERSION_FIELD, SavedState.STATE_VERSION);
+        state.put(SavedState.PUZZLE_VERSION_FIELD, puzzleVersion);
         
         // Save player position
         Map<String, Object> playerData = new HashMap<>();
@@ -173,34 +461,54 @@ public class MazeGame implements PuzzleGame {
         
         // Save game progress
         state.put("moveCount", moveCount);
+        state.put("hintsUsed", hintsUsed);
+        state.put("keys", keyMask);
         state.put("startTime", startTime);
+        if (fog != null) {
+            state.put("explored", SavedState.encodeWords(fog.getExploredBits()));
+        }
         
         return state;
     }
     
     /**
      * Restore game state from saved data
+     * Compact states are applied on top of the maze from initialize();
+     * old full snapshots still carry the maze and are restored as before.
      * Handles JSON deserialization where:
      * - int[][] becomes List<List<Number>>
      * - Position becomes Map<String, Object>
      * @param savedState Map<String, Object> saved state
+     * @throws IllegalStateException if a compact state is restored before initialize()
      * @Override
      */
     @SuppressWarnings("unchecked")
     public void restoreState(Map<String, Object> savedState) {
-        // Restore maze
-        Map<String, Object> mazeData = (Map<String, Object>) savedState.get("maze");
-        int width = ((Number) mazeData.get("width")).intValue();
-        int height = ((Number) mazeData.get("height")).intValue();
-        
-        // Handle grid - could be int[][] (in-memory) or List<List<Number>> (from JSON)
-        int[][] grid = convertToIntArray(mazeData.get("grid"), height, width);
-        
-        // Handle positions - could be Position (in-memory) or Map (from JSON)
-        Position start = convertToPosition(mazeData.get("start"));
-        Position end = convertToPosition(mazeData.get("end"));
-        
-        this.maze = new Maze(width, height, grid, start, end);
+        if (SavedState.isDelta(savedState)) {
+            if (maze == null) {
+                throw new IllegalStateException("Initialize the maze from its puzzle before restoring");
+            }
+            if (!SavedState.matchesTemplate(savedState, puzzleVersion)) {
+                return;
+            }
+        } else {
+            // Old snapshot - restore maze
+            Map<String, Object> mazeData = (Map<String, Object>) savedState.get("maze");
+            int width = ((Number) mazeData.get("width")).intValue();
+            int height = ((Number) mazeData.get("height")).intValue();
+            
+            // Handle grid - could be int[][] (in-memory) or List<List<Number>> (from JSON)
+            int[][] grid = convertToIntArray(mazeData.get("grid"), height, width);
+            
+            // Handle positions - could be Position (in-memory) or Map (from JSON)
+            Position start = convertToPosition(mazeData.get("start"));
+            Position end = convertToPosition(mazeData.get("end"));
+            
+            this.maze = new Maze(width, height, grid, start, end);
+            this.solver = null;
+            this.stateSolver = null;
+            this.fog = null;  // Full snapshots predate fog of war
+        }
         
         // Restore player
         Map<String, Object> playerData = (Map<String, Object>) savedState.get("player");
@@ -210,7 +518,19 @@ public class MazeGame implements PuzzleGame {
         
         // Restore progress
         this.moveCount = ((Number) savedState.get("moveCount")).intValue();
+        this.hintsUsed = ((Number) savedState.getOrDefault("hintsUsed", 0)).intValue();
+        this.keyMask = ((Number) savedState.getOrDefault("keys", 0)).intValue();
         this.startTime = ((Number) savedState.get("startTime")).longValue();
+        this.lastHint = null;
+        this.hintMovesRemaining = MazeSolver.UNREACHABLE;
+        this.view = null;
+        if (fog != null) {
+            fog.setExploredBits(SavedState.decodeWords(
+                (String) savedState.get("explored"), maze.newCellMask().length));
+            fogView = null;
+            updateFog();
+        }
+        events.gameReset();
     }
     
     /**
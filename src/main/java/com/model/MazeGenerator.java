@@ -0,0 +1,431 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Procedural maze generator
+ *
+ * Mazes are laid out as rooms on odd coordinates with walls between them,
+ * so a maze of R x C rooms is a (2R+1) x (2C+1) grid with the start in the
+ * top-left room and the exit in the bottom-right room. Output depends only
+ * on the algorithm, size, braid factor and seed, so a generated maze can be
+ * rebuilt from its seed instead of being stored.
+ *
+ * - RECURSIVE_BACKTRACKER: long winding corridors (iterative, explicit stack)
+ * - WILSON: loop-erased random walks, uniform over all perfect mazes
+ * - ELLER: row by row, keeping only one row of set labels in memory,
+ *   suited to very large mazes
+ */
+public final class MazeGenerator {
+
+    /** Generation algorithm */
+    public enum Algorithm {
+        RECURSIVE_BACKTRACKER,
+        WILSON,
+        ELLER
+    }
+
+    // Seeds handed to each maze of a batch
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+    // Mazes generated per fork-join leaf task
+    private static final int BATCH_THRESHOLD = 8;
+
+    private static final int[] ROW_STEP = {-1, 1, 0, 0};
+    private static final int[] COL_STEP = {0, 0, -1, 1};
+
+    private final Algorithm algorithm;
+    private final int rows;
+    private final int cols;
+    private final double braid;
+
+    /**
+     * Create a generator
+     * @param algorithm Generation algorithm
+     * @param rows Number of room rows
+     * @param cols Number of room columns
+     * @param braid Fraction of dead ends to remove by opening a wall (0 = perfect maze, 1 = none left)
+     * @throws IllegalArgumentException if the size or braid factor is out of range
+     */
+    public MazeGenerator(Algorithm algorithm, int rows, int cols, double braid) {
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Algorithm is required");
+        }
+        if (rows < 1 || cols < 1) {
+            throw new IllegalArgumentException("Maze needs at least one room, got " + rows + "x" + cols);
+        }
+        if ((2L * rows + 1) * (2L * cols + 1) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maze too large: " + rows + "x" + cols);
+        }
+        if (!(braid >= 0.0 && braid <= 1.0)) {
+            throw new IllegalArgumentException("Braid factor must be between 0 and 1, got " + braid);
+        }
+        this.algorithm = algorithm;
+        this.rows = rows;
+        this.cols = cols;
+        this.braid = braid;
+    }
+
+    /**
+     * Generate one maze
+     * @param seed Random seed; the same seed always gives the same maze
+     * @return Maze of (2 * rows + 1) x (2 * cols + 1) cells
+     */
+    public Maze generate(long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        int width = 2 * cols + 1;
+        int height = 2 * rows + 1;
+        Maze maze = new Maze(width, height, new Position(1, 1), new Position(height - 2, width - 2));
+        maze.fill(true);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                maze.setWall(2 * r + 1, 2 * c + 1, false);
+            }
+        }
+
+        switch (algorithm) {
+            case RECURSIVE_BACKTRACKER:
+                recursiveBacktracker(maze, rng);
+                break;
+            case WILSON:
+                wilson(maze, rng);
+                break;
+            case ELLER:
+                eller(maze, rng);
+                break;
+        }
+        if (braid > 0) {
+            braid(maze, rng);
+        }
+        return maze;
+    }
+
+    /**
+     * Seed used for the maze at a position in a batch
+     * @param firstSeed Seed of the batch
+     * @param index Position in the batch
+     * @return Seed passed to generate()
+     */
+    public static long batchSeed(long firstSeed, int index) {
+        return firstSeed + index * SEED_STEP;
+    }
+
+    /**
+     * Generate many mazes in parallel on the common ForkJoinPool
+     * Maze i is identical to generate(batchSeed(firstSeed, i))
+     * @param firstSeed Seed of the batch
+     * @param count Number of mazes
+     * @return Mazes in batch order
+     */
+    public List<Maze> generateBatch(long firstSeed, int count) {
+        return generateBatch(firstSeed, count, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generate many mazes in parallel on the given pool
+     * @param firstSeed Seed of the batch
+     * @param count Number of mazes
+     * @param pool Pool to run on
+     * @return Mazes in batch order
+     */
+    public List<Maze> generateBatch(long firstSeed, int count, ForkJoinPool pool) {
+        Maze[] mazes = new Maze[count];
+        pool.invoke(new BatchTask(firstSeed, mazes, 0, count));
+        return List.of(mazes);
+    }
+
+    /**
+     * Fork-join task that splits a range of batch indexes
+     */
+    private final class BatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long firstSeed;
+        private final Maze[] out;
+        private final int from;
+        private final int to;
+
+        BatchTask(long firstSeed, Maze[] out, int from, int to) {
+            this.firstSeed = firstSeed;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    out[i] = generate(batchSeed(firstSeed, i));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new BatchTask(firstSeed, out, from, mid), new BatchTask(firstSeed, out, mid, to));
+        }
+    }
+
+    /**
+     * Build puzzle data in the same shape as gamedata.json maze puzzles
+     * @param maze Generated maze
+     * @return Map with width, height, grid, start and end
+     */
+    public static Map<String, Object> toPuzzleData(Maze maze) {
+        List<List<Integer>> grid = new ArrayList<>(maze.getHeight());
+        for (int r = 0; r < maze.getHeight(); r++) {
+            List<Integer> row = new ArrayList<>(maze.getWidth());
+            for (int c = 0; c < maze.getWidth(); c++) {
+                row.add(maze.isWall(r, c) ? 1 : 0);
+            }
+            grid.add(row);
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("width", maze.getWidth());
+        data.put("height", maze.getHeight());
+        data.put("grid", grid);
+        data.put("start", positionData(maze.getStart()));
+        data.put("end", positionData(maze.getEnd()));
+        return data;
+    }
+
+    /**
+     * Build a catalog puzzle for a generated maze
+     * @param puzzleId Puzzle ID
+     * @param difficulty EASY, MEDIUM or HARD
+     * @param seed Seed to generate with
+     * @return MAZE puzzle
+     */
+    public Puzzle toPuzzle(String puzzleId, String difficulty, long seed) {
+        return new Puzzle(puzzleId, "MAZE", difficulty, "Generated Maze",
+            "Find your way out of a " + rows + "x" + cols + " maze.", toPuzzleData(generate(seed)));
+    }
+
+    private static Map<String, Object> positionData(Position position) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("row", position.getRow());
+        data.put("col", position.getCol());
+        return data;
+    }
+
+    // ==================== ALGORITHMS ====================
+
+    private void carve(Maze maze, int room, int dir) {
+        int r = room / cols;
+        int c = room % cols;
+        maze.setWall(2 * r + 1 + ROW_STEP[dir], 2 * c + 1 + COL_STEP[dir], false);
+    }
+
+    private int neighbour(int room, int dir) {
+        int r = room / cols + ROW_STEP[dir];
+        int c = room % cols + COL_STEP[dir];
+        return r < 0 || c < 0 || r >= rows || c >= cols ? -1 : r * cols + c;
+    }
+
+    /**
+     * Depth-first search with an explicit stack of room indexes
+     */
+    private void recursiveBacktracker(Maze maze, SplittableRandom rng) {
+        boolean[] visited = new boolean[rows * cols];
+        int[] stack = new int[rows * cols];
+        int[] options = new int[4];
+        int top = 0;
+        stack[top++] = 0;
+        visited[0] = true;
+        while (top > 0) {
+            int room = stack[top - 1];
+            int count = 0;
+            for (int dir = 0; dir < 4; dir++) {
+                int next = neighbour(room, dir);
+                if (next >= 0 && !visited[next]) {
+                    options[count++] = dir;
+                }
+            }
+            if (count == 0) {
+                top--;
+                continue;
+            }
+            int dir = options[rng.nextInt(count)];
+            int next = neighbour(room, dir);
+            carve(maze, room, dir);
+            visited[next] = true;
+            stack[top++] = next;
+        }
+    }
+
+    /**
+     * Wilson's algorithm: random walks from each room not yet in the maze
+     * until they hit it, then carve the walk with its loops erased
+     */
+    private void wilson(Maze maze, SplittableRandom rng) {
+        int total = rows * cols;
+        boolean[] inMaze = new boolean[total];
+        int[] exitDir = new int[total];
+        inMaze[rng.nextInt(total)] = true;
+        for (int start = 0; start < total; start++) {
+            if (inMaze[start]) {
+                continue;
+            }
+            // Walk, remembering only the last exit from each room (erases loops)
+            int room = start;
+            while (!inMaze[room]) {
+                int dir;
+                int next;
+                do {
+                    dir = rng.nextInt(4);
+                    next = neighbour(room, dir);
+                } while (next < 0);
+                exitDir[room] = dir;
+                room = next;
+            }
+            // Carve the loop-erased path
+            room = start;
+            while (!inMaze[room]) {
+                inMaze[room] = true;
+                carve(maze, room, exitDir[room]);
+                room = neighbour(room, exitDir[room]);
+            }
+        }
+    }
+
+    /**
+     * Eller's algorithm: one row of set labels at a time
+     * Labels are renumbered into 1..cols each row, so memory is O(cols)
+     * besides the maze itself
+     */
+    private void eller(Maze maze, SplittableRandom rng) {
+        int[] label = new int[cols];       // set label of each room in the current row
+        int[] parent = new int[cols + 1];  // union-find over labels
+        int[] renumber = new int[cols + 1];
+        int[] members = new int[cols + 1];
+        int[] pick = new int[cols + 1];
+        boolean[] hasDown = new boolean[cols + 1];
+        boolean[] down = new boolean[cols];
+
+        for (int r = 0; r < rows; r++) {
+            int base = r * cols;
+            boolean lastRow = r == rows - 1;
+
+            // Renumber carried-down labels and give new rooms their own set
+            Arrays.fill(renumber, 0);
+            int nextLabel = 1;
+            for (int c = 0; c < cols; c++) {
+                if (label[c] != 0 && renumber[label[c]] == 0) {
+                    renumber[label[c]] = nextLabel++;
+                }
+            }
+            for (int c = 0; c < cols; c++) {
+                label[c] = label[c] != 0 ? renumber[label[c]] : nextLabel++;
+            }
+            for (int i = 0; i <= cols; i++) {
+                parent[i] = i;
+            }
+
+            // Join neighbours in different sets (always on the last row)
+            for (int c = 0; c + 1 < cols; c++) {
+                int a = find(parent, label[c]);
+                int b = find(parent, label[c + 1]);
+                if (a != b && (lastRow || rng.nextBoolean())) {
+                    carve(maze, base + c, 3);
+                    parent[b] = a;
+                }
+            }
+            if (lastRow) {
+                break;
+            }
+
+            // Drop down: random cells, then at least one cell per set
+            Arrays.fill(members, 0);
+            Arrays.fill(hasDown, false);
+            Arrays.fill(pick, -1);
+            for (int c = 0; c < cols; c++) {
+                label[c] = find(parent, label[c]);
+                members[label[c]]++;
+                down[c] = rng.nextBoolean();
+                if (down[c]) {
+                    hasDown[label[c]] = true;
+                }
+            }
+            for (int c = 0; c < cols; c++) {
+                int set = label[c];
+                if (!hasDown[set] && pick[set] < 0) {
+                    pick[set] = rng.nextInt(members[set]);
+                }
+            }
+            for (int c = 0; c < cols; c++) {
+                int set = label[c];
+                if (!hasDown[set] && pick[set]-- == 0) {
+                    down[c] = true;
+                }
+            }
+            for (int c = 0; c < cols; c++) {
+                if (down[c]) {
+                    carve(maze, base + c, 1);
+                } else {
+                    label[c] = 0;
+                }
+            }
+        }
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    /**
+     * Remove dead ends: each dead-end room, with probability braid, gets one
+     * more opening, preferring a neighbour that is also a dead end
+     */
+    private void braid(Maze maze, SplittableRandom rng) {
+        int[] options = new int[4];
+        for (int room = 0; room < rows * cols; room++) {
+            if (openings(maze, room) != 1 || rng.nextDouble() >= braid) {
+                continue;
+            }
+            int count = 0;
+            boolean preferDeadEnd = false;
+            for (int dir = 0; dir < 4; dir++) {
+                int next = neighbour(room, dir);
+                if (next < 0 || isOpen(maze, room, dir)) {
+                    continue;
+                }
+                boolean deadEnd = openings(maze, next) == 1;
+                if (deadEnd && !preferDeadEnd) {
+                    preferDeadEnd = true;
+                    count = 0;
+                }
+                if (deadEnd == preferDeadEnd) {
+                    options[count++] = dir;
+                }
+            }
+            if (count > 0) {
+                carve(maze, room, options[rng.nextInt(count)]);
+            }
+        }
+    }
+
+    private boolean isOpen(Maze maze, int room, int dir) {
+        int r = room / cols;
+        int c = room % cols;
+        return !maze.isWall(2 * r + 1 + ROW_STEP[dir], 2 * c + 1 + COL_STEP[dir]);
+    }
+
+    private int openings(Maze maze, int room) {
+        int count = 0;
+        for (int dir = 0; dir < 4; dir++) {
+            if (neighbour(room, dir) >= 0 && isOpen(maze, room, dir)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,235 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Shortest-path solver for a Maze
+ *
+ * A reverse BFS from the exit fills a distance field once per maze, so
+ * "moves remaining" and "next best move" from any cell are O(1) lookups.
+ * Solvers are cached per puzzle version; findPath() runs A* between any
+ * two cells for callers that need a different target.
+ */
+public final class MazeSolver {
+    /** Distance for cells that cannot reach the exit */
+    public static final int UNREACHABLE = -1;
+
+    private static final int CACHE_SIZE = 32;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Least-recently-used solvers keyed by puzzle version
+    private static final Map<String, MazeSolver> CACHE =
+        new LinkedHashMap<String, MazeSolver>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MazeSolver> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+
+    private final Maze maze;
+    private final int width;
+    private final int height;
+    private final int[] distance;  // moves from each cell to the exit, row-major
+
+    /**
+     * Build a solver and its distance field
+     * @param maze Maze to solve
+     */
+    public MazeSolver(Maze maze) {
+        this.maze = maze;
+        this.width = maze.getWidth();
+        this.height = maze.getHeight();
+        this.distance = new int[width * height];
+        Arrays.fill(distance, UNREACHABLE);
+        fillDistances();
+    }
+
+    /**
+     * Get the cached solver for a puzzle, building it on first use
+     * @param puzzleVersion Key identifying the maze (see SavedState.puzzleVersion)
+     * @param maze Maze for that puzzle
+     * @return MazeSolver
+     */
+    public static MazeSolver forPuzzle(String puzzleVersion, Maze maze) {
+        if (puzzleVersion == null) {
+            return new MazeSolver(maze);
+        }
+        synchronized (CACHE) {
+            MazeSolver solver = CACHE.get(puzzleVersion);
+            if (solver != null) {
+                return solver;
+            }
+        }
+        MazeSolver solver = new MazeSolver(maze);
+        synchronized (CACHE) {
+            CACHE.put(puzzleVersion, solver);
+        }
+        return solver;
+    }
+
+    /**
+     * Reverse BFS from the exit over path cells
+     */
+    private void fillDistances() {
+        Position end = maze.getEnd();
+        if (end == null || maze.isWall(end.getRow(), end.getCol())) {
+            return;
+        }
+        int[] queue = new int[width * height];
+        int head = 0;
+        int tail = 0;
+        int goal = end.getRow() * width + end.getCol();
+        distance[goal] = 0;
+        queue[tail++] = goal;
+        while (head < tail) {
+            int cell = queue[head++];
+            int row = cell / width;
+            int col = cell - row * width;
+            int next = distance[cell] + 1;
+            for (Direction d : DIRECTIONS) {
+                int r = row + d.getRowDelta();
+                int c = col + d.getColDelta();
+                if (!maze.isWall(r, c)) {
+                    int neighbour = r * width + c;
+                    if (distance[neighbour] == UNREACHABLE) {
+                        distance[neighbour] = next;
+                        queue[tail++] = neighbour;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get number of moves left on the shortest path to the exit
+     * @param row
+     * @param col
+     * @return Moves remaining, or UNREACHABLE
+     */
+    public int movesRemaining(int row, int col) {
+        if (row < 0 || col < 0 || row >= height || col >= width) {
+            return UNREACHABLE;
+        }
+        return distance[row * width + col];
+    }
+
+    /**
+     * Get the move that brings the player one step closer to the exit
+     * @param row
+     * @param col
+     * @return Direction, or null at the exit or when the exit cannot be reached
+     */
+    public Direction nextMove(int row, int col) {
+        int here = movesRemaining(row, col);
+        if (here <= 0) {
+            return null;
+        }
+        for (Direction d : DIRECTIONS) {
+            if (movesRemaining(row + d.getRowDelta(), col + d.getColDelta()) == here - 1) {
+                return d;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get shortest solution length from the start
+     * @return Optimal number of moves, or UNREACHABLE
+     */
+    public int getOptimalMoves() {
+        Position start = maze.getStart();
+        return start == null ? UNREACHABLE : movesRemaining(start.getRow(), start.getCol());
+    }
+
+    /**
+     * Get the shortest path from a cell to the exit using the distance field
+     * @param from Starting cell
+     * @return Cells from "from" to the exit inclusive, empty if unreachable
+     */
+    public List<Position> pathToExit(Position from) {
+        List<Position> path = new ArrayList<>();
+        int row = from.getRow();
+        int col = from.getCol();
+        if (movesRemaining(row, col) == UNREACHABLE) {
+            return path;
+        }
+        path.add(new Position(row, col));
+        Direction d;
+        while ((d = nextMove(row, col)) != null) {
+            row += d.getRowDelta();
+            col += d.getColDelta();
+            path.add(new Position(row, col));
+        }
+        return path;
+    }
+
+    /**
+     * Find a shortest path between any two cells with A* (Manhattan heuristic)
+     * @param from Starting cell
+     * @param to Target cell
+     * @return Cells from "from" to "to" inclusive, empty if unreachable
+     */
+    public List<Position> findPath(Position from, Position to) {
+        if (maze.isWall(from.getRow(), from.getCol()) || maze.isWall(to.getRow(), to.getCol())) {
+            return new ArrayList<>();
+        }
+        int cells = width * height;
+        int[] cost = new int[cells];
+        int[] parent = new int[cells];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        int startCell = from.getRow() * width + from.getCol();
+        int goal = to.getRow() * width + to.getCol();
+        cost[startCell] = 0;
+        parent[startCell] = -1;
+
+        // Entries pack (estimate << 32 | cell) so the queue holds plain longs
+        PriorityQueue<Long> open = new PriorityQueue<>();
+        open.add(((long) manhattan(startCell, goal) << 32) | startCell);
+        while (!open.isEmpty()) {
+            long entry = open.poll();
+            int cell = (int) entry;
+            int row = cell / width;
+            int col = cell - row * width;
+            if (cell == goal) {
+                break;
+            }
+            if ((int) (entry >>> 32) > cost[cell] + manhattan(cell, goal)) {
+                continue;  // Stale entry
+            }
+            for (Direction d : DIRECTIONS) {
+                int r = row + d.getRowDelta();
+                int c = col + d.getColDelta();
+                if (maze.isWall(r, c)) {
+                    continue;
+                }
+                int neighbour = r * width + c;
+                int g = cost[cell] + 1;
+                if (g < cost[neighbour]) {
+                    cost[neighbour] = g;
+                    parent[neighbour] = cell;
+                    open.add(((long) (g + manhattan(neighbour, goal)) << 32) | neighbour);
+                }
+            }
+        }
+
+        List<Position> path = new ArrayList<>();
+        if (cost[goal] == Integer.MAX_VALUE) {
+            return path;
+        }
+        for (int cell = goal; cell != -1; cell = parent[cell]) {
+            path.add(new Position(cell / width, cell % width));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private int manhattan(int a, int b) {
+        return Math.abs(a / width - b / width) + Math.abs(a % width - b % width);
+    }
+}
@@ -0,0 +1,305 @@
+package com.model;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Solver for mazes with keys, doors, one-way tiles and teleporters
+ *
+ * The player's state is (cell, keys held). Only key ids that appear in the
+ * maze get a bit, so a maze with K distinct keys has width * height * 2^K
+ * states, packed as cell << K | keys. A forward BFS over that space with a
+ * bitset of visited states gives the fewest moves to the exit and the first
+ * move of a shortest route. Results are cached per starting state, and
+ * solvers are cached per puzzle version like MazeSolver. Each solver keeps
+ * one visited bitset and one ring-buffer queue of int states and reuses them
+ * for every search, so the queue only grows to the widest BFS level.
+ */
+public final class MazeStateSolver {
+    /** Moves for states that cannot reach the exit */
+    public static final int UNREACHABLE = -1;
+
+    /** Largest state space searched; bigger mazes are rejected */
+    public static final long MAX_STATES = 1L << 26;
+
+    private static final int CACHE_SIZE = 32;
+    private static final int SOLUTION_CACHE_SIZE = 4096;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Least-recently-used solvers keyed by puzzle version
+    private static final Map<String, MazeStateSolver> CACHE =
+        new LinkedHashMap<String, MazeStateSolver>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MazeStateSolver> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+
+    private final Maze maze;
+    private final int width;
+    private final int height;
+    private final int endCell;
+    private final int keyBits;                       // K, number of distinct keys in the maze
+    private final int[] keyBit = new int[MazeTile.MAX_KEYS];  // key id -> state bit, -1 if absent
+    private final Map<Integer, Solution> solutions =
+        new LinkedHashMap<Integer, Solution>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Solution> eldest) {
+                return size() > SOLUTION_CACHE_SIZE;
+            }
+        };
+
+    // Search buffers, reused by every search (guarded by this)
+    private long[] visited;                // One bit per state, allocated on first search
+    private int[] queue = new int[256];    // Ring of state << 2 | first direction, power of two
+
+    /**
+     * Result of a search: move count and first move of a shortest route
+     */
+    public static final class Solution {
+        private final int moves;
+        private final Direction firstMove;
+
+        private Solution(int moves, Direction firstMove) {
+            this.moves = moves;
+            this.firstMove = firstMove;
+        }
+
+        /**
+         * Get fewest moves to the exit
+         * @return Moves, or UNREACHABLE
+         */
+        public int getMoves() {
+            return moves;
+        }
+
+        /**
+         * Get first move of a shortest route
+         * @return Direction, or null at the exit or when unsolvable
+         */
+        public Direction getFirstMove() {
+            return firstMove;
+        }
+
+        /**
+         * Check if the exit can be reached
+         * @return true if solvable
+         */
+        public boolean isSolvable() {
+            return moves != UNREACHABLE;
+        }
+    }
+
+    /**
+     * Build a solver for a maze
+     * @param maze Maze to solve
+     * @throws IllegalArgumentException if the state space is larger than MAX_STATES
+     */
+    public MazeStateSolver(Maze maze) {
+        this.maze = maze;
+        this.width = maze.getWidth();
+        this.height = maze.getHeight();
+        this.endCell = maze.getEnd().getRow() * width + maze.getEnd().getCol();
+
+        Arrays.fill(keyBit, -1);
+        int bits = 0;
+        for (int cell : maze.getSpecialTileCells()) {
+            int code = maze.getTile(cell / width, cell % width);
+            if (MazeTile.isKey(code) && keyBit[MazeTile.keyId(code)] == -1) {
+                keyBit[MazeTile.keyId(code)] = bits++;
+            }
+        }
+        this.keyBits = bits;
+
+        long states = (long) width * height << keyBits;
+        if (states > MAX_STATES) {
+            throw new IllegalArgumentException("Maze has " + states + " key states, limit is " + MAX_STATES);
+        }
+    }
+
+    /**
+     * Get the cached solver for a puzzle, building it on first use
+     * @param puzzleVersion Key identifying the maze (see SavedState.puzzleVersion)
+     * @param maze Maze for that puzzle
+     * @return MazeStateSolver
+     */
+    public static MazeStateSolver forPuzzle(String puzzleVersion, Maze maze) {
+        if (puzzleVersion == null) {
+            return new MazeStateSolver(maze);
+        }
+        synchronized (CACHE) {
+            MazeStateSolver solver = CACHE.get(puzzleVersion);
+            if (solver != null) {
+                return solver;
+            }
+        }
+        MazeStateSolver solver = new MazeStateSolver(maze);
+        synchronized (CACHE) {
+            CACHE.put(puzzleVersion, solver);
+        }
+        return solver;
+    }
+
+    /**
+     * Check every maze puzzle can be finished, logging the ones that cannot
+     * @param puzzles Catalog puzzles; non-maze puzzles are skipped
+     * @return Number of maze puzzles that are unsolvable or malformed
+     */
+    public static int checkPuzzles(List<Puzzle> puzzles) {
+        int failed = 0;
+        for (Puzzle puzzle : puzzles) {
+            if (!"MAZE".equals(puzzle.getPuzzleType()) || puzzle.getData() == null) {
+                continue;
+            }
+            try {
+                Maze maze = MazeGame.parseMaze(puzzle.getData());
+                if (!forPuzzle(SavedState.puzzleVersion(puzzle.getData()), maze).getPar().isSolvable()) {
+                    System.out.println("Maze puzzle " + puzzle.getPuzzleId() + " cannot be solved");
+                    failed++;
+                }
+            } catch (RuntimeException e) {
+                System.out.println("Maze puzzle " + puzzle.getPuzzleId() + " could not be checked: " + e.getMessage());
+                failed++;
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Get the shortest route from the start with no keys
+     * @return Solution; getMoves() is the par for the maze
+     */
+    public Solution getPar() {
+        Position start = maze.getStart();
+        return solve(start.getRow(), start.getCol(), 0);
+    }
+
+    /**
+     * Get the shortest route from a cell holding a set of keys
+     * @param row Player row
+     * @param col Player column
+     * @param keyMask Keys held, bit k set for key id k
+     * @return Solution
+     */
+    public Solution solve(int row, int col, int keyMask) {
+        int start = (row * width + col) << keyBits | compactKeys(keyMask);
+        synchronized (solutions) {
+            Solution cached = solutions.get(start);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Solution solution = search(start);
+        synchronized (solutions) {
+            solutions.put(start, solution);
+        }
+        return solution;
+    }
+
+    /**
+     * BFS from one state until the exit cell is reached
+     * Queue entries are state << 2 | first direction ordinal; states stay
+     * below MAX_STATES = 2^26, so an entry fits in an int
+     */
+    private synchronized Solution search(int start) {
+        if (start >>> keyBits == endCell) {
+            return new Solution(0, null);
+        }
+        if (visited == null) {
+            visited = new long[(int) (((long) width * height << keyBits) + 63 >>> 6)];
+        } else {
+            Arrays.fill(visited, 0L);
+        }
+        int[] ring = queue;
+        int mask = ring.length - 1;
+        int head = 0;
+        int size = 0;
+        visited[start >>> 6] |= 1L << start;
+        ring[size++] = start << 2;
+
+        int depth = 0;
+        while (size > 0) {
+            int levelSize = size;
+            depth++;
+            for (int i = 0; i < levelSize; i++) {
+                int entry = ring[head];
+                head = (head + 1) & mask;
+                size--;
+                int state = entry >>> 2;
+                for (Direction direction : DIRECTIONS) {
+                    int next = step(state, direction);
+                    if (next < 0 || (visited[next >>> 6] & 1L << next) != 0) {
+                        continue;
+                    }
+                    visited[next >>> 6] |= 1L << next;
+                    int first = depth == 1 ? direction.ordinal() : entry & 3;
+                    if (next >>> keyBits == endCell) {
+                        return new Solution(depth, DIRECTIONS[first]);
+                    }
+                    if (size == ring.length) {
+                        // Unroll the ring into a buffer twice the size
+                        int[] grown = new int[ring.length * 2];
+                        System.arraycopy(ring, head, grown, 0, ring.length - head);
+                        System.arraycopy(ring, 0, grown, ring.length - head, head);
+                        ring = grown;
+                        queue = grown;
+                        mask = ring.length - 1;
+                        head = 0;
+                    }
+                    ring[(head + size) & mask] = next << 2 | first;
+                    size++;
+                }
+            }
+        }
+        return new Solution(UNREACHABLE, null);
+    }
+
+    /**
+     * Apply one move to a packed state, following the same rules as MazeGame.move
+     * @return Next state, or -1 if the move is blocked
+     */
+    private int step(int state, Direction direction) {
+        int cell = state >>> keyBits;
+        int keys = state & ((1 << keyBits) - 1);
+        int row = cell / width + direction.getRowDelta();
+        int col = cell % width + direction.getColDelta();
+        int code = maze.getTile(row, col);
+        if (code == MazeTile.WALL) {
+            return -1;
+        }
+        int target = row * width + col;
+        if (MazeTile.isDoor(code)) {
+            int bit = keyBit[MazeTile.keyId(code)];
+            if (bit < 0 || (keys & 1 << bit) == 0) {
+                return -1;
+            }
+        } else if (MazeTile.isOneWay(code)) {
+            if (MazeTile.oneWayDirection(code) != direction) {
+                return -1;
+            }
+        } else if (MazeTile.isKey(code)) {
+            keys |= 1 << keyBit[MazeTile.keyId(code)];
+        } else if (MazeTile.isTeleporter(code)) {
+            int partner = maze.getTeleportTarget(row, col);
+            if (partner >= 0) {
+                target = partner;
+            }
+        }
+        return target << keyBits | keys;
+    }
+
+    /**
+     * Map key-id bits to this maze's state bits; keys not in the maze are dropped
+     */
+    private int compactKeys(int keyMask) {
+        int keys = 0;
+        for (int id = 0; id < MazeTile.MAX_KEYS; id++) {
+            if ((keyMask & 1 << id) != 0 && keyBit[id] >= 0) {
+                keys |= 1 << keyBit[id];
+            }
+        }
+        return keys;
+    }
+}
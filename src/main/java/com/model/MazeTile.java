@@ -0,0 +1,141 @@
+package com.model;
+
+/**
+ * Cell codes used in maze grid data
+ *
+ * 0 and 1 are the original path and wall cells. Special tiles use code ranges:
+ * - 10..25  key k (k = code - 10), picked up when stepped on
+ * - 30..45  door k, can only be entered while holding key k
+ * - 50..53  one-way tile, can only be entered moving UP, DOWN, LEFT, RIGHT
+ * - 60..    teleporter pair; stepping on one moves the player to the other
+ *           cell with the same code
+ */
+public final class MazeTile {
+    public static final int PATH = 0;
+    public static final int WALL = 1;
+
+    /** Number of distinct key/door ids */
+    public static final int MAX_KEYS = 16;
+
+    private static final int KEY_BASE = 10;
+    private static final int DOOR_BASE = 30;
+    private static final int ONE_WAY_BASE = 50;
+    private static final int TELEPORTER_BASE = 60;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private MazeTile() {}
+
+    /**
+     * Get code for a key tile
+     * @param id Key id, 0 to MAX_KEYS - 1
+     * @return Tile code
+     */
+    public static int key(int id) {
+        return KEY_BASE + checkKeyId(id);
+    }
+
+    /**
+     * Get code for a locked door tile
+     * @param id Id of the key that opens it
+     * @return Tile code
+     */
+    public static int door(int id) {
+        return DOOR_BASE + checkKeyId(id);
+    }
+
+    /**
+     * Get code for a one-way tile
+     * @param direction Only direction the tile can be entered in
+     * @return Tile code
+     */
+    public static int oneWay(Direction direction) {
+        return ONE_WAY_BASE + direction.ordinal();
+    }
+
+    /**
+     * Get code for a teleporter
+     * @param pair Pair id; the two cells of a pair share the code
+     * @return Tile code
+     */
+    public static int teleporter(int pair) {
+        if (pair < 0) {
+            throw new IllegalArgumentException("Teleporter pair id must not be negative: " + pair);
+        }
+        return TELEPORTER_BASE + pair;
+    }
+
+    public static boolean isKey(int code) {
+        return code >= KEY_BASE && code < KEY_BASE + MAX_KEYS;
+    }
+
+    public static boolean isDoor(int code) {
+        return code >= DOOR_BASE && code < DOOR_BASE + MAX_KEYS;
+    }
+
+    public static boolean isOneWay(int code) {
+        return code >= ONE_WAY_BASE && code < ONE_WAY_BASE + 4;
+    }
+
+    public static boolean isTeleporter(int code) {
+        return code >= TELEPORTER_BASE;
+    }
+
+    /**
+     * Get key id of a key or door tile
+     * @param code Key or door code
+     * @return Key id
+     */
+    public static int keyId(int code) {
+        return isDoor(code) ? code - DOOR_BASE : code - KEY_BASE;
+    }
+
+    /**
+     * Get the direction a one-way tile can be entered in
+     * @param code One-way code
+     * @return Direction
+     */
+    public static Direction oneWayDirection(int code) {
+        return DIRECTIONS[code - ONE_WAY_BASE];
+    }
+
+    /**
+     * Get a one-character label for a special tile
+     * @param code Tile code
+     * @return "k" key, "D" door, arrow for one-way, "@" teleporter, "" otherwise
+     */
+    public static String symbol(int code) {
+        if (isKey(code)) {
+            return "k";
+        }
+        if (isDoor(code)) {
+            return "D";
+        }
+        if (isOneWay(code)) {
+            switch (oneWayDirection(code)) {
+                case UP: return "\u2191";
+                case DOWN: return "\u2193";
+                case LEFT: return "\u2190";
+                default: return "\u2192";
+            }
+        }
+        return isTeleporter(code) ? "@" : "";
+    }
+
+    /**
+     * Check a grid code is a known tile
+     * @param code Code from grid data
+     * @return true if valid
+     */
+    public static boolean isValid(int code) {
+        return code == PATH || code == WALL || isKey(code) || isDoor(code)
+            || isOneWay(code) || isTeleporter(code);
+    }
+
+    private static int checkKeyId(int id) {
+        if (id < 0 || id >= MAX_KEYS) {
+            throw new IllegalArgumentException("Key id must be 0 to " + (MAX_KEYS - 1) + ": " + id);
+        }
+        return id;
+    }
+}
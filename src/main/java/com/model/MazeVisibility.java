@@ -0,0 +1,220 @@
+package com.model;
+
+import java.util.Arrays;
+
+/**
+ * Fog-of-war visibility for a maze
+ *
+ * Uses recursive shadowcasting over the eight octants around the player, so a
+ * move only touches cells within the sight radius, never the whole grid.
+ * Explored cells are kept in a bitset with the same layout as the maze's wall
+ * bits; the cells currently in view are kept in a list so they can be cleared
+ * without scanning the grid. Walls that block the view are revealed too.
+ */
+public final class MazeVisibility {
+    /** Sight radius used when a puzzle enables fog without one */
+    public static final int DEFAULT_RADIUS = 6;
+
+    // Octant transforms: column = dx * xx + dy * xy, row = dx * yx + dy * yy
+    private static final int[][] OCTANTS = {
+        {1, 0, 0, 1}, {0, 1, 1, 0}, {0, -1, 1, 0}, {-1, 0, 0, 1},
+        {-1, 0, 0, -1}, {0, -1, -1, 0}, {0, 1, -1, 0}, {1, 0, 0, -1}
+    };
+
+    private final Maze maze;
+    private final int radius;
+    private final long[] explored;
+    private final long[] visible;
+    private int[] visibleCells;    // row * width + col of each visible cell
+    private int visibleCount;
+    private int exploredCount;
+    private boolean changed;       // set when update() explores a new cell
+
+    /**
+     * Create visibility for a maze with nothing explored
+     * @param maze Maze to see
+     * @param radius Sight radius in cells
+     * @throws IllegalArgumentException if the radius is not positive
+     */
+    public MazeVisibility(Maze maze, int radius) {
+        if (radius < 1) {
+            throw new IllegalArgumentException("Sight radius must be positive: " + radius);
+        }
+        this.maze = maze;
+        this.radius = radius;
+        this.explored = maze.newCellMask();
+        this.visible = maze.newCellMask();
+        this.visibleCells = new int[(2 * radius + 1) * (2 * radius + 1)];
+    }
+
+    /**
+     * Recompute what is in view from the player's cell
+     * @param row Player row
+     * @param col Player column
+     * @return true if a cell was explored for the first time
+     */
+    public boolean update(int row, int col) {
+        for (int i = 0; i < visibleCount; i++) {
+            int cell = visibleCells[i];
+            int r = cell / maze.getWidth();
+            int c = cell % maze.getWidth();
+            visible[maze.cellWord(r, c)] &= ~(1L << c);
+        }
+        visibleCount = 0;
+        changed = false;
+
+        reveal(row, col);
+        for (int[] octant : OCTANTS) {
+            castLight(row, col, 1, 1.0, 0.0, octant[0], octant[1], octant[2], octant[3]);
+        }
+        return changed;
+    }
+
+    /**
+     * Light one octant, row by row outward; recurses when a wall splits the view
+     * @param start Slope of the first unblocked ray
+     * @param end Slope of the last unblocked ray
+     */
+    private void castLight(int originRow, int originCol, int distance, double start, double end,
+                           int xx, int xy, int yx, int yy) {
+        if (start < end) {
+            return;
+        }
+        double newStart = 0.0;
+        for (int j = distance; j <= radius; j++) {
+            int dy = -j;
+            boolean blocked = false;
+            for (int dx = -j; dx <= 0; dx++) {
+                int col = originCol + dx * xx + dy * xy;
+                int row = originRow + dx * yx + dy * yy;
+                double leftSlope = (dx - 0.5) / (dy + 0.5);
+                double rightSlope = (dx + 0.5) / (dy - 0.5);
+                if (start < rightSlope) {
+                    continue;
+                }
+                if (end > leftSlope) {
+                    break;
+                }
+                if (dx * dx + dy * dy <= radius * radius) {
+                    reveal(row, col);
+                }
+                boolean wall = maze.isWall(row, col);
+                if (blocked) {
+                    if (wall) {
+                        newStart = rightSlope;
+                    } else {
+                        blocked = false;
+                        start = newStart;
+                    }
+                } else if (wall && j < radius) {
+                    blocked = true;
+                    castLight(originRow, originCol, j + 1, start, leftSlope, xx, xy, yx, yy);
+                    newStart = rightSlope;
+                }
+            }
+            if (blocked) {
+                break;
+            }
+        }
+    }
+
+    private void reveal(int row, int col) {
+        if (row < 0 || col < 0 || row >= maze.getHeight() || col >= maze.getWidth()) {
+            return;
+        }
+        int word = maze.cellWord(row, col);
+        long bit = 1L << col;
+        if ((visible[word] & bit) != 0) {
+            return;
+        }
+        visible[word] |= bit;
+        if (visibleCount == visibleCells.length) {
+            visibleCells = Arrays.copyOf(visibleCells, visibleCells.length * 2);
+        }
+        visibleCells[visibleCount++] = row * maze.getWidth() + col;
+        if ((explored[word] & bit) == 0) {
+            explored[word] |= bit;
+            exploredCount++;
+            changed = true;
+        }
+    }
+
+    /**
+     * Check if a cell is in view right now
+     * @param row
+     * @param col
+     * @return true if visible
+     */
+    public boolean isVisible(int row, int col) {
+        if (row < 0 || col < 0 || row >= maze.getHeight() || col >= maze.getWidth()) {
+            return false;
+        }
+        return (visible[maze.cellWord(row, col)] & 1L << col) != 0;
+    }
+
+    /**
+     * Check if a cell has ever been seen
+     * @param row
+     * @param col
+     * @return true if explored
+     */
+    public boolean isExplored(int row, int col) {
+        if (row < 0 || col < 0 || row >= maze.getHeight() || col >= maze.getWidth()) {
+            return false;
+        }
+        return (explored[maze.cellWord(row, col)] & 1L << col) != 0;
+    }
+
+    /**
+     * Get number of explored cells
+     * @return Explored cell count
+     */
+    public int getExploredCount() {
+        return exploredCount;
+    }
+
+    /**
+     * Get sight radius
+     * @return Radius in cells
+     */
+    public int getRadius() {
+        return radius;
+    }
+
+    /**
+     * Get a copy of the explored bitset, for saving
+     * @return Bitset words
+     */
+    public long[] getExploredBits() {
+        return explored.clone();
+    }
+
+    /**
+     * Replace the explored bitset, e.g. when resuming a saved game
+     * Call update() afterwards to refresh the cells in view
+     * @param bits Bitset words from getExploredBits()
+     */
+    public void setExploredBits(long[] bits) {
+        Arrays.fill(explored, 0L);
+        System.arraycopy(bits, 0, explored, 0, Math.min(bits.length, explored.length));
+        exploredCount = 0;
+        for (long word : explored) {
+            exploredCount += Long.bitCount(word);
+        }
+    }
+
+    /**
+     * Forget everything explored
+     */
+    public void clear() {
+        setExploredBits(new long[0]);
+    }
+
+    /**
+     * Get the maze as the player knows it: unexplored cells are walls
+     * @return Masked copy of the maze
+     */
+    public Maze revealedMaze() {
+        return maze.revealedCopy(explored);
+    }
+}
@@ -0,0 +1,260 @@
+package com.model;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact record of one puzzle attempt, built by MoveRecorder and run again by MoveReplay
+ *
+ * Only commands the game accepted are kept, packed per game family: maze
+ * moves take 2 bits each (hints are a separate list of command indexes),
+ * matching flips take one byte per row and column, and word puzzle guesses
+ * are indexes into a table of distinct guess strings (0 is a hint). Times
+ * are varint deltas in milliseconds from the start of the attempt. The
+ * MatchingGame shuffle seed is stored so the same board is dealt on replay.
+ * toBytes() and fromBytes() convert the log to and from a binary form.
+ */
+public final class MoveLog {
+    private static final int MAGIC = 0x4D4C;  // "ML"
+    private static final int FORMAT_VERSION = 1;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private final String gameType;
+    private final long seed;
+    private final int count;
+    private final byte[] times;     // Varint delta per command
+    private final byte[] moves;     // Packed commands, see class comment
+    private final int[] hints;      // Maze only: indexes of hint commands, ascending
+    private final String[] guesses; // Word puzzles only: distinct guesses
+
+    MoveLog(String gameType, long seed, int count, byte[] times, byte[] moves, int[] hints, String[] guesses) {
+        this.gameType = gameType;
+        this.seed = seed;
+        this.count = count;
+        this.times = times;
+        this.moves = moves;
+        this.hints = hints;
+        this.guesses = guesses;
+    }
+
+    /**
+     * Get game type
+     * @return MAZE, MATCHING, CIPHER, ANAGRAM or RIDDLE
+     */
+    public String getGameType() {
+        return gameType;
+    }
+
+    /**
+     * Get shuffle seed of the board
+     * @return Seed, or 0 for games without one
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Get number of commands
+     * @return Command count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Get time of each command since the start of the attempt
+     * @return Milliseconds per command, ascending
+     */
+    public long[] getTimes() {
+        long[] result = new long[count];
+        int[] cursor = {0};
+        long time = 0;
+        for (int i = 0; i < count; i++) {
+            time += readVarint(times, cursor);
+            result[i] = time;
+        }
+        return result;
+    }
+
+    /**
+     * Get time of the last command since the start of the attempt
+     * @return Milliseconds, 0 for an empty log
+     */
+    public long getDuration() {
+        int[] cursor = {0};
+        long time = 0;
+        for (int i = 0; i < count; i++) {
+            time += readVarint(times, cursor);
+        }
+        return time;
+    }
+
+    /**
+     * Decode the commands; moves, flips and hints are the shared instances
+     * @return Commands in the order they were applied
+     */
+    public List<GameCommand> getCommands() {
+        List<GameCommand> commands = new ArrayList<>(count);
+        if ("MAZE".equals(gameType)) {
+            int hint = 0;
+            int move = 0;
+            for (int i = 0; i < count; i++) {
+                if (hint < hints.length && hints[hint] == i) {
+                    commands.add(GameCommand.hint());
+                    hint++;
+                } else {
+                    int code = (moves[move >> 2] >> ((move & 3) << 1)) & 3;
+                    commands.add(GameCommand.move(DIRECTIONS[code]));
+                    move++;
+                }
+            }
+        } else if ("MATCHING".equals(gameType)) {
+            for (int i = 0; i < count; i++) {
+                commands.add(GameCommand.flip(moves[2 * i] & 0xFF, moves[2 * i + 1] & 0xFF));
+            }
+        } else {
+            int[] cursor = {0};
+            for (int i = 0; i < count; i++) {
+                int index = (int) readVarint(moves, cursor);
+                commands.add(index == 0 ? GameCommand.hint() : GameCommand.guess(guesses[index - 1]));
+            }
+        }
+        return Collections.unmodifiableList(commands);
+    }
+
+    /**
+     * Encode the log
+     * @return Binary form read by fromBytes()
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(32 + times.length + moves.length);
+        out.write(MAGIC >> 8);
+        out.write(MAGIC & 0xFF);
+        out.write(FORMAT_VERSION);
+        writeString(out, gameType);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (seed >>> shift) & 0xFF);
+        }
+        writeVarint(out, count);
+        writeVarint(out, times.length);
+        out.write(times, 0, times.length);
+        writeVarint(out, moves.length);
+        out.write(moves, 0, moves.length);
+        writeVarint(out, hints.length);
+        int previous = 0;
+        for (int hint : hints) {
+            writeVarint(out, hint - previous);
+            previous = hint;
+        }
+        writeVarint(out, guesses.length);
+        for (String guess : guesses) {
+            writeString(out, guess);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decode a log written by toBytes()
+     * @param data Binary log
+     * @return MoveLog
+     * @throws IllegalArgumentException if the data is not a move log or is cut short
+     */
+    public static MoveLog fromBytes(byte[] data) {
+        try {
+            if (data.length < 3 || ((data[0] & 0xFF) << 8 | (data[1] & 0xFF)) != MAGIC) {
+                throw new IllegalArgumentException("Not a move log");
+            }
+            if (data[2] != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported move log version: " + data[2]);
+            }
+            int[] cursor = {3};
+            String gameType = readString(data, cursor);
+            long seed = 0;
+            for (int i = 0; i < 8; i++) {
+                seed = seed << 8 | (data[cursor[0]++] & 0xFF);
+            }
+            int count = (int) readVarint(data, cursor);
+            byte[] times = readBytes(data, cursor);
+            byte[] moves = readBytes(data, cursor);
+            int[] hints = new int[(int) readVarint(data, cursor)];
+            int previous = 0;
+            for (int i = 0; i < hints.length; i++) {
+                previous += (int) readVarint(data, cursor);
+                hints[i] = previous;
+            }
+            String[] guesses = new String[(int) readVarint(data, cursor)];
+            for (int i = 0; i < guesses.length; i++) {
+                guesses[i] = readString(data, cursor);
+            }
+            return new MoveLog(gameType, seed, count, times, moves, hints, guesses);
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Move log is truncated", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof MoveLog)) {
+            return false;
+        }
+        MoveLog log = (MoveLog) other;
+        return gameType.equals(log.gameType) && seed == log.seed && count == log.count
+            && Arrays.equals(times, log.times) && Arrays.equals(moves, log.moves)
+            && Arrays.equals(hints, log.hints) && Arrays.equals(guesses, log.guesses);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * gameType.hashCode() + Long.hashCode(seed)) + Arrays.hashCode(moves);
+    }
+
+    // ===== VARINTS =====
+
+    static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    static long readVarint(byte[] data, int[] cursor) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = data[cursor[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(byte[] data, int[] cursor) {
+        int length = (int) readVarint(data, cursor);
+        String text = new String(data, cursor[0], length, StandardCharsets.UTF_8);
+        cursor[0] += length;
+        return text;
+    }
+
+    private static byte[] readBytes(byte[] data, int[] cursor) {
+        int length = (int) readVarint(data, cursor);
+        if (length < 0 || cursor[0] + length > data.length) {
+            throw new IndexOutOfBoundsException(cursor[0] + length);
+        }
+        byte[] bytes = Arrays.copyOfRange(data, cursor[0], cursor[0] + length);
+        cursor[0] += length;
+        return bytes;
+    }
+}
@@ -0,0 +1,198 @@
+package com.model;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the commands of one puzzle attempt into a MoveLog
+ *
+ * Wrap a game and send its commands through apply(); commands the game
+ * rejects are not recorded because they change nothing. For MatchingGame the
+ * shuffle seed is taken from the game, so record from a game initialized with
+ * the board the player sees.
+ */
+public final class MoveRecorder {
+    private final PuzzleGame game;
+    private final String gameType;
+    private final long seed;
+    private final long startTime;
+    private final boolean maze;
+    private final boolean matching;
+
+    private final ByteArrayOutputStream times = new ByteArrayOutputStream();
+    private byte[] moves = new byte[16];
+    private int moveBytes;
+    private int moveCount;       // Maze: packed directions so far
+    private int[] hints = new int[4];
+    private int hintCount;
+    private final Map<String, Integer> guesses = new LinkedHashMap<>();
+    private int count;
+    private long lastTime;
+
+    /**
+     * Start recording a game, timing commands from now
+     * @param game Initialized game
+     */
+    public MoveRecorder(PuzzleGame game) {
+        this(game, System.currentTimeMillis());
+    }
+
+    /**
+     * Start recording a game
+     * @param game Initialized game
+     * @param startTime Start of the attempt in milliseconds
+     */
+    public MoveRecorder(PuzzleGame game, long startTime) {
+        this.game = game;
+        this.gameType = game.getGameType();
+        this.seed = game instanceof MatchingGame ? ((MatchingGame) game).getSeed() : 0;
+        this.startTime = startTime;
+        this.maze = "MAZE".equals(gameType);
+        this.matching = "MATCHING".equals(gameType);
+    }
+
+    /**
+     * Continue recording an attempt that was paused and restored
+     * The commands of the earlier log are kept, and timing resumes where it
+     * stopped, so the time spent paused is not counted
+     * @param game Game restored to where the log left off
+     * @param log Log saved when the attempt was paused, or null to start a new log
+     * @return Recorder
+     */
+    public static MoveRecorder resume(PuzzleGame game, MoveLog log) {
+        if (log == null || !log.getGameType().equals(game.getGameType())) {
+            return new MoveRecorder(game);
+        }
+        MoveRecorder recorder = new MoveRecorder(game, System.currentTimeMillis() - log.getDuration());
+        List<GameCommand> commands = log.getCommands();
+        long[] commandTimes = log.getTimes();
+        for (int i = 0; i < commands.size(); i++) {
+            recorder.record(commands.get(i), commandTimes[i]);
+        }
+        return recorder;
+    }
+
+    /**
+     * Parse text input the way the game's processInput() does, then apply and record it
+     * Text adapter for the console
+     * @param input User input string
+     * @return true if the game applied it
+     */
+    public boolean processInput(String input) {
+        GameCommand command;
+        if (maze) {
+            command = MazeGame.parseCommand(input);
+        } else if (matching) {
+            command = MatchingGame.parseCommand(input);
+        } else {
+            command = input == null ? null : WordPuzzleGame.parseCommand(input);
+        }
+        return command != null && apply(command);
+    }
+
+    /**
+     * Apply a command to the game and record it if accepted, timed now
+     * @param command Command
+     * @return true if the game applied it
+     */
+    public boolean apply(GameCommand command) {
+        return apply(command, System.currentTimeMillis());
+    }
+
+    /**
+     * Apply a command to the game and record it if accepted
+     * @param command Command
+     * @param time Time of the command in milliseconds, same clock as the start time
+     * @return true if the game applied it
+     */
+    public boolean apply(GameCommand command, long time) {
+        if (!game.apply(command)) {
+            return false;
+        }
+        record(command, time - startTime);
+        return true;
+    }
+
+    /**
+     * Record a command the game already applied
+     * @param command Command
+     * @param elapsed Milliseconds since the start; earlier than the last command counts as the same time
+     * @throws IllegalArgumentException if the command does not belong to this game type
+     */
+    public void record(GameCommand command, long elapsed) {
+        if (maze && command instanceof GameCommand.Move) {
+            if ((moveCount & 3) == 0) {
+                ensureMoves(1);
+                moveBytes++;
+            }
+            int code = ((GameCommand.Move) command).direction().ordinal();
+            moves[moveBytes - 1] |= (byte) (code << ((moveCount & 3) << 1));
+            moveCount++;
+        } else if (maze && command instanceof GameCommand.Hint) {
+            if (hintCount == hints.length) {
+                hints = Arrays.copyOf(hints, hintCount * 2);
+            }
+            hints[hintCount++] = count;
+        } else if (matching && command instanceof GameCommand.Flip) {
+            GameCommand.Flip flip = (GameCommand.Flip) command;
+            if (flip.row() < 0 || flip.row() > 0xFF || flip.col() < 0 || flip.col() > 0xFF) {
+                throw new IllegalArgumentException("Flip outside a 256x256 board: " + flip);
+            }
+            ensureMoves(2);
+            moves[moveBytes++] = (byte) flip.row();
+            moves[moveBytes++] = (byte) flip.col();
+        } else if (!maze && !matching && command instanceof GameCommand.Hint) {
+            writeVarint(0);
+        } else if (!maze && !matching && command instanceof GameCommand.Guess) {
+            String text = ((GameCommand.Guess) command).text();
+            Integer index = guesses.get(text);
+            if (index == null) {
+                index = guesses.size() + 1;
+                guesses.put(text, index);
+            }
+            writeVarint(index);
+        } else {
+            throw new IllegalArgumentException(command + " cannot be recorded for " + gameType);
+        }
+        long time = Math.max(lastTime, elapsed);
+        MoveLog.writeVarint(times, time - lastTime);
+        lastTime = time;
+        count++;
+    }
+
+    /**
+     * Get number of commands recorded
+     * @return Count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Build the log of everything recorded so far
+     * @return MoveLog
+     */
+    public MoveLog toLog() {
+        return new MoveLog(gameType, seed, count, times.toByteArray(), Arrays.copyOf(moves, moveBytes),
+            Arrays.copyOf(hints, hintCount), guesses.keySet().toArray(new String[0]));
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            ensureMoves(1);
+            moves[moveBytes++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        ensureMoves(1);
+        moves[moveBytes++] = (byte) value;
+    }
+
+    private void ensureMoves(int extra) {
+        if (moveBytes + extra > moves.length) {
+            moves = Arrays.copyOf(moves, Math.max(moves.length * 2, moveBytes + extra));
+        }
+    }
+}
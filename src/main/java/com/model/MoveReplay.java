@@ -0,0 +1,84 @@
+package com.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs a MoveLog through a fresh game to reproduce its state and score
+ *
+ * Used to look into support cases, to re-check submitted scores and as a
+ * workload for benchmarks. Play time comes from the log, not the clock, so
+ * the same log always gives the same result. Matching cards left face up
+ * after a pair are turned down before the next flip, as the game screens do.
+ */
+public final class MoveReplay {
+
+    /**
+     * Replay outcome
+     * @param game Game in its final state
+     * @param result Result with the log's play time
+     * @param rejected Commands the game did not accept; non-zero means the log does not fit this puzzle
+     */
+    public record Outcome(PuzzleGame game, GameResult result, int rejected) {
+
+        /**
+         * Get the score the attempt earns under the given rules
+         * Pass the engine completions are scored with, so the replay matches exactly
+         * @param engine Scoring rules
+         * @param puzzle Puzzle the attempt was played on (type and difficulty pick the rule)
+         * @return Score if won, otherwise 0
+         */
+        public int score(ScoringEngine engine, Puzzle puzzle) {
+            return engine.score(puzzle, result);
+        }
+    }
+
+    private MoveReplay() {}
+
+    /**
+     * Replay a log on a new game built from puzzle data
+     * The matching board is dealt from the log's seed. Word puzzle hints come
+     * from the puzzle data only; use replay(log, game) after setHints() for
+     * puzzles with catalog hints.
+     * @param log Recorded attempt
+     * @param puzzleData Puzzle data the attempt was played on
+     * @return Outcome
+     * @throws IllegalArgumentException if the log's game type is unknown
+     */
+    public static Outcome replay(MoveLog log, Map<String, Object> puzzleData) {
+        PuzzleGame game = GameFactory.createGame(log.getGameType());
+        Map<String, Object> data = puzzleData;
+        if (game instanceof MatchingGame) {
+            data = new HashMap<>(puzzleData);
+            data.put("seed", log.getSeed());
+        }
+        game.initialize(data);
+        return replay(log, game);
+    }
+
+    /**
+     * Replay a log on a game the caller has initialized
+     * @param log Recorded attempt
+     * @param game Game at its starting state
+     * @return Outcome
+     * @throws IllegalArgumentException if the game type or matching seed differs from the log
+     */
+    public static Outcome replay(MoveLog log, PuzzleGame game) {
+        if (!log.getGameType().equals(game.getGameType())) {
+            throw new IllegalArgumentException("Log is for " + log.getGameType() + ", game is " + game.getGameType());
+        }
+        if (game instanceof MatchingGame && ((MatchingGame) game).getSeed() != log.getSeed()) {
+            throw new IllegalArgumentException("Board was dealt from another seed");
+        }
+        int rejected = 0;
+        for (byte outcome : game.processBatch(log.getCommands())) {
+            if (outcome != GameCommand.APPLIED) {
+                rejected++;
+            }
+        }
+        GameResult played = game.result();
+        GameResult result = new GameResult(played.won(), log.getDuration(), played.moves(),
+            played.optimalMoves(), played.hintsUsed(), played.answer());
+        return new Outcome(game, result, rejected);
+    }
+}
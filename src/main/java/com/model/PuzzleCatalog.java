@@ -0,0 +1,158 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, indexed snapshot of the puzzle catalog (puzzles + hints)
+ * Built once from GameData and shared read-only by GameDataFacade
+ * Lookups by id, type, type/difficulty and hints-per-puzzle are O(1)
+ */
+public final class PuzzleCatalog {
+    private final List<Puzzle> puzzles;
+    private final List<Hint> hints;
+    private final Map<String, Puzzle> puzzlesById;
+    private final Map<String, List<Puzzle>> puzzlesByType;
+    private final Map<String, List<Puzzle>> puzzlesByTypeAndDifficulty;
+    private final Map<String, List<Hint>> hintsByPuzzle;
+    private final Set<String> puzzleTypes;
+
+    /**
+     * Build catalog indexes
+     * @param puzzles Puzzles in file order
+     * @param hints Hints for all puzzles
+     */
+    public PuzzleCatalog(List<Puzzle> puzzles, List<Hint> hints) {
+        this.puzzles = Collections.unmodifiableList(new ArrayList<>(puzzles != null ? puzzles : List.of()));
+        this.hints = Collections.unmodifiableList(new ArrayList<>(hints != null ? hints : List.of()));
+
+        Map<String, Puzzle> byId = new HashMap<>();
+        Map<String, List<Puzzle>> byType = new HashMap<>();
+        Map<String, List<Puzzle>> byTypeAndDifficulty = new HashMap<>();
+        Set<String> types = new LinkedHashSet<>();
+        for (Puzzle p : this.puzzles) {
+            if (p.getPuzzleId() != null) {
+                byId.putIfAbsent(p.getPuzzleId(), p);
+            }
+            if (p.getPuzzleType() == null) {
+                continue;
+            }
+            types.add(p.getPuzzleType());
+            byType.computeIfAbsent(p.getPuzzleType().toUpperCase(), k -> new ArrayList<>()).add(p);
+            if (p.getDifficulty() != null) {
+                byTypeAndDifficulty.computeIfAbsent(key(p.getPuzzleType(), p.getDifficulty()),
+                    k -> new ArrayList<>()).add(p);
+            }
+        }
+
+        Map<String, List<Hint>> byPuzzle = new HashMap<>();
+        for (Hint h : this.hints) {
+            if (h.getPuzzleId() != null) {
+                byPuzzle.computeIfAbsent(h.getPuzzleId(), k -> new ArrayList<>()).add(h);
+            }
+        }
+        for (List<Hint> list : byPuzzle.values()) {
+            Collections.sort(list);
+        }
+
+        this.puzzlesById = byId;
+        this.puzzlesByType = freeze(byType);
+        this.puzzlesByTypeAndDifficulty = freeze(byTypeAndDifficulty);
+        this.hintsByPuzzle = freeze(byPuzzle);
+        this.puzzleTypes = Collections.unmodifiableSet(types);
+    }
+
+    /**
+     * Build catalog from the puzzle and hint lists of a GameData container
+     * Maze puzzles are checked for solvability; failures are logged, not dropped.
+     * The anagram dictionary is loaded here too, so the first guess does not wait for it
+     * @param gameData Loaded game data
+     * @return PuzzleCatalog
+     */
+    public static PuzzleCatalog from(GameData gameData) {
+        PuzzleCatalog catalog = new PuzzleCatalog(gameData.getPuzzles(), gameData.getHints());
+        MazeStateSolver.checkPuzzles(catalog.getPuzzles());
+        if (catalog.getPuzzleTypes().contains("ANAGRAM")) {
+            AnagramIndex.getDefault();
+        }
+        return catalog;
+    }
+
+    /**
+     * Get all puzzles in file order
+     * @return Unmodifiable list of puzzles
+     */
+    public List<Puzzle> getPuzzles() {
+        return puzzles;
+    }
+
+    /**
+     * Get all hints
+     * @return Unmodifiable list of hints
+     */
+    public List<Hint> getHints() {
+        return hints;
+    }
+
+    /**
+     * Get puzzle by ID
+     * @param puzzleId
+     * @return Puzzle or null if not found
+     */
+    public Puzzle getPuzzle(String puzzleId) {
+        return puzzleId == null ? null : puzzlesById.get(puzzleId);
+    }
+
+    /**
+     * Get puzzles of a type (case-insensitive)
+     * @param puzzleType
+     * @return Unmodifiable list, empty if none
+     */
+    public List<Puzzle> getPuzzlesByType(String puzzleType) {
+        if (puzzleType == null) return List.of();
+        return puzzlesByType.getOrDefault(puzzleType.toUpperCase(), List.of());
+    }
+
+    /**
+     * Get puzzles of a type and difficulty (case-insensitive)
+     * @param puzzleType
+     * @param difficulty
+     * @return Unmodifiable list, empty if none
+     */
+    public List<Puzzle> getPuzzlesByDifficulty(String puzzleType, String difficulty) {
+        if (puzzleType == null || difficulty == null) return List.of();
+        return puzzlesByTypeAndDifficulty.getOrDefault(key(puzzleType, difficulty), List.of());
+    }
+
+    /**
+     * Get hints for a puzzle sorted by priority
+     * @param puzzleId
+     * @return Unmodifiable list, empty if none
+     */
+    public List<Hint> getHintsForPuzzle(String puzzleId) {
+        if (puzzleId == null) return List.of();
+        return hintsByPuzzle.getOrDefault(puzzleId, List.of());
+    }
+
+    /**
+     * Get distinct puzzle types
+     * @return Unmodifiable set of puzzle types
+     */
+    public Set<String> getPuzzleTypes() {
+        return puzzleTypes;
+    }
+
+    private static String key(String puzzleType, String difficulty) {
+        return puzzleType.toUpperCase() + "|" + difficulty.toUpperCase();
+    }
+
+    private static <T> Map<String, List<T>> freeze(Map<String, List<T>> map) {
+        map.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        return map;
+    }
+}
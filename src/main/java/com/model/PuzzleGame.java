@@ -1,5 +1,6 @@
 package com.model;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -15,11 +16,43 @@ public interface PuzzleGame {
     
     /**
      * Process user input and update game state
+     * Text adapter for the console; typed callers use apply()
      * @param input User input string
      * @return true if input was valid, false otherwise
      */
     boolean processInput(String input);
     
+    /**
+     * Apply a typed command
+     * @param command Command; types this game does not use are rejected
+     * @return true if the command was applied
+     */
+    boolean apply(GameCommand command);
+    
+    /**
+     * Apply commands in order; commands after the game ends are skipped
+     * @param commands Commands to apply
+     * @return Outcome per command: GameCommand.APPLIED, REJECTED or SKIPPED
+     */
+    default byte[] processBatch(List<? extends GameCommand> commands) {
+        byte[] outcomes = new byte[commands.size()];
+        for (int i = 0; i < outcomes.length; i++) {
+            if (isGameOver()) {
+                outcomes[i] = GameCommand.SKIPPED;
+            } else {
+                outcomes[i] = apply(commands.get(i)) ? GameCommand.APPLIED : GameCommand.REJECTED;
+            }
+        }
+        return outcomes;
+    }
+    
+    /**
+     * Get the stream of change events (moves, flips, guesses, hints)
+     * Listeners added here can update only what changed instead of redrawing
+     * @return Event bus of this game
+     */
+    GameEventBus getEvents();
+    
     /**
      * Check if game is over (won or lost)
      * @return true if game ended
@@ -43,7 +76,16 @@ public interface PuzzleGame {
      * @return Map with result data (won, time, moves, score)
      */
     Map<String, Object> getResult();
-    
+
+    /**
+     * Get final game result as a record
+     * Scoring reads this instead of the map; games override it to skip the map
+     * @return GameResult
+     */
+    default GameResult result() {
+        return GameResult.fromMap(getResult());
+    }
+
     /**
      * Reset game to initial state
      */
@@ -0,0 +1,238 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers for compact paused-puzzle state
+ *
+ * A saved state no longer copies the puzzle (grid, board, prompt, answer).
+ * The game is first initialized from the catalog puzzle, then restoreState()
+ * applies only the mutable delta: player position, matched cells, guesses, etc.
+ * "puzzleVersion" is a fingerprint of the catalog data so a delta saved against
+ * an older version of the puzzle is not applied to an edited one.
+ * States without "stateVersion" are the old full snapshots and still restore.
+ * "moveLog" carries the attempt's MoveLog so recording continues on resume.
+ */
+public final class SavedState {
+
+    /** Format of compact (delta) saved state */
+    public static final int STATE_VERSION = 2;
+
+    public static final String STATE_VERSION_FIELD = "stateVersion";
+    public static final String PUZZLE_VERSION_FIELD = "puzzleVersion";
+    public static final String MOVE_LOG_FIELD = "moveLog";
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SavedState() {}
+
+    /**
+     * Check whether a saved state is a compact delta or an old full snapshot
+     * @param savedState Saved state map
+     * @return true if the state holds only the delta
+     */
+    public static boolean isDelta(Map<String, Object> savedState) {
+        return savedState != null && savedState.containsKey(STATE_VERSION_FIELD);
+    }
+
+    /**
+     * Check a delta was saved against the same version of the puzzle
+     * @param savedState Saved delta
+     * @param puzzleVersion Fingerprint of the puzzle the game was initialized from
+     * @return true if the delta can be applied
+     */
+    public static boolean matchesTemplate(Map<String, Object> savedState, String puzzleVersion) {
+        Object saved = savedState.get(PUZZLE_VERSION_FIELD);
+        if (saved == null || saved.equals(puzzleVersion)) {
+            return true;
+        }
+        System.out.println("Saved state is for a different version of this puzzle - starting fresh");
+        return false;
+    }
+
+    /**
+     * Store the attempt's move log in a saved state, as Base64
+     * @param savedState Saved state map
+     * @param log Log recorded so far
+     */
+    public static void putMoveLog(Map<String, Object> savedState, MoveLog log) {
+        savedState.put(MOVE_LOG_FIELD, Base64.getEncoder().withoutPadding().encodeToString(log.toBytes()));
+    }
+
+    /**
+     * Read the move log stored with putMoveLog
+     * @param savedState Saved state map, may be null
+     * @return Log, or null if the state has none or it cannot be read
+     */
+    public static MoveLog readMoveLog(Map<String, Object> savedState) {
+        Object encoded = savedState == null ? null : savedState.get(MOVE_LOG_FIELD);
+        if (!(encoded instanceof String)) {
+            return null;
+        }
+        try {
+            return MoveLog.fromBytes(Base64.getDecoder().decode((String) encoded));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Saved move log cannot be read - recording starts over");
+            return null;
+        }
+    }
+
+    /**
+     * Fingerprint puzzle data so saved deltas can be tied to one version of a puzzle
+     * Whole numbers hash the same whether loaded as 5, 5L or 5.0, and map keys are
+     * visited in sorted order, so the value is stable across loads and JVMs
+     * @param puzzleData Catalog puzzle data
+     * @return 16-digit hex fingerprint
+     */
+    public static String puzzleVersion(Map<String, Object> puzzleData) {
+        return String.format("%016x", hash(FNV_OFFSET, puzzleData));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long hash(long h, Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> map = (Map<String, Object>) value;
+            List<String> keys = new ArrayList<>(map.keySet());
+            Collections.sort(keys);
+            h = mix(h, '{');
+            for (String key : keys) {
+                h = hash(h, key);
+                h = hash(h, map.get(key));
+            }
+            return mix(h, '}');
+        }
+        if (value instanceof List) {
+            h = mix(h, '[');
+            for (Object item : (List<Object>) value) {
+                h = hash(h, item);
+            }
+            return mix(h, ']');
+        }
+        if (value instanceof int[][]) {
+            return hash(h, toList((int[][]) value));
+        }
+        if (value instanceof Number) {
+            double d = ((Number) value).doubleValue();
+            long bits = d == Math.rint(d) && !Double.isInfinite(d) ? (long) d : Double.doubleToLongBits(d);
+            h = mix(h, '#');
+            for (int i = 0; i < 8; i++) {
+                h = mix(h, (int) (bits >>> (i * 8)) & 0xff);
+            }
+            return h;
+        }
+        if (value == null) {
+            return mix(h, 0);
+        }
+        String text = value.toString();
+        h = mix(h, '"');
+        for (int i = 0; i < text.length(); i++) {
+            h = mix(h, text.charAt(i));
+        }
+        return mix(h, '"');
+    }
+
+    private static long mix(long h, int value) {
+        return (h ^ value) * FNV_PRIME;
+    }
+
+    private static List<List<Integer>> toList(int[][] grid) {
+        List<List<Integer>> rows = new ArrayList<>(grid.length);
+        for (int[] row : grid) {
+            List<Integer> list = new ArrayList<>(row.length);
+            for (int cell : row) {
+                list.add(cell);
+            }
+            rows.add(list);
+        }
+        return rows;
+    }
+
+    /**
+     * Pack a boolean grid into a Base64 bitmask, row-major
+     * @param cells Grid of flags
+     * @return Base64 string (empty when no flag is set)
+     */
+    public static String encodeBits(boolean[][] cells) {
+        int cols = cells.length > 0 ? cells[0].length : 0;
+        byte[] bytes = new byte[(cells.length * cols + 7) / 8];
+        for (int r = 0; r < cells.length; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (cells[r][c]) {
+                    int i = r * cols + c;
+                    bytes[i >> 3] |= (byte) (1 << (i & 7));
+                }
+            }
+        }
+        int length = bytes.length;
+        while (length > 0 && bytes[length - 1] == 0) {
+            length--;
+        }
+        byte[] trimmed = new byte[length];
+        System.arraycopy(bytes, 0, trimmed, 0, length);
+        return Base64.getEncoder().withoutPadding().encodeToString(trimmed);
+    }
+
+    /**
+     * Unpack a Base64 bitmask written by encodeBits
+     * @param encoded Base64 string (null or empty means no flags)
+     * @param rows Grid rows
+     * @param cols Grid columns
+     * @return Grid of flags
+     */
+    public static boolean[][] decodeBits(String encoded, int rows, int cols) {
+        boolean[][] cells = new boolean[rows][cols];
+        if (encoded == null || encoded.isEmpty()) {
+            return cells;
+        }
+        byte[] bytes = Base64.getDecoder().decode(encoded);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int i = r * cols + c;
+                cells[r][c] = (i >> 3) < bytes.length && (bytes[i >> 3] & (1 << (i & 7))) != 0;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Pack bitset words into Base64, little-endian
+     * @param words Bitset words
+     * @return Base64 string (empty when no bit is set)
+     */
+    public static String encodeWords(long[] words) {
+        int length = words.length * 8;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (words[i >> 3] >>> ((i & 7) * 8));
+        }
+        while (length > 0 && bytes[length - 1] == 0) {
+            length--;
+        }
+        byte[] trimmed = new byte[length];
+        System.arraycopy(bytes, 0, trimmed, 0, length);
+        return Base64.getEncoder().withoutPadding().encodeToString(trimmed);
+    }
+
+    /**
+     * Unpack bitset words written by encodeWords
+     * @param encoded Base64 string (null or empty means no bits)
+     * @param count Number of words
+     * @return Bitset words
+     */
+    public static long[] decodeWords(String encoded, int count) {
+        long[] words = new long[count];
+        if (encoded == null || encoded.isEmpty()) {
+            return words;
+        }
+        byte[] bytes = Base64.getDecoder().decode(encoded);
+        for (int i = 0; i < bytes.length && (i >> 3) < count; i++) {
+            words[i >> 3] |= (bytes[i] & 0xFFL) << ((i & 7) * 8);
+        }
+        return words;
+    }
+}
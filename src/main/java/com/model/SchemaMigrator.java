@@ -0,0 +1,248 @@
+package com.model;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Versioned schema migrations for users.json and gamedata.json
+ *
+ * Every data file starts with a "schemaVersion" header. Files without one
+ * (including the *_OLD.json files) are version 1. Old files are upgraded by
+ * a chain of steps, each streaming tokens from a JsonReader to a JsonWriter
+ * into a temp file, so memory use stays bounded no matter how large the file.
+ * The original is kept as a .v{N}.bak backup and replaced atomically.
+ */
+public final class SchemaMigrator {
+
+    /** Version written by GameDataWriter */
+    public static final int CURRENT_VERSION = 2;
+
+    public static final String VERSION_FIELD = "schemaVersion";
+    public static final String USERS_FIELD = "users";
+
+    /**
+     * One migration step; the step at index i of a chain upgrades version i + 1 to i + 2
+     */
+    @FunctionalInterface
+    public interface Step {
+        /**
+         * Stream one whole document from in to out, applying the change
+         * @param in Reader positioned at the start of the document
+         * @param out Writer for the upgraded document
+         * @throws IOException on malformed input or write failure
+         */
+        void migrate(JsonReader in, JsonWriter out) throws IOException;
+    }
+
+    /** Migration chain for users.json */
+    public static final List<Step> USERS_STEPS = List.of(
+        // v1 -> v2: top-level array becomes {"schemaVersion":2,"users":[...]}
+        (in, out) -> {
+            out.beginObject();
+            out.name(VERSION_FIELD).value(2);
+            out.name(USERS_FIELD);
+            copyValue(in, out);
+            out.endObject();
+        }
+    );
+
+    /** Migration chain for gamedata.json */
+    public static final List<Step> GAMEDATA_STEPS = List.of(
+        // v1 -> v2: add header, write whole numbers as integers (5.0 -> 5)
+        (in, out) -> {
+            in.beginObject();
+            out.beginObject();
+            out.name(VERSION_FIELD).value(2);
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (VERSION_FIELD.equals(name)) {
+                    in.skipValue();
+                    continue;
+                }
+                out.name(name);
+                copyValue(in, out);
+            }
+            in.endObject();
+            out.endObject();
+        }
+    );
+
+    private SchemaMigrator() {}
+
+    /**
+     * Read the schema version from a data file
+     * GameDataWriter puts the header first, so usually only a few tokens are read;
+     * in a hand-edited file the top-level keys are scanned until the header is found
+     * @param path File path
+     * @return Version; CURRENT_VERSION for missing or empty files (nothing to migrate)
+     * @throws IOException if the file cannot be read
+     */
+    public static int detectVersion(String path) throws IOException {
+        if (!Files.exists(Paths.get(path)) || Files.size(Paths.get(path)) == 0) {
+            return CURRENT_VERSION;
+        }
+        try (JsonReader in = new JsonReader(new InputStreamReader(
+                DataFormat.openDetected(path), StandardCharsets.UTF_8))) {
+            JsonToken first = in.peek();
+            if (first == JsonToken.BEGIN_OBJECT) {
+                in.beginObject();
+                while (in.hasNext()) {
+                    if (VERSION_FIELD.equals(in.nextName())) {
+                        return in.nextInt();
+                    }
+                    in.skipValue();
+                }
+                return 1;
+            }
+            if (first == JsonToken.BEGIN_ARRAY) {
+                return 1;
+            }
+            return CURRENT_VERSION;
+        }
+    }
+
+    /**
+     * Upgrade a data file in place to CURRENT_VERSION
+     * @param path File path
+     * @param steps Migration chain for this kind of file
+     * @return true if the file was migrated
+     * @throws IOException if reading, writing or replacing the file fails
+     */
+    public static boolean upgrade(String path, List<Step> steps) throws IOException {
+        int version = detectVersion(path);
+        if (version >= CURRENT_VERSION) {
+            return false;
+        }
+
+        Path source = Paths.get(path).toAbsolutePath();
+        DataFormat format = isGzip(path) ? DataFormat.GZIP : DataFormat.COMPACT;
+        Path work = source;
+        for (int from = version; from < CURRENT_VERSION; from++) {
+            Step step = steps.get(from - 1);
+            Path next = Files.createTempFile(source.getParent(), source.getFileName().toString(), ".migrating");
+            try (JsonReader in = new JsonReader(new InputStreamReader(
+                     DataFormat.openDetected(work.toString()), StandardCharsets.UTF_8));
+                 JsonWriter out = new JsonWriter(new BufferedWriter(new OutputStreamWriter(
+                     format.wrap(new FileOutputStream(next.toFile())), StandardCharsets.UTF_8), 8192))) {
+                step.migrate(in, out);
+            } catch (IOException | RuntimeException ex) {
+                Files.deleteIfExists(next);
+                throw ex;
+            } finally {
+                if (work != source) {
+                    Files.deleteIfExists(work);
+                }
+            }
+            work = next;
+            System.out.println("Migrated " + source.getFileName() + " from schema v" + from
+                + " to v" + (from + 1));
+        }
+
+        Path backup = source.resolveSibling(source.getFileName() + ".v" + version + ".bak");
+        Files.copy(source, backup, StandardCopyOption.REPLACE_EXISTING);
+        try {
+            // Temp files are created owner-only; keep the original's permissions
+            Files.setPosixFilePermissions(work, Files.getPosixFilePermissions(source));
+        } catch (UnsupportedOperationException ex) {
+            // Non-POSIX file system
+        }
+        try {
+            Files.move(work, source, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(work, source, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return true;
+    }
+
+    /**
+     * Copy exactly one JSON value (scalar, array or object) token by token
+     * Whole numbers written as 5.0 are normalized to 5
+     * @param in Reader positioned at a value
+     * @param out Writer to copy to
+     * @throws IOException on malformed input
+     */
+    static void copyValue(JsonReader in, JsonWriter out) throws IOException {
+        int depth = 0;
+        do {
+            switch (in.peek()) {
+                case BEGIN_ARRAY:
+                    in.beginArray();
+                    out.beginArray();
+                    depth++;
+                    break;
+                case END_ARRAY:
+                    in.endArray();
+                    out.endArray();
+                    depth--;
+                    break;
+                case BEGIN_OBJECT:
+                    in.beginObject();
+                    out.beginObject();
+                    depth++;
+                    break;
+                case END_OBJECT:
+                    in.endObject();
+                    out.endObject();
+                    depth--;
+                    break;
+                case NAME:
+                    out.name(in.nextName());
+                    break;
+                case STRING:
+                    out.value(in.nextString());
+                    break;
+                case NUMBER:
+                    writeNumber(out, in.nextString());
+                    break;
+                case BOOLEAN:
+                    out.value(in.nextBoolean());
+                    break;
+                case NULL:
+                    in.nextNull();
+                    out.nullValue();
+                    break;
+                default:
+                    throw new IOException("Unexpected end of document at " + in.getPath());
+            }
+        } while (depth > 0);
+    }
+
+    private static void writeNumber(JsonWriter out, String text) throws IOException {
+        int dot = text.indexOf('.');
+        if (dot > 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+            boolean zeroFraction = true;
+            for (int i = dot + 1; i < text.length(); i++) {
+                if (text.charAt(i) != '0') {
+                    zeroFraction = false;
+                    break;
+                }
+            }
+            if (zeroFraction) {
+                out.jsonValue(text.substring(0, dot));
+                return;
+            }
+        }
+        out.jsonValue(text);
+    }
+
+    private static boolean isGzip(String path) throws IOException {
+        try (InputStream in = Files.newInputStream(Paths.get(path))) {
+            return in.read() == 0x1f && in.read() == 0x8b;
+        }
+    }
+}
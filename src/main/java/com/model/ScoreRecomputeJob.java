@@ -0,0 +1,147 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Recomputes every user's puzzle scores from their stored results
+ *
+ * Run after the scoring rules change. The user list is split in halves on a
+ * fork-join pool until each part has at most PARTITION_SIZE users; each user
+ * belongs to one part, so no locking is needed. A user's puzzleScores map is
+ * replaced, not edited, and totalScore is summed again. Like
+ * IntegrityRebuildJob, a puzzle counts as completed if it is in either
+ * completedPuzzles or puzzleScores, so no score is dropped. Puzzles without a
+ * stored result, or no longer in the catalog, keep their old score. Nothing
+ * else may change progress while the job runs; GameDataFacade.recomputeScores()
+ * runs it and then rebuilds the leaderboard.
+ */
+public final class ScoreRecomputeJob {
+
+    /** Users scored by one task without splitting further */
+    public static final int PARTITION_SIZE = 64;
+
+    /**
+     * Job totals
+     * @param users Users scanned
+     * @param rescored Puzzle scores computed from a stored result
+     * @param kept Puzzle scores kept because there was nothing to recompute from
+     * @param changedUsers Users whose total score changed
+     */
+    public record Summary(int users, int rescored, int kept, int changedUsers) {
+
+        Summary plus(Summary other) {
+            return new Summary(users + other.users, rescored + other.rescored,
+                kept + other.kept, changedUsers + other.changedUsers);
+        }
+    }
+
+    private ScoreRecomputeJob() {}
+
+    /**
+     * Recompute on the common pool
+     * @param progress All user progress
+     * @param catalog Catalog the puzzles are looked up in
+     * @param engine New scoring rules
+     * @return Summary
+     */
+    public static Summary run(List<UserProgress> progress, PuzzleCatalog catalog, ScoringEngine engine) {
+        return run(progress, catalog, engine, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Recompute on a given pool
+     * @param progress All user progress
+     * @param catalog Catalog the puzzles are looked up in
+     * @param engine New scoring rules
+     * @param pool Pool to run on
+     * @return Summary
+     */
+    public static Summary run(List<UserProgress> progress, PuzzleCatalog catalog, ScoringEngine engine,
+                              ForkJoinPool pool) {
+        return pool.invoke(new Partition(progress, 0, progress.size(), catalog, engine));
+    }
+
+    /**
+     * Recompute one user's scores
+     * @param progress User progress, updated in place
+     * @param catalog Catalog the puzzles are looked up in
+     * @param engine Scoring rules
+     * @return Summary for this user
+     */
+    static Summary rescore(UserProgress progress, PuzzleCatalog catalog, ScoringEngine engine) {
+        List<String> completed = progress.getCompletedPuzzles() != null
+            ? progress.getCompletedPuzzles() : new ArrayList<>();
+        Map<String, Integer> oldScores = progress.getPuzzleScores() != null
+            ? progress.getPuzzleScores() : new HashMap<>();
+        Map<String, GameResult> results = progress.getPuzzleResults() != null
+            ? progress.getPuzzleResults() : new HashMap<>();
+        Set<String> distinct = new LinkedHashSet<>(completed);
+        distinct.addAll(oldScores.keySet());
+        Map<String, Integer> scores = new HashMap<>();
+        int total = 0;
+        int rescored = 0;
+        int kept = 0;
+        for (String puzzleId : distinct) {
+            GameResult result = results.get(puzzleId);
+            Puzzle puzzle = result != null ? catalog.getPuzzle(puzzleId) : null;
+            int score;
+            if (puzzle != null) {
+                score = engine.score(puzzle, result);
+                rescored++;
+            } else {
+                score = oldScores.getOrDefault(puzzleId, 0);
+                kept++;
+            }
+            scores.put(puzzleId, score);
+            total += score;
+        }
+        boolean changed = total != progress.getTotalScore();
+        if (distinct.size() != completed.size()) {
+            progress.setCompletedPuzzles(new ArrayList<>(distinct));
+        }
+        progress.setPuzzleScores(scores);
+        progress.setTotalScore(total);
+        return new Summary(1, rescored, kept, changed ? 1 : 0);
+    }
+
+    private static final class Partition extends RecursiveTask<Summary> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<UserProgress> progress;
+        private final int from;
+        private final int to;
+        private final PuzzleCatalog catalog;
+        private final ScoringEngine engine;
+
+        Partition(List<UserProgress> progress, int from, int to, PuzzleCatalog catalog, ScoringEngine engine) {
+            this.progress = progress;
+            this.from = from;
+            this.to = to;
+            this.catalog = catalog;
+            this.engine = engine;
+        }
+
+        @Override
+        protected Summary compute() {
+            if (to - from <= PARTITION_SIZE) {
+                Summary summary = new Summary(0, 0, 0, 0);
+                for (int i = from; i < to; i++) {
+                    summary = summary.plus(rescore(progress.get(i), catalog, engine));
+                }
+                return summary;
+            }
+            int mid = (from + to) >>> 1;
+            Partition left = new Partition(progress, from, mid, catalog, engine);
+            left.fork();
+            Summary right = new Partition(progress, mid, to, catalog, engine).compute();
+            return left.join().plus(right);
+        }
+    }
+}
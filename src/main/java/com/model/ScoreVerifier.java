@@ -0,0 +1,233 @@
+package com.model;
+
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Computes authoritative scores by replaying submitted move logs
+ *
+ * A client's getResult() map can claim any time or move count. Instead the
+ * client submits its MoveLog; a worker replays it on the catalog puzzle,
+ * checks that every command fits and the puzzle is solved, and scores the
+ * replayed result. Matching boards are dealt from a seed the server issues
+ * with issueSeed() when it hands out the puzzle; a log dealt from any other
+ * seed is refused, so a client cannot pick a board it has solved offline.
+ * submit() returns at once; when the bounded queue is full
+ * the future fails with RejectedExecutionException so the caller can retry
+ * rather than block. Record accepted verdicts (completePuzzle with the
+ * verdict's result) from the future, on the thread that owns user progress.
+ * GameServiceManager.startAttempt() and completeAttempt() do this for the game.
+ */
+public final class ScoreVerifier implements AutoCloseable {
+
+    /** Commands may not come faster than this on average */
+    public static final long MIN_COMMAND_MILLIS = 40;
+
+    /** Submissions waiting for a worker before new ones are refused */
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    /**
+     * Verification outcome
+     * @param userId Submitting user
+     * @param puzzleId Puzzle played
+     * @param accepted true if the log is valid and solves the puzzle
+     * @param score Authoritative score, 0 unless accepted
+     * @param reason Why the log was refused, null if accepted
+     * @param result Replayed result, null if the log could not be replayed
+     */
+    public record Verdict(String userId, String puzzleId, boolean accepted, int score, String reason,
+                          GameResult result) {
+
+        static Verdict refused(String userId, String puzzleId, String reason, GameResult result) {
+            return new Verdict(userId, puzzleId, false, 0, reason, result);
+        }
+    }
+
+    private static final SecureRandom SEEDS = new SecureRandom();
+
+    private final Supplier<PuzzleCatalog> catalog;
+    private final Supplier<ScoringEngine> engine;
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * Create a verifier with the standard rules and one worker per processor
+     * @param catalog Catalog puzzles are replayed against
+     */
+    public ScoreVerifier(PuzzleCatalog catalog) {
+        this(catalog, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Create a verifier with the standard rules
+     * @param catalog Catalog puzzles are replayed against
+     * @param threads Worker threads
+     * @param queueCapacity Submissions that may wait for a worker
+     */
+    public ScoreVerifier(PuzzleCatalog catalog, int threads, int queueCapacity) {
+        this(catalog, ScoringEngine.standard(), threads, queueCapacity);
+    }
+
+    /**
+     * Create a verifier
+     * @param catalog Catalog puzzles are replayed against
+     * @param engine Rules accepted results are scored with
+     * @param threads Worker threads
+     * @param queueCapacity Submissions that may wait for a worker
+     */
+    public ScoreVerifier(PuzzleCatalog catalog, ScoringEngine engine, int threads, int queueCapacity) {
+        this(() -> catalog, () -> engine, threads, queueCapacity);
+    }
+
+    /**
+     * Create a verifier that follows catalog reloads and rule changes
+     * Each verification reads the current catalog and rules once
+     * @param catalog Current catalog, e.g. GameDataFacade::getCatalog
+     * @param engine Current rules, e.g. GameDataFacade::getScoringEngine
+     * @param threads Worker threads
+     * @param queueCapacity Submissions that may wait for a worker
+     */
+    public ScoreVerifier(Supplier<PuzzleCatalog> catalog, Supplier<ScoringEngine> engine,
+                         int threads, int queueCapacity) {
+        this.catalog = catalog;
+        this.engine = engine;
+        AtomicInteger count = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), r -> {
+                Thread t = new Thread(r, "score-verifier-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+    }
+
+    /**
+     * Issue a board seed when handing out a puzzle
+     * Record it with the attempt and pass it to verify() or submit()
+     * @return Unpredictable seed
+     */
+    public static long issueSeed() {
+        return SEEDS.nextLong();
+    }
+
+    /**
+     * Queue a binary log for verification; decoding also runs on the worker
+     * @param userId Submitting user
+     * @param puzzleId Puzzle played
+     * @param expectedSeed Seed issued for the attempt; only checked for matching puzzles
+     * @param log Log from MoveLog.toBytes()
+     * @return Future verdict; fails with RejectedExecutionException if the queue is full
+     */
+    public CompletableFuture<Verdict> submit(String userId, String puzzleId, long expectedSeed, byte[] log) {
+        return submitTask(() -> {
+            MoveLog decoded;
+            try {
+                decoded = MoveLog.fromBytes(log);
+            } catch (IllegalArgumentException e) {
+                return Verdict.refused(userId, puzzleId, e.getMessage(), null);
+            }
+            return verify(userId, puzzleId, expectedSeed, decoded);
+        });
+    }
+
+    /**
+     * Queue a log for verification
+     * @param userId Submitting user
+     * @param puzzleId Puzzle played
+     * @param expectedSeed Seed issued for the attempt; only checked for matching puzzles
+     * @param log Move log
+     * @return Future verdict; fails with RejectedExecutionException if the queue is full
+     */
+    public CompletableFuture<Verdict> submit(String userId, String puzzleId, long expectedSeed, MoveLog log) {
+        return submitTask(() -> verify(userId, puzzleId, expectedSeed, log));
+    }
+
+    private CompletableFuture<Verdict> submitTask(Supplier<Verdict> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, workers);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Verify a log on the calling thread
+     * @param userId Submitting user
+     * @param puzzleId Puzzle played
+     * @param expectedSeed Seed issued for the attempt; only checked for matching puzzles
+     * @param log Move log
+     * @return Verdict
+     */
+    public Verdict verify(String userId, String puzzleId, long expectedSeed, MoveLog log) {
+        PuzzleCatalog current = catalog.get();
+        Puzzle puzzle = current.getPuzzle(puzzleId);
+        if (puzzle == null) {
+            return Verdict.refused(userId, puzzleId, "Unknown puzzle", null);
+        }
+        if (!puzzle.getPuzzleType().equalsIgnoreCase(log.getGameType())) {
+            return Verdict.refused(userId, puzzleId, "Log is for " + log.getGameType(), null);
+        }
+        boolean dealt = "MATCHING".equalsIgnoreCase(puzzle.getPuzzleType());
+        if (dealt && log.getSeed() != expectedSeed) {
+            return Verdict.refused(userId, puzzleId, "Board was not dealt from the issued seed", null);
+        }
+        if (log.getDuration() < log.getCount() * MIN_COMMAND_MILLIS) {
+            return Verdict.refused(userId, puzzleId, "Commands are faster than a player can enter them", null);
+        }
+
+        MoveReplay.Outcome outcome;
+        try {
+            outcome = MoveReplay.replay(log, newGame(current, puzzle, expectedSeed));
+        } catch (RuntimeException e) {
+            return Verdict.refused(userId, puzzleId, "Log cannot be replayed: " + e.getMessage(), null);
+        }
+        GameResult result = outcome.result();
+        if (outcome.rejected() > 0) {
+            return Verdict.refused(userId, puzzleId, outcome.rejected() + " commands do not fit the puzzle", result);
+        }
+        if (!result.won()) {
+            return Verdict.refused(userId, puzzleId, "Puzzle not solved", result);
+        }
+        return new Verdict(userId, puzzleId, true, outcome.score(engine.get(), puzzle), null, result);
+    }
+
+    /**
+     * Build the starting game for a catalog puzzle, dealt from the issued seed
+     */
+    private static PuzzleGame newGame(PuzzleCatalog catalog, Puzzle puzzle, long seed) {
+        PuzzleGame game = GameFactory.createGame(puzzle.getPuzzleType());
+        Map<String, Object> data = new HashMap<>(puzzle.getData());
+        if (game instanceof MatchingGame) {
+            data.put("seed", seed);
+        }
+        game.initialize(data);
+        if (game instanceof WordPuzzleGame) {
+            WordPuzzleGame wordGame = (WordPuzzleGame) game;
+            wordGame.setPuzzleId(puzzle.getPuzzleId());
+            wordGame.setHints(catalog.getHintsForPuzzle(puzzle.getPuzzleId()));
+        }
+        return game;
+    }
+
+    /**
+     * Get submissions waiting for a worker
+     * @return Queue length
+     */
+    public int getPendingCount() {
+        return workers.getQueue().size();
+    }
+
+    /**
+     * Stop taking submissions; queued ones still finish
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+}
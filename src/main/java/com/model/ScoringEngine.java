@@ -0,0 +1,142 @@
+package com.model;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Picks the ScoringRule for a puzzle and scores its results
+ *
+ * A rule for a type and difficulty wins over a rule for the whole type,
+ * which wins over the fallback. Engines are immutable; withRule() returns a
+ * copy, so one engine can be shared by worker threads and swapped whole when
+ * the rules change (see GameDataFacade.recomputeScores()).
+ */
+public final class ScoringEngine {
+
+    /** Key of the fallback rule in toRules() / fromRules() */
+    public static final String FALLBACK_KEY = "DEFAULT";
+
+    private final ScoringRule fallback;
+    private final Map<String, ScoringRule> rules;  // "TYPE" or "TYPE/DIFFICULTY" -> rule
+
+    /**
+     * Create an engine with one rule for every puzzle
+     * @param fallback Rule used when no other rule matches
+     */
+    public ScoringEngine(ScoringRule fallback) {
+        this(fallback, Collections.emptyMap());
+    }
+
+    private ScoringEngine(ScoringRule fallback, Map<String, ScoringRule> rules) {
+        this.fallback = fallback;
+        this.rules = rules;
+    }
+
+    /**
+     * Get the rules the game ships with
+     * Mazes get more time as they grow and lose points for hints; matching
+     * boards allow a few misses per pair; word puzzles lose 10 points per
+     * wrong attempt and per hint
+     * @return Standard engine
+     */
+    public static ScoringEngine standard() {
+        return new ScoringEngine(ScoringRule.DEFAULT)
+            .withRule("MAZE", "EASY", new ScoringRule(100, 100, 60, 50, 0, 1, 5))
+            .withRule("MAZE", "MEDIUM", new ScoringRule(100, 100, 100, 50, 0, 1, 5))
+            .withRule("MAZE", "HARD", new ScoringRule(100, 100, 150, 50, 0, 1, 5))
+            .withRule("MATCHING", "EASY", new ScoringRule(100, 100, 60, 50, 6, 5, 0))
+            .withRule("MATCHING", "MEDIUM", new ScoringRule(100, 100, 90, 50, 9, 5, 0))
+            .withRule("MATCHING", "HARD", new ScoringRule(100, 100, 120, 50, 12, 5, 0))
+            .withRule("CIPHER", new ScoringRule(100, 100, 120, 50, 1, 10, 10))
+            .withRule("ANAGRAM", new ScoringRule(100, 100, 90, 50, 1, 10, 10))
+            .withRule("RIDDLE", new ScoringRule(100, 100, 90, 50, 1, 10, 10));
+    }
+
+    /**
+     * Rebuild an engine from rules saved with toRules()
+     * @param saved Rules keyed "TYPE" or "TYPE/DIFFICULTY", fallback under FALLBACK_KEY
+     * @return Engine; the standard rules if nothing was saved
+     */
+    public static ScoringEngine fromRules(Map<String, ScoringRule> saved) {
+        if (saved == null || saved.isEmpty()) {
+            return standard();
+        }
+        Map<String, ScoringRule> rules = new HashMap<>(saved);
+        ScoringRule fallback = rules.remove(FALLBACK_KEY);
+        return new ScoringEngine(fallback != null ? fallback : ScoringRule.DEFAULT,
+            Collections.unmodifiableMap(rules));
+    }
+
+    /**
+     * Get every rule of this engine for saving with the game data
+     * @return Rules keyed "TYPE" or "TYPE/DIFFICULTY", fallback under FALLBACK_KEY
+     */
+    public Map<String, ScoringRule> toRules() {
+        Map<String, ScoringRule> saved = new TreeMap<>(rules);
+        saved.put(FALLBACK_KEY, fallback);
+        return saved;
+    }
+
+    /**
+     * Get a copy with a rule for every difficulty of a type
+     * @param puzzleType Puzzle type, e.g. MAZE
+     * @param rule Rule
+     * @return New engine
+     */
+    public ScoringEngine withRule(String puzzleType, ScoringRule rule) {
+        return with(key(puzzleType, null), rule);
+    }
+
+    /**
+     * Get a copy with a rule for one difficulty of a type
+     * @param puzzleType Puzzle type, e.g. MAZE
+     * @param difficulty EASY, MEDIUM or HARD
+     * @param rule Rule
+     * @return New engine
+     */
+    public ScoringEngine withRule(String puzzleType, String difficulty, ScoringRule rule) {
+        return with(key(puzzleType, difficulty), rule);
+    }
+
+    private ScoringEngine with(String key, ScoringRule rule) {
+        Map<String, ScoringRule> copy = new HashMap<>(rules);
+        copy.put(key, rule);
+        return new ScoringEngine(fallback, Collections.unmodifiableMap(copy));
+    }
+
+    /**
+     * Get the rule for a puzzle type and difficulty
+     * @param puzzleType Puzzle type
+     * @param difficulty Difficulty, may be null
+     * @return Most specific rule
+     */
+    public ScoringRule ruleFor(String puzzleType, String difficulty) {
+        if (puzzleType == null) {
+            return fallback;
+        }
+        if (difficulty != null) {
+            ScoringRule rule = rules.get(key(puzzleType, difficulty));
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return rules.getOrDefault(key(puzzleType, null), fallback);
+    }
+
+    /**
+     * Score a result for a puzzle
+     * @param puzzle Puzzle played
+     * @param result Game result
+     * @return Score, 0 if the game was not won
+     */
+    public int score(Puzzle puzzle, GameResult result) {
+        return ruleFor(puzzle.getPuzzleType(), puzzle.getDifficulty()).score(result);
+    }
+
+    private static String key(String puzzleType, String difficulty) {
+        String type = puzzleType.toUpperCase();
+        return difficulty == null ? type : type + "/" + difficulty.toUpperCase();
+    }
+}
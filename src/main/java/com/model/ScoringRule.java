@@ -0,0 +1,53 @@
+package com.model;
+
+/**
+ * Score formula for one puzzle type and difficulty
+ *
+ * score = base
+ *       + timeBonus scaled down linearly to 0 at timeLimitSeconds
+ *       + moveBonus minus movePenalty per move beyond par (not below 0)
+ *       - hintPenalty per hint used
+ * and never below 0. Par is the result's optimalMoves when the game knows
+ * it (mazes), otherwise parMoves.
+ *
+ * @param base Points for solving
+ * @param timeBonus Extra points for an instant solve
+ * @param timeLimitSeconds Seconds after which the time bonus is 0
+ * @param moveBonus Extra points for solving in par
+ * @param parMoves Moves allowed without penalty when the result has no optimal count
+ * @param movePenalty Points taken from the move bonus per move beyond par
+ * @param hintPenalty Points taken per hint used
+ */
+public record ScoringRule(int base, int timeBonus, int timeLimitSeconds, int moveBonus,
+                          int parMoves, int movePenalty, int hintPenalty) {
+
+    /** The original formula: 100 + (100 - seconds) + (50 - moves beyond par) */
+    public static final ScoringRule DEFAULT = new ScoringRule(100, 100, 100, 50, 0, 1, 0);
+
+    /**
+     * Create a rule
+     * @throws IllegalArgumentException if timeLimitSeconds is not positive
+     */
+    public ScoringRule {
+        if (timeLimitSeconds <= 0) {
+            throw new IllegalArgumentException("Time limit must be positive: " + timeLimitSeconds);
+        }
+    }
+
+    /**
+     * Score a result
+     * @param result Game result
+     * @return Score, 0 if the game was not won
+     */
+    public int score(GameResult result) {
+        if (!result.won()) {
+            return 0;
+        }
+        long seconds = result.time() / 1000;
+        int time = (int) (timeBonus * Math.max(0, timeLimitSeconds - seconds) / timeLimitSeconds);
+        int par = result.hasOptimalMoves() ? result.optimalMoves() : parMoves;
+        int extraMoves = Math.max(0, result.moves() - par);
+        int moves = Math.max(0, moveBonus - extraMoves * movePenalty);
+        return Math.max(0, base + time + moves - result.hintsUsed() * hintPenalty);
+    }
+}
@@ -0,0 +1,244 @@
+package com.model;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Assigns one puzzle per door when a session starts
+ *
+ * For each user the planner keeps, per type and difficulty, a pool holding
+ * the catalog's puzzles with the uncompleted ones in front. Completing a
+ * puzzle swaps it behind that split, so a door is filled by drawing a random
+ * index below it (or from the whole pool once all are completed, for replay)
+ * instead of filtering and copying the catalog. Puzzles in the user's recency
+ * ring, the last RECENT_SIZE assigned, are swapped out of the draw window
+ * while other candidates remain. Door types are shuffled and puzzles drawn
+ * with a SplittableRandom seeded per session, so a seed gives the same doors
+ * for the same pools and ring. Pools are built from progress on first use and
+ * rebuilt when its completed count no longer matches, e.g. after progress was
+ * changed elsewhere. A planner belongs to one catalog snapshot; build a new
+ * one after a reload. Not thread-safe.
+ */
+public final class SessionPlanner {
+
+    /** Recently assigned puzzles avoided per user */
+    public static final int RECENT_SIZE = 8;
+
+    private static final int MAX_USERS = 64;
+
+    private final PuzzleCatalog catalog;
+    private final String[] puzzleTypes;
+
+    // Least-recently-planned users
+    private final Map<String, UserPools> users =
+        new LinkedHashMap<String, UserPools>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, UserPools> eldest) {
+                return size() > MAX_USERS;
+            }
+        };
+
+    /**
+     * Create a planner
+     * @param catalog Catalog snapshot to draw from
+     * @param puzzleTypes One type per door, in door order before shuffling
+     */
+    public SessionPlanner(PuzzleCatalog catalog, String[] puzzleTypes) {
+        this.catalog = catalog;
+        this.puzzleTypes = puzzleTypes.clone();
+    }
+
+    /**
+     * Get catalog snapshot this planner draws from
+     * @return PuzzleCatalog
+     */
+    public PuzzleCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Assign a puzzle to each door, one type per door in shuffled order
+     * Doors whose type has no puzzles at this difficulty are left out
+     * @param progress User progress
+     * @param difficulty Session difficulty
+     * @param seed Session seed
+     * @param doors Map to fill with door number (from 1) -> puzzle ID; cleared first
+     * @return Number of doors assigned
+     */
+    public int plan(UserProgress progress, String difficulty, long seed, Map<Integer, String> doors) {
+        UserPools user = pools(progress);
+        SplittableRandom rng = new SplittableRandom(seed);
+        String[] order = user.typeOrder;
+        System.arraycopy(puzzleTypes, 0, order, 0, order.length);
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            String t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+
+        doors.clear();
+        for (int door = 1; door <= order.length; door++) {
+            Pool pool = user.pool(order[door - 1], difficulty);
+            if (pool.items.length == 0) {
+                continue;
+            }
+            Puzzle puzzle = pool.draw(rng, user.recent);
+            user.recent.add(puzzle.getPuzzleId());
+            doors.put(door, puzzle.getPuzzleId());
+        }
+        return doors.size();
+    }
+
+    /**
+     * Move a puzzle out of the user's uncompleted pool
+     * Call after progress has recorded the completion
+     * @param progress User progress
+     * @param puzzleId Completed puzzle
+     */
+    public void markCompleted(UserProgress progress, String puzzleId) {
+        UserPools user = users.get(progress.getUserId());
+        if (user == null) {
+            return;  // Built from progress on next use
+        }
+        Puzzle puzzle = catalog.getPuzzle(puzzleId);
+        if (user.completed.add(puzzleId) && puzzle != null && puzzle.getDifficulty() != null) {
+            Pool pool = user.pools.get(key(puzzle.getPuzzleType(), puzzle.getDifficulty()));
+            if (pool != null) {
+                pool.complete(puzzleId);
+            }
+        }
+        user.completedCount = progress.getCompletedCount();
+    }
+
+    /**
+     * Get number of puzzles the user has not completed
+     * @param progress User progress
+     * @param puzzleType Puzzle type
+     * @param difficulty Difficulty
+     * @return Uncompleted puzzles of that type and difficulty
+     */
+    public int getRemainingCount(UserProgress progress, String puzzleType, String difficulty) {
+        return pools(progress).pool(puzzleType, difficulty).remaining;
+    }
+
+    private UserPools pools(UserProgress progress) {
+        UserPools user = users.get(progress.getUserId());
+        if (user == null || user.completedCount != progress.getCompletedCount()) {
+            UserPools rebuilt = new UserPools(progress);
+            if (user != null) {
+                rebuilt.recent = user.recent;
+            }
+            users.put(progress.getUserId(), rebuilt);
+            user = rebuilt;
+        }
+        return user;
+    }
+
+    private static String key(String puzzleType, String difficulty) {
+        return puzzleType.toUpperCase() + "|" + difficulty.toUpperCase();
+    }
+
+    /**
+     * Pools and recency ring of one user
+     */
+    private final class UserPools {
+        final Set<String> completed;
+        final Map<String, Pool> pools = new HashMap<>();
+        final String[] typeOrder = new String[puzzleTypes.length];
+        Recency recent = new Recency();
+        int completedCount;
+
+        UserPools(UserProgress progress) {
+            this.completed = new HashSet<>(progress.getCompletedPuzzles());
+            this.completedCount = progress.getCompletedCount();
+        }
+
+        Pool pool(String puzzleType, String difficulty) {
+            return pools.computeIfAbsent(key(puzzleType, difficulty),
+                k -> new Pool(catalog.getPuzzlesByDifficulty(puzzleType, difficulty), completed));
+        }
+    }
+
+    /**
+     * Puzzles of one type and difficulty; items[0, remaining) are uncompleted
+     */
+    private static final class Pool {
+        final Puzzle[] items;
+        final Map<String, Integer> positions = new HashMap<>();
+        int remaining;
+
+        Pool(List<Puzzle> puzzles, Set<String> completed) {
+            items = puzzles.toArray(new Puzzle[0]);
+            for (int i = 0; i < items.length; i++) {
+                if (!completed.contains(items[i].getPuzzleId())) {
+                    swap(i, remaining++);
+                }
+            }
+            for (int i = 0; i < items.length; i++) {
+                positions.put(items[i].getPuzzleId(), i);
+            }
+        }
+
+        void complete(String puzzleId) {
+            Integer position = positions.get(puzzleId);
+            if (position != null && position < remaining) {
+                swap(position, --remaining);
+                positions.put(items[position].getPuzzleId(), position);
+                positions.put(puzzleId, remaining);
+            }
+        }
+
+        /**
+         * Draw from the uncompleted puzzles, or all once none are left
+         * Recent picks are swapped to the end of the window and the draw
+         * repeated; at most RECENT_SIZE draws can be recent
+         */
+        Puzzle draw(SplittableRandom rng, Recency recent) {
+            int count = remaining > 0 ? remaining : items.length;
+            for (int window = count; window > 0; window--) {
+                int j = rng.nextInt(window);
+                if (!recent.contains(items[j].getPuzzleId())) {
+                    return items[j];
+                }
+                swap(j, window - 1);
+                positions.put(items[j].getPuzzleId(), j);
+                positions.put(items[window - 1].getPuzzleId(), window - 1);
+            }
+            return items[rng.nextInt(count)];  // Every candidate is recent
+        }
+
+        private void swap(int i, int j) {
+            Puzzle t = items[i];
+            items[i] = items[j];
+            items[j] = t;
+        }
+    }
+
+    /**
+     * Ring of the last RECENT_SIZE puzzle IDs assigned to a user
+     */
+    private static final class Recency {
+        final String[] ring = new String[RECENT_SIZE];
+        int next;
+
+        boolean contains(String puzzleId) {
+            for (String id : ring) {
+                if (puzzleId.equals(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(String puzzleId) {
+            ring[next] = puzzleId;
+            next = (next + 1) % RECENT_SIZE;
+        }
+    }
+}
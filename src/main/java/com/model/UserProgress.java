@@ -15,6 +15,7 @@ public class UserProgress {
     private String userId;
     private List<String> completedPuzzles;
     private Map<String, Integer> puzzleScores;
+    private Map<String, GameResult> puzzleResults;  // Kept so scores can be recomputed when rules change
     private int totalScore;
     
     // ✅ For PAUSED PUZZLE (individual game state)
@@ -30,6 +31,7 @@ public class UserProgress {
     public UserProgress() {
         this.completedPuzzles = new ArrayList<>();
         this.puzzleScores = new HashMap<>();
+        this.puzzleResults = new HashMap<>();
         this.totalScore = 0;
     }
     
@@ -55,6 +57,17 @@ public class UserProgress {
         return puzzleScores; 
     }
     
+    /**
+     * Get the results puzzle scores were computed from
+     * Puzzles completed before results were kept have no entry
+     */
+    public Map<String, GameResult> getPuzzleResults() {
+        if (puzzleResults == null) {
+            puzzleResults = new HashMap<>();  // Saved before this field existed
+        }
+        return puzzleResults;
+    }
+    
     public int getTotalScore() { 
         return totalScore; 
     }
@@ -96,6 +109,10 @@ public class UserProgress {
         this.puzzleScores = puzzleScores; 
     }
     
+    public void setPuzzleResults(Map<String, GameResult> puzzleResults) {
+        this.puzzleResults = puzzleResults;
+    }
+    
     public void setTotalScore(int totalScore) { 
         this.totalScore = totalScore; 
     }
@@ -135,6 +152,16 @@ public class UserProgress {
         }
     }
     
+    /**
+     * Add a completed puzzle with score and the result it was computed from
+     */
+    public void addCompletedPuzzle(String puzzleId, int score, GameResult result) {
+        if (!completedPuzzles.contains(puzzleId)) {
+            addCompletedPuzzle(puzzleId, score);
+            getPuzzleResults().put(puzzleId, result);
+        }
+    }
+    
     /**
      * Check if a puzzle is completed
      */
@@ -2,8 +2,10 @@ package com.model;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Unified word puzzle game for CIPHER, ANAGRAM, and RIDDLE
@@ -18,60 +20,205 @@ public class WordPuzzleGame implements PuzzleGame {
     private String category;
     private int maxAttempts;
     private int attemptsUsed;
-    private List<String> guesses;
+    private Set<String> guesses;        // Wrong guesses in the order made
     private List<Hint> hints;
     private List<String> revealedHints;
+    private int hintCursor;     // Number of hints revealed so far
     private boolean won;
     private long startTime;
+    private String puzzleVersion;
+    private AnagramIndex anagramIndex;  // Other valid answers for ANAGRAM puzzles
+    private Cipher.Type cipherType;     // Set for generated CIPHER puzzles
+    private EditDistance[] answerDistances;  // Answer and alternate answers, compiled once
+    private int closeDistance;          // Wrong guesses this near the answer get "close" feedback
+    private int typoTolerance;          // Guesses this near the answer are accepted; 0 for exact only
+    private int lastGuessDistance = -1; // Distance of the last wrong guess if close, else -1
+    private State view;                 // Cached by state(), dropped on every change
+    private final GameEventBus events = new GameEventBus();
+    
+    /**
+     * Immutable view of the word puzzle for rendering
+     * @param puzzleType CIPHER, ANAGRAM or RIDDLE
+     * @param prompt Text shown to the player
+     * @param category Puzzle category
+     * @param attemptsUsed Wrong guesses made
+     * @param maxAttempts Wrong guesses allowed
+     * @param guesses Wrong guesses in the order made
+     * @param lastGuessDistance Edit distance of the last wrong guess if it was close, else -1
+     * @param revealedHints Hint text shown so far
+     * @param availableHintsCount Hints not shown yet
+     */
+    public record State(String puzzleType, String prompt, String category, int attemptsUsed, int maxAttempts,
+                        List<String> guesses, int lastGuessDistance, List<String> revealedHints,
+                        int availableHintsCount) {
+        
+        /**
+         * Get wrong guesses left
+         * @return maxAttempts - attemptsUsed
+         */
+        public int remainingAttempts() {
+            return maxAttempts - attemptsUsed;
+        }
+        
+        /**
+         * Check if the last wrong guess was close to the answer
+         * @return true if lastGuessDistance is set
+         */
+        public boolean closeGuess() {
+            return lastGuessDistance > 0;
+        }
+    }
     
     /**
      * Initialize word puzzle game with puzzle data
+     * Optional fields: alternateAnswers (also accepted), closeDistance and
+     * typoTolerance (edit distances for "close" feedback and for accepting typos)
      * @param puzzleData Map of puzzle data
      * @Override
      */
+    @SuppressWarnings("unchecked")
     public void initialize(Map<String, Object> puzzleData) {
         this.prompt = (String) puzzleData.get("prompt");
         this.answer = ((String) puzzleData.get("answer")).toUpperCase();
         this.category = (String) puzzleData.get("category");
         this.maxAttempts = ((Number) puzzleData.get("maxAttempts")).intValue();
         this.attemptsUsed = 0;
-        this.guesses = new ArrayList<>();
-        this.hints = new ArrayList<>();
+        this.guesses = new LinkedHashSet<>();
+        this.closeDistance = puzzleData.get("closeDistance") != null
+            ? ((Number) puzzleData.get("closeDistance")).intValue() : defaultCloseDistance(answer);
+        this.typoTolerance = puzzleData.get("typoTolerance") != null
+            ? ((Number) puzzleData.get("typoTolerance")).intValue() : 0;
+        compileAnswers((List<String>) puzzleData.get("alternateAnswers"));
+        this.lastGuessDistance = -1;
+        this.cipherType = puzzleData.get("cipher") != null
+            ? Cipher.Type.valueOf(((String) puzzleData.get("cipher")).toUpperCase()) : null;
+        this.hints = cipherHints();
         this.revealedHints = new ArrayList<>();
+        this.hintCursor = 0;
         this.won = false;
         this.startTime = System.currentTimeMillis();
+        this.puzzleVersion = SavedState.puzzleVersion(puzzleData);
+        this.view = null;
+        events.gameReset();
     }
     
     /**
      * Process player input for guessing or hint request
+     * Thin adapter over apply()
      * @param input Player input command
      * @return boolean indicating if input was processed
      * @Override
      */
     public boolean processInput(String input) {
-        input = input.trim().toUpperCase();
-        
+        return apply(parseCommand(input));
+    }
+    
+    /**
+     * Parse text input into a command
+     * @param input HINT or a guess
+     * @return Hint or guess command
+     */
+    public static GameCommand parseCommand(String input) {
+        GameCommand.Guess guess = new GameCommand.Guess(input);
+        return guess.text().equals("HINT") ? GameCommand.hint() : guess;
+    }
+    
+    /**
+     * Apply a guess or hint command
+     * @param command Command to apply
+     * @return true if the command was processed
+     * @Override
+     */
+    public boolean apply(GameCommand command) {
+        view = null;
         // Check for hint request
-        if (input.equals("HINT")) {
+        if (command instanceof GameCommand.Hint) {
             revealNextHint();
             return true;
         }
+        if (!(command instanceof GameCommand.Guess)) {
+            return false;
+        }
+        String input = ((GameCommand.Guess) command).text();
         
-        // Check for answer
-        if (input.equals(answer)) {
+        // Check for answer; anagram puzzles accept any listed word with the same letters
+        lastGuessDistance = -1;
+        if (input.equals(answer) || isOtherAnagram(input)) {
+            won = true;
+            return true;
+        }
+        int distance = answerDistance(input, Math.max(closeDistance, typoTolerance));
+        if (distance <= typoTolerance) {
             won = true;
             return true;
         }
         
         // Wrong answer
-        if (!guesses.contains(input)) {
-            guesses.add(input);
+        if (distance <= closeDistance) {
+            lastGuessDistance = distance;
         }
+        guesses.add(input);
         attemptsUsed++;
+        events.guessRejected(input, lastGuessDistance);
         
         return true;
     }
     
+    /**
+     * Get the smallest edit distance from a guess to any accepted answer
+     * @param input Upper-case guess
+     * @param max Largest distance of interest
+     * @return Distance, or max + 1 if all are further
+     */
+    private int answerDistance(String input, int max) {
+        int best = max + 1;
+        if (answerDistances == null) {
+            return best;
+        }
+        for (EditDistance distance : answerDistances) {
+            best = Math.min(best, distance.distance(input, max));
+        }
+        return best;
+    }
+    
+    /**
+     * Compile the answer and any alternates for distance checks
+     * @param alternates Other accepted answers, or null
+     */
+    private void compileAnswers(List<String> alternates) {
+        int count = alternates != null ? alternates.size() : 0;
+        answerDistances = new EditDistance[count + 1];
+        answerDistances[0] = new EditDistance(answer);
+        for (int i = 0; i < count; i++) {
+            answerDistances[i + 1] = new EditDistance(alternates.get(i).trim().toUpperCase());
+        }
+    }
+    
+    /**
+     * Close-guess distance for puzzles that do not set one: 1 for short answers, 2 otherwise
+     * @param answer Puzzle answer
+     * @return Edit distance
+     */
+    private static int defaultCloseDistance(String answer) {
+        return answer.length() <= 5 ? 1 : 2;
+    }
+    
+    /**
+     * Check if a guess is a dictionary word other than the answer using the answer's letters
+     * Typing the scrambled prompt back does not count
+     * @param input Upper-case guess
+     * @return true if accepted as an alternative answer
+     */
+    private boolean isOtherAnagram(String input) {
+        if (!"ANAGRAM".equals(puzzleType) || answer == null || input.equalsIgnoreCase(prompt)) {
+            return false;
+        }
+        if (anagramIndex == null) {
+            anagramIndex = AnagramIndex.getDefault();
+        }
+        return anagramIndex.isAnagram(answer, input);
+    }
+    
     /**
      * Check if game is over (won or max attempts reached)
      * @return true if game over
@@ -83,23 +230,50 @@ public class WordPuzzleGame implements PuzzleGame {
     
     /**
      * Get current game state for display
+     * Kept for the console view and older callers; rendering uses state()
      * @return Map of game state
      * @Override
      */
     public Map<String, Object> getGameState() {
+        State current = state();
         Map<String, Object> state = new HashMap<>();
-        state.put("puzzleType", puzzleType);
-        state.put("prompt", prompt);
-        state.put("category", category);
-        state.put("attemptsUsed", attemptsUsed);
-        state.put("maxAttempts", maxAttempts);
-        state.put("remainingAttempts", maxAttempts - attemptsUsed);
-        state.put("guesses", guesses);
-        state.put("revealedHints", revealedHints);
-        state.put("availableHintsCount", hints.size() - revealedHints.size());
+        state.put("puzzleType", current.puzzleType());
+        state.put("prompt", current.prompt());
+        state.put("category", current.category());
+        state.put("attemptsUsed", current.attemptsUsed());
+        state.put("maxAttempts", current.maxAttempts());
+        state.put("remainingAttempts", current.remainingAttempts());
+        state.put("guesses", new ArrayList<>(current.guesses()));
+        state.put("closeGuess", current.closeGuess());
+        state.put("lastGuessDistance", current.lastGuessDistance());
+        state.put("revealedHints", current.revealedHints());
+        state.put("availableHintsCount", current.availableHintsCount());
         return state;
     }
     
+    /**
+     * Get current game state as a typed view
+     * The same instance is returned until the game changes
+     * @return State
+     */
+    public State state() {
+        if (view == null) {
+            view = new State(puzzleType, prompt, category, attemptsUsed, maxAttempts,
+                List.copyOf(guesses), lastGuessDistance, List.copyOf(revealedHints),
+                hints.size() - revealedHints.size());
+        }
+        return view;
+    }
+    
+    /**
+     * Get change-event stream
+     * @return GameEventBus
+     * @Override
+     */
+    public GameEventBus getEvents() {
+        return events;
+    }
+    
     /**
      * Get game type (CIPHER, ANAGRAM, RIDDLE)
      * @return String game type
@@ -115,15 +289,17 @@ public class WordPuzzleGame implements PuzzleGame {
      * @Override
      */
     public Map<String, Object> getResult() {
-        Map<String, Object> result = new HashMap<>();
-        result.put("won", won);
-        result.put("time", System.currentTimeMillis() - startTime);
-        result.put("moves", attemptsUsed);
-        result.put("hintsUsed", revealedHints.size());
-        if (!won) {
-            result.put("answer", answer);
-        }
-        return result;
+        return result().toMap();
+    }
+    
+    /**
+     * Get result summary as a record; the answer is included only if lost
+     * @return GameResult
+     * @Override
+     */
+    public GameResult result() {
+        return new GameResult(won, System.currentTimeMillis() - startTime, attemptsUsed,
+            MazeSolver.UNREACHABLE, revealedHints.size(), won ? null : answer);
     }
     
     /**
@@ -133,27 +309,30 @@ public class WordPuzzleGame implements PuzzleGame {
     public void reset() {
         attemptsUsed = 0;
         guesses.clear();
+        lastGuessDistance = -1;
         revealedHints.clear();
+        view = null;
+        hintCursor = 0;
         won = false;
         startTime = System.currentTimeMillis();
+        events.gameReset();
     }
     
     /**
      * Save current game state for persistence
+     * Only the delta is saved - prompt, answer and hint text come from the catalog
      * @return Map of saved state
      * @Override
      */
     public Map<String, Object> saveState() {
         Map<String, Object> state = new HashMap<>();
+        state.put(SavedState.STATE_VERSION_FIELD, SavedState.STATE_VERSION);
+        state.put(SavedState.PUZZLE_VERSION_FIELD, puzzleVersion);
         state.put("puzzleType", puzzleType);
         state.put("puzzleId", puzzleId);
-        state.put("prompt", prompt);
-        state.put("answer", answer);
-        state.put("category", category);
-        state.put("maxAttempts", maxAttempts);
         state.put("attemptsUsed", attemptsUsed);
-        state.put("guesses", guesses);
-        state.put("revealedHints", revealedHints);
+        state.put("guesses", new ArrayList<>(guesses));
+        state.put("hintCursor", hintCursor);
         state.put("won", won);
         state.put("startTime", startTime);
         return state;
@@ -161,30 +340,70 @@ public class WordPuzzleGame implements PuzzleGame {
     
     /**
      * Restore game state from saved data
+     * Compact states are applied on top of the puzzle from initialize();
+     * old full snapshots still carry prompt and answer and are restored as before
      * @param savedState Map of saved state
+     * @throws IllegalStateException if a compact state is restored before initialize()
      * @Override
      */
+    @SuppressWarnings("unchecked")
     public void restoreState(Map<String, Object> savedState) {
+        if (SavedState.isDelta(savedState) && answer == null) {
+            throw new IllegalStateException("Initialize the puzzle before restoring");
+        }
+        this.view = null;
         this.puzzleType = (String) savedState.get("puzzleType");
         this.puzzleId = (String) savedState.get("puzzleId");
-        this.prompt = (String) savedState.get("prompt");
-        this.answer = (String) savedState.get("answer");
-        this.category = (String) savedState.get("category");
-        this.maxAttempts = ((Number) savedState.get("maxAttempts")).intValue();
+        if (SavedState.isDelta(savedState)) {
+            if (!SavedState.matchesTemplate(savedState, puzzleVersion)) {
+                return;
+            }
+            this.hintCursor = ((Number) savedState.get("hintCursor")).intValue();
+            this.revealedHints = new ArrayList<>();
+            if (hints != null) {
+                revealHintsUpToCursor();
+            } else {
+                this.hints = new ArrayList<>();  // Will be set by setHints()
+            }
+        } else {
+            this.prompt = (String) savedState.get("prompt");
+            this.answer = (String) savedState.get("answer");
+            this.category = (String) savedState.get("category");
+            this.maxAttempts = ((Number) savedState.get("maxAttempts")).intValue();
+            this.revealedHints = new ArrayList<>((List<String>) savedState.get("revealedHints"));
+            this.hintCursor = revealedHints.size();
+            this.hints = new ArrayList<>();  // Will be set by setHints()
+            this.closeDistance = defaultCloseDistance(answer);
+            this.typoTolerance = 0;
+            compileAnswers(null);
+        }
         this.attemptsUsed = ((Number) savedState.get("attemptsUsed")).intValue();
-        this.guesses = (List<String>) savedState.get("guesses");
-        this.revealedHints = (List<String>) savedState.get("revealedHints");
+        this.guesses = new LinkedHashSet<>((List<String>) savedState.get("guesses"));
         this.won = (Boolean) savedState.get("won");
         this.startTime = ((Number) savedState.get("startTime")).longValue();
-        this.hints = new ArrayList<>();  // Will be set by setHints()
+        events.gameReset();
     }
     
     /**
      * Set hints for this puzzle (called by GameController)
+     * Generated cipher puzzles without catalog hints keep their solver hints
      * @param hints List of hints sorted by priority
      */
     public void setHints(List<Hint> hints) {
-        this.hints = hints;
+        this.hints = hints == null || hints.isEmpty() ? cipherHints() : hints;
+        this.view = null;
+        revealHintsUpToCursor();
+    }
+    
+    /**
+     * Build frequency-analysis hints for a generated cipher puzzle
+     * @return Graded hints, or an empty list for other puzzles
+     */
+    private List<Hint> cipherHints() {
+        if (cipherType == null || prompt == null) {
+            return new ArrayList<>();
+        }
+        return CipherSolver.hints(puzzleId, prompt, cipherType, answer);
     }
     
     /**
@@ -193,6 +412,15 @@ public class WordPuzzleGame implements PuzzleGame {
      */
     public void setPuzzleType(String puzzleType) {
         this.puzzleType = puzzleType;
+        this.view = null;
+    }
+    
+    /**
+     * Set word list used to accept other anagrams (defaults to the CMU dictionary)
+     * @param anagramIndex Word index
+     */
+    public void setAnagramIndex(AnagramIndex anagramIndex) {
+        this.anagramIndex = anagramIndex;
     }
     
     /**
@@ -207,10 +435,28 @@ public class WordPuzzleGame implements PuzzleGame {
      * Reveal next available hint
      */
     private void revealNextHint() {
-        int revealedCount = revealedHints.size();
-        if (revealedCount < hints.size()) {
-            Hint nextHint = hints.get(revealedCount);
-            revealedHints.add(nextHint.getHintText());
+        if (hintCursor < hints.size()) {
+            hintCursor++;
+            revealHintsUpToCursor();
+            events.hintRevealed(hints.get(hintCursor - 1).getHintText(), hintCursor);
+        }
+    }
+    
+    /**
+     * Rebuild revealed hint text from the hint cursor
+     * Old snapshots saved the text itself; keep it until hints are available
+     */
+    private void revealHintsUpToCursor() {
+        if (hints == null || revealedHints == null) {
+            return;
+        }
+        int count = Math.min(hintCursor, hints.size());
+        if (count == 0 && !revealedHints.isEmpty()) {
+            return;
+        }
+        revealedHints.clear();
+        for (int i = 0; i < count; i++) {
+            revealedHints.add(hints.get(i).getHintText());
         }
     }
 }
@@ -0,0 +1,125 @@
+package com.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test cases for AnagramIndex
+ */
+public class AnagramIndexTest {
+
+    private final AnagramIndex index = AnagramIndex.fromWords(
+        Arrays.asList("scare", "cares", "races", "acres", "bat", "tab", "ghost", "Scare", "it's"));
+
+    @Test
+    public void testDuplicateWordsCountedOnce() {
+        assertEquals(7, index.size());
+    }
+
+    @Test
+    public void testWordsGroupedBySignature() {
+        assertEquals(3, index.getSignatureCount());
+    }
+
+    @Test
+    public void testContainsIgnoresCase() {
+        assertTrue(index.contains("GHOST"));
+    }
+
+    @Test
+    public void testContainsRejectsUnlistedWord() {
+        assertFalse(index.contains("hosts"));
+    }
+
+    @Test
+    public void testWordsWithPunctuationSkipped() {
+        assertFalse(index.contains("it's"));
+    }
+
+    @Test
+    public void testIsAnagramAcceptsOtherListedWord() {
+        assertTrue(index.isAnagram("ARSCE", "RACES"));
+    }
+
+    @Test
+    public void testIsAnagramRejectsDifferentLetters() {
+        assertFalse(index.isAnagram("ARSCE", "GHOST"));
+    }
+
+    @Test
+    public void testIsAnagramRejectsUnlistedArrangement() {
+        assertFalse(index.isAnagram("ARSCE", "SACRE"));
+    }
+
+    @Test
+    public void testAnagramsOfReturnsBucket() {
+        List<String> words = index.anagramsOf("tba");
+        assertEquals(Arrays.asList("BAT", "TAB"), words);
+    }
+
+    @Test
+    public void testAnagramsOfUnknownLettersIsEmpty() {
+        assertTrue(index.anagramsOf("xyz").isEmpty());
+    }
+
+    @Test
+    public void testSameLettersIgnoresOrderAndCase() {
+        assertTrue(AnagramIndex.sameLetters("Listen", "SILENT"));
+    }
+
+    @Test
+    public void testSameLettersCountsRepeats() {
+        assertFalse(AnagramIndex.sameLetters("AAB", "ABB"));
+    }
+
+    @Test
+    public void testGeneratedPuzzleScramblesAnswer() {
+        Map<String, Object> data = index.generatePuzzle(5, 5, 3);
+        assertTrue(AnagramIndex.sameLetters((String) data.get("prompt"), (String) data.get("answer")));
+    }
+
+    @Test
+    public void testGeneratedPromptIsNotAWord() {
+        Map<String, Object> data = index.generatePuzzle(5, 5, 3);
+        assertFalse(index.contains((String) data.get("prompt")));
+    }
+
+    @Test
+    public void testGeneratedPuzzleHonoursLength() {
+        Map<String, Object> data = index.generatePuzzle(3, 3, 11);
+        assertEquals(3, ((String) data.get("answer")).length());
+    }
+
+    @Test
+    public void testGeneratedPuzzleIsRepeatableBySeed() {
+        assertEquals(index.generatePuzzle(3, 5, 42), index.generatePuzzle(3, 5, 42));
+    }
+
+    @Test
+    public void testGeneratePuzzleWithNoFittingWordReturnsNull() {
+        assertNull(index.generatePuzzle(8, 10, 1));
+    }
+
+    @Test
+    public void testDefaultIndexLoadsCmuDictionary() {
+        assertTrue(AnagramIndex.getDefault().size() > 100000);
+    }
+
+    @Test
+    public void testDefaultIndexKnowsCatalogAnswers() {
+        assertTrue(AnagramIndex.getDefault().isAnagram("PREIVAM", "VAMPIRE"));
+    }
+
+    @Test
+    public void testDefaultIndexFindsSeveralAnagrams() {
+        assertNotEquals(1, AnagramIndex.getDefault().anagramsOf("SCARE").size());
+    }
+}
@@ -0,0 +1,34 @@
+package com.model;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Test cases for CertificateSummary
+ */
+public class CertificateSummaryTest {
+
+    @Test
+    public void testOfCountsDifficulty() {
+        Certificate cert = new Certificate("c1", "u1", "p1", "Done", "medium", 120);
+        assertEquals(new CertificateSummary(0, 1, 0, 1, 120), CertificateSummary.of(cert));
+    }
+
+    @Test
+    public void testOfUnknownDifficultyCountedInTotal() {
+        Certificate cert = new Certificate("c1", "u1", "p1", "Done", null, 120);
+        assertEquals(1, CertificateSummary.of(cert).count());
+    }
+
+    @Test
+    public void testPlusAddsFields() {
+        CertificateSummary a = new CertificateSummary(1, 0, 0, 1, 100);
+        CertificateSummary b = new CertificateSummary(0, 0, 1, 1, 50);
+        assertEquals(new CertificateSummary(1, 0, 1, 2, 150), a.plus(b));
+    }
+
+    @Test
+    public void testToStatsHasAllDifficulties() {
+        assertEquals(3, CertificateSummary.EMPTY.toStats().size());
+    }
+}
@@ -0,0 +1,64 @@
+package com.model;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import org.junit.Test;
+
+/**
+ * Test cases for CipherGenerator
+ */
+public class CipherGeneratorTest {
+
+    @Test
+    public void testGeneratedPromptDecryptsToAnswer() {
+        Map<String, Object> data = CipherGenerator.generate("the ghost is in the attic", Cipher.Type.VIGENERE, 4, 9);
+        Cipher cipher = Cipher.vigenere((String) data.get("key"));
+        assertEquals(data.get("answer"), cipher.decrypt((String) data.get("prompt")));
+    }
+
+    @Test
+    public void testGeneratedAnswerIsUpperCase() {
+        Map<String, Object> data = CipherGenerator.generate("the ghost", Cipher.Type.ATBASH, 0, 1);
+        assertEquals("THE GHOST", data.get("answer"));
+    }
+
+    @Test
+    public void testGeneratedPromptDiffersFromAnswer() {
+        Map<String, Object> data = CipherGenerator.generate("the ghost", Cipher.Type.CAESAR, 0, 1);
+        assertNotEquals(data.get("answer"), data.get("prompt"));
+    }
+
+    @Test
+    public void testBatchHasRequestedSize() {
+        assertEquals(500, CipherGenerator.generateBatch(CipherGenerator.DEFAULT_PHRASES, "HARD", 500, 0).size());
+    }
+
+    @Test
+    public void testBatchUsesCipherForDifficulty() {
+        List<Puzzle> puzzles = CipherGenerator.generateBatch(CipherGenerator.DEFAULT_PHRASES, "MEDIUM", 20, 0);
+        for (Puzzle puzzle : puzzles) {
+            assertEquals("VIGENERE", puzzle.getData().get("cipher"));
+        }
+    }
+
+    @Test
+    public void testBatchPuzzleCanBeRebuiltFromItsSeed() {
+        Puzzle tenth = CipherGenerator.generateBatch(CipherGenerator.DEFAULT_PHRASES, "EASY", 10, 100).get(9);
+        Puzzle alone = CipherGenerator.generateBatch(CipherGenerator.DEFAULT_PHRASES, "EASY", 1, 109).get(0);
+        assertEquals(tenth.getData(), alone.getData());
+    }
+
+    @Test
+    public void testBatchIdsIncludeDifficultyAndSeed() {
+        Puzzle puzzle = CipherGenerator.generateBatch(CipherGenerator.DEFAULT_PHRASES, "hard", 1, 42).get(0);
+        assertEquals("cipher_gen_hard_42", puzzle.getPuzzleId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchRejectsUnknownDifficulty() {
+        CipherGenerator.generateBatch(CipherGenerator.DEFAULT_PHRASES, "EXTREME", 1, 0);
+    }
+}
@@ -0,0 +1,78 @@
+package com.model;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test cases for CipherSolver
+ */
+public class CipherSolverTest {
+
+    private static final String PHRASE = "THE KEY IS UNDER THE STAIRS";
+
+    @Test
+    public void testSolvesCaesarShift() {
+        String cipherText = Cipher.caesar(11).encrypt(PHRASE);
+        assertEquals("11", CipherSolver.solve(cipherText, Cipher.Type.CAESAR).getCipher().getKey());
+    }
+
+    @Test
+    public void testSolvedCaesarReadsAsPlainText() {
+        String cipherText = Cipher.caesar(20).encrypt(PHRASE);
+        assertEquals(PHRASE, CipherSolver.solve(cipherText, Cipher.Type.CAESAR).getPlainText());
+    }
+
+    @Test
+    public void testDetectsAtbash() {
+        String cipherText = Cipher.atbash().encrypt(PHRASE);
+        assertEquals(Cipher.Type.ATBASH, CipherSolver.solve(cipherText).getCipher().getType());
+    }
+
+    @Test
+    public void testSolvesVigenereOnLongText() {
+        String text = "THE OLD MANSION ON THE HILL HAS STOOD EMPTY FOR A HUNDRED YEARS AND THE "
+            + "PEOPLE OF THE TOWN SAY THAT ON COLD NIGHTS A LIGHT MOVES FROM ROOM TO ROOM";
+        String cipherText = Cipher.vigenere("GHOST").encrypt(text);
+        assertEquals("GHOST", CipherSolver.solve(cipherText, Cipher.Type.VIGENERE).getCipher().getKey());
+    }
+
+    @Test
+    public void testHintsAreGradedByPriority() {
+        List<Hint> hints = CipherSolver.hints("c1", Cipher.caesar(3).encrypt(PHRASE), Cipher.Type.CAESAR, null);
+        assertEquals(3, hints.get(2).getHintPriority());
+    }
+
+    @Test
+    public void testCaesarHintNamesMostLikelyShift() {
+        List<Hint> hints = CipherSolver.hints("c1", Cipher.caesar(3).encrypt(PHRASE), Cipher.Type.CAESAR, null);
+        assertTrue(hints.get(1).getHintText().startsWith("Most likely shift: 3"));
+    }
+
+    @Test
+    public void testVigenereHintUsesAnswerForExactKeyword() {
+        String cipherText = Cipher.vigenere("OWL").encrypt(PHRASE);
+        List<Hint> hints = CipherSolver.hints("c1", cipherText, Cipher.Type.VIGENERE, PHRASE);
+        assertTrue(hints.get(2).getHintText().startsWith("Keyword: OWL"));
+    }
+
+    @Test
+    public void testSubstitutionHintUsesAnswerForExactLetters() {
+        String cipherText = Cipher.substitution("QWERTYUIOPASDFGHJKLZXCVBNM").encrypt(PHRASE);
+        List<Hint> hints = CipherSolver.hints("c1", cipherText, Cipher.Type.SUBSTITUTION, PHRASE);
+        // E is the most common plain letter and maps to T
+        assertEquals("Decoding of the most common letter: T stands for E", hints.get(1).getHintText());
+    }
+
+    @Test
+    public void testSolvesGeneratedEasyBatch() {
+        for (Puzzle puzzle : CipherGenerator.generateBatch(CipherGenerator.DEFAULT_PHRASES, "EASY", 1000, 3)) {
+            Map<String, Object> data = puzzle.getData();
+            Cipher.Type type = Cipher.Type.valueOf((String) data.get("cipher"));
+            assertEquals(data.get("answer"), CipherSolver.solve((String) data.get("prompt"), type).getPlainText());
+        }
+    }
+}
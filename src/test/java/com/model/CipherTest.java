@@ -0,0 +1,75 @@
+package com.model;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import org.junit.Test;
+
+/**
+ * Test cases for Cipher
+ */
+public class CipherTest {
+
+    @Test
+    public void testCaesarShiftsForward() {
+        assertEquals("KHOOR", Cipher.caesar(3).encrypt("hello"));
+    }
+
+    @Test
+    public void testCaesarWrapsNegativeShift() {
+        assertEquals("23", Cipher.caesar(-3).getKey());
+    }
+
+    @Test
+    public void testCaesarKeepsSpacesAndPunctuation() {
+        assertEquals("GUR TUBFG, VF URER!", Cipher.caesar(13).encrypt("The ghost, is here!"));
+    }
+
+    @Test
+    public void testAtbashMirrorsAlphabet() {
+        assertEquals("ZBCY", Cipher.atbash().encrypt("AYXB"));
+    }
+
+    @Test
+    public void testVigenereUsesKeywordPerLetter() {
+        assertEquals("LXFOPVEFRNHR", Cipher.vigenere("LEMON").encrypt("ATTACKATDAWN"));
+    }
+
+    @Test
+    public void testVigenereSkipsSpacesInKeyword() {
+        assertEquals("LXF OPV", Cipher.vigenere("LEMON").encrypt("ATT ACK"));
+    }
+
+    @Test
+    public void testSubstitutionUsesAlphabet() {
+        assertEquals("QWE", Cipher.substitution("QWERTYUIOPASDFGHJKLZXCVBNM").encrypt("ABC"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSubstitutionRejectsRepeatedLetter() {
+        Cipher.substitution("AACDEFGHIJKLMNOPQRSTUVWXYZ");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testVigenereRejectsEmptyKeyword() {
+        Cipher.vigenere("");
+    }
+
+    @Test
+    public void testRandomCiphersDecryptTheirOwnText() {
+        Random random = new Random(7);
+        for (Cipher.Type type : Cipher.Type.values()) {
+            Cipher cipher = Cipher.random(type, 4, random);
+            assertEquals("BEWARE THE OLD MANSION", cipher.decrypt(cipher.encrypt("BEWARE THE OLD MANSION")));
+        }
+    }
+
+    @Test
+    public void testRandomCaesarNeverShiftsByZero() {
+        Random random = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            assertNotEquals("0", Cipher.random(Cipher.Type.CAESAR, 0, random).getKey());
+        }
+    }
+}
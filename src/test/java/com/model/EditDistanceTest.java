@@ -0,0 +1,109 @@
+package com.model;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Test cases for EditDistance
+ */
+public class EditDistanceTest {
+
+    @Test
+    public void testEqualStringsHaveDistanceZero() {
+        assertEquals(0, EditDistance.distance("PHANTOM", "PHANTOM"));
+    }
+
+    @Test
+    public void testSubstitutionCountsOne() {
+        assertEquals(1, EditDistance.distance("GHOST", "GHOSY"));
+    }
+
+    @Test
+    public void testInsertionCountsOne() {
+        assertEquals(1, EditDistance.distance("GHOST", "GHOSTS"));
+    }
+
+    @Test
+    public void testDeletionCountsOne() {
+        assertEquals(1, EditDistance.distance("GHOST", "GOST"));
+    }
+
+    @Test
+    public void testAdjacentSwapCountsOne() {
+        assertEquals(1, EditDistance.distance("GHOST", "GHSOT"));
+    }
+
+    @Test
+    public void testEmptyPatternCountsTextLength() {
+        assertEquals(4, EditDistance.distance("", "ABCD"));
+    }
+
+    @Test
+    public void testBoundedDistanceStopsPastMax() {
+        assertEquals(3, new EditDistance("NECROMANCER").distance("SORCERY", 2));
+    }
+
+    @Test
+    public void testLongPatternUsesSameRules() {
+        String answer = "THE EXIT IS BEHIND THE FIREPLACE IN THE GREAT HALL OF THE OLD MANSION";
+        String guess = "THE EXIT IS BEHNID THE FIREPLACE IN THE GREAT HALL OF THE OLD MANSOIN";
+        assertEquals(2, EditDistance.distance(answer, guess));
+    }
+
+    @Test
+    public void testNonAsciiCharacters() {
+        assertEquals(1, EditDistance.distance("CAFÉ", "CAFE"));
+    }
+
+    @Test
+    public void testMatchesReferenceOnRandomStrings() {
+        Random random = new Random(5);
+        for (int t = 0; t < 2000; t++) {
+            String a = randomString(random, 1 + random.nextInt(t % 2 == 0 ? 12 : 80));
+            String b = randomString(random, random.nextInt(14));
+            int max = random.nextInt(6);
+            int expected = Math.min(reference(a, b), max + 1);
+            assertEquals(a + " / " + b, expected, new EditDistance(a).distance(b, max));
+        }
+    }
+
+    @Test
+    public void testSixtyFourCharacterPattern() {
+        String pattern = "ABCDEFGHIJKLMNOPQRSTUVWXYZABCDEFGHIJKLMNOPQRSTUVWXYZABCDEFGHIJKL";
+        String text = "ABCDEFGHIJKLMNOPQRSTUVWXYZABCDEFGHIJKLMNOPQRSTUVWXYZABCDEFGHIJLK";
+        assertEquals(1, EditDistance.distance(pattern, text));
+    }
+
+    private static String randomString(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('A' + random.nextInt(4));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Plain optimal string alignment distance
+     */
+    private static int reference(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,52 @@
+package com.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Test cases for GameCommand
+ */
+public class GameCommandTest {
+
+    @Test
+    public void testMovesAreShared() {
+        assertSame(GameCommand.move(Direction.UP), GameCommand.move(Direction.UP));
+    }
+
+    @Test
+    public void testSmallFlipsAreShared() {
+        assertSame(GameCommand.flip(3, 5), GameCommand.flip(3, 5));
+    }
+
+    @Test
+    public void testLargeFlipsAreBuilt() {
+        assertNotSame(GameCommand.flip(40, 1), GameCommand.flip(40, 1));
+    }
+
+    @Test
+    public void testLargeFlipsAreEqualByValue() {
+        assertEquals(GameCommand.flip(40, 1), GameCommand.flip(40, 1));
+    }
+
+    @Test
+    public void testGuessIsNormalized() {
+        assertEquals("THE GHOST", ((GameCommand.Guess) GameCommand.guess("  the \t ghost ")).text());
+    }
+
+    @Test
+    public void testMazeParsesHint() {
+        assertSame(GameCommand.hint(), MazeGame.parseCommand("hint"));
+    }
+
+    @Test
+    public void testMatchingParsesFlip() {
+        assertEquals(GameCommand.flip(2, 11), MatchingGame.parseCommand(" 2  11 "));
+    }
+
+    @Test
+    public void testWordPuzzleParsesGuess() {
+        assertEquals(GameCommand.guess("GHOST"), WordPuzzleGame.parseCommand("ghost"));
+    }
+}
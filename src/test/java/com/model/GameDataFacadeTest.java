@@ -3,6 +3,7 @@ package com.model;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -619,4 +620,176 @@ public class GameDataFacadeTest {
         
         assertEquals(1, leaderboard.size());
     }
+    
+    // ===== CATALOG RELOAD TESTS =====
+    
+    @Test
+    public void testReloadCatalogPicksUpNewPuzzle() throws IOException {
+        String updated = "{\"puzzles\":[" +
+            "{\"puzzleId\":\"puzzle3\",\"title\":\"New\",\"difficulty\":\"EASY\",\"puzzleType\":\"RIDDLE\"}" +
+            "],\"hints\":[]}";
+        Files.write(testGameDataFile.toPath(), updated.getBytes());
+        
+        facade.reloadCatalog();
+        
+        assertTrue(facade.getPuzzle("puzzle3").isPresent());
+    }
+    
+    @Test
+    public void testReloadCatalogKeepsUserData() throws IOException {
+        User user = new User("tst30", "password", "Test", "User", "test30@example.com");
+        facade.addUser(user);
+        String updated = "{\"puzzles\":[" +
+            "{\"puzzleId\":\"puzzle3\",\"title\":\"New\",\"difficulty\":\"EASY\",\"puzzleType\":\"RIDDLE\"}" +
+            "],\"userProgress\":[]}";
+        Files.write(testGameDataFile.toPath(), updated.getBytes());
+        
+        facade.reloadCatalog();
+        
+        assertTrue(facade.getUser("tst30").isPresent());
+    }
+    
+    @Test
+    public void testReloadCatalogKeepsUserProgress() throws IOException {
+        facade.addUser(new User("tst31", "password", "Test", "User", "test31@example.com"));
+        facade.completePuzzle("tst31", "puzzle1", 100);
+        writeEditedCatalog();
+        
+        facade.reloadCatalog();
+        
+        assertTrue(facade.getUserProgress("tst31").isPuzzleCompleted("puzzle1"));
+    }
+    
+    @Test
+    public void testReloadCatalogKeepsLeaderboard() throws IOException {
+        facade.addUser(new User("tst32", "password", "Test", "User", "test32@example.com"));
+        facade.completePuzzle("tst32", "puzzle1", 100);
+        writeEditedCatalog();
+        
+        facade.reloadCatalog();
+        
+        assertEquals(1, facade.getLeaderboard(10).size());
+    }
+    
+    @Test
+    public void testSaveBeforeReloadKeepsCatalogEdit() throws IOException {
+        writeEditedCatalog();
+        
+        // Save lands before the watcher has reloaded the edit
+        facade.addUser(new User("tst33", "password", "Test", "User", "test33@example.com"));
+        
+        assertTrue(facade.getPuzzle("puzzle3").isPresent());
+    }
+    
+    @Test
+    public void testSaveBeforeReloadWritesCatalogEdit() throws IOException {
+        writeEditedCatalog();
+        
+        facade.addUser(new User("tst34", "password", "Test", "User", "test34@example.com"));
+        
+        GameData saved = new GameDataLoader(testUserFile.getPath(), testGameDataFile.getPath()).readGameData();
+        assertTrue(saved.getPuzzles().stream().anyMatch(p -> "puzzle3".equals(p.getPuzzleId())));
+    }
+    
+    // ===== SCORE RECOMPUTE TESTS =====
+    
+    @Test
+    public void testRecomputeScoresReordersLeaderboard() {
+        facade.addUser(new User("tst40", "password", "Fast", "Maze", "test40@example.com"));
+        facade.addUser(new User("tst41", "password", "Slow", "Maze", "test41@example.com"));
+        facade.completePuzzle("tst40", "puzzle1", 100, new GameResult(true, 0L, 5, 5, 0, null));
+        facade.completePuzzle("tst41", "puzzle1", 200, new GameResult(true, 50000L, 5, 5, 0, null));
+        
+        facade.recomputeScores(new ScoringEngine(ScoringRule.DEFAULT));
+        
+        assertEquals("tst40", facade.getLeaderboard(1).get(0).getUserId());
+    }
+    
+    @Test
+    public void testRecomputeScoresUpdatesLeaderboardScore() {
+        facade.addUser(new User("tst42", "password", "Test", "User", "test42@example.com"));
+        facade.completePuzzle("tst42", "puzzle1", 100, new GameResult(true, 0L, 5, 5, 0, null));
+        
+        facade.recomputeScores(new ScoringEngine(ScoringRule.DEFAULT));
+        
+        assertEquals(250, facade.getLeaderboard(1).get(0).getTotalScore());
+    }
+    
+    @Test
+    public void testStoredResultSurvivesReload() throws IOException {
+        GameResult result = new GameResult(true, 1500L, 5, 5, 1, null);
+        facade.addUser(new User("tst43", "password", "Test", "User", "test43@example.com"));
+        facade.completePuzzle("tst43", "puzzle1", 100, result);
+        
+        GameDataFacade reloaded = new GameDataFacade(
+            new GameDataLoader(testUserFile.getAbsolutePath(), testGameDataFile.getAbsolutePath()),
+            new GameDataWriter(testUserFile.getAbsolutePath(), testGameDataFile.getAbsolutePath()));
+        
+        assertEquals(result, reloaded.getUserProgress("tst43").getPuzzleResults().get("puzzle1"));
+    }
+    
+    @Test
+    public void testChangedScoringRulesSurviveReload() {
+        ScoringRule rule = new ScoringRule(500, 0, 1, 0, 0, 0, 0);
+        facade.recomputeScores(ScoringEngine.standard().withRule("MAZE", "EASY", rule));
+        
+        GameDataFacade reloaded = new GameDataFacade(
+            new GameDataLoader(testUserFile.getAbsolutePath(), testGameDataFile.getAbsolutePath()),
+            new GameDataWriter(testUserFile.getAbsolutePath(), testGameDataFile.getAbsolutePath()));
+        
+        assertEquals(rule, reloaded.getScoringEngine().ruleFor("MAZE", "EASY"));
+    }
+    
+    @Test
+    public void testScoringEngineDefaultsToStandard() {
+        assertEquals(ScoringEngine.standard().toRules(), facade.getScoringEngine().toRules());
+    }
+    
+    // ===== INTEGRITY REBUILD TESTS =====
+    
+    @Test
+    public void testRebuildIntegrityFixesTotalScore() {
+        facade.addUser(new User("tst50", "password", "Test", "User", "test50@example.com"));
+        facade.completePuzzle("tst50", "puzzle1", 100);
+        facade.getUserProgress("tst50").setTotalScore(7);
+        
+        facade.rebuildIntegrity();
+        
+        assertEquals(100, facade.getLeaderboard(1).get(0).getTotalScore());
+    }
+    
+    @Test
+    public void testRebuildIntegrityPicksUpRename() {
+        User user = new User("tst51", "password", "Old", "Name", "test51@example.com");
+        facade.addUser(user);
+        facade.completePuzzle("tst51", "puzzle1", 100);
+        user.setFirstName("New");
+        
+        facade.rebuildIntegrity();
+        
+        assertEquals("New Name", facade.getLeaderboard(1).get(0).getUserName());
+    }
+    
+    @Test
+    public void testCertificateStatsFollowAddedCertificates() {
+        facade.getCertificateStats("tst52");
+        facade.addCertificate(new Certificate("cert52", "tst52", "puzzle1", "Test Puzzle", "HARD", 100));
+        
+        Map<String, Integer> stats = facade.getCertificateStats("tst52");
+        
+        assertEquals(Integer.valueOf(1), stats.get("HARD"));
+    }
+    
+    /**
+     * Replace the catalog on disk as an external edit would, with a
+     * modification time that cannot collide with our last save
+     */
+    private void writeEditedCatalog() throws IOException {
+        String updated = "{\"puzzles\":[" +
+            "{\"puzzleId\":\"puzzle3\",\"title\":\"New\",\"difficulty\":\"EASY\",\"puzzleType\":\"RIDDLE\"}" +
+            "],\"hints\":[]}";
+        Files.write(testGameDataFile.toPath(), updated.getBytes());
+        Files.setLastModifiedTime(testGameDataFile.toPath(),
+            FileTime.fromMillis(System.currentTimeMillis() + 5000));
+    }
 }
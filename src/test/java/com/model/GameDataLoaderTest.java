@@ -211,4 +211,29 @@ public class GameDataLoaderTest {
         
         assertNotNull(gameData.getPuzzles());
     }
+    
+    @Test
+    public void testReadGameDataLoadsWholeNumbersAsLong() throws IOException {
+        String gameDataJson = "{" +
+            "\"puzzles\":[{\"puzzleId\":\"p1\",\"puzzleType\":\"MAZE\",\"data\":{\"width\":5.0}}]" +
+            "}";
+        Files.write(testGameDataFile.toPath(), gameDataJson.getBytes());
+        
+        GameData gameData = loader.readGameData();
+        
+        assertEquals(5L, gameData.getPuzzles().get(0).getData().get("width"));
+    }
+    
+    @Test
+    public void testReadGameDataSectionsSkipsOtherSections() throws IOException {
+        String gameDataJson = "{" +
+            "\"puzzles\":[{\"puzzleId\":\"p1\",\"puzzleType\":\"MAZE\"}]," +
+            "\"userProgress\":[{\"userId\":\"u1\"}]" +
+            "}";
+        Files.write(testGameDataFile.toPath(), gameDataJson.getBytes());
+        
+        GameData gameData = loader.readGameDataSections(GameDataLoader.PROGRESS_SECTIONS);
+        
+        assertTrue(gameData.getPuzzles().isEmpty() && gameData.getUserProgress().size() == 1);
+    }
 }
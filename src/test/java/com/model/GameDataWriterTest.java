@@ -7,6 +7,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Rule;
@@ -181,5 +183,44 @@ public class GameDataWriterTest {
         
         assertTrue(content.contains("Hint 1") && content.contains("Hint 2"));
     }
+    
+    @Test
+    public void testCompactFormatHasNoIndentation() throws IOException {
+        GameDataWriter compactWriter = new GameDataWriter(
+            testUserFile.getAbsolutePath(), testGameDataFile.getAbsolutePath(), DataFormat.COMPACT);
+        GameData gameData = new GameData();
+        gameData.getHints().add(new Hint("Hint 1", "p1", 1));
+        
+        compactWriter.writeGameData(gameData);
+        String content = new String(Files.readAllBytes(testGameDataFile.toPath()));
+        
+        assertFalse(content.contains("\n"));
+    }
+    
+    @Test
+    public void testPrettyFormatIsIndented() throws IOException {
+        GameDataWriter prettyWriter = new GameDataWriter(
+            testUserFile.getAbsolutePath(), testGameDataFile.getAbsolutePath(), DataFormat.PRETTY);
+        
+        prettyWriter.writeGameData(new GameData());
+        String content = new String(Files.readAllBytes(testGameDataFile.toPath()));
+        
+        assertTrue(content.contains("\n  "));
+    }
+    
+    @Test
+    public void testGzipFormatRoundTripsThroughLoader() throws IOException {
+        GameDataWriter gzipWriter = new GameDataWriter(
+            testUserFile.getAbsolutePath(), testGameDataFile.getAbsolutePath(), DataFormat.GZIP);
+        GameData gameData = new GameData();
+        gameData.getHints().add(new Hint("Hint 1", "p1", 1));
+        
+        gzipWriter.writeGameData(gameData);
+        byte[] bytes = Files.readAllBytes(testGameDataFile.toPath());
+        GameDataLoader loader = new GameDataLoader(
+            testUserFile.getAbsolutePath(), testGameDataFile.getAbsolutePath());
+        
+        assertEquals((byte) 0x1f, bytes[0]);
+        assertEquals("Hint 1", loader.readGameData().getHints().get(0).getHintText());
+    }
 }
-
@@ -0,0 +1,120 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for GameEventBus
+ */
+public class GameEventBusTest {
+
+    private GameEventBus bus;
+    private List<GameEvent.Type> received;
+
+    @Before
+    public void setUp() {
+        bus = new GameEventBus(4);
+        received = new ArrayList<>();
+    }
+
+    @Test
+    public void testCapacityRoundedUpToPowerOfTwo() {
+        assertEquals(8, new GameEventBus(5).getCapacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroCapacityRejected() {
+        new GameEventBus(0);
+    }
+
+    @Test
+    public void testListenerReceivesEvent() {
+        bus.addListener(event -> received.add(event.getType()));
+        bus.playerMoved(1, 1, 1, 2, 0);
+        assertEquals(GameEvent.Type.PLAYER_MOVED, received.get(0));
+    }
+
+    @Test
+    public void testEventCarriesCells() {
+        bus.cardsRevealed(0, 1, 2, 3);
+        assertEquals(3, bus.get(0).getOtherCol());
+    }
+
+    @Test
+    public void testSequenceCountsEvents() {
+        bus.gameReset();
+        bus.gameReset();
+        assertEquals(2, bus.getSequence());
+    }
+
+    @Test
+    public void testRingReusesEvents() {
+        bus.gameReset();
+        GameEvent first = bus.get(0);
+        for (int i = 0; i < 4; i++) {
+            bus.hintRevealed("H" + i, i);
+        }
+        assertSame(first, bus.get(4));
+    }
+
+    @Test
+    public void testOverwrittenEventNotReturned() {
+        for (int i = 0; i < 5; i++) {
+            bus.gameReset();
+        }
+        assertNull(bus.get(0));
+    }
+
+    @Test
+    public void testFutureEventNotReturned() {
+        assertNull(bus.get(0));
+    }
+
+    @Test
+    public void testReplaySinceDeliversKeptEvents() {
+        for (int i = 0; i < 6; i++) {
+            bus.guessRejected("G" + i, -1);
+        }
+        List<String> texts = new ArrayList<>();
+        long next = bus.replaySince(0, event -> texts.add(event.getText()));
+        assertEquals(6, next);
+        assertEquals("G2", texts.get(0));
+        assertEquals(4, texts.size());
+    }
+
+    @Test
+    public void testRemoveListener() {
+        GameEventListener listener = event -> received.add(event.getType());
+        bus.addListener(listener);
+        assertTrue(bus.removeListener(listener));
+        bus.gameReset();
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void testRemoveUnknownListener() {
+        assertFalse(bus.removeListener(event -> {}));
+    }
+
+    @Test
+    public void testListenerCanRemoveItselfDuringDelivery() {
+        bus.addListener(new GameEventListener() {
+            @Override
+            public void onEvent(GameEvent event) {
+                bus.removeListener(this);
+            }
+        });
+        bus.addListener(event -> received.add(event.getType()));
+        bus.gameReset();
+        bus.gameReset();
+        assertEquals(2, received.size());
+    }
+}
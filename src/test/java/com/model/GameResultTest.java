@@ -0,0 +1,69 @@
+package com.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test cases for GameResult and its map conversion
+ */
+public class GameResultTest {
+
+    @Test
+    public void testToMapKeepsLegacyKeys() {
+        Map<String, Object> map = new GameResult(true, 5000L, 12, 10, 1, null).toMap();
+        assertEquals(12, map.get("moves"));
+    }
+
+    @Test
+    public void testToMapLeavesOutUnknownOptimalMoves() {
+        Map<String, Object> map = new GameResult(true, 5000L, 12, 0).toMap();
+        assertFalse(map.containsKey("optimalMoves"));
+    }
+
+    @Test
+    public void testToMapLeavesOutNullAnswer() {
+        Map<String, Object> map = new GameResult(false, 5000L, 3, 0).toMap();
+        assertFalse(map.containsKey("answer"));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        GameResult result = new GameResult(false, 5000L, 3, MazeSolver.UNREACHABLE, 2, "GHOST");
+        assertEquals(result, GameResult.fromMap(result.toMap()));
+    }
+
+    @Test
+    public void testFromMapReadsGsonDoubles() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("won", true);
+        map.put("time", 4000.0);
+        map.put("moves", 7.0);
+        assertEquals(7, GameResult.fromMap(map).moves());
+    }
+
+    @Test
+    public void testFromMapDefaultsMissingOptimalMoves() {
+        assertFalse(GameResult.fromMap(new HashMap<>()).hasOptimalMoves());
+    }
+
+    @Test
+    public void testScoreSameForRecordAndMap() {
+        GameResult result = new GameResult(true, 30000L, 14, 10, 0, null);
+        assertEquals(GameServiceManager.calculateScore(result.toMap()), GameServiceManager.calculateScore(result));
+    }
+
+    @Test
+    public void testScoreUsesExtraMovesOverOptimal() {
+        assertEquals(250, GameServiceManager.calculateScore(new GameResult(true, 0L, 40, 40, 0, null)));
+    }
+
+    @Test
+    public void testHasOptimalMoves() {
+        assertTrue(new GameResult(true, 0L, 1, 1, 0, null).hasOptimalMoves());
+    }
+}
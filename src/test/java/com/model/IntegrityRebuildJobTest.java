@@ -0,0 +1,199 @@
+package com.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for IntegrityRebuildJob
+ */
+public class IntegrityRebuildJobTest {
+
+    private Map<String, User> users;
+    private List<UserProgress> progress;
+    private Map<String, UserProgress> progressByUser;
+    private List<LeaderboardEntry> leaderboard;
+    private List<Certificate> certificates;
+
+    @Before
+    public void setUp() {
+        users = new HashMap<>();
+        progress = new ArrayList<>();
+        progressByUser = new HashMap<>();
+        leaderboard = new ArrayList<>();
+        certificates = new ArrayList<>();
+    }
+
+    private UserProgress addUser(String userId, String firstName, int... scores) {
+        users.put(userId, new User(userId, "password", firstName, "Player", userId + "@example.com"));
+        UserProgress up = new UserProgress(userId);
+        for (int i = 0; i < scores.length; i++) {
+            up.addCompletedPuzzle("puzzle" + i, scores[i]);
+        }
+        progress.add(up);
+        progressByUser.put(userId, up);
+        leaderboard.add(new LeaderboardEntry(userId, firstName + " Player", up.getTotalScore(), up.getCompletedCount()));
+        return up;
+    }
+
+    private IntegrityRebuildJob.Result run() {
+        return IntegrityRebuildJob.run(users, progress, progressByUser, leaderboard, certificates);
+    }
+
+    @Test
+    public void testConsistentDataIsClean() {
+        addUser("u1", "Ann", 100, 200);
+        addUser("u2", "Bob", 150);
+        assertTrue(run().report().isClean());
+    }
+
+    @Test
+    public void testWrongTotalFixed() {
+        UserProgress up = addUser("u1", "Ann", 100, 200);
+        up.setTotalScore(999);
+        run();
+        assertEquals(300, up.getTotalScore());
+    }
+
+    @Test
+    public void testWrongTotalReported() {
+        addUser("u1", "Ann", 100).setTotalScore(5);
+        assertEquals(1, run().report().totalsFixed());
+    }
+
+    @Test
+    public void testDuplicateCompletedPuzzleRemoved() {
+        UserProgress up = addUser("u1", "Ann", 100);
+        up.getCompletedPuzzles().add("puzzle0");
+        run();
+        assertEquals(1, up.getCompletedCount());
+    }
+
+    @Test
+    public void testScoredPuzzleAddedToCompleted() {
+        UserProgress up = addUser("u1", "Ann", 100);
+        up.getPuzzleScores().put("extra", 50);
+        run();
+        assertTrue(up.isPuzzleCompleted("extra"));
+    }
+
+    @Test
+    public void testCompletedPuzzleWithoutScoreGetsZero() {
+        UserProgress up = addUser("u1", "Ann", 100);
+        up.getCompletedPuzzles().add("unscored");
+        run();
+        assertEquals(Integer.valueOf(0), up.getPuzzleScores().get("unscored"));
+    }
+
+    @Test
+    public void testLeaderboardUsesRenamedUser() {
+        addUser("u1", "Ann", 100);
+        users.get("u1").setFirstName("Anna");
+        assertEquals("Anna Player", run().leaderboard().get(0).getUserName());
+    }
+
+    @Test
+    public void testLeaderboardSortedByScore() {
+        addUser("u1", "Ann", 100);
+        addUser("u2", "Bob", 300);
+        addUser("u3", "Cid", 200);
+        List<LeaderboardEntry> rebuilt = run().leaderboard();
+        assertEquals(Arrays.asList("u2", "u3", "u1"),
+            Arrays.asList(rebuilt.get(0).getUserId(), rebuilt.get(1).getUserId(), rebuilt.get(2).getUserId()));
+    }
+
+    @Test
+    public void testLeaderboardKeepsDateForTieBreak() {
+        addUser("u1", "Ann", 100);
+        LocalDateTime date = LocalDateTime.of(2024, 1, 1, 12, 0);
+        leaderboard.get(0).setLastUpdated(date);
+        assertEquals(date, run().leaderboard().get(0).getLastUpdated());
+    }
+
+    @Test
+    public void testStaleLeaderboardRowDropped() {
+        addUser("u1", "Ann", 100);
+        leaderboard.add(new LeaderboardEntry("gone", "Gone Player", 500, 3));
+        IntegrityRebuildJob.Result result = run();
+        assertEquals(1, result.leaderboard().size());
+    }
+
+    @Test
+    public void testStaleLeaderboardRowReported() {
+        addUser("u1", "Ann", 100);
+        leaderboard.add(new LeaderboardEntry("gone", "Gone Player", 500, 3));
+        assertEquals(1, run().report().leaderboardChanged());
+    }
+
+    @Test
+    public void testOrphanProgressNotRanked() {
+        addUser("u1", "Ann", 100);
+        users.remove("u1");
+        assertEquals(1, run().report().orphanProgress());
+    }
+
+    @Test
+    public void testDuplicateProgressIgnored() {
+        addUser("u1", "Ann", 100);
+        UserProgress copy = new UserProgress("u1");
+        copy.addCompletedPuzzle("puzzle9", 900);
+        progress.add(copy);
+        assertEquals(100, run().leaderboard().get(0).getTotalScore());
+    }
+
+    @Test
+    public void testCertificatesSummedPerUser() {
+        addUser("u1", "Ann", 100, 200);
+        certificates.add(new Certificate("c1", "u1", "puzzle0", "Done", "EASY", 100));
+        certificates.add(new Certificate("c2", "u1", "puzzle1", "Done", "HARD", 200));
+        assertEquals(new CertificateSummary(1, 0, 1, 2, 300), run().certificates().get("u1"));
+    }
+
+    @Test
+    public void testCertificateOfUnknownUserReported() {
+        addUser("u1", "Ann", 100);
+        certificates.add(new Certificate("c1", "gone", "puzzle0", "Done", "EASY", 100));
+        assertEquals(1, run().report().orphanCertificates());
+    }
+
+    @Test
+    public void testCertificateForUncompletedPuzzleReported() {
+        addUser("u1", "Ann", 100);
+        certificates.add(new Certificate("c1", "u1", "puzzle7", "Done", "EASY", 100));
+        assertEquals(1, run().report().unbackedCertificates());
+    }
+
+    @Test
+    public void testSamplesCapped() {
+        for (int i = 0; i < IntegrityRebuildJob.MAX_SAMPLES * 2; i++) {
+            addUser("u" + i, "User", 100).setTotalScore(1);
+        }
+        assertEquals(IntegrityRebuildJob.MAX_SAMPLES, run().report().samples().size());
+    }
+
+    @Test
+    public void testEveryUserRankedAcrossPartitions() {
+        for (int i = 0; i < IntegrityRebuildJob.PARTITION_SIZE * 3 + 7; i++) {
+            addUser("u" + i, "User", i % 500);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        IntegrityRebuildJob.Result result;
+        try {
+            result = IntegrityRebuildJob.run(users, progress, progressByUser, leaderboard,
+                Collections.emptyList(), pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(progress.size(), result.leaderboard().size());
+    }
+}
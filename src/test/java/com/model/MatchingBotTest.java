@@ -0,0 +1,77 @@
+package com.model;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test cases for MatchingBot
+ */
+public class MatchingBotTest {
+
+    private static MatchingGame newGame(int pairs, long seed) {
+        return MatchingGame.fromDeck(4, pairs / 2, MatchingGame.shuffledDeck(pairs, seed));
+    }
+
+    @Test
+    public void testPlayToEndFinishesGame() {
+        MatchingGame game = newGame(8, 1);
+        new MatchingBot(MatchingBot.Skill.EASY, 1).playToEnd(game);
+        assertTrue(game.isGameOver());
+    }
+
+    @Test
+    public void testRecordedMovesReplayToCompletion() {
+        List<String> moves = new MatchingBot(MatchingBot.Skill.MEDIUM, 2).playToEnd(newGame(8, 2));
+        MatchingGame replay = newGame(8, 2);
+        for (String move : moves) {
+            if (replay.isShowingPair()) {
+                replay.clearSelection();
+            }
+            replay.processInput(move);
+        }
+        assertTrue(replay.isGameOver());
+    }
+
+    @Test
+    public void testHardBotMatchesPerfectMemoryExpectation() {
+        double average = MatchingBot.averageMoves(MatchingBot.Skill.HARD, 8, 3000, 5);
+        assertEquals(MatchingSolver.expectedPerfectMemoryMoves(8), average, 0.3);
+    }
+
+    @Test
+    public void testEasyBotNeedsMoreMovesThanHard() {
+        double easy = MatchingBot.averageMoves(MatchingBot.Skill.EASY, 18, 300, 7);
+        double hard = MatchingBot.averageMoves(MatchingBot.Skill.HARD, 18, 300, 7);
+        assertTrue(easy > hard);
+    }
+
+    @Test
+    public void testHeadToHeadFindsEveryPair() {
+        MatchingGame game = newGame(12, 3);
+        int[] pairs = MatchingBot.playHeadToHead(game,
+            new MatchingBot(MatchingBot.Skill.HARD, 3), new MatchingBot(MatchingBot.Skill.EASY, 4));
+        assertEquals(12, pairs[0] + pairs[1]);
+    }
+
+    @Test
+    public void testObserveLetsBotMatchOpponentCard() {
+        MatchingGame game = MatchingGame.fromDeck(1, 4, new int[] {0, 1, 1, 0});
+        MatchingBot bot = new MatchingBot(MatchingBot.Skill.HARD, 6);
+        game.flip(0, 0);
+        game.flip(0, 1);
+        bot.observe(game, 0, 0);
+        bot.observe(game, 0, 1);
+        game.clearSelection();
+        bot.takeTurn(game, null);
+        bot.takeTurn(game, null);
+        assertTrue(game.isGameOver());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testForgetChanceAboveOneThrows() {
+        new MatchingBot(4, 1.5, 0);
+    }
+}
@@ -1,11 +1,14 @@
 package com.model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import org.junit.After;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -534,12 +537,21 @@ public class MatchingGameTest {
     }
     
     @Test
-    public void testSaveStateContainsBoard() {
+    public void testSaveStateOmitsBoard() {
         game.initialize(puzzleData);
         
         Map<String, Object> savedState = game.saveState();
         
-        assertTrue(savedState.containsKey("board"));
+        assertFalse(savedState.containsKey("board"));
+    }
+    
+    @Test
+    public void testSaveStateContainsSeed() {
+        game.initialize(puzzleData);
+        
+        Map<String, Object> savedState = game.saveState();
+        
+        assertTrue(savedState.containsKey("seed"));
     }
     
     @Test
@@ -582,6 +594,7 @@ public class MatchingGameTest {
         Map<String, Object> savedState = normalizePositionsInSavedState(game.saveState());
         
         MatchingGame newGame = new MatchingGame();
+        newGame.initialize(puzzleData);
         newGame.restoreState(savedState);
         
         Map<String, Object> state = newGame.getGameState();
@@ -594,6 +607,7 @@ public class MatchingGameTest {
         Map<String, Object> savedState = normalizePositionsInSavedState(game.saveState());
         
         MatchingGame newGame = new MatchingGame();
+        newGame.initialize(puzzleData);
         newGame.restoreState(savedState);
         
         Map<String, Object> state = newGame.getGameState();
@@ -606,6 +620,7 @@ public class MatchingGameTest {
         Map<String, Object> savedState = normalizePositionsInSavedState(game.saveState());
         
         MatchingGame newGame = new MatchingGame();
+        newGame.initialize(puzzleData);
         newGame.restoreState(savedState);
         
         assertEquals("MATCHING", newGame.getGameType());
@@ -617,6 +632,7 @@ public class MatchingGameTest {
         Map<String, Object> savedState = normalizePositionsInSavedState(game.saveState());
         
         MatchingGame newGame = new MatchingGame();
+        newGame.initialize(puzzleData);
         newGame.restoreState(savedState);
         
         Map<String, Object> state = newGame.getGameState();
@@ -631,6 +647,7 @@ public class MatchingGameTest {
         Map<String, Object> savedState = normalizePositionsInSavedState(game.saveState());
         
         MatchingGame newGame = new MatchingGame();
+        newGame.initialize(puzzleData);
         newGame.restoreState(savedState);
         
         // Should be able to select second card
@@ -638,6 +655,235 @@ public class MatchingGameTest {
         assertTrue(result);
     }
     
+    @Test
+    public void testRestoreStateRebuildsSameBoard() {
+        game.initialize(puzzleData);
+        String[][] board = (String[][]) game.getGameState().get("board");
+        Map<String, Object> savedState = game.saveState();
+        
+        MatchingGame newGame = new MatchingGame();
+        newGame.initialize(puzzleData);
+        newGame.restoreState(savedState);
+        
+        assertArrayEquals(board, (String[][]) newGame.getGameState().get("board"));
+    }
+    
+    @Test
+    public void testRestoreStateRestoresMatchedCells() {
+        game.initialize(puzzleData);
+        Position[] matchPair = findMatchingPair(findBoardState(game));
+        game.processInput(matchPair[0].getRow() + " " + matchPair[0].getCol());
+        game.processInput(matchPair[1].getRow() + " " + matchPair[1].getCol());
+        game.clearSelection();
+        Map<String, Object> savedState = game.saveState();
+        
+        MatchingGame newGame = new MatchingGame();
+        newGame.initialize(puzzleData);
+        newGame.restoreState(savedState);
+        
+        assertArrayEquals((boolean[][]) game.getGameState().get("matched"),
+            (boolean[][]) newGame.getGameState().get("matched"));
+    }
+    
+    @Test
+    public void testRestoreStateRestoresFirstCard() {
+        game.initialize(puzzleData);
+        game.processInput("1 0");
+        Map<String, Object> savedState = game.saveState();
+        
+        MatchingGame newGame = new MatchingGame();
+        newGame.initialize(puzzleData);
+        newGame.restoreState(savedState);
+        
+        assertEquals(new Position(1, 0), newGame.getGameState().get("firstCard"));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testRestoreStateBeforeInitializeThrows() {
+        game.initialize(puzzleData);
+        Map<String, Object> savedState = game.saveState();
+        
+        new MatchingGame().restoreState(savedState);
+    }
+    
+    @Test
+    public void testRestoreStateFromFullSnapshot() {
+        Map<String, Object> savedState = new HashMap<>();
+        savedState.put("rows", 1);
+        savedState.put("cols", 2);
+        savedState.put("moveCount", 1);
+        savedState.put("startTime", 0L);
+        savedState.put("board", List.of(List.of("A", "A")));
+        savedState.put("matched", List.of(List.of(true, true)));
+        
+        MatchingGame newGame = new MatchingGame();
+        newGame.restoreState(savedState);
+        
+        assertTrue(newGame.isGameOver());
+    }
+    
+    /**
+     * Helper to create an old full snapshot of a 2x2 board with the B pair matched
+     */
+    private Map<String, Object> createFullSnapshot() {
+        Map<String, Object> savedState = new HashMap<>();
+        savedState.put("rows", 2);
+        savedState.put("cols", 2);
+        savedState.put("moveCount", 1);
+        savedState.put("startTime", 0L);
+        savedState.put("board", List.of(List.of("A", "B"), List.of("B", "A")));
+        savedState.put("matched", List.of(List.of(false, true), List.of(true, false)));
+        return savedState;
+    }
+    
+    @Test
+    public void testResaveAfterFullSnapshotKeepsBoard() {
+        game.initialize(createDeckPuzzleData(2, 2, 3));
+        game.restoreState(createFullSnapshot());
+        Map<String, Object> saved = game.saveState();
+        
+        MatchingGame newGame = new MatchingGame();
+        newGame.initialize(createDeckPuzzleData(2, 2, 3));
+        newGame.restoreState(saved);
+        
+        assertArrayEquals(new String[][] {{"A", "B"}, {"B", "A"}},
+            (String[][]) newGame.getGameState().get("board"));
+    }
+    
+    @Test
+    public void testResaveAfterFullSnapshotKeepsMatchedCards() {
+        game.initialize(createDeckPuzzleData(2, 2, 3));
+        game.restoreState(createFullSnapshot());
+        Map<String, Object> saved = game.saveState();
+        
+        MatchingGame newGame = new MatchingGame();
+        newGame.initialize(createDeckPuzzleData(2, 2, 3));
+        newGame.restoreState(saved);
+        
+        assertTrue(newGame.isMatched(0, 1) && newGame.isMatched(1, 0) && !newGame.isMatched(0, 0));
+    }
+    
+    @Test
+    public void testResaveAfterFullSnapshotCanBeWon() {
+        game.initialize(createDeckPuzzleData(2, 2, 3));
+        game.restoreState(createFullSnapshot());
+        MatchingGame newGame = new MatchingGame();
+        newGame.initialize(createDeckPuzzleData(2, 2, 3));
+        newGame.restoreState(game.saveState());
+        
+        newGame.flip(0, 0);
+        newGame.flip(1, 1);
+        
+        assertTrue(newGame.isGameOver());
+    }
+    
+    // ===== INT-CODED ENGINE =====
+    
+    /**
+     * Helper to create a seeded board with one card value per pair
+     */
+    private Map<String, Object> createDeckPuzzleData(int rows, int cols, long seed) {
+        List<Map<String, Object>> cards = new ArrayList<>();
+        for (int i = 0; i < rows * cols / 2; i++) {
+            Map<String, Object> card = new HashMap<>();
+            card.put("value", "card" + i);
+            cards.add(card);
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("height", rows);
+        data.put("width", cols);
+        data.put("cards", cards);
+        data.put("seed", seed);
+        return data;
+    }
+    
+    @Test
+    public void testSeedDealsSameBoard() {
+        game.initialize(createDeckPuzzleData(4, 4, 11));
+        MatchingGame other = new MatchingGame();
+        other.initialize(createDeckPuzzleData(4, 4, 11));
+        
+        assertArrayEquals((String[][]) game.getGameState().get("board"),
+            (String[][]) other.getGameState().get("board"));
+    }
+    
+    @Test
+    public void testDealMatchesCollectionsShuffleOrder() {
+        game.initialize(createDeckPuzzleData(2, 3, 5));
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            expected.add("card" + i);
+            expected.add("card" + i);
+        }
+        Collections.shuffle(expected, new Random(5));
+        
+        String[][] board = (String[][]) game.getGameState().get("board");
+        assertEquals(expected, List.of(board[0][0], board[0][1], board[0][2], board[1][0], board[1][1], board[1][2]));
+    }
+    
+    @Test
+    public void testFlipSameCardTwiceRejected() {
+        game.initialize(puzzleData);
+        game.flip(0, 0);
+        
+        assertFalse(game.flip(0, 0));
+    }
+    
+    @Test
+    public void testMatchedPairsCountsMatches() {
+        game.initialize(puzzleData);
+        String[][] board = (String[][]) game.getGameState().get("board");
+        int[] partner = findPartner(board, 0, 0);
+        game.flip(0, 0);
+        game.flip(partner[0], partner[1]);
+        
+        assertEquals(1, game.getMatchedPairs());
+    }
+    
+    @Test
+    public void testLargeDeckPlaysToCompletion() {
+        game.initialize(createDeckPuzzleData(20, 30, 3));
+        String[][] board = (String[][]) game.getGameState().get("board");
+        for (int r = 0; r < 20; r++) {
+            for (int c = 0; c < 30; c++) {
+                if (game.flip(r, c)) {
+                    int[] partner = findPartner(board, r, c);
+                    game.flip(partner[0], partner[1]);
+                    game.clearSelection();
+                }
+            }
+        }
+        
+        assertTrue(game.isGameOver());
+    }
+    
+    @Test
+    public void testProcessInputRejectsTrailingText() {
+        game.initialize(puzzleData);
+        
+        assertFalse(game.processInput("0 1 x"));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooFewCardsForBoardThrows() {
+        puzzleData.put("width", 4);
+        game.initialize(puzzleData);
+    }
+    
+    /**
+     * Find the other cell with the same card value
+     */
+    private int[] findPartner(String[][] board, int row, int col) {
+        for (int r = 0; r < board.length; r++) {
+            for (int c = 0; c < board[r].length; c++) {
+                if ((r != row || c != col) && board[r][c].equals(board[row][col])) {
+                    return new int[] {r, c};
+                }
+            }
+        }
+        return null;
+    }
+    
     // ===== GET GAME TYPE TEST =====
     
     @Test
@@ -646,4 +892,115 @@ public class MatchingGameTest {
         
         assertEquals("MATCHING", game.getGameType());
     }
+
+    // ===== typed commands =====
+
+    @Test
+    public void testApplyFlipCommand() {
+        game.initialize(createTestPuzzleData());
+        assertTrue(game.apply(GameCommand.flip(0, 1)));
+    }
+
+    @Test
+    public void testApplyRejectsMoveCommand() {
+        game.initialize(createTestPuzzleData());
+        assertFalse(game.apply(GameCommand.move(Direction.UP)));
+    }
+
+    @Test
+    public void testProcessBatchRejectsSameCardTwice() {
+        game.initialize(createTestPuzzleData());
+        List<GameCommand> commands = new ArrayList<>();
+        commands.add(GameCommand.flip(0, 0));
+        commands.add(GameCommand.flip(0, 0));
+        assertArrayEquals(new byte[] {GameCommand.APPLIED, GameCommand.REJECTED}, game.processBatch(commands));
+    }
+
+    @Test
+    public void testProcessBatchSolvesWholeBoard() {
+        MatchingGame deckGame = MatchingGame.fromDeck(2, 2, new int[] {0, 0, 1, 1});
+        List<GameCommand> commands = List.of(GameCommand.flip(0, 0), GameCommand.flip(0, 1),
+            GameCommand.flip(1, 0), GameCommand.flip(1, 1));
+        deckGame.processBatch(commands);
+        assertTrue(deckGame.isGameOver());
+    }
+
+    @Test
+    public void testProcessBatchTurnsDownMismatchBeforeNextFlip() {
+        MatchingGame deckGame = MatchingGame.fromDeck(2, 2, new int[] {0, 1, 1, 0});
+        List<GameCommand> commands = List.of(GameCommand.flip(0, 0), GameCommand.flip(0, 1),
+            GameCommand.flip(0, 0), GameCommand.flip(1, 1));
+        byte[] applied = {GameCommand.APPLIED, GameCommand.APPLIED, GameCommand.APPLIED, GameCommand.APPLIED};
+        assertArrayEquals(applied, deckGame.processBatch(commands));
+    }
+
+    @Test
+    public void testStateFirstCardAfterFlip() {
+        game.initialize(puzzleData);
+        game.flip(1, 0);
+        assertEquals(1, game.state().firstCard().getRow());
+    }
+
+    @Test
+    public void testStateIsReusedUntilChange() {
+        game.initialize(puzzleData);
+        assertTrue(game.state() == game.state());
+    }
+
+    @Test
+    public void testStateReplacedAfterClearSelection() {
+        game.initialize(puzzleData);
+        game.flip(0, 0);
+        MatchingGame.State before = game.state();
+        game.clearSelection();
+        assertNull(game.state().firstCard());
+        assertNotNull(before.firstCard());
+    }
+
+    @Test
+    public void testResultRecordMoves() {
+        game.initialize(puzzleData);
+        game.flip(0, 0);
+        game.flip(0, 1);
+        assertEquals(1, game.result().moves());
+    }
+
+    @Test
+    public void testSecondFlipPublishesRevealedPair() {
+        MatchingGame dealt = MatchingGame.fromDeck(2, 2, new int[] {0, 1, 1, 0});
+        dealt.flip(0, 0);
+        dealt.flip(1, 0);
+        GameEventBus events = dealt.getEvents();
+        assertEquals(GameEvent.Type.CARDS_REVEALED, events.get(events.getSequence() - 1).getType());
+        assertEquals(1, events.get(events.getSequence() - 1).getOtherRow());
+    }
+
+    @Test
+    public void testMatchPublishesPairMatched() {
+        MatchingGame dealt = MatchingGame.fromDeck(1, 4, new int[] {0, 1, 0, 1});
+        dealt.flip(0, 0);
+        dealt.flip(0, 2);
+        GameEventBus events = dealt.getEvents();
+        assertEquals(GameEvent.Type.PAIR_MATCHED, events.get(events.getSequence() - 1).getType());
+    }
+
+    @Test
+    public void testClearSelectionPublishesCardsHidden() {
+        MatchingGame dealt = MatchingGame.fromDeck(1, 4, new int[] {0, 1, 0, 1});
+        dealt.flip(0, 0);
+        dealt.flip(0, 1);
+        dealt.clearSelection();
+        GameEventBus events = dealt.getEvents();
+        assertEquals(GameEvent.Type.CARDS_HIDDEN, events.get(events.getSequence() - 1).getType());
+    }
+
+    @Test
+    public void testClearSelectionAfterMatchHidesNothing() {
+        MatchingGame dealt = MatchingGame.fromDeck(1, 4, new int[] {0, 1, 0, 1});
+        dealt.flip(0, 0);
+        dealt.flip(0, 2);
+        long before = dealt.getEvents().getSequence();
+        dealt.clearSelection();
+        assertEquals(before, dealt.getEvents().getSequence());
+    }
 }
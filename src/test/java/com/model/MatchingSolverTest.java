@@ -0,0 +1,43 @@
+package com.model;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+/**
+ * Test cases for MatchingSolver
+ */
+public class MatchingSolverTest {
+
+    @Test
+    public void testAdjacentPairsTakeOneMoveEach() {
+        assertEquals(2, MatchingSolver.perfectMemoryMoves(new int[] {0, 0, 1, 1}));
+    }
+
+    @Test
+    public void testInterleavedPairsNeedExtraMove() {
+        assertEquals(3, MatchingSolver.perfectMemoryMoves(new int[] {0, 1, 0, 1}));
+    }
+
+    @Test
+    public void testKnownPartnerOfSecondCardCostsWastedMove() {
+        // Move 2 flips a new 2, then the second 1: wasted, the 1s are matched on move 3
+        assertEquals(5, MatchingSolver.perfectMemoryMoves(new int[] {0, 1, 2, 1, 0, 2}));
+    }
+
+    @Test
+    public void testExpectedMovesForOnePair() {
+        assertEquals(1.0, MatchingSolver.expectedPerfectMemoryMoves(1), 1e-9);
+    }
+
+    @Test
+    public void testExpectedMovesMatchesSimulation() {
+        double simulated = MatchingSolver.averagePerfectMemoryMoves(8, 20000, 1);
+        assertEquals(MatchingSolver.expectedPerfectMemoryMoves(8), simulated, 0.1);
+    }
+
+    @Test
+    public void testScoresThousandsOfLargeBoards() {
+        double average = MatchingSolver.averagePerfectMemoryMoves(72, 5000, 9);
+        assertEquals(MatchingSolver.expectedPerfectMemoryMoves(72), average, 1.0);
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.After;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Test;
@@ -556,6 +557,78 @@ public class MazeGameTest {
         assertFalse(game.isGameOver());
     }
     
+    // ===== MOVE(DIRECTION) TESTS =====
+    
+    @Test
+    public void testMoveRightIntoPathSucceeds() {
+        game.initialize(puzzleData);
+        
+        assertTrue(game.move(Direction.RIGHT));
+    }
+    
+    @Test
+    public void testMoveIntoWallFails() {
+        game.initialize(puzzleData);
+        
+        assertFalse(game.move(Direction.UP));
+    }
+    
+    @Test
+    public void testMoveUpdatesPlayerPosition() {
+        game.initialize(puzzleData);
+        game.move(Direction.DOWN);
+        
+        Player player = (Player) game.getGameState().get("player");
+        assertEquals(2, player.row);
+    }
+    
+    @Test
+    public void testProcessInputAcceptsLowerCaseWithWhitespace() {
+        game.initialize(puzzleData);
+        
+        assertTrue(game.processInput(" d "));
+    }
+    
+    @Test
+    public void testProcessInputRejectsMultipleKeys() {
+        game.initialize(puzzleData);
+        
+        assertFalse(game.processInput("DD"));
+    }
+    
+    // ===== HINT / SOLVER TESTS =====
+    
+    @Test
+    public void testGameStateContainsMovesRemaining() {
+        game.initialize(puzzleData);
+        
+        assertEquals(6, game.getGameState().get("movesRemaining"));
+    }
+    
+    @Test
+    public void testResultContainsOptimalMoves() {
+        game.initialize(puzzleData);
+        
+        assertEquals(6, game.getResult().get("optimalMoves"));
+    }
+    
+    @Test
+    public void testProcessInputHintCountsHint() {
+        game.initialize(puzzleData);
+        game.processInput("HINT");
+        
+        assertEquals(1, game.getResult().get("hintsUsed"));
+    }
+    
+    @Test
+    public void testHintClearedAfterMove() {
+        game.initialize(puzzleData);
+        game.processInput("HINT");
+        game.processInput("S");
+        
+        assertNull(game.getGameState().get("hint"));
+    }
+    
     // ===== SAVE STATE TESTS =====
     
     @Test
@@ -568,12 +641,21 @@ public class MazeGameTest {
     }
     
     @Test
-    public void testSaveStateContainsMaze() {
+    public void testSaveStateOmitsMaze() {
         game.initialize(puzzleData);
         
         Map<String, Object> savedState = game.saveState();
         
-        assertTrue(savedState.containsKey("maze"));
+        assertFalse(savedState.containsKey("maze"));
+    }
+    
+    @Test
+    public void testSaveStateContainsPuzzleVersion() {
+        game.initialize(puzzleData);
+        
+        Map<String, Object> savedState = game.saveState();
+        
+        assertEquals(SavedState.puzzleVersion(puzzleData), savedState.get(SavedState.PUZZLE_VERSION_FIELD));
     }
     
     @Test
@@ -639,6 +721,7 @@ public class MazeGameTest {
         Map<String, Object> savedState = game.saveState();
         
         MazeGame newGame = new MazeGame();
+        newGame.initialize(puzzleData);
         newGame.restoreState(savedState);
         
         Map<String, Object> state = newGame.getGameState();
@@ -654,6 +737,7 @@ public class MazeGameTest {
         Map<String, Object> savedState = game.saveState();
         
         MazeGame newGame = new MazeGame();
+        newGame.initialize(puzzleData);
         newGame.restoreState(savedState);
         
         Map<String, Object> state = newGame.getGameState();
@@ -669,6 +753,7 @@ public class MazeGameTest {
         Map<String, Object> savedState = game.saveState();
         
         MazeGame newGame = new MazeGame();
+        newGame.initialize(puzzleData);
         newGame.restoreState(savedState);
         
         assertEquals("MAZE", newGame.getGameType());
@@ -682,6 +767,7 @@ public class MazeGameTest {
         Map<String, Object> savedState = game.saveState();
         
         MazeGame newGame = new MazeGame();
+        newGame.initialize(puzzleData);
         newGame.restoreState(savedState);
         
         // Should be able to continue moving
@@ -704,11 +790,236 @@ public class MazeGameTest {
         Map<String, Object> savedState = game.saveState();
         
         MazeGame newGame = new MazeGame();
+        newGame.initialize(puzzleData);
         newGame.restoreState(savedState);
         
         assertTrue(newGame.isGameOver());
     }
     
+    @Test(expected = IllegalStateException.class)
+    public void testRestoreStateBeforeInitializeThrows() {
+        game.initialize(puzzleData);
+        Map<String, Object> savedState = game.saveState();
+        
+        new MazeGame().restoreState(savedState);
+    }
+    
+    @Test
+    public void testRestoreStateForChangedPuzzleStartsFresh() {
+        game.initialize(puzzleData);
+        game.processInput("D");
+        Map<String, Object> savedState = game.saveState();
+        savedState.put(SavedState.PUZZLE_VERSION_FIELD, "0000000000000000");
+        
+        MazeGame newGame = new MazeGame();
+        newGame.initialize(puzzleData);
+        newGame.restoreState(savedState);
+        
+        assertEquals(0, newGame.getGameState().get("moveCount"));
+    }
+    
+    @Test
+    public void testRestoreStateFromFullSnapshot() {
+        Map<String, Object> mazeData = new HashMap<>(puzzleData);
+        Map<String, Object> playerData = new HashMap<>();
+        playerData.put("row", 1);
+        playerData.put("col", 2);
+        Map<String, Object> savedState = new HashMap<>();
+        savedState.put("maze", mazeData);
+        savedState.put("player", playerData);
+        savedState.put("moveCount", 1);
+        savedState.put("startTime", 0L);
+        
+        MazeGame newGame = new MazeGame();
+        newGame.restoreState(savedState);
+        
+        Player player = (Player) newGame.getGameState().get("player");
+        assertEquals(2, player.col);
+    }
+    
+    // ===== KEYS, DOORS AND TELEPORTERS =====
+    
+    /**
+     * Maze with a locked door (key 0) and a teleporter pair:
+     * █ █ █ █ █ █ █
+     * █ S 0 D 0 E █
+     * █ 0 █ █ █ █ █
+     * █ k 0 T █ T █
+     * █ █ █ █ █ █ █
+     */
+    private Map<String, Object> createMechanicsMazeData() {
+        int k = MazeTile.key(0);
+        int d = MazeTile.door(0);
+        int t = MazeTile.teleporter(0);
+        int[][] cells = {
+            {1, 1, 1, 1, 1, 1, 1},
+            {1, 0, 0, d, 0, 0, 1},
+            {1, 0, 1, 1, 1, 1, 1},
+            {1, k, 0, t, 1, t, 1},
+            {1, 1, 1, 1, 1, 1, 1}
+        };
+        List<List<Integer>> grid = new ArrayList<>();
+        for (int[] row : cells) {
+            List<Integer> list = new ArrayList<>();
+            for (int cell : row) {
+                list.add(cell);
+            }
+            grid.add(list);
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("width", 7);
+        data.put("height", 5);
+        data.put("grid", grid);
+        data.put("start", Map.of("row", 1, "col", 1));
+        data.put("end", Map.of("row", 1, "col", 5));
+        return data;
+    }
+    
+    @Test
+    public void testLockedDoorBlocksWithoutKey() {
+        game.initialize(createMechanicsMazeData());
+        game.move(Direction.RIGHT);
+        
+        assertFalse(game.move(Direction.RIGHT));
+    }
+    
+    @Test
+    public void testSteppingOnKeyPicksItUp() {
+        game.initialize(createMechanicsMazeData());
+        game.move(Direction.DOWN);
+        game.move(Direction.DOWN);
+        
+        assertEquals(1, game.getKeyMask());
+    }
+    
+    @Test
+    public void testDoorOpensWithKey() {
+        game.initialize(createMechanicsMazeData());
+        for (String move : new String[] {"S", "S", "W", "W", "D", "D", "D", "D"}) {
+            game.processInput(move);
+        }
+        
+        assertTrue(game.isGameOver());
+    }
+    
+    @Test
+    public void testTeleporterMovesPlayerToPair() {
+        game.initialize(createMechanicsMazeData());
+        game.move(Direction.DOWN);
+        game.move(Direction.DOWN);
+        game.move(Direction.RIGHT);
+        game.move(Direction.RIGHT);
+        
+        Player player = (Player) game.getGameState().get("player");
+        assertEquals(5, player.col);
+    }
+    
+    @Test
+    public void testOptimalMovesUsesKeyRoute() {
+        game.initialize(createMechanicsMazeData());
+        
+        assertEquals(8, game.getOptimalMoves());
+    }
+    
+    @Test
+    public void testKeyMazeStateSkipsDistanceUntilHint() {
+        game.initialize(createMechanicsMazeData());
+        game.move(Direction.DOWN);
+        
+        assertEquals(MazeSolver.UNREACHABLE, game.state().movesRemaining());
+    }
+    
+    @Test
+    public void testKeyMazeHintShowsMovesRemaining() {
+        game.initialize(createMechanicsMazeData());
+        game.useHint();
+        
+        assertEquals(8, game.state().movesRemaining());
+    }
+    
+    @Test
+    public void testKeyMazeMoveClearsHintDistance() {
+        game.initialize(createMechanicsMazeData());
+        game.useHint();
+        game.move(Direction.DOWN);
+        
+        assertEquals(MazeSolver.UNREACHABLE, game.state().movesRemaining());
+    }
+    
+    @Test
+    public void testKeysSurviveSaveAndRestore() {
+        Map<String, Object> data = createMechanicsMazeData();
+        game.initialize(data);
+        game.move(Direction.DOWN);
+        game.move(Direction.DOWN);
+        Map<String, Object> saved = game.saveState();
+        
+        MazeGame resumed = new MazeGame();
+        resumed.initialize(data);
+        resumed.restoreState(saved);
+        assertEquals(1, resumed.getKeyMask());
+    }
+    
+    @Test
+    public void testResetDropsKeys() {
+        game.initialize(createMechanicsMazeData());
+        game.move(Direction.DOWN);
+        game.move(Direction.DOWN);
+        game.reset();
+        
+        assertEquals(0, game.getKeyMask());
+    }
+    
+    // ===== FOG OF WAR =====
+    
+    @Test
+    public void testFogHidesUnseenCellsInState() {
+        puzzleData.put("fogRadius", 1);
+        game.initialize(puzzleData);
+        
+        Maze shown = (Maze) game.getGameState().get("maze");
+        assertTrue(shown.isWall(3, 4));
+    }
+    
+    @Test
+    public void testFogHidesDistanceUntilExitSeen() {
+        puzzleData.put("fogRadius", 1);
+        game.initialize(puzzleData);
+        
+        assertEquals(MazeSolver.UNREACHABLE, game.getGameState().get("movesRemaining"));
+    }
+    
+    @Test
+    public void testFogRevealsCellsAsPlayerMoves() {
+        puzzleData.put("fogRadius", 1);
+        game.initialize(puzzleData);
+        game.move(Direction.RIGHT);
+        game.move(Direction.RIGHT);
+        
+        assertTrue(game.getVisibility().isExplored(1, 4));
+    }
+    
+    @Test
+    public void testFogExploredCellsSurviveSaveAndRestore() {
+        puzzleData.put("fogRadius", 1);
+        game.initialize(puzzleData);
+        game.move(Direction.RIGHT);
+        game.move(Direction.RIGHT);
+        Map<String, Object> saved = game.saveState();
+        
+        MazeGame resumed = new MazeGame();
+        resumed.initialize(puzzleData);
+        resumed.restoreState(saved);
+        assertTrue(resumed.getVisibility().isExplored(1, 4));
+    }
+    
+    @Test
+    public void testNoFogByDefault() {
+        game.initialize(puzzleData);
+        
+        assertNull(game.getVisibility());
+    }
+    
     // ===== GET GAME TYPE TEST =====
     
     @Test
@@ -717,4 +1028,110 @@ public class MazeGameTest {
         
         assertEquals("MAZE", game.getGameType());
     }
+
+    // ===== typed commands =====
+
+    @Test
+    public void testApplyMoveCommand() {
+        game.initialize(puzzleData);
+        assertTrue(game.apply(GameCommand.move(Direction.RIGHT)));
+    }
+
+    @Test
+    public void testApplyRejectsFlipCommand() {
+        game.initialize(puzzleData);
+        assertFalse(game.apply(GameCommand.flip(0, 1)));
+    }
+
+    @Test
+    public void testProcessBatchReportsEachOutcome() {
+        game.initialize(puzzleData);
+        List<GameCommand> commands = new ArrayList<>();
+        commands.add(GameCommand.move(Direction.LEFT));
+        for (int i = 0; i < 3; i++) {
+            commands.add(GameCommand.move(Direction.RIGHT));
+        }
+        for (int i = 0; i < 3; i++) {
+            commands.add(GameCommand.move(Direction.DOWN));
+        }
+        commands.add(GameCommand.move(Direction.UP));
+        byte[] outcomes = game.processBatch(commands);
+        assertEquals(GameCommand.REJECTED, outcomes[0]);
+        assertEquals(GameCommand.APPLIED, outcomes[6]);
+        assertEquals(GameCommand.SKIPPED, outcomes[7]);
+    }
+
+    @Test
+    public void testStateTracksPlayer() {
+        game.initialize(puzzleData);
+        game.move(Direction.RIGHT);
+        assertEquals(2, game.state().col());
+    }
+
+    @Test
+    public void testStateIsReusedUntilChange() {
+        game.initialize(puzzleData);
+        assertTrue(game.state() == game.state());
+    }
+
+    @Test
+    public void testStateReplacedAfterMove() {
+        game.initialize(puzzleData);
+        MazeGame.State before = game.state();
+        game.move(Direction.RIGHT);
+        assertFalse(before == game.state());
+    }
+
+    @Test
+    public void testStateMatchesGameStateMap() {
+        game.initialize(puzzleData);
+        game.move(Direction.RIGHT);
+        assertEquals(game.getGameState().get("movesRemaining"), game.state().movesRemaining());
+    }
+
+    @Test
+    public void testResultRecordMoves() {
+        game.initialize(puzzleData);
+        game.move(Direction.RIGHT);
+        assertEquals(1, game.result().moves());
+    }
+
+    @Test
+    public void testResultRecordHasOptimalMoves() {
+        game.initialize(puzzleData);
+        assertEquals(6, game.result().optimalMoves());
+    }
+
+    @Test
+    public void testMovePublishesPlayerMoved() {
+        game.initialize(puzzleData);
+        List<GameEvent.Type> types = new ArrayList<>();
+        game.getEvents().addListener(event -> types.add(event.getType()));
+        game.move(Direction.RIGHT);
+        assertEquals(GameEvent.Type.PLAYER_MOVED, types.get(0));
+    }
+
+    @Test
+    public void testPlayerMovedCarriesTarget() {
+        game.initialize(puzzleData);
+        game.move(Direction.RIGHT);
+        GameEvent event = game.getEvents().get(game.getEvents().getSequence() - 1);
+        assertEquals(2, event.getOtherCol());
+    }
+
+    @Test
+    public void testBlockedMovePublishesNothing() {
+        game.initialize(puzzleData);
+        long before = game.getEvents().getSequence();
+        game.move(Direction.LEFT);
+        assertEquals(before, game.getEvents().getSequence());
+    }
+
+    @Test
+    public void testHintPublishesDirection() {
+        game.initialize(puzzleData);
+        Direction hint = game.useHint();
+        GameEvent event = game.getEvents().get(game.getEvents().getSequence() - 1);
+        assertEquals(hint.name(), event.getText());
+    }
 }
@@ -0,0 +1,139 @@
+package com.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test cases for MazeGenerator
+ */
+public class MazeGeneratorTest {
+
+    private static boolean sameGrid(Maze a, Maze b) {
+        return Arrays.deepEquals(a.getMazeData(), b.getMazeData());
+    }
+
+    /**
+     * Count path cells the exit can be reached from
+     */
+    private static int reachableCells(Maze maze) {
+        MazeSolver solver = new MazeSolver(maze);
+        int count = 0;
+        for (int r = 0; r < maze.getHeight(); r++) {
+            for (int c = 0; c < maze.getWidth(); c++) {
+                if (solver.movesRemaining(r, c) != MazeSolver.UNREACHABLE) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int pathCells(Maze maze) {
+        int count = 0;
+        for (int r = 0; r < maze.getHeight(); r++) {
+            for (int c = 0; c < maze.getWidth(); c++) {
+                if (!maze.isWall(r, c)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int deadEnds(Maze maze) {
+        int count = 0;
+        for (int r = 1; r < maze.getHeight(); r += 2) {
+            for (int c = 1; c < maze.getWidth(); c += 2) {
+                int open = 0;
+                if (!maze.isWall(r - 1, c)) open++;
+                if (!maze.isWall(r + 1, c)) open++;
+                if (!maze.isWall(r, c - 1)) open++;
+                if (!maze.isWall(r, c + 1)) open++;
+                if (open == 1) count++;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testGenerateHasOddDimensions() {
+        Maze maze = new MazeGenerator(MazeGenerator.Algorithm.RECURSIVE_BACKTRACKER, 4, 7, 0).generate(1);
+        assertEquals(15, maze.getWidth());
+    }
+
+    @Test
+    public void testSameSeedGivesSameMaze() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.WILSON, 12, 12, 0.3);
+        assertTrue(sameGrid(generator.generate(42), generator.generate(42)));
+    }
+
+    @Test
+    public void testDifferentSeedsGiveDifferentMazes() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.ELLER, 12, 12, 0);
+        assertFalse(sameGrid(generator.generate(1), generator.generate(2)));
+    }
+
+    @Test
+    public void testBacktrackerMazeFullyConnected() {
+        Maze maze = new MazeGenerator(MazeGenerator.Algorithm.RECURSIVE_BACKTRACKER, 20, 30, 0).generate(7);
+        assertEquals(pathCells(maze), reachableCells(maze));
+    }
+
+    @Test
+    public void testWilsonMazeFullyConnected() {
+        Maze maze = new MazeGenerator(MazeGenerator.Algorithm.WILSON, 20, 30, 0).generate(7);
+        assertEquals(pathCells(maze), reachableCells(maze));
+    }
+
+    @Test
+    public void testEllerMazeFullyConnected() {
+        Maze maze = new MazeGenerator(MazeGenerator.Algorithm.ELLER, 20, 30, 0).generate(7);
+        assertEquals(pathCells(maze), reachableCells(maze));
+    }
+
+    @Test
+    public void testPerfectMazeHasNoLoops() {
+        // A spanning tree over R*C rooms has R*C - 1 passages
+        Maze maze = new MazeGenerator(MazeGenerator.Algorithm.ELLER, 10, 10, 0).generate(3);
+        assertEquals(100 + 99, pathCells(maze));
+    }
+
+    @Test
+    public void testFullBraidRemovesDeadEnds() {
+        Maze maze = new MazeGenerator(MazeGenerator.Algorithm.RECURSIVE_BACKTRACKER, 15, 15, 1.0).generate(5);
+        assertEquals(0, deadEnds(maze));
+    }
+
+    @Test
+    public void testBatchMatchesSingleGeneration() {
+        MazeGenerator generator = new MazeGenerator(MazeGenerator.Algorithm.WILSON, 6, 6, 0);
+        List<Maze> batch = generator.generateBatch(99, 50);
+        assertTrue(sameGrid(generator.generate(MazeGenerator.batchSeed(99, 37)), batch.get(37)));
+    }
+
+    @Test
+    public void testLargeEllerMazeSolvable() {
+        Maze maze = new MazeGenerator(MazeGenerator.Algorithm.ELLER, 500, 500, 0).generate(11);
+        assertTrue(new MazeSolver(maze).getOptimalMoves() > 0);
+    }
+
+    @Test
+    public void testPuzzleDataPlaysInMazeGame() {
+        Map<String, Object> data = MazeGenerator.toPuzzleData(
+            new MazeGenerator(MazeGenerator.Algorithm.WILSON, 5, 5, 0).generate(8));
+        MazeGame game = new MazeGame();
+        game.initialize(data);
+        assertTrue(game.getMovesRemaining() > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBraidThrows() {
+        new MazeGenerator(MazeGenerator.Algorithm.WILSON, 5, 5, 1.5);
+    }
+}
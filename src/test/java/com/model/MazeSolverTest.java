@@ -0,0 +1,93 @@
+package com.model;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for MazeSolver
+ * Uses the same 6x6 maze as MazeGameTest:
+ * █ █ █ █ █ █
+ * █ S 0 0 0 █
+ * █ 0 █ █ 0 █
+ * █ 0 0 █ 0 █
+ * █ █ 0 0 E █
+ * █ █ █ █ █ █
+ */
+public class MazeSolverTest {
+
+    private Maze maze;
+    private MazeSolver solver;
+
+    @Before
+    public void setUp() {
+        int[][] grid = {
+            {1, 1, 1, 1, 1, 1},
+            {1, 0, 0, 0, 0, 1},
+            {1, 0, 1, 1, 0, 1},
+            {1, 0, 0, 1, 0, 1},
+            {1, 1, 0, 0, 0, 1},
+            {1, 1, 1, 1, 1, 1}
+        };
+        maze = new Maze(6, 6, grid, new Position(1, 1), new Position(4, 4));
+        solver = new MazeSolver(maze);
+    }
+
+    @Test
+    public void testOptimalMovesFromStart() {
+        assertEquals(6, solver.getOptimalMoves());
+    }
+
+    @Test
+    public void testMovesRemainingAtExitIsZero() {
+        assertEquals(0, solver.movesRemaining(4, 4));
+    }
+
+    @Test
+    public void testMovesRemainingForWallIsUnreachable() {
+        assertEquals(MazeSolver.UNREACHABLE, solver.movesRemaining(2, 2));
+    }
+
+    @Test
+    public void testMovesRemainingOffRoute() {
+        assertEquals(3, solver.movesRemaining(3, 2));
+    }
+
+    @Test
+    public void testNextMoveStepsCloser() {
+        Direction move = solver.nextMove(3, 1);
+        assertEquals(3, solver.movesRemaining(3 + move.getRowDelta(), 1 + move.getColDelta()));
+    }
+
+    @Test
+    public void testNextMoveAtExitIsNull() {
+        assertNull(solver.nextMove(4, 4));
+    }
+
+    @Test
+    public void testPathToExitLength() {
+        List<Position> path = solver.pathToExit(new Position(1, 1));
+        assertEquals(7, path.size());
+    }
+
+    @Test
+    public void testFindPathBetweenCells() {
+        List<Position> path = solver.findPath(new Position(1, 4), new Position(3, 1));
+        assertEquals(6, path.size());
+    }
+
+    @Test
+    public void testFindPathToWallIsEmpty() {
+        assertTrue(solver.findPath(new Position(1, 1), new Position(2, 2)).isEmpty());
+    }
+
+    @Test
+    public void testForPuzzleReturnsCachedSolver() {
+        assertSame(MazeSolver.forPuzzle("solver-test", maze), MazeSolver.forPuzzle("solver-test", maze));
+    }
+}
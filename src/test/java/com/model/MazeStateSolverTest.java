@@ -0,0 +1,125 @@
+package com.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test cases for MazeStateSolver
+ * Key maze: the door D (key 0) blocks the top row until key k is picked up
+ * █ █ █ █ █ █ █
+ * █ S 0 D 0 E █
+ * █ 0 █ █ █ █ █
+ * █ k 0 0 0 0 █
+ * █ █ █ █ █ █ █
+ */
+public class MazeStateSolverTest {
+
+    private static final int K = MazeTile.key(0);
+    private static final int D = MazeTile.door(0);
+    private static final int T = MazeTile.teleporter(0);
+    private static final int R = MazeTile.oneWay(Direction.RIGHT);
+
+    private static Maze keyMaze() {
+        int[][] grid = {
+            {1, 1, 1, 1, 1, 1, 1},
+            {1, 0, 0, D, 0, 0, 1},
+            {1, 0, 1, 1, 1, 1, 1},
+            {1, K, 0, 0, 0, 0, 1},
+            {1, 1, 1, 1, 1, 1, 1}
+        };
+        return new Maze(7, 5, grid, new Position(1, 1), new Position(1, 5));
+    }
+
+    private static Maze corridor(int middle, Position start, Position end) {
+        int[][] grid = {
+            {1, 1, 1, 1, 1, 1, 1},
+            {1, 0, middle, 1, middle, 0, 1},
+            {1, 1, 1, 1, 1, 1, 1}
+        };
+        return new Maze(7, 3, grid, start, end);
+    }
+
+    @Test
+    public void testParCollectsKeyFirst() {
+        assertEquals(8, new MazeStateSolver(keyMaze()).getPar().getMoves());
+    }
+
+    @Test
+    public void testFirstMoveHeadsForKey() {
+        assertEquals(Direction.DOWN, new MazeStateSolver(keyMaze()).getPar().getFirstMove());
+    }
+
+    @Test
+    public void testHoldingKeyShortensRoute() {
+        assertEquals(4, new MazeStateSolver(keyMaze()).solve(1, 1, 1).getMoves());
+    }
+
+    @Test
+    public void testReusedSolverMatchesFreshSolver() {
+        MazeStateSolver solver = new MazeStateSolver(keyMaze());
+        solver.getPar();
+        solver.solve(1, 1, 1);
+        assertEquals(new MazeStateSolver(keyMaze()).solve(1, 2, 0).getMoves(),
+            solver.solve(1, 2, 0).getMoves());
+    }
+
+    @Test
+    public void testDoorWithoutKeyIsUnsolvable() {
+        Maze maze = keyMaze();
+        maze.setTile(3, 1, MazeTile.PATH);
+        assertFalse(new MazeStateSolver(maze).getPar().isSolvable());
+    }
+
+    @Test
+    public void testTeleporterSkipsWall() {
+        Maze maze = corridor(T, new Position(1, 1), new Position(1, 5));
+        assertEquals(2, new MazeStateSolver(maze).getPar().getMoves());
+    }
+
+    @Test
+    public void testOneWayTileBlocksWrongDirection() {
+        int[][] grid = {
+            {1, 1, 1, 1, 1},
+            {1, 0, R, 0, 1},
+            {1, 1, 1, 1, 1}
+        };
+        Maze maze = new Maze(5, 3, grid, new Position(1, 3), new Position(1, 1));
+        assertFalse(new MazeStateSolver(maze).getPar().isSolvable());
+    }
+
+    @Test
+    public void testOneWayTileAllowsItsDirection() {
+        int[][] grid = {
+            {1, 1, 1, 1, 1},
+            {1, 0, R, 0, 1},
+            {1, 1, 1, 1, 1}
+        };
+        Maze maze = new Maze(5, 3, grid, new Position(1, 1), new Position(1, 3));
+        assertEquals(2, new MazeStateSolver(maze).getPar().getMoves());
+    }
+
+    @Test
+    public void testAtExitNeedsNoMoves() {
+        assertEquals(0, new MazeStateSolver(keyMaze()).solve(1, 5, 0).getMoves());
+    }
+
+    @Test
+    public void testLargeGeneratedMazeWithKeysSolvable() {
+        Maze maze = new MazeGenerator(MazeGenerator.Algorithm.ELLER, 200, 200, 0).generate(3);
+        for (int id = 0; id < 4; id++) {
+            maze.setTile(1 + 2 * id, maze.getWidth() - 2, MazeTile.key(id));
+        }
+        assertTrue(new MazeStateSolver(maze).getPar().isSolvable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHugeStateSpaceRejected() {
+        Maze maze = new Maze(2000, 2000, new Position(0, 0), new Position(1, 1));
+        for (int id = 0; id < 8; id++) {
+            maze.setTile(0, id + 1, MazeTile.key(id));
+        }
+        new MazeStateSolver(maze);
+    }
+}
@@ -2,6 +2,7 @@ package com.model;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
@@ -230,6 +231,54 @@ public class MazeTest {
         assertEquals(5, maze.getMazeData()[0].length);
     }
     
+    // ===== Packed Wall Tests =====
+    
+    @Test
+    public void testIsWallReturnsTrueForWall() {
+        assertTrue(maze.isWall(0, 1));
+    }
+    
+    @Test
+    public void testIsWallReturnsFalseForPath() {
+        assertFalse(maze.isWall(0, 0));
+    }
+    
+    @Test
+    public void testIsWallOutsideGridReturnsTrue() {
+        assertTrue(maze.isWall(-1, 0));
+    }
+    
+    @Test
+    public void testSetWallUpdatesCell() {
+        maze.setWall(0, 0, true);
+        assertTrue(maze.isWall(0, 0));
+    }
+    
+    @Test
+    public void testSetWallUpdatesMazeDataView() {
+        maze.setWall(0, 0, true);
+        assertEquals(1, maze.getMazeData()[0][0]);
+    }
+    
+    @Test
+    public void testLargeMazeWallsAcrossWordBoundary() {
+        Maze large = new Maze(1000, 1000, start, end);
+        large.setWall(999, 64, true);
+        assertTrue(large.isWall(999, 64));
+    }
+    
+    @Test
+    public void testLargeMazeNeighbourUnaffected() {
+        Maze large = new Maze(1000, 1000, start, end);
+        large.setWall(999, 64, true);
+        assertFalse(large.isWall(999, 63));
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetWallOutsideGridThrows() {
+        maze.setWall(0, 5, true);
+    }
+    
     // ===== Position Relationship Tests =====
     
     @Test
@@ -0,0 +1,116 @@
+package com.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for MazeVisibility
+ * Uses a 9x5 maze with a wall splitting the middle row:
+ * █ █ █ █ █ █ █ █ █
+ * █ 0 0 0 0 0 0 0 █
+ * █ 0 0 0 █ 0 0 0 █
+ * █ 0 0 0 0 0 0 0 █
+ * █ █ █ █ █ █ █ █ █
+ */
+public class MazeVisibilityTest {
+
+    private Maze maze;
+    private MazeVisibility visibility;
+
+    @Before
+    public void setUp() {
+        int[][] grid = {
+            {1, 1, 1, 1, 1, 1, 1, 1, 1},
+            {1, 0, 0, 0, 0, 0, 0, 0, 1},
+            {1, 0, 0, 0, 1, 0, 0, 0, 1},
+            {1, 0, 0, 0, 0, 0, 0, 0, 1},
+            {1, 1, 1, 1, 1, 1, 1, 1, 1}
+        };
+        maze = new Maze(9, 5, grid, new Position(2, 1), new Position(2, 7));
+        visibility = new MazeVisibility(maze, 10);
+    }
+
+    @Test
+    public void testPlayerCellIsVisible() {
+        visibility.update(2, 1);
+        assertTrue(visibility.isVisible(2, 1));
+    }
+
+    @Test
+    public void testWallBlocksCellBehindIt() {
+        visibility.update(2, 1);
+        assertFalse(visibility.isVisible(2, 6));
+    }
+
+    @Test
+    public void testBlockingWallIsVisible() {
+        visibility.update(2, 1);
+        assertTrue(visibility.isVisible(2, 4));
+    }
+
+    @Test
+    public void testOpenDiagonalIsVisible() {
+        visibility.update(2, 1);
+        assertTrue(visibility.isVisible(1, 6));
+    }
+
+    @Test
+    public void testRadiusLimitsSight() {
+        MazeVisibility shortSight = new MazeVisibility(maze, 2);
+        shortSight.update(1, 1);
+        assertFalse(shortSight.isVisible(1, 5));
+    }
+
+    @Test
+    public void testExploredCellsStayExplored() {
+        MazeVisibility shortSight = new MazeVisibility(maze, 2);
+        shortSight.update(1, 1);
+        shortSight.update(1, 5);
+        assertTrue(shortSight.isExplored(1, 1));
+    }
+
+    @Test
+    public void testCellsOutOfSightAreNoLongerVisible() {
+        MazeVisibility shortSight = new MazeVisibility(maze, 2);
+        shortSight.update(1, 1);
+        shortSight.update(1, 5);
+        assertFalse(shortSight.isVisible(1, 1));
+    }
+
+    @Test
+    public void testUpdateReportsNothingNewWhenStandingStill() {
+        visibility.update(2, 1);
+        assertFalse(visibility.update(2, 1));
+    }
+
+    @Test
+    public void testRevealedMazeHidesUnexploredCells() {
+        visibility.update(2, 1);
+        assertTrue(visibility.revealedMaze().isWall(2, 6));
+    }
+
+    @Test
+    public void testExploredBitsRoundTrip() {
+        visibility.update(2, 1);
+        MazeVisibility restored = new MazeVisibility(maze, 10);
+        restored.setExploredBits(visibility.getExploredBits());
+        assertEquals(visibility.getExploredCount(), restored.getExploredCount());
+    }
+
+    @Test
+    public void testLargeMazeUpdateTouchesOnlyNearbyCells() {
+        Maze large = new MazeGenerator(MazeGenerator.Algorithm.ELLER, 500, 500, 0.2).generate(4);
+        MazeVisibility fog = new MazeVisibility(large, MazeVisibility.DEFAULT_RADIUS);
+        fog.update(1, 1);
+        int r = MazeVisibility.DEFAULT_RADIUS;
+        assertTrue(fog.getExploredCount() <= (2 * r + 1) * (2 * r + 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroRadiusThrows() {
+        new MazeVisibility(maze, 0);
+    }
+}
@@ -0,0 +1,203 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Test cases for MoveLog and MoveRecorder
+ */
+public class MoveLogTest {
+
+    /**
+     * 4x4 maze, start (1,1), exit (2,2):
+     * 1 1 1 1
+     * 1 S 0 1
+     * 1 0 E 1
+     * 1 1 1 1
+     */
+    static Map<String, Object> mazeData() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("width", 4);
+        data.put("height", 4);
+        data.put("grid", Arrays.asList(
+            Arrays.asList(1, 1, 1, 1),
+            Arrays.asList(1, 0, 0, 1),
+            Arrays.asList(1, 0, 0, 1),
+            Arrays.asList(1, 1, 1, 1)));
+        Map<String, Object> start = new HashMap<>();
+        start.put("row", 1);
+        start.put("col", 1);
+        data.put("start", start);
+        Map<String, Object> end = new HashMap<>();
+        end.put("row", 2);
+        end.put("col", 2);
+        data.put("end", end);
+        return data;
+    }
+
+    static Map<String, Object> wordData() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("prompt", "What has keys but no locks?");
+        data.put("answer", "KEYBOARD");
+        data.put("category", "Technology");
+        data.put("maxAttempts", 3);
+        return data;
+    }
+
+    private static MazeGame maze() {
+        MazeGame game = new MazeGame();
+        game.initialize(mazeData());
+        return game;
+    }
+
+    @Test
+    public void testMazeMovesPackFourPerByte() {
+        MoveRecorder recorder = new MoveRecorder(maze(), 0);
+        for (int i = 0; i < 8; i++) {
+            recorder.record(GameCommand.move(Direction.values()[i % 4]), i);
+        }
+        MoveLog log = recorder.toLog();
+        // magic(2) version(1) type(5) seed(8) count(1) times(1+8) moves(1+2) hints(1) guesses(1)
+        assertEquals(31, log.toBytes().length);
+    }
+
+    @Test
+    public void testMazeCommandsDecodeInOrder() {
+        MoveRecorder recorder = new MoveRecorder(maze(), 0);
+        recorder.record(GameCommand.move(Direction.RIGHT), 10);
+        recorder.record(GameCommand.hint(), 20);
+        recorder.record(GameCommand.move(Direction.DOWN), 30);
+        List<GameCommand> expected = new ArrayList<>();
+        expected.add(GameCommand.move(Direction.RIGHT));
+        expected.add(GameCommand.hint());
+        expected.add(GameCommand.move(Direction.DOWN));
+        assertEquals(expected, recorder.toLog().getCommands());
+    }
+
+    @Test
+    public void testTimesAreRestoredFromDeltas() {
+        MoveRecorder recorder = new MoveRecorder(maze(), 0);
+        recorder.record(GameCommand.move(Direction.RIGHT), 250);
+        recorder.record(GameCommand.move(Direction.DOWN), 100000);
+        assertArrayEquals(new long[] {250, 100000}, recorder.toLog().getTimes());
+    }
+
+    @Test
+    public void testEarlierTimeCountsAsSameTime() {
+        MoveRecorder recorder = new MoveRecorder(maze(), 0);
+        recorder.record(GameCommand.move(Direction.RIGHT), 500);
+        recorder.record(GameCommand.move(Direction.DOWN), 400);
+        assertEquals(500, recorder.toLog().getDuration());
+    }
+
+    @Test
+    public void testApplySkipsRejectedCommands() {
+        MoveRecorder recorder = new MoveRecorder(maze(), 0);
+        recorder.apply(GameCommand.move(Direction.UP), 5);
+        assertEquals(0, recorder.getCount());
+    }
+
+    @Test
+    public void testResumeKeepsEarlierCommands() {
+        MoveRecorder recorder = new MoveRecorder(maze(), 0);
+        recorder.record(GameCommand.move(Direction.RIGHT), 1000);
+        recorder.record(GameCommand.hint(), 3000);
+        MoveLog log = recorder.toLog();
+        assertEquals(log, MoveRecorder.resume(maze(), log).toLog());
+    }
+
+    @Test
+    public void testResumeWithoutLogStartsEmpty() {
+        assertEquals(0, MoveRecorder.resume(maze(), null).getCount());
+    }
+
+    @Test
+    public void testProcessInputRecordsParsedCommand() {
+        WordPuzzleGame game = new WordPuzzleGame();
+        game.initialize(wordData());
+        MoveRecorder recorder = new MoveRecorder(game, 0);
+        recorder.processInput("hint");
+        assertSame(GameCommand.hint(), recorder.toLog().getCommands().get(0));
+    }
+
+    @Test
+    public void testMatchingFlipsRoundTrip() {
+        MatchingGame game = MatchingGame.fromDeck(2, 2, new int[] {0, 1, 1, 0});
+        MoveRecorder recorder = new MoveRecorder(game, 0);
+        recorder.record(GameCommand.flip(1, 0), 1);
+        recorder.record(GameCommand.flip(0, 1), 2);
+        assertSame(GameCommand.flip(0, 1), MoveLog.fromBytes(recorder.toLog().toBytes()).getCommands().get(1));
+    }
+
+    @Test
+    public void testMatchingSeedIsKept() {
+        MatchingGame game = new MatchingGame();
+        Map<String, Object> data = new HashMap<>();
+        data.put("height", 2);
+        data.put("width", 2);
+        List<Map<String, Object>> cards = new ArrayList<>();
+        for (String value : new String[] {"A", "B"}) {
+            Map<String, Object> card = new HashMap<>();
+            card.put("value", value);
+            cards.add(card);
+        }
+        data.put("cards", cards);
+        data.put("seed", -77L);
+        game.initialize(data);
+        assertEquals(-77L, MoveLog.fromBytes(new MoveRecorder(game, 0).toLog().toBytes()).getSeed());
+    }
+
+    @Test
+    public void testRepeatedGuessesShareTableEntry() {
+        WordPuzzleGame game = new WordPuzzleGame();
+        game.setPuzzleType("RIDDLE");
+        game.initialize(wordData());
+        MoveRecorder recorder = new MoveRecorder(game, 0);
+        recorder.record(GameCommand.guess("piano"), 1);
+        recorder.record(GameCommand.hint(), 2);
+        recorder.record(GameCommand.guess("PIANO"), 3);
+        MoveLog log = MoveLog.fromBytes(recorder.toLog().toBytes());
+        assertEquals(GameCommand.guess("PIANO"), log.getCommands().get(2));
+    }
+
+    @Test
+    public void testBytesRoundTrip() {
+        MoveRecorder recorder = new MoveRecorder(maze(), 0);
+        recorder.record(GameCommand.hint(), 3);
+        recorder.record(GameCommand.move(Direction.RIGHT), 1000);
+        MoveLog log = recorder.toLog();
+        assertEquals(log, MoveLog.fromBytes(log.toBytes()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongCommandTypeRejected() {
+        new MoveRecorder(maze(), 0).record(GameCommand.flip(0, 0), 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTruncatedBytesRejected() {
+        MoveRecorder recorder = new MoveRecorder(maze(), 0);
+        recorder.record(GameCommand.move(Direction.RIGHT), 1000);
+        byte[] data = recorder.toLog().toBytes();
+        MoveLog.fromBytes(Arrays.copyOf(data, data.length - 3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOtherDataRejected() {
+        MoveLog.fromBytes(new byte[] {1, 2, 3, 4});
+    }
+
+    @Test
+    public void testEmptyLog() {
+        assertFalse(new MoveRecorder(maze(), 0).toLog().getCommands().iterator().hasNext());
+    }
+}
@@ -0,0 +1,121 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test cases for MoveReplay
+ */
+public class MoveReplayTest {
+
+    private static MoveLog solvedMaze() {
+        MazeGame game = new MazeGame();
+        game.initialize(MoveLogTest.mazeData());
+        MoveRecorder recorder = new MoveRecorder(game, 0);
+        recorder.apply(GameCommand.hint(), 2000);
+        recorder.apply(GameCommand.move(Direction.RIGHT), 4000);
+        recorder.apply(GameCommand.move(Direction.DOWN), 7000);
+        return recorder.toLog();
+    }
+
+    private static Puzzle mazePuzzle() {
+        return new Puzzle("maze_1", "MAZE", "EASY", "Maze", "Find the exit", MoveLogTest.mazeData());
+    }
+
+    static Map<String, Object> matchingData(long seed) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("height", 2);
+        data.put("width", 4);
+        List<Map<String, Object>> cards = new ArrayList<>();
+        for (String value : new String[] {"A", "B", "C", "D"}) {
+            Map<String, Object> card = new HashMap<>();
+            card.put("value", value);
+            cards.add(card);
+        }
+        data.put("cards", cards);
+        data.put("seed", seed);
+        return data;
+    }
+
+    @Test
+    public void testMazeReplayWins() {
+        assertTrue(MoveReplay.replay(solvedMaze(), MoveLogTest.mazeData()).result().won());
+    }
+
+    @Test
+    public void testMazeReplayUsesLogTime() {
+        assertEquals(7000, MoveReplay.replay(solvedMaze(), MoveLogTest.mazeData()).result().time());
+    }
+
+    @Test
+    public void testMazeReplayCountsHints() {
+        assertEquals(1, MoveReplay.replay(solvedMaze(), MoveLogTest.mazeData()).result().hintsUsed());
+    }
+
+    @Test
+    public void testReplayScoreIsRepeatable() {
+        MoveLog log = MoveLog.fromBytes(solvedMaze().toBytes());
+        // Standard EASY maze: 100 base + 100 * (60 - 7 s) / 60 + 50 for no extra moves - 5 per hint
+        assertEquals(233, MoveReplay.replay(log, MoveLogTest.mazeData()).score(ScoringEngine.standard(), mazePuzzle()));
+    }
+
+    @Test
+    public void testMatchingReplayDealsSameBoard() {
+        MatchingGame played = new MatchingGame();
+        played.initialize(matchingData(99L));
+        List<String> flips = new MatchingBot(MatchingBot.Skill.HARD, 1L).playToEnd(played);
+
+        MatchingGame game = new MatchingGame();
+        game.initialize(matchingData(99L));
+        MoveRecorder recorder = new MoveRecorder(game, 0);
+        int time = 0;
+        for (String flip : flips) {
+            if (game.isShowingPair()) {
+                game.clearSelection();
+            }
+            recorder.apply(MatchingGame.parseCommand(flip), time += 500);
+        }
+        MoveReplay.Outcome outcome = MoveReplay.replay(recorder.toLog(), matchingData(0L));
+        assertEquals(played.result().moves(), outcome.result().moves());
+        assertTrue(outcome.result().won());
+    }
+
+    @Test
+    public void testWordReplayLost() {
+        WordPuzzleGame game = new WordPuzzleGame();
+        game.setPuzzleType("RIDDLE");
+        game.initialize(MoveLogTest.wordData());
+        MoveRecorder recorder = new MoveRecorder(game, 0);
+        for (String guess : new String[] {"PIANO", "DOOR", "MAP"}) {
+            recorder.apply(GameCommand.guess(guess), 1000);
+        }
+        MoveReplay.Outcome outcome = MoveReplay.replay(recorder.toLog(), MoveLogTest.wordData());
+        assertEquals(0, outcome.score(ScoringEngine.standard(),
+            new Puzzle("riddle_1", "RIDDLE", "EASY", "Riddle", "Answer it", MoveLogTest.wordData())));
+    }
+
+    @Test
+    public void testLogForOtherPuzzleHasRejectedCommands() {
+        Map<String, Object> other = MoveLogTest.mazeData();
+        Map<String, Object> start = new HashMap<>();
+        start.put("row", 2);
+        start.put("col", 1);
+        other.put("start", start);
+        assertFalse(MoveReplay.replay(solvedMaze(), other).rejected() == 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGameTypeMismatchRejected() {
+        WordPuzzleGame game = new WordPuzzleGame();
+        game.setPuzzleType("RIDDLE");
+        game.initialize(MoveLogTest.wordData());
+        MoveReplay.replay(solvedMaze(), game);
+    }
+}
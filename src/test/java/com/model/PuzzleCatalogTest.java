@@ -0,0 +1,72 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for PuzzleCatalog indexes
+ * Each test method contains exactly one assertion
+ */
+public class PuzzleCatalogTest {
+    
+    private PuzzleCatalog catalog;
+    private Puzzle maze;
+    
+    @Before
+    public void setUp() {
+        List<Puzzle> puzzles = new ArrayList<>();
+        maze = new Puzzle("maze_e1", "MAZE", "EASY", "Maze", "", null);
+        puzzles.add(maze);
+        puzzles.add(new Puzzle("maze_h1", "MAZE", "HARD", "Hard Maze", "", null));
+        puzzles.add(new Puzzle("cipher_e1", "CIPHER", "EASY", "Cipher", "", null));
+        
+        List<Hint> hints = new ArrayList<>();
+        hints.add(new Hint("Second", "maze_e1", 2));
+        hints.add(new Hint("First", "maze_e1", 1));
+        hints.add(new Hint("Other", "cipher_e1", 1));
+        
+        catalog = new PuzzleCatalog(puzzles, hints);
+    }
+    
+    @Test
+    public void testGetPuzzleById() {
+        assertSame(maze, catalog.getPuzzle("maze_e1"));
+    }
+    
+    @Test
+    public void testGetPuzzleUnknownIdReturnsNull() {
+        assertNull(catalog.getPuzzle("nope"));
+    }
+    
+    @Test
+    public void testGetPuzzlesByTypeIsCaseInsensitive() {
+        assertEquals(2, catalog.getPuzzlesByType("maze").size());
+    }
+    
+    @Test
+    public void testGetPuzzlesByDifficulty() {
+        assertEquals("maze_h1", catalog.getPuzzlesByDifficulty("MAZE", "hard").get(0).getPuzzleId());
+    }
+    
+    @Test
+    public void testGetPuzzlesByDifficultyUnknownReturnsEmpty() {
+        assertTrue(catalog.getPuzzlesByDifficulty("RIDDLE", "EASY").isEmpty());
+    }
+    
+    @Test
+    public void testHintsSortedByPriority() {
+        assertEquals("First", catalog.getHintsForPuzzle("maze_e1").get(0).getHintText());
+    }
+    
+    @Test
+    public void testPuzzleTypes() {
+        assertEquals(2, catalog.getPuzzleTypes().size());
+    }
+}
@@ -28,6 +28,7 @@ public class PuzzleGameTest {
         private Map<String, Object> state = new HashMap<>();
         private boolean gameOver = false;
         private final String type;
+        private final GameEventBus events = new GameEventBus();
 
         DummyPuzzleGame(String type) {
             this.type = type;
@@ -58,6 +59,16 @@ public class PuzzleGameTest {
             return true;
         }
 
+        @Override
+        public boolean apply(GameCommand command) {
+            return command instanceof GameCommand.Guess && processInput(((GameCommand.Guess) command).text());
+        }
+
+        @Override
+        public GameEventBus getEvents() {
+            return events;
+        }
+
         @Override
         public boolean isGameOver() {
             return gameOver;
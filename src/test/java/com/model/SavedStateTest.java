@@ -0,0 +1,86 @@
+package com.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Test cases for SavedState helpers used by compact paused-puzzle state
+ */
+public class SavedStateTest {
+
+    private Map<String, Object> puzzleData(Object width) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("width", width);
+        data.put("grid", List.of(List.of(1, 0), List.of(0, 1)));
+        return data;
+    }
+
+    @Test
+    public void testPuzzleVersionIgnoresNumberType() {
+        assertEquals(SavedState.puzzleVersion(puzzleData(5)), SavedState.puzzleVersion(puzzleData(5.0)));
+    }
+
+    @Test
+    public void testPuzzleVersionChangesWithData() {
+        assertNotEquals(SavedState.puzzleVersion(puzzleData(5)), SavedState.puzzleVersion(puzzleData(6)));
+    }
+
+    @Test
+    public void testEncodeBitsRoundTrip() {
+        boolean[][] cells = new boolean[3][5];
+        cells[0][1] = true;
+        cells[2][4] = true;
+        String encoded = SavedState.encodeBits(cells);
+        assertArrayEquals(cells, SavedState.decodeBits(encoded, 3, 5));
+    }
+
+    @Test
+    public void testEncodeBitsEmptyGrid() {
+        assertEquals("", SavedState.encodeBits(new boolean[4][4]));
+    }
+
+    @Test
+    public void testEncodeWordsRoundTrip() {
+        long[] words = {0L, 1L << 63 | 5L, 0L};
+        assertArrayEquals(words, SavedState.decodeWords(SavedState.encodeWords(words), 3));
+    }
+
+    @Test
+    public void testIsDeltaForFullSnapshot() {
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("board", List.of());
+        assertFalse(SavedState.isDelta(snapshot));
+    }
+
+    @Test
+    public void testMoveLogRoundTrip() {
+        MazeGame game = new MazeGame();
+        game.initialize(MoveLogTest.mazeData());
+        MoveRecorder recorder = new MoveRecorder(game, 0);
+        recorder.record(GameCommand.move(Direction.RIGHT), 1200);
+        Map<String, Object> state = new HashMap<>();
+        SavedState.putMoveLog(state, recorder.toLog());
+        assertEquals(recorder.toLog(), SavedState.readMoveLog(state));
+    }
+
+    @Test
+    public void testReadMoveLogWithoutLog() {
+        assertNull(SavedState.readMoveLog(new HashMap<>()));
+    }
+
+    @Test
+    public void testMatchesTemplateWithSameVersion() {
+        Map<String, Object> state = new HashMap<>();
+        state.put(SavedState.PUZZLE_VERSION_FIELD, "abc");
+        assertTrue(SavedState.matchesTemplate(state, "abc"));
+    }
+}
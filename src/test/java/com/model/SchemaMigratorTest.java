@@ -0,0 +1,115 @@
+package com.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test cases for SchemaMigrator using TemporaryFolder
+ * Each test runs in complete isolation with temporary files
+ */
+public class SchemaMigratorTest {
+    
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+    
+    private File usersFile;
+    private File gameDataFile;
+    
+    @Before
+    public void setUp() throws IOException {
+        usersFile = tempFolder.newFile("users.json");
+        gameDataFile = tempFolder.newFile("gamedata.json");
+    }
+    
+    @Test
+    public void testDetectVersionOfUnversionedArray() throws IOException {
+        Files.write(usersFile.toPath(), "[]".getBytes());
+        
+        assertEquals(1, SchemaMigrator.detectVersion(usersFile.getAbsolutePath()));
+    }
+    
+    @Test
+    public void testDetectVersionOfUnversionedObject() throws IOException {
+        Files.write(gameDataFile.toPath(), "{\"puzzles\":[]}".getBytes());
+        
+        assertEquals(1, SchemaMigrator.detectVersion(gameDataFile.getAbsolutePath()));
+    }
+    
+    @Test
+    public void testDetectVersionWithHeaderAfterOtherKeys() throws IOException {
+        Files.write(gameDataFile.toPath(), "{\"puzzles\":[{\"puzzleId\":\"p1\"}],\"schemaVersion\":2}".getBytes());
+        
+        assertEquals(2, SchemaMigrator.detectVersion(gameDataFile.getAbsolutePath()));
+    }
+    
+    @Test
+    public void testUpgradeSkipsFileWithHeaderAfterOtherKeys() throws IOException {
+        Files.write(usersFile.toPath(), "{\"users\":[],\"schemaVersion\":2}".getBytes());
+        
+        assertFalse(SchemaMigrator.upgrade(usersFile.getAbsolutePath(), SchemaMigrator.USERS_STEPS));
+    }
+    
+    @Test
+    public void testUpgradeUsersWrapsArrayWithHeader() throws IOException {
+        Files.write(usersFile.toPath(), "[{\"userId\":\"usr01\"}]".getBytes());
+        
+        SchemaMigrator.upgrade(usersFile.getAbsolutePath(), SchemaMigrator.USERS_STEPS);
+        String content = new String(Files.readAllBytes(usersFile.toPath()));
+        
+        assertEquals("{\"schemaVersion\":2,\"users\":[{\"userId\":\"usr01\"}]}", content);
+    }
+    
+    @Test
+    public void testUpgradeGameDataNormalizesWholeNumbers() throws IOException {
+        Files.write(gameDataFile.toPath(), "{\"puzzles\":[{\"data\":{\"width\":5.0,\"ratio\":0.5}}]}".getBytes());
+        
+        SchemaMigrator.upgrade(gameDataFile.getAbsolutePath(), SchemaMigrator.GAMEDATA_STEPS);
+        String content = new String(Files.readAllBytes(gameDataFile.toPath()));
+        
+        assertEquals("{\"schemaVersion\":2,\"puzzles\":[{\"data\":{\"width\":5,\"ratio\":0.5}}]}", content);
+    }
+    
+    @Test
+    public void testUpgradeKeepsBackupOfOriginal() throws IOException {
+        Files.write(usersFile.toPath(), "[]".getBytes());
+        
+        SchemaMigrator.upgrade(usersFile.getAbsolutePath(), SchemaMigrator.USERS_STEPS);
+        
+        assertTrue(new File(tempFolder.getRoot(), "users.json.v1.bak").exists());
+    }
+    
+    @Test
+    public void testUpgradeCurrentFileIsNoOp() throws IOException {
+        Files.write(usersFile.toPath(), "{\"schemaVersion\":2,\"users\":[]}".getBytes());
+        
+        assertFalse(SchemaMigrator.upgrade(usersFile.getAbsolutePath(), SchemaMigrator.USERS_STEPS));
+    }
+    
+    @Test
+    public void testLoaderReadsMigratedUsers() throws IOException {
+        Files.write(usersFile.toPath(), "[{\"userId\":\"usr01\"},{\"userId\":\"usr02\"}]".getBytes());
+        GameDataLoader loader = new GameDataLoader(usersFile.getAbsolutePath(), gameDataFile.getAbsolutePath());
+        
+        List<User> users = loader.readUsers();
+        
+        assertEquals(2, users.size());
+    }
+    
+    @Test
+    public void testWriterOutputIsCurrentVersion() throws IOException {
+        GameDataWriter writer = new GameDataWriter(usersFile.getAbsolutePath(), gameDataFile.getAbsolutePath());
+        writer.writeGameData(new GameData());
+        
+        assertEquals(SchemaMigrator.CURRENT_VERSION, SchemaMigrator.detectVersion(gameDataFile.getAbsolutePath()));
+    }
+}
@@ -0,0 +1,111 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for ScoreRecomputeJob
+ */
+public class ScoreRecomputeJobTest {
+
+    private static final GameResult FAST_MAZE = new GameResult(true, 0L, 2, 2, 0, null);
+
+    private PuzzleCatalog catalog;
+    private ScoringEngine engine;
+
+    @Before
+    public void setUp() {
+        catalog = new PuzzleCatalog(Arrays.asList(
+            new Puzzle("maze_1", "MAZE", "EASY", "Maze", "Find the exit", MoveLogTest.mazeData()),
+            new Puzzle("riddle_1", "RIDDLE", "EASY", "Riddle", "Answer it", MoveLogTest.wordData())),
+            Collections.emptyList());
+        engine = new ScoringEngine(ScoringRule.DEFAULT)
+            .withRule("MAZE", new ScoringRule(500, 0, 60, 0, 0, 1, 0));
+    }
+
+    private static UserProgress progressWithMaze(String userId) {
+        UserProgress progress = new UserProgress(userId);
+        progress.addCompletedPuzzle("maze_1", 250, FAST_MAZE);
+        return progress;
+    }
+
+    @Test
+    public void testRescoresFromStoredResult() {
+        UserProgress progress = progressWithMaze("u1");
+        ScoreRecomputeJob.run(Collections.singletonList(progress), catalog, engine);
+        assertEquals(Integer.valueOf(500), progress.getPuzzleScores().get("maze_1"));
+    }
+
+    @Test
+    public void testTotalScoreSummedAgain() {
+        UserProgress progress = progressWithMaze("u1");
+        progress.addCompletedPuzzle("riddle_1", 120);
+        ScoreRecomputeJob.run(Collections.singletonList(progress), catalog, engine);
+        assertEquals(620, progress.getTotalScore());
+    }
+
+    @Test
+    public void testScoreWithoutResultKept() {
+        UserProgress progress = new UserProgress("u1");
+        progress.addCompletedPuzzle("maze_1", 180);
+        ScoreRecomputeJob.run(Collections.singletonList(progress), catalog, engine);
+        assertEquals(Integer.valueOf(180), progress.getPuzzleScores().get("maze_1"));
+    }
+
+    @Test
+    public void testScoreMissingFromCompletedKept() {
+        UserProgress progress = new UserProgress("u1");
+        progress.getPuzzleScores().put("riddle_1", 120);
+        ScoreRecomputeJob.run(Collections.singletonList(progress), catalog, engine);
+        assertEquals(120, progress.getTotalScore());
+    }
+
+    @Test
+    public void testScoreForRemovedPuzzleKept() {
+        UserProgress progress = new UserProgress("u1");
+        progress.addCompletedPuzzle("maze_gone", 180, FAST_MAZE);
+        ScoreRecomputeJob.Summary summary =
+            ScoreRecomputeJob.run(Collections.singletonList(progress), catalog, engine);
+        assertEquals(1, summary.kept());
+    }
+
+    @Test
+    public void testSummaryCountsChangedUsers() {
+        UserProgress unchanged = new UserProgress("u2");
+        unchanged.addCompletedPuzzle("riddle_1", 120);
+        ScoreRecomputeJob.Summary summary =
+            ScoreRecomputeJob.run(Arrays.asList(progressWithMaze("u1"), unchanged), catalog, engine);
+        assertEquals(1, summary.changedUsers());
+    }
+
+    @Test
+    public void testEveryUserRescoredAcrossPartitions() {
+        List<UserProgress> users = new ArrayList<>();
+        for (int i = 0; i < ScoreRecomputeJob.PARTITION_SIZE * 5 + 3; i++) {
+            users.add(progressWithMaze("u" + i));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ScoreRecomputeJob.run(users, catalog, engine, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(500L * users.size(), users.stream().mapToLong(UserProgress::getTotalScore).sum());
+    }
+
+    @Test
+    public void testSummaryCountsAllUsers() {
+        List<UserProgress> users = new ArrayList<>();
+        for (int i = 0; i < ScoreRecomputeJob.PARTITION_SIZE * 2 + 1; i++) {
+            users.add(progressWithMaze("u" + i));
+        }
+        assertEquals(users.size(), ScoreRecomputeJob.run(users, catalog, engine).users());
+    }
+}
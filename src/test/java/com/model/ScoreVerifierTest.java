@@ -0,0 +1,192 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for ScoreVerifier
+ */
+public class ScoreVerifierTest {
+
+    private ScoreVerifier verifier;
+
+    @Before
+    public void setUp() {
+        List<Puzzle> puzzles = new ArrayList<>();
+        puzzles.add(new Puzzle("maze_1", "MAZE", "EASY", "Maze", "Find the exit", MoveLogTest.mazeData()));
+        puzzles.add(new Puzzle("riddle_1", "RIDDLE", "EASY", "Riddle", "Answer it", MoveLogTest.wordData()));
+        Map<String, Object> board = MoveReplayTest.matchingData(0L);
+        board.remove("seed");
+        puzzles.add(new Puzzle("match_1", "MATCHING", "EASY", "Pairs", "Match them", board));
+        verifier = new ScoreVerifier(new PuzzleCatalog(puzzles, Collections.emptyList()), 2, 16);
+    }
+
+    @After
+    public void tearDown() {
+        verifier.close();
+    }
+
+    private static MoveLog mazeLog(long... times) {
+        MazeGame game = new MazeGame();
+        game.initialize(MoveLogTest.mazeData());
+        MoveRecorder recorder = new MoveRecorder(game, 0);
+        Direction[] path = {Direction.RIGHT, Direction.DOWN};
+        for (int i = 0; i < times.length; i++) {
+            recorder.record(GameCommand.move(path[i]), times[i]);
+        }
+        return recorder.toLog();
+    }
+
+    /**
+     * Play a matching board dealt from a seed perfectly and record it
+     */
+    private static MoveLog matchingLog(long seed) {
+        MatchingGame played = new MatchingGame();
+        played.initialize(MoveReplayTest.matchingData(seed));
+        List<String> flips = new MatchingBot(MatchingBot.Skill.HARD, 1L).playToEnd(played);
+
+        MatchingGame game = new MatchingGame();
+        game.initialize(MoveReplayTest.matchingData(seed));
+        MoveRecorder recorder = new MoveRecorder(game, 0);
+        int time = 0;
+        for (String flip : flips) {
+            if (game.isShowingPair()) {
+                game.clearSelection();
+            }
+            recorder.apply(MatchingGame.parseCommand(flip), time += 500);
+        }
+        return recorder.toLog();
+    }
+
+    @Test
+    public void testSolvedLogAccepted() {
+        assertTrue(verifier.verify("u1", "maze_1", 0L, mazeLog(1000, 2000)).accepted());
+    }
+
+    @Test
+    public void testScoreComesFromReplay() {
+        // 100 base + (100 - 2 s) + 50 for no extra moves
+        assertEquals(246, verifier.verify("u1", "maze_1", 0L, mazeLog(1000, 2000)).score());
+    }
+
+    @Test
+    public void testUnsolvedLogRefused() {
+        assertEquals("Puzzle not solved", verifier.verify("u1", "maze_1", 0L, mazeLog(1000)).reason());
+    }
+
+    @Test
+    public void testUnknownPuzzleRefused() {
+        assertFalse(verifier.verify("u1", "maze_9", 0L, mazeLog(1000, 2000)).accepted());
+    }
+
+    @Test
+    public void testLogForOtherTypeRefused() {
+        assertFalse(verifier.verify("u1", "riddle_1", 0L, mazeLog(1000, 2000)).accepted());
+    }
+
+    @Test
+    public void testTooFastRefused() {
+        assertFalse(verifier.verify("u1", "maze_1", 0L, mazeLog(10, 20)).accepted());
+    }
+
+    @Test
+    public void testCommandsThroughWallsRefused() {
+        MazeGame game = new MazeGame();
+        game.initialize(MoveLogTest.mazeData());
+        MoveRecorder recorder = new MoveRecorder(game, 0);
+        recorder.record(GameCommand.move(Direction.UP), 1000);
+        recorder.record(GameCommand.move(Direction.RIGHT), 2000);
+        recorder.record(GameCommand.move(Direction.DOWN), 3000);
+        ScoreVerifier.Verdict verdict = verifier.verify("u1", "maze_1", 0L, recorder.toLog());
+        assertEquals("1 commands do not fit the puzzle", verdict.reason());
+    }
+
+    @Test
+    public void testWordLogAccepted() {
+        WordPuzzleGame game = new WordPuzzleGame();
+        game.setPuzzleType("RIDDLE");
+        game.initialize(MoveLogTest.wordData());
+        MoveRecorder recorder = new MoveRecorder(game, 0);
+        recorder.apply(GameCommand.guess("PIANO"), 5000);
+        recorder.apply(GameCommand.guess("keyboard"), 9000);
+        assertTrue(verifier.verify("u1", "riddle_1", 0L, recorder.toLog()).accepted());
+    }
+
+    @Test
+    public void testSubmitCompletesOnWorker() {
+        assertTrue(verifier.submit("u1", "maze_1", 0L, mazeLog(1000, 2000)).join().accepted());
+    }
+
+    @Test
+    public void testSubmitBytes() {
+        assertEquals(246, verifier.submit("u1", "maze_1", 0L, mazeLog(1000, 2000).toBytes()).join().score());
+    }
+
+    @Test
+    public void testSubmitBadBytesRefused() {
+        assertFalse(verifier.submit("u1", "maze_1", 0L, new byte[] {9, 9, 9}).join().accepted());
+    }
+
+    @Test
+    public void testManySubmissionsAllVerified() {
+        List<CompletableFuture<ScoreVerifier.Verdict>> verdicts = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            verdicts.add(verifier.submit("u" + i, "maze_1", 0L, mazeLog(1000, 2000)));
+        }
+        int accepted = 0;
+        for (CompletableFuture<ScoreVerifier.Verdict> verdict : verdicts) {
+            accepted += verdict.join().accepted() ? 1 : 0;
+        }
+        assertEquals(12, accepted);
+    }
+
+    @Test
+    public void testFullQueueFailsWithoutBlocking() {
+        ScoreVerifier small = new ScoreVerifier(new PuzzleCatalog(Arrays.asList(
+            new Puzzle("maze_1", "MAZE", "EASY", "Maze", "Find the exit", MoveLogTest.mazeData())),
+            Collections.emptyList()), 1, 1);
+        MoveLog log = mazeLog(1000, 2000);
+        boolean refused = false;
+        for (int i = 0; i < 1000 && !refused; i++) {
+            refused = small.submit("u1", "maze_1", 0L, log).isCompletedExceptionally();
+        }
+        small.close();
+        assertTrue(refused);
+    }
+
+    @Test
+    public void testVerifierUsesCurrentRules() {
+        ScoringEngine changed = new ScoringEngine(new ScoringRule(500, 0, 1, 0, 0, 0, 0));
+        ScoreVerifier live = new ScoreVerifier(() -> new PuzzleCatalog(Arrays.asList(
+            new Puzzle("maze_1", "MAZE", "EASY", "Maze", "Find the exit", MoveLogTest.mazeData())),
+            Collections.emptyList()), () -> changed, 1, 1);
+        int score = live.verify("u1", "maze_1", 0L, mazeLog(1000, 2000)).score();
+        live.close();
+        assertEquals(500, score);
+    }
+
+    @Test
+    public void testMatchingLogWithIssuedSeedAccepted() {
+        long seed = ScoreVerifier.issueSeed();
+        assertTrue(verifier.verify("u1", "match_1", seed, matchingLog(seed)).accepted());
+    }
+
+    @Test
+    public void testMatchingLogWithChosenSeedRefused() {
+        long issued = ScoreVerifier.issueSeed();
+        MoveLog chosen = matchingLog(issued + 1);
+        assertEquals("Board was not dealt from the issued seed",
+            verifier.verify("u1", "match_1", issued, chosen).reason());
+    }
+}
@@ -0,0 +1,121 @@
+package com.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * Test cases for ScoringEngine and ScoringRule
+ */
+public class ScoringEngineTest {
+
+    private static final ScoringRule MAZE = new ScoringRule(100, 100, 60, 50, 0, 1, 5);
+    private static final ScoringRule MAZE_HARD = new ScoringRule(200, 100, 150, 50, 0, 1, 5);
+
+    private static Puzzle puzzle(String type, String difficulty) {
+        return new Puzzle("p1", type, difficulty, "Title", "Description", null);
+    }
+
+    @Test
+    public void testDefaultRuleMatchesOriginalFormula() {
+        assertEquals(206, ScoringRule.DEFAULT.score(new GameResult(true, 30000L, 14, 0)));
+    }
+
+    @Test
+    public void testDefaultRuleUsesExtraMovesOverOptimal() {
+        assertEquals(216, ScoringRule.DEFAULT.score(new GameResult(true, 30000L, 14, 10, 0, null)));
+    }
+
+    @Test
+    public void testLostResultScoresZero() {
+        assertEquals(0, ScoringRule.DEFAULT.score(new GameResult(false, 1000L, 2, 0)));
+    }
+
+    @Test
+    public void testTimeBonusScalesToLimit() {
+        assertEquals(200, MAZE.score(new GameResult(true, 30000L, 2, 2, 0, null)));
+    }
+
+    @Test
+    public void testTimeBonusZeroPastLimit() {
+        assertEquals(150, MAZE.score(new GameResult(true, 90000L, 2, 2, 0, null)));
+    }
+
+    @Test
+    public void testHintPenaltySubtracted() {
+        assertEquals(240, MAZE.score(new GameResult(true, 0L, 2, 2, 2, null)));
+    }
+
+    @Test
+    public void testParMovesUsedWithoutOptimal() {
+        ScoringRule rule = new ScoringRule(100, 0, 60, 50, 6, 5, 0);
+        assertEquals(140, rule.score(new GameResult(true, 0L, 8, 0)));
+    }
+
+    @Test
+    public void testScoreNeverNegative() {
+        ScoringRule rule = new ScoringRule(10, 0, 60, 0, 0, 1, 50);
+        assertEquals(0, rule.score(new GameResult(true, 0L, 1, 3)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRuleRejectsZeroTimeLimit() {
+        new ScoringRule(100, 100, 0, 50, 0, 1, 0);
+    }
+
+    @Test
+    public void testDifficultyRuleWinsOverTypeRule() {
+        ScoringEngine engine = new ScoringEngine(ScoringRule.DEFAULT)
+            .withRule("MAZE", MAZE).withRule("MAZE", "HARD", MAZE_HARD);
+        assertSame(MAZE_HARD, engine.ruleFor("MAZE", "HARD"));
+    }
+
+    @Test
+    public void testTypeRuleUsedForOtherDifficulty() {
+        ScoringEngine engine = new ScoringEngine(ScoringRule.DEFAULT)
+            .withRule("MAZE", MAZE).withRule("MAZE", "HARD", MAZE_HARD);
+        assertSame(MAZE, engine.ruleFor("MAZE", "EASY"));
+    }
+
+    @Test
+    public void testFallbackForUnknownType() {
+        ScoringEngine engine = new ScoringEngine(ScoringRule.DEFAULT).withRule("MAZE", MAZE);
+        assertSame(ScoringRule.DEFAULT, engine.ruleFor("CIPHER", "EASY"));
+    }
+
+    @Test
+    public void testRuleLookupIgnoresCase() {
+        ScoringEngine engine = new ScoringEngine(ScoringRule.DEFAULT).withRule("MAZE", "HARD", MAZE_HARD);
+        assertSame(MAZE_HARD, engine.ruleFor("maze", "hard"));
+    }
+
+    @Test
+    public void testWithRuleLeavesOriginalUnchanged() {
+        ScoringEngine engine = new ScoringEngine(ScoringRule.DEFAULT);
+        engine.withRule("MAZE", MAZE);
+        assertSame(ScoringRule.DEFAULT, engine.ruleFor("MAZE", "EASY"));
+    }
+
+    @Test
+    public void testScoreUsesPuzzleTypeAndDifficulty() {
+        ScoringEngine engine = new ScoringEngine(ScoringRule.DEFAULT).withRule("MAZE", "HARD", MAZE_HARD);
+        assertEquals(350, engine.score(puzzle("MAZE", "HARD"), new GameResult(true, 0L, 2, 2, 0, null)));
+    }
+
+    @Test
+    public void testStandardPenalizesWrongWordAttempts() {
+        GameResult result = new GameResult(true, 0L, 3, 0);
+        assertEquals(230, ScoringEngine.standard().score(puzzle("RIDDLE", "EASY"), result));
+    }
+
+    @Test
+    public void testFromRulesRestoresSavedRules() {
+        ScoringEngine engine = new ScoringEngine(MAZE).withRule("MAZE", "HARD", MAZE_HARD);
+        assertEquals(engine.toRules(), ScoringEngine.fromRules(engine.toRules()).toRules());
+    }
+
+    @Test
+    public void testFromRulesWithNothingSavedIsStandard() {
+        assertEquals(ScoringEngine.standard().toRules(), ScoringEngine.fromRules(null).toRules());
+    }
+}
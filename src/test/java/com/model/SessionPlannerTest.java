@@ -0,0 +1,120 @@
+package com.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for SessionPlanner
+ */
+public class SessionPlannerTest {
+
+    private static final String[] TYPES = {"MAZE", "RIDDLE"};
+
+    private PuzzleCatalog catalog;
+    private SessionPlanner planner;
+    private UserProgress progress;
+    private Map<Integer, String> doors;
+
+    @Before
+    public void setUp() {
+        List<Puzzle> puzzles = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            puzzles.add(new Puzzle("maze_" + i, "MAZE", "EASY", "Maze", "Find the exit", null));
+            puzzles.add(new Puzzle("riddle_" + i, "RIDDLE", "EASY", "Riddle", "Answer it", null));
+        }
+        puzzles.add(new Puzzle("maze_hard", "MAZE", "HARD", "Maze", "Find the exit", null));
+        catalog = new PuzzleCatalog(puzzles, Collections.emptyList());
+        planner = new SessionPlanner(catalog, TYPES);
+        progress = new UserProgress("u1");
+        doors = new HashMap<>();
+    }
+
+    @Test
+    public void testOneDoorPerType() {
+        assertEquals(2, planner.plan(progress, "EASY", 1L, doors));
+    }
+
+    @Test
+    public void testDoorsHaveDifferentTypes() {
+        planner.plan(progress, "EASY", 1L, doors);
+        assertFalse(catalog.getPuzzle(doors.get(1)).getPuzzleType()
+            .equals(catalog.getPuzzle(doors.get(2)).getPuzzleType()));
+    }
+
+    @Test
+    public void testTypeWithoutPuzzlesLeftOut() {
+        assertEquals(1, planner.plan(progress, "HARD", 1L, doors));
+    }
+
+    @Test
+    public void testSameSeedSameDoors() {
+        new SessionPlanner(catalog, TYPES).plan(new UserProgress("u1"), "EASY", 42L, doors);
+        Map<Integer, String> again = new HashMap<>();
+        new SessionPlanner(catalog, TYPES).plan(new UserProgress("u1"), "EASY", 42L, again);
+        assertEquals(doors, again);
+    }
+
+    @Test
+    public void testCompletedPuzzleNotDrawn() {
+        for (int i = 1; i < 20; i++) {
+            progress.addCompletedPuzzle("maze_" + i, 100);
+        }
+        planner.plan(progress, "EASY", 7L, doors);
+        assertTrue(doors.containsValue("maze_0"));
+    }
+
+    @Test
+    public void testMarkCompletedShrinksPool() {
+        planner.getRemainingCount(progress, "MAZE", "EASY");
+        progress.addCompletedPuzzle("maze_3", 100);
+        planner.markCompleted(progress, "maze_3");
+        assertEquals(19, planner.getRemainingCount(progress, "MAZE", "EASY"));
+    }
+
+    @Test
+    public void testProgressChangedElsewhereRebuildsPool() {
+        planner.getRemainingCount(progress, "MAZE", "EASY");
+        progress.addCompletedPuzzle("maze_3", 100);
+        progress.addCompletedPuzzle("maze_4", 100);
+        assertEquals(18, planner.getRemainingCount(progress, "MAZE", "EASY"));
+    }
+
+    @Test
+    public void testAllCompletedAllowsReplay() {
+        progress.addCompletedPuzzle("maze_hard", 100);
+        planner.plan(progress, "HARD", 1L, doors);
+        assertEquals("maze_hard", doors.get(1) != null ? doors.get(1) : doors.get(2));
+    }
+
+    @Test
+    public void testRecentPuzzlesAvoided() {
+        Set<String> seen = new HashSet<>();
+        boolean repeated = false;
+        for (int s = 0; s < SessionPlanner.RECENT_SIZE / TYPES.length; s++) {
+            planner.plan(progress, "EASY", s, doors);
+            for (String puzzleId : doors.values()) {
+                repeated |= !seen.add(puzzleId);
+            }
+        }
+        assertFalse(repeated);
+    }
+
+    @Test
+    public void testOnlyRecentCandidatesStillDrawn() {
+        for (int i = 0; i < 3; i++) {
+            planner.plan(progress, "HARD", i, doors);
+        }
+        assertEquals(1, doors.size());
+    }
+}
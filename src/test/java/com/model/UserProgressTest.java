@@ -198,4 +198,25 @@ public class UserProgressTest {
         progress.setTotalScore(500);
         assertEquals(500, progress.getTotalScore());
     }
+    
+    @Test
+    public void testAddCompletedPuzzleKeepsResult() {
+        GameResult result = new GameResult(true, 1000L, 2, 0);
+        progress.addCompletedPuzzle("puzzle1", 100, result);
+        assertEquals(result, progress.getPuzzleResults().get("puzzle1"));
+    }
+    
+    @Test
+    public void testAddCompletedPuzzleKeepsFirstResult() {
+        GameResult first = new GameResult(true, 1000L, 2, 0);
+        progress.addCompletedPuzzle("puzzle1", 100, first);
+        progress.addCompletedPuzzle("puzzle1", 200, new GameResult(true, 500L, 1, 0));
+        assertEquals(first, progress.getPuzzleResults().get("puzzle1"));
+    }
+    
+    @Test
+    public void testPuzzleResultsNeverNull() {
+        progress.setPuzzleResults(null);
+        assertNotNull(progress.getPuzzleResults());
+    }
 }
@@ -8,6 +8,7 @@ import java.util.Map;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Test;
@@ -314,10 +315,16 @@ public class WordPuzzleGameTest {
     }
     
     @Test
-    public void testSaveStateContainsRevealedHints() {
+    public void testSaveStateContainsHintCursor() {
         wordGame.processInput("HINT");
         Map<String, Object> state = wordGame.saveState();
-        assertTrue(state.containsKey("revealedHints"));
+        assertTrue(state.containsKey("hintCursor"));
+    }
+    
+    @Test
+    public void testSaveStateOmitsAnswer() {
+        Map<String, Object> state = wordGame.saveState();
+        assertFalse(state.containsKey("answer"));
     }
     
     @Test
@@ -361,10 +368,44 @@ public class WordPuzzleGameTest {
     public void testRestoreStateRestoresPuzzleType() {
         Map<String, Object> saved = wordGame.saveState();
         WordPuzzleGame newGame = new WordPuzzleGame();
+        newGame.initialize(puzzleData);
         newGame.restoreState(saved);
         assertEquals("RIDDLE", newGame.getGameType());
     }
     
+    @Test
+    public void testRestoreStateRebuildsRevealedHints() {
+        List<Hint> hints = new ArrayList<>();
+        hints.add(new Hint("First hint", "P001", 1));
+        hints.add(new Hint("Second hint", "P001", 2));
+        wordGame.setHints(hints);
+        wordGame.processInput("HINT");
+        Map<String, Object> saved = wordGame.saveState();
+        WordPuzzleGame newGame = new WordPuzzleGame();
+        newGame.initialize(puzzleData);
+        newGame.restoreState(saved);
+        newGame.setHints(hints);
+        Map<String, Object> newState = newGame.getGameState();
+        assertEquals(List.of("First hint"), newState.get("revealedHints"));
+    }
+    
+    @Test
+    public void testRestoreStateKeepsAnswerFromPuzzle() {
+        Map<String, Object> saved = wordGame.saveState();
+        WordPuzzleGame newGame = new WordPuzzleGame();
+        newGame.initialize(puzzleData);
+        newGame.restoreState(saved);
+        newGame.processInput("KEYBOARD");
+        assertTrue(newGame.isGameOver());
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void testRestoreStateBeforeInitializeThrows() {
+        Map<String, Object> saved = wordGame.saveState();
+        
+        new WordPuzzleGame().restoreState(saved);
+    }
+    
     // ===== reset() =====
     
     @Test
@@ -432,4 +473,214 @@ public class WordPuzzleGameTest {
         Map<String, Object> saved = wordGame.saveState();
         assertEquals("TEST_001", saved.get("puzzleId"));
     }
+    
+    // ===== ANAGRAM answers =====
+    
+    private WordPuzzleGame createAnagramGame() {
+        WordPuzzleGame game = new WordPuzzleGame();
+        game.setPuzzleType("ANAGRAM");
+        game.setAnagramIndex(AnagramIndex.fromWords(java.util.Arrays.asList("scare", "cares", "races", "acres")));
+        Map<String, Object> data = new HashMap<>();
+        data.put("prompt", "ARSCE");
+        data.put("answer", "SCARE");
+        data.put("category", "Feelings");
+        data.put("maxAttempts", 5);
+        game.initialize(data);
+        return game;
+    }
+    
+    @Test
+    public void testAnagramAcceptsOtherDictionaryWord() {
+        WordPuzzleGame game = createAnagramGame();
+        game.processInput("races");
+        assertTrue((Boolean) game.getResult().get("won"));
+    }
+    
+    @Test
+    public void testAnagramRejectsUnlistedArrangement() {
+        WordPuzzleGame game = createAnagramGame();
+        game.processInput("SACRE");
+        assertFalse((Boolean) game.getResult().get("won"));
+    }
+    
+    @Test
+    public void testAnagramRejectsPromptTypedBack() {
+        WordPuzzleGame game = createAnagramGame();
+        game.setAnagramIndex(AnagramIndex.fromWords(java.util.Arrays.asList("scare", "arsce")));
+        game.processInput("ARSCE");
+        assertFalse((Boolean) game.getResult().get("won"));
+    }
+    
+    @Test
+    public void testRiddleDoesNotAcceptAnagrams() {
+        wordGame.setAnagramIndex(AnagramIndex.fromWords(java.util.Arrays.asList("keyboard", "boardkey")));
+        wordGame.processInput("BOARDKEY");
+        assertFalse(wordGame.isGameOver());
+    }
+    
+    // ===== generated CIPHER puzzles =====
+    
+    @Test
+    public void testGeneratedCipherGetsSolverHints() {
+        WordPuzzleGame game = new WordPuzzleGame();
+        game.setPuzzleType("CIPHER");
+        game.initialize(CipherGenerator.generate("the ghost is in the attic", Cipher.Type.CAESAR, 0, 4));
+        game.setHints(new ArrayList<>());
+        assertEquals(3, game.getGameState().get("availableHintsCount"));
+    }
+    
+    @Test
+    public void testCatalogHintsReplaceSolverHints() {
+        WordPuzzleGame game = new WordPuzzleGame();
+        game.setPuzzleType("CIPHER");
+        game.initialize(CipherGenerator.generate("the ghost is in the attic", Cipher.Type.CAESAR, 0, 4));
+        List<Hint> hints = new ArrayList<>();
+        hints.add(new Hint("Authored hint", "P001", 1));
+        game.setHints(hints);
+        assertEquals(1, game.getGameState().get("availableHintsCount"));
+    }
+    
+    @Test
+    public void testPhraseAnswerIgnoresExtraSpaces() {
+        WordPuzzleGame game = new WordPuzzleGame();
+        game.setPuzzleType("CIPHER");
+        game.initialize(CipherGenerator.generate("the ghost is in the attic", Cipher.Type.ATBASH, 0, 4));
+        game.processInput("the  ghost is in   the attic");
+        assertTrue((Boolean) game.getResult().get("won"));
+    }
+    
+    // ===== close guesses =====
+    
+    @Test
+    public void testCloseGuessGetsFeedback() {
+        wordGame.processInput("KEYBAORD");
+        assertEquals(true, wordGame.getGameState().get("closeGuess"));
+    }
+    
+    @Test
+    public void testCloseGuessReportsDistance() {
+        wordGame.processInput("KEYBORD");
+        assertEquals(1, wordGame.getGameState().get("lastGuessDistance"));
+    }
+    
+    @Test
+    public void testFarGuessIsNotClose() {
+        wordGame.processInput("PIANO");
+        assertEquals(false, wordGame.getGameState().get("closeGuess"));
+    }
+    
+    @Test
+    public void testCloseGuessStillCostsAttemptByDefault() {
+        wordGame.processInput("KEYBORD");
+        assertEquals(1, wordGame.getGameState().get("attemptsUsed"));
+    }
+    
+    @Test
+    public void testTypoToleranceAcceptsNearGuess() {
+        puzzleData.put("typoTolerance", 1);
+        wordGame.initialize(puzzleData);
+        wordGame.processInput("KEYBAORD");
+        assertTrue((Boolean) wordGame.getResult().get("won"));
+    }
+    
+    @Test
+    public void testCloseDistanceIsConfigurable() {
+        puzzleData.put("closeDistance", 0);
+        wordGame.initialize(puzzleData);
+        wordGame.processInput("KEYBORD");
+        assertEquals(false, wordGame.getGameState().get("closeGuess"));
+    }
+    
+    @Test
+    public void testAlternateAnswerAccepted() {
+        List<String> alternates = new ArrayList<>();
+        alternates.add("piano");
+        puzzleData.put("alternateAnswers", alternates);
+        wordGame.initialize(puzzleData);
+        wordGame.processInput("Piano");
+        assertTrue((Boolean) wordGame.getResult().get("won"));
+    }
+    
+    @Test
+    public void testRepeatedGuessListedOnce() {
+        wordGame.processInput("PIANO");
+        wordGame.processInput("piano");
+        assertEquals(1, ((List<?>) wordGame.getGameState().get("guesses")).size());
+    }
+    
+    // ===== typed commands =====
+    
+    @Test
+    public void testApplyGuessCommandWins() {
+        wordGame.apply(GameCommand.guess("keyboard"));
+        assertTrue(wordGame.isGameOver());
+    }
+    
+    @Test
+    public void testProcessBatchSkipsAfterLastAttempt() {
+        List<GameCommand> commands = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            commands.add(GameCommand.guess("PIANO" + i));
+        }
+        assertEquals(GameCommand.SKIPPED, wordGame.processBatch(commands)[3]);
+    }
+
+    @Test
+    public void testStateCountsAttempts() {
+        wordGame.processInput("WRONG");
+        assertEquals(1, wordGame.state().attemptsUsed());
+    }
+
+    @Test
+    public void testStateRemainingAttempts() {
+        wordGame.processInput("WRONG");
+        assertEquals(wordGame.getGameState().get("remainingAttempts"), wordGame.state().remainingAttempts());
+    }
+
+    @Test
+    public void testStateGuessesAreSnapshot() {
+        WordPuzzleGame.State before = wordGame.state();
+        wordGame.processInput("WRONG");
+        assertTrue(before.guesses().isEmpty());
+    }
+
+    @Test
+    public void testStateIsReusedUntilChange() {
+        assertTrue(wordGame.state() == wordGame.state());
+    }
+
+    @Test
+    public void testResultRecordAnswerWhenLost() {
+        for (int i = 0; i < 10; i++) {
+            wordGame.processInput("WRONG" + (char) ('A' + i));
+        }
+        assertEquals("KEYBOARD", wordGame.result().answer());
+    }
+
+    @Test
+    public void testResultRecordNoAnswerWhenWon() {
+        wordGame.processInput("KEYBOARD");
+        assertNull(wordGame.result().answer());
+    }
+
+    @Test
+    public void testWrongGuessPublishesGuessRejected() {
+        wordGame.processInput("WRONG");
+        GameEventBus events = wordGame.getEvents();
+        assertEquals("WRONG", events.get(events.getSequence() - 1).getText());
+    }
+
+    @Test
+    public void testCorrectGuessPublishesNoRejection() {
+        long before = wordGame.getEvents().getSequence();
+        wordGame.processInput("KEYBOARD");
+        assertEquals(before, wordGame.getEvents().getSequence());
+    }
+
+    @Test
+    public void testResetPublishesGameReset() {
+        wordGame.reset();
+        GameEventBus events = wordGame.getEvents();
+        assertEquals(GameEvent.Type.GAME_RESET, events.get(events.getSequence() - 1).getType());
+    }
 }